@@ -0,0 +1,59 @@
+package de.uka.ipd.sdq.beagle.analysis.averaging;
+
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What {@link MeasurementResultAnalyserAverage} stores on the blackboard: the version of
+ * the measurement results it analysed last and its statistics for each element.
+ *
+ * @author Joshua Gleitze
+ */
+final class AveragingState implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 4880612458372357045L;
+
+	/**
+	 * The statistics of each analysed element.
+	 */
+	private final Map<MeasurableSeffElement, ElementStatistics> statistics = new HashMap<>();
+
+	/**
+	 * The version of the measurement results analysed last.
+	 */
+	private long analysedVersion;
+
+	/**
+	 * Gets the version of the measurement results analysed last.
+	 *
+	 * @return The analysed version. {@code 0} if nothing was analysed yet.
+	 */
+	long getAnalysedVersion() {
+		return this.analysedVersion;
+	}
+
+	/**
+	 * Sets the version of the measurement results analysed last.
+	 *
+	 * @param analysedVersion The analysed version.
+	 */
+	void setAnalysedVersion(final long analysedVersion) {
+		this.analysedVersion = analysedVersion;
+	}
+
+	/**
+	 * Gets the statistics of {@code element}, creating them if it was not analysed yet.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return The statistics of {@code element}. Is never {@code null}.
+	 */
+	ElementStatistics getStatisticsFor(final MeasurableSeffElement element) {
+		return this.statistics.computeIfAbsent(element, (newElement) -> new ElementStatistics());
+	}
+}
@@ -0,0 +1,83 @@
+package de.uka.ipd.sdq.beagle.analysis.averaging;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts how often each branch of a {@linkplain de.uka.ipd.sdq.beagle.core.SeffBranch
+ * SEFF branch} was taken.
+ *
+ * @author Joshua Gleitze
+ */
+final class BranchIndexHistogram implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 6164826097337812604L;
+
+	/**
+	 * How often each branch index was added. Branch indices are not necessarily dense,
+	 * so only indices that were added are stored.
+	 */
+	private final TreeMap<Integer, Long> frequencies = new TreeMap<>();
+
+	/**
+	 * The number of branch indices added.
+	 */
+	private long count;
+
+	/**
+	 * Records that the branch at {@code branchIndex} was taken.
+	 *
+	 * @param branchIndex The index of the taken branch. Must not be negative.
+	 */
+	void add(final int branchIndex) {
+		Validate.isTrue(branchIndex >= 0, "Branch indices are never negative, but got %d.", branchIndex);
+		this.frequencies.merge(branchIndex, 1L, Long::sum);
+		this.count++;
+	}
+
+	/**
+	 * Gets the number of branch indices added.
+	 *
+	 * @return The number of branch decisions recorded.
+	 */
+	long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the relative frequency of {@code branchIndex}.
+	 *
+	 * @param branchIndex A branch index. Must not be negative.
+	 * @return The share of all recorded decisions that took the branch at
+	 *         {@code branchIndex}. {@code 0} if no decision was recorded.
+	 */
+	double getProbability(final int branchIndex) {
+		Validate.isTrue(branchIndex >= 0, "Branch indices are never negative, but got %d.", branchIndex);
+		final Long frequency = this.frequencies.get(branchIndex);
+		return frequency == null ? 0 : (double) frequency / this.count;
+	}
+
+	/**
+	 * Gets the index of the branch that was taken most often. Ties are resolved in favour
+	 * of the lowest index.
+	 *
+	 * @return The most probable branch index. {@code -1} if no decision was recorded.
+	 */
+	int getModalIndex() {
+		int modalIndex = -1;
+		long modalFrequency = 0;
+		for (final Map.Entry<Integer, Long> frequency : this.frequencies.entrySet()) {
+			if (frequency.getValue() > modalFrequency) {
+				modalIndex = frequency.getKey();
+				modalFrequency = frequency.getValue();
+			}
+		}
+		return modalIndex;
+	}
+}
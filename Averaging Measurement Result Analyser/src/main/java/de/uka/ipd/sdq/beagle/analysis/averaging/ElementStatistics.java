@@ -0,0 +1,154 @@
+package de.uka.ipd.sdq.beagle.analysis.averaging;
+
+import de.uka.ipd.sdq.beagle.core.DoubleMeasurementResultColumns;
+import de.uka.ipd.sdq.beagle.core.IntMeasurementResultColumns;
+
+import java.io.Serializable;
+
+/**
+ * The statistics over the measurement results of one
+ * {@linkplain de.uka.ipd.sdq.beagle.core.MeasurableSeffElement SEFF element}. Remembers
+ * how many results it already consumed from the element’s
+ * {@linkplain de.uka.ipd.sdq.beagle.core.MeasurementResultColumns result columns}, which
+ * only ever grow. Updating thus only visits the results that were added since the last
+ * update.
+ *
+ * @author Joshua Gleitze
+ */
+final class ElementStatistics implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -1922553497104009146L;
+
+	/**
+	 * Mean and variance of the results’ values.
+	 */
+	private final RunningStatistics moments = new RunningStatistics();
+
+	/**
+	 * The median of the results’ values.
+	 */
+	private final StreamingQuantile median = new StreamingQuantile(0.5);
+
+	/**
+	 * How often each branch was taken. Only created for branch decisions.
+	 */
+	private BranchIndexHistogram branchIndices;
+
+	/**
+	 * The number of results already consumed from the element’s columns.
+	 */
+	private int analysedResults;
+
+	/**
+	 * Adds all results in {@code columns} that were not consumed yet.
+	 *
+	 * @param columns The columns of the element these statistics are about. Must not be
+	 *            {@code null}.
+	 * @return Whether new results were consumed.
+	 */
+	boolean update(final DoubleMeasurementResultColumns columns) {
+		final int size = columns.size();
+		for (int index = this.analysedResults; index < size; index++) {
+			this.add(columns.getValueAt(index));
+		}
+		return this.finishUpdate(size);
+	}
+
+	/**
+	 * Adds all results in {@code columns} that were not consumed yet.
+	 *
+	 * @param columns The columns of the element these statistics are about. Must not be
+	 *            {@code null}.
+	 * @return Whether new results were consumed.
+	 */
+	boolean update(final IntMeasurementResultColumns columns) {
+		final int size = columns.size();
+		for (int index = this.analysedResults; index < size; index++) {
+			this.add(columns.getValueAt(index));
+		}
+		return this.finishUpdate(size);
+	}
+
+	/**
+	 * Adds all branch decisions in {@code columns} that were not consumed yet. Next to
+	 * the statistics over all values, this also counts how often each branch was taken.
+	 *
+	 * @param columns The branch decision columns of the branch these statistics are about.
+	 *            Must not be {@code null}.
+	 * @return Whether new results were consumed.
+	 */
+	boolean updateBranchDecisions(final IntMeasurementResultColumns columns) {
+		if (this.branchIndices == null) {
+			this.branchIndices = new BranchIndexHistogram();
+		}
+		final int size = columns.size();
+		for (int index = this.analysedResults; index < size; index++) {
+			final int branchIndex = columns.getValueAt(index);
+			this.branchIndices.add(branchIndex);
+			this.add(branchIndex);
+		}
+		return this.finishUpdate(size);
+	}
+
+	/**
+	 * Gets the mean and variance of all consumed values.
+	 *
+	 * @return The running statistics. Is never {@code null}.
+	 */
+	RunningStatistics getMoments() {
+		return this.moments;
+	}
+
+	/**
+	 * Gets the estimated median of all consumed values.
+	 *
+	 * @return The estimated median. {@link Double#NaN} if no value was consumed.
+	 */
+	double getMedian() {
+		return this.median.getEstimate();
+	}
+
+	/**
+	 * Gets how often each branch was taken.
+	 *
+	 * @return The branch index histogram. {@code null} if these statistics are not about
+	 *         branch decisions.
+	 */
+	BranchIndexHistogram getBranchIndices() {
+		return this.branchIndices;
+	}
+
+	/**
+	 * Gets the number of results consumed.
+	 *
+	 * @return The number of results these statistics are about.
+	 */
+	int getAnalysedResults() {
+		return this.analysedResults;
+	}
+
+	/**
+	 * Adds {@code value} to the statistics over all values.
+	 *
+	 * @param value A result value.
+	 */
+	private void add(final double value) {
+		this.moments.add(value);
+		this.median.add(value);
+	}
+
+	/**
+	 * Marks all results up to {@code size} as consumed.
+	 *
+	 * @param size The number of results in the consumed columns.
+	 * @return Whether new results were consumed.
+	 */
+	private boolean finishUpdate(final int size) {
+		final boolean updated = size > this.analysedResults;
+		this.analysedResults = size;
+		return updated;
+	}
+}
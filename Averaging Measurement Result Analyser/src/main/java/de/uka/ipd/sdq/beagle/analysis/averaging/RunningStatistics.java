@@ -0,0 +1,73 @@
+package de.uka.ipd.sdq.beagle.analysis.averaging;
+
+import java.io.Serializable;
+
+/**
+ * Mean and variance of a stream of values, updated with every value using Welford’s
+ * method. Neither the values nor their sum are stored, so the statistics can neither
+ * overflow nor lose precision by subtracting large, nearly equal sums.
+ *
+ * @author Joshua Gleitze
+ */
+final class RunningStatistics implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 2750209113950224386L;
+
+	/**
+	 * The number of values added.
+	 */
+	private long count;
+
+	/**
+	 * The mean of all values added.
+	 */
+	private double mean;
+
+	/**
+	 * The sum of the squared deviations of all values added from {@link #mean}.
+	 */
+	private double squaredDeviationSum;
+
+	/**
+	 * Adds {@code value} to the statistics.
+	 *
+	 * @param value A value of the stream.
+	 */
+	void add(final double value) {
+		this.count++;
+		final double deviation = value - this.mean;
+		this.mean += deviation / this.count;
+		this.squaredDeviationSum += deviation * (value - this.mean);
+	}
+
+	/**
+	 * Gets the number of values added.
+	 *
+	 * @return The number of values added.
+	 */
+	long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Gets the mean of all values added.
+	 *
+	 * @return The arithmetic mean. {@link Double#NaN} if no value was added.
+	 */
+	double getMean() {
+		return this.count == 0 ? Double.NaN : this.mean;
+	}
+
+	/**
+	 * Gets the sample variance of all values added.
+	 *
+	 * @return The unbiased sample variance. {@link Double#NaN} if less than two values
+	 *         were added.
+	 */
+	double getVariance() {
+		return this.count < 2 ? Double.NaN : this.squaredDeviationSum / (this.count - 1);
+	}
+}
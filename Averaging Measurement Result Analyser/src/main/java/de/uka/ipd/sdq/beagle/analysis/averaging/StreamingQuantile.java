@@ -0,0 +1,207 @@
+package de.uka.ipd.sdq.beagle.analysis.averaging;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Estimates a quantile of a stream of values using the P² algorithm by Jain and
+ * Chlamtac. Instead of the values, only five markers are stored: the minimum, the
+ * maximum, the estimated quantile and two estimates halfway between them. Each added value
+ * moves the markers closer to their desired positions. Memory and the time to add a
+ * value are thus constant.
+ *
+ * <p>Until five values were added, the exact quantile is returned.
+ *
+ * @author Joshua Gleitze
+ */
+final class StreamingQuantile implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -8119338524096733409L;
+
+	/**
+	 * The number of markers.
+	 */
+	private static final int MARKERS = 5;
+
+	/**
+	 * The index of the marker estimating the quantile.
+	 */
+	private static final int QUANTILE_MARKER = 2;
+
+	/**
+	 * The estimated quantile, in {@code [0, 1]}.
+	 */
+	private final double quantile;
+
+	/**
+	 * The heights of the markers, which are estimates of the values at their positions.
+	 * Holds the values added so far until {@link #MARKERS} values were added.
+	 */
+	private final double[] heights = new double[MARKERS];
+
+	/**
+	 * The actual positions of the markers, counted from {@code 1}.
+	 */
+	private final long[] positions = new long[MARKERS];
+
+	/**
+	 * The desired positions of the markers.
+	 */
+	private final double[] desiredPositions = new double[MARKERS];
+
+	/**
+	 * The amounts the desired positions move with every added value.
+	 */
+	private final double[] desiredPositionIncrements;
+
+	/**
+	 * The number of values added.
+	 */
+	private long count;
+
+	/**
+	 * Creates an estimator for the {@code quantile}.
+	 *
+	 * @param quantile The quantile to estimate, for example {@code 0.5} for the median.
+	 *            Must be in {@code [0, 1]}.
+	 */
+	StreamingQuantile(final double quantile) {
+		Validate.inclusiveBetween(0d, 1d, quantile);
+		this.quantile = quantile;
+		this.desiredPositionIncrements = new double[] {
+			0, quantile / 2, quantile, (1 + quantile) / 2, 1
+		};
+	}
+
+	/**
+	 * Adds {@code value} to the stream.
+	 *
+	 * @param value A value of the stream. Must not be {@link Double#NaN}.
+	 */
+	void add(final double value) {
+		Validate.isTrue(!Double.isNaN(value), "Values must not be NaN.");
+		if (this.count < MARKERS) {
+			this.heights[(int) this.count] = value;
+			this.count++;
+			if (this.count == MARKERS) {
+				this.initialiseMarkers();
+			}
+			return;
+		}
+		this.count++;
+
+		final int cell;
+		if (value < this.heights[0]) {
+			this.heights[0] = value;
+			cell = 0;
+		} else if (value >= this.heights[MARKERS - 1]) {
+			this.heights[MARKERS - 1] = value;
+			cell = MARKERS - 2;
+		} else {
+			int upper = 1;
+			while (value >= this.heights[upper]) {
+				upper++;
+			}
+			cell = upper - 1;
+		}
+
+		for (int i = cell + 1; i < MARKERS; i++) {
+			this.positions[i]++;
+		}
+		for (int i = 0; i < MARKERS; i++) {
+			this.desiredPositions[i] += this.desiredPositionIncrements[i];
+		}
+		for (int i = 1; i < MARKERS - 1; i++) {
+			this.adjustMarker(i);
+		}
+	}
+
+	/**
+	 * Gets the estimated quantile of all values added.
+	 *
+	 * @return The estimated quantile. {@link Double#NaN} if no value was added.
+	 */
+	double getEstimate() {
+		if (this.count == 0) {
+			return Double.NaN;
+		}
+		if (this.count < MARKERS) {
+			final double[] values = Arrays.copyOf(this.heights, (int) this.count);
+			Arrays.sort(values);
+			final double position = this.quantile * (values.length - 1);
+			final int lower = (int) Math.floor(position);
+			final int upper = (int) Math.ceil(position);
+			return values[lower] + (position - lower) * (values[upper] - values[lower]);
+		}
+		return this.heights[QUANTILE_MARKER];
+	}
+
+	/**
+	 * Gets the number of values added.
+	 *
+	 * @return The number of values added.
+	 */
+	long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Places the markers on the first {@link #MARKERS} values.
+	 */
+	private void initialiseMarkers() {
+		Arrays.sort(this.heights);
+		for (int i = 0; i < MARKERS; i++) {
+			this.positions[i] = i + 1;
+			this.desiredPositions[i] = 1 + (MARKERS - 1) * this.desiredPositionIncrements[i];
+		}
+	}
+
+	/**
+	 * Moves the marker {@code marker} by one position if it is too far from its desired
+	 * position and adjusts its height.
+	 *
+	 * @param marker The index of a marker that is neither the minimum nor the maximum.
+	 */
+	private void adjustMarker(final int marker) {
+		final double offset = this.desiredPositions[marker] - this.positions[marker];
+		final boolean moveUp = offset >= 1 && this.positions[marker + 1] - this.positions[marker] > 1;
+		final boolean moveDown = offset <= -1 && this.positions[marker - 1] - this.positions[marker] < -1;
+		if (!moveUp && !moveDown) {
+			return;
+		}
+
+		final int direction = moveUp ? 1 : -1;
+		final double parabolicHeight = this.parabolicHeight(marker, direction);
+		if (this.heights[marker - 1] < parabolicHeight && parabolicHeight < this.heights[marker + 1]) {
+			this.heights[marker] = parabolicHeight;
+		} else {
+			// The parabolic prediction would break the markers’ order.
+			final int neighbour = marker + direction;
+			this.heights[marker] += direction * (this.heights[neighbour] - this.heights[marker])
+				/ (this.positions[neighbour] - this.positions[marker]);
+		}
+		this.positions[marker] += direction;
+	}
+
+	/**
+	 * Predicts the height of {@code marker} after moving it by {@code direction} using
+	 * the parabola through it and its neighbours.
+	 *
+	 * @param marker The index of a marker that is neither the minimum nor the maximum.
+	 * @param direction {@code 1} or {@code -1}.
+	 * @return The predicted height.
+	 */
+	private double parabolicHeight(final int marker, final int direction) {
+		final double lowerDistance = this.positions[marker] - this.positions[marker - 1];
+		final double upperDistance = this.positions[marker + 1] - this.positions[marker];
+		final double lowerSlope = (this.heights[marker] - this.heights[marker - 1]) / lowerDistance;
+		final double upperSlope = (this.heights[marker + 1] - this.heights[marker]) / upperDistance;
+		return this.heights[marker] + direction / (lowerDistance + upperDistance)
+			* ((lowerDistance + direction) * upperSlope + (upperDistance - direction) * lowerSlope);
+	}
+}
@@ -0,0 +1,47 @@
+package de.uka.ipd.sdq.beagle.analysis.averaging;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link BranchIndexHistogram}.
+ *
+ * @author Joshua Gleitze
+ */
+public class BranchIndexHistogramTest {
+
+	/**
+	 * Test method for {@link BranchIndexHistogram#add(int)},
+	 * {@link BranchIndexHistogram#getProbability(int)} and
+	 * {@link BranchIndexHistogram#getModalIndex()}.
+	 *
+	 * <p>Asserts that branch decisions are counted correctly, that ties are resolved in
+	 * favour of the lowest index and that negative indices are rejected.
+	 */
+	@Test
+	public void histogram() {
+		final BranchIndexHistogram histogram = new BranchIndexHistogram();
+		assertThat(histogram.getModalIndex(), is(-1));
+		assertThat(histogram.getProbability(0), is(0d));
+		assertThat(() -> histogram.add(-1), throwsException(IllegalArgumentException.class));
+		assertThat(() -> histogram.getProbability(-1), throwsException(IllegalArgumentException.class));
+
+		histogram.add(3);
+		histogram.add(1);
+		assertThat(histogram.getModalIndex(), is(1));
+		histogram.add(3);
+		histogram.add(0);
+		assertThat(histogram.getCount(), is(4L));
+		assertThat(histogram.getModalIndex(), is(3));
+		assertThat(histogram.getProbability(3), is(0.5));
+		assertThat(histogram.getProbability(1), is(0.25));
+		assertThat(histogram.getProbability(2), is(0d));
+		assertThat(histogram.getProbability(7), is(0d));
+
+		histogram.add(Integer.MAX_VALUE);
+		assertThat(histogram.getProbability(Integer.MAX_VALUE), is(0.2));
+	}
+}
@@ -1,13 +1,18 @@
 package de.uka.ipd.sdq.beagle.analysis.averaging;
 
 import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.hasItem;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 import de.uka.ipd.sdq.beagle.core.Blackboard;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
@@ -17,20 +22,18 @@ import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
 import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyMeasurementResultAnalyserBlackboardView;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
 import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
-import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
 
 import org.apache.commons.collections4.MultiSet;
 import org.apache.commons.collections4.multiset.HashMultiSet;
 import org.junit.Test;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -46,11 +49,6 @@ public class MeasurementResultAnalyserAverageTest {
 	 */
 	private static final BlackboardFactory BLACKBOARD_FACTORY = new BlackboardFactory();
 
-	/**
-	 * A {@link SeffLoopFactory}, which is able to generate {@link SeffLoops}s.
-	 */
-	private static final SeffLoopFactory SEFF_LOOP_FACTORY = new SeffLoopFactory();
-
 	/**
 	 * Test method for
 	 * {@link MeasurementResultAnalyserAverage#canContribute(ReadOnlyMeasurementResultAnalyserBlackboardView)}
@@ -58,10 +56,10 @@ public class MeasurementResultAnalyserAverageTest {
 	 *
 	 * <p>Asserts that a {@link NullPointerException} is thrown if the
 	 * {@link ReadOnlyMeasurementResultAnalyserBlackboardView} is {@code null}. Asserts
-	 * that same value is returned for views of the same blackboard. Asserts that [
-	 * {@code false} is returned if there are no Measurement results and if the
-	 * {@link MeasurementResultAnalyserAverage} was the last one to contribute on the
-	 * {@link Blackboard}.
+	 * that same value is returned for views of the same blackboard. Asserts that
+	 * {@code false} is returned if there are no Measurement results and if no results were
+	 * added since the {@link MeasurementResultAnalyserAverage} contributed last. Asserts
+	 * that only the versions of the measurement results are compared.
 	 */
 	@Test
 	public void canContribute() {
@@ -77,49 +75,33 @@ public class MeasurementResultAnalyserAverageTest {
 			new ReadOnlyMeasurementResultAnalyserBlackboardView(blackboard);
 		assertThat(analyser.canContribute(blackboardView), is(analyser.canContribute(blackboardView2)));
 
-		Blackboard mockedBlackboard = mock(Blackboard.class);
-		final Set<ResourceDemandMeasurementResult> resourceResults = new HashSet<>();
-		given(mockedBlackboard.getMeasurementResultsFor(any(ResourceDemandingInternalAction.class)))
-			.willReturn(resourceResults);
-		final Set<BranchDecisionMeasurementResult> branchResults = new HashSet<>();
-		given(mockedBlackboard.getMeasurementResultsFor(any(SeffBranch.class))).willReturn(branchResults);
-		final Set<LoopRepetitionCountMeasurementResult> loopResults = new HashSet<>();
-		given(mockedBlackboard.getMeasurementResultsFor(any(SeffLoop.class))).willReturn(loopResults);
-		final Set<ParameterChangeMeasurementResult> parameterResults = new HashSet<>();
-		given(mockedBlackboard.getMeasurementResultsFor(any(ExternalCallParameter.class))).willReturn(parameterResults);
+		final Blackboard emptyBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final ReadOnlyMeasurementResultAnalyserBlackboardView emptyView =
+			new ReadOnlyMeasurementResultAnalyserBlackboardView(emptyBlackboard);
+		assertThat("There are no measurement results to analyse", analyser.canContribute(emptyView), is(false));
+
+		final SeffLoop loop = emptyBlackboard.getAllSeffLoops().iterator().next();
+		emptyBlackboard.addMeasurementResultFor(loop, new LoopRepetitionCountMeasurementResult(1));
+		emptyBlackboard.addMeasurementResultFor(loop, new LoopRepetitionCountMeasurementResult(3));
+		assertThat(analyser.canContribute(emptyView), is(true));
+
+		analyser.contribute(new MeasurementResultAnalyserBlackboardView(emptyBlackboard));
+		assertThat("All measurement results were analysed", analyser.canContribute(emptyView), is(false));
+
+		emptyBlackboard.addMeasurementResultFor(loop, new LoopRepetitionCountMeasurementResult(5));
+		assertThat("There is a new measurement result", analyser.canContribute(emptyView), is(true));
+
+		final Blackboard mockedBlackboard = mock(Blackboard.class);
 		final ReadOnlyMeasurementResultAnalyserBlackboardView mockedView =
 			new ReadOnlyMeasurementResultAnalyserBlackboardView(mockedBlackboard);
+		final AveragingState state = new AveragingState();
+		state.setAnalysedVersion(5L);
+		given(mockedBlackboard.getMeasurementResultsVersion()).willReturn(5L);
+		given(mockedBlackboard.readFor(MeasurementResultAnalyserAverage.class)).willReturn(state);
 		assertThat(analyser.canContribute(mockedView), is(false));
-
-		mockedBlackboard = mock(Blackboard.class);
-		given(mockedBlackboard.readFor(MeasurementResultAnalyserAverage.class)).willReturn(new HashMap<>());
-		assertThat(analyser.canContribute(new ReadOnlyMeasurementResultAnalyserBlackboardView(mockedBlackboard)),
-			is(false));
-
-		mockedBlackboard = mock(Blackboard.class);
-		final HashMap<MeasurableSeffElement, Integer> contributions = new HashMap<>();
-		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
-		contributions.put(loop, 2);
-		given(mockedBlackboard.readFor(MeasurementResultAnalyserAverage.class)).willReturn(contributions);
-		Set<LoopRepetitionCountMeasurementResult> value = new HashSet<>();
-		value.add(new LoopRepetitionCountMeasurementResult(1));
-		value.add(new LoopRepetitionCountMeasurementResult(3));
-		value.add(new LoopRepetitionCountMeasurementResult(5));
-		given(mockedBlackboard.getMeasurementResultsFor(loop)).willReturn(value);
-		assertThat(analyser.canContribute(new ReadOnlyMeasurementResultAnalyserBlackboardView(mockedBlackboard)),
-			is(true));
-
-		final MeasurementResultAnalyserBlackboardView analyserView =
-			new MeasurementResultAnalyserBlackboardView(mockedBlackboard);
-		analyser.contribute(analyserView);
-		assertThat(analyser.canContribute(mockedView), is(false));
-
-		value = new HashSet<>();
-		value.add(new LoopRepetitionCountMeasurementResult(1));
-		value.add(new LoopRepetitionCountMeasurementResult(3));
-		given(mockedBlackboard.getMeasurementResultsFor(loop)).willReturn(value);
-		assertThat(analyser.canContribute(new ReadOnlyMeasurementResultAnalyserBlackboardView(mockedBlackboard)),
-			is(false));
+		state.setAnalysedVersion(3L);
+		assertThat(analyser.canContribute(mockedView), is(true));
+		then(mockedBlackboard).should(never()).getMeasurementResultsFor(any(SeffLoop.class));
 	}
 
 	/**
@@ -152,7 +134,58 @@ public class MeasurementResultAnalyserAverageTest {
 		} else {
 			fail("This is no correct test case.");
 		}
-
 	}
 
+	/**
+	 * Test method for
+	 * {@link MeasurementResultAnalyserAverage#contribute(MeasurementResultAnalyserBlackboardView)}
+	 * .
+	 *
+	 * <p>Asserts that the mean and the median are proposed for resource demands, loops
+	 * and external call parameters, that the most probable branch index is proposed for
+	 * branches, that resource demands in the range of nanoseconds do not overflow and that
+	 * every measurement result is only analysed once.
+	 */
+	@Test
+	public void contributeStatistics() {
+		final MeasurementResultAnalyserAverage analyser = new MeasurementResultAnalyserAverage();
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final MeasurementResultAnalyserBlackboardView view = new MeasurementResultAnalyserBlackboardView(blackboard);
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		final SeffBranch branch = blackboard.getAllSeffBranches().iterator().next();
+		final SeffLoop loop = blackboard.getAllSeffLoops().iterator().next();
+		final ExternalCallParameter parameter = blackboard.getAllExternalCallParameters().iterator().next();
+
+		final double nanoseconds = 2_000_000_000d;
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(nanoseconds));
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(nanoseconds));
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(nanoseconds));
+		blackboard.addMeasurementResultFor(branch, new BranchDecisionMeasurementResult(1));
+		blackboard.addMeasurementResultFor(branch, new BranchDecisionMeasurementResult(0));
+		blackboard.addMeasurementResultFor(branch, new BranchDecisionMeasurementResult(1));
+		blackboard.addMeasurementResultFor(loop, new LoopRepetitionCountMeasurementResult(1));
+		blackboard.addMeasurementResultFor(loop, new LoopRepetitionCountMeasurementResult(2));
+		blackboard.addMeasurementResultFor(loop, new LoopRepetitionCountMeasurementResult(9));
+		blackboard.addMeasurementResultFor(parameter, new ParameterChangeMeasurementResult());
+
+		analyser.contribute(view);
+
+		assertThat("Resource demands must not overflow", blackboard.getProposedExpressionFor(rdia),
+			containsInAnyOrder(ConstantExpression.forValue(nanoseconds)));
+		assertThat("The most probable branch must be proposed", blackboard.getProposedExpressionFor(branch),
+			containsInAnyOrder(ConstantExpression.forValue(1)));
+		assertThat("Mean and median must be proposed", blackboard.getProposedExpressionFor(loop),
+			containsInAnyOrder(ConstantExpression.forValue(4), ConstantExpression.forValue(2)));
+		assertThat(blackboard.getProposedExpressionFor(parameter), hasSize(1));
+
+		blackboard.addMeasurementResultFor(loop, new LoopRepetitionCountMeasurementResult(4));
+		analyser.contribute(view);
+		final AveragingState state = blackboard.readFor(MeasurementResultAnalyserAverage.class);
+		assertThat("Results must be analysed exactly once", state.getStatisticsFor(loop).getMoments().getCount(),
+			is(4L));
+		assertThat(blackboard.getProposedExpressionFor(loop), hasItem(ConstantExpression.forValue(4)));
+		assertThat(blackboard.getProposedExpressionFor(loop), hasItem(ConstantExpression.forValue(3)));
+		assertThat("Elements without new results must not be visited again",
+			state.getStatisticsFor(rdia).getMoments().getCount(), is(3L));
+	}
 }
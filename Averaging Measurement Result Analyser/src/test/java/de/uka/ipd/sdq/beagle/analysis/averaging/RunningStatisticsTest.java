@@ -0,0 +1,54 @@
+package de.uka.ipd.sdq.beagle.analysis.averaging;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.notANumber;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link RunningStatistics}.
+ *
+ * @author Joshua Gleitze
+ */
+public class RunningStatisticsTest {
+
+	/**
+	 * Test method for {@link RunningStatistics#add(double)},
+	 * {@link RunningStatistics#getMean()} and {@link RunningStatistics#getVariance()}.
+	 *
+	 * <p>Asserts that the mean and the variance are calculated correctly, that they are
+	 * not defined for too few values and that values too big for an {@code int} sum do
+	 * not overflow.
+	 */
+	@Test
+	public void statistics() {
+		final RunningStatistics statistics = new RunningStatistics();
+		assertThat(statistics.getCount(), is(0L));
+		assertThat(statistics.getMean(), is(notANumber()));
+		assertThat(statistics.getVariance(), is(notANumber()));
+
+		statistics.add(2);
+		assertThat(statistics.getMean(), is(2d));
+		assertThat(statistics.getVariance(), is(notANumber()));
+
+		statistics.add(4);
+		statistics.add(4);
+		statistics.add(4);
+		statistics.add(5);
+		statistics.add(5);
+		statistics.add(7);
+		statistics.add(9);
+		assertThat(statistics.getCount(), is(8L));
+		assertThat(statistics.getMean(), is(closeTo(5, 1E-12)));
+		assertThat(statistics.getVariance(), is(closeTo(32d / 7, 1E-12)));
+
+		final RunningStatistics bigValues = new RunningStatistics();
+		for (int i = 0; i < 1000; i++) {
+			bigValues.add((double) Integer.MAX_VALUE + i % 2);
+		}
+		assertThat(bigValues.getMean(), is(closeTo(Integer.MAX_VALUE + 0.5, 1E-3)));
+		assertThat(bigValues.getVariance(), is(closeTo(0.25 * 1000 / 999, 1E-3)));
+	}
+}
@@ -0,0 +1,65 @@
+package de.uka.ipd.sdq.beagle.analysis.averaging;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.notANumber;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests {@link StreamingQuantile}.
+ *
+ * @author Joshua Gleitze
+ */
+public class StreamingQuantileTest {
+
+	/**
+	 * Test method for {@link StreamingQuantile#StreamingQuantile(double)}.
+	 *
+	 * <p>Asserts that only quantiles in {@code [0, 1]} are accepted.
+	 */
+	@Test
+	public void constructor() {
+		new StreamingQuantile(0);
+		new StreamingQuantile(1);
+		assertThat(() -> new StreamingQuantile(-0.1), throwsException(IllegalArgumentException.class));
+		assertThat(() -> new StreamingQuantile(1.1), throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link StreamingQuantile#add(double)} and
+	 * {@link StreamingQuantile#getEstimate()}.
+	 *
+	 * <p>Asserts that the quantile is exact for few values, that it is estimated closely
+	 * for many values and that {@link Double#NaN} is rejected.
+	 */
+	@Test
+	public void estimate() {
+		final StreamingQuantile median = new StreamingQuantile(0.5);
+		assertThat(median.getEstimate(), is(notANumber()));
+		assertThat(() -> median.add(Double.NaN), throwsException(IllegalArgumentException.class));
+
+		median.add(7);
+		assertThat(median.getEstimate(), is(7d));
+		median.add(1);
+		assertThat(median.getEstimate(), is(4d));
+		median.add(3);
+		assertThat(median.getEstimate(), is(3d));
+
+		final Random random = new Random(42);
+		final StreamingQuantile uniformMedian = new StreamingQuantile(0.5);
+		final StreamingQuantile uniformNinetieth = new StreamingQuantile(0.9);
+		for (int i = 0; i < 100_000; i++) {
+			final double value = random.nextDouble() * 1000;
+			uniformMedian.add(value);
+			uniformNinetieth.add(value);
+		}
+		assertThat(uniformMedian.getCount(), is(100_000L));
+		assertThat(uniformMedian.getEstimate(), is(closeTo(500, 10)));
+		assertThat(uniformNinetieth.getEstimate(), is(closeTo(900, 10)));
+	}
+}
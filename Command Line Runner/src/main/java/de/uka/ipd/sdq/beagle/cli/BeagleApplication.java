@@ -0,0 +1,79 @@
+package de.uka.ipd.sdq.beagle.cli;
+
+import de.uka.ipd.sdq.beagle.core.facade.BeagleConfiguration;
+import de.uka.ipd.sdq.beagle.core.facade.BeagleController;
+
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+/**
+ * Runs Beagle’s analysis from the command line. The application is registered as
+ * {@code de.uka.ipd.sdq.beagle.cli.analyse} and runs headless, i.e. without the Eclipse
+ * workbench. The analysed project is described through the command line arguments (see
+ * {@link CommandLineArguments#USAGE}), so no Eclipse workspace is needed either. It is
+ * launched with the measured software’s plain JVM (see
+ * {@link de.uka.ipd.sdq.beagle.core.facade.ProcessLaunchConfiguration}). Measurement
+ * tools and analysers are found through the extension registry, as usual.
+ *
+ * <p>Each run analyses one repository. Multiple repositories can thus be analysed in
+ * parallel by starting one Beagle process for each of them. If Beagle is started with a
+ * snapshot file, an interrupted run can be continued by starting Beagle again with the
+ * same arguments.
+ *
+ * @author Joshua Gleitze
+ */
+public class BeagleApplication implements IApplication {
+
+	/**
+	 * The exit code if the command line arguments were invalid.
+	 */
+	private static final int EXIT_USAGE_ERROR = 2;
+
+	/**
+	 * The controller of the running analysis. {@code null} while no analysis is running.
+	 */
+	private volatile BeagleController runningController;
+
+	@Override
+	public Object start(final IApplicationContext context) {
+		final String[] commandLine = (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+		final CommandLineArguments arguments;
+		try {
+			arguments = CommandLineArguments.parse(commandLine == null ? new String[0] : commandLine);
+		} catch (final IllegalArgumentException usageError) {
+			System.err.println(usageError.getMessage());
+			System.err.println(CommandLineArguments.USAGE);
+			return EXIT_USAGE_ERROR;
+		}
+
+		final BeagleConfiguration configuration = new BeagleConfiguration(arguments.getElements(),
+			arguments.getRepositoryFile(), arguments.getSourceStatementLinkFile());
+		configuration.setTimeout(arguments.getTimeout());
+		configuration.setLaunchConfigurations(arguments.createLaunchConfigurations());
+		configuration.setSnapshotFile(arguments.getSnapshotFile());
+		configuration.setAnalyserSelectionStrategy(arguments.getAnalyserSelectionStrategy());
+		configuration.finalise();
+
+		final BeagleController controller = new BeagleController(configuration);
+		controller.initialise(new FileSystemSourceCodeFileProvider(arguments.getSourceFolders()),
+			arguments.getClassPath(), arguments.getCharset());
+
+		context.applicationRunning();
+		this.runningController = controller;
+		try {
+			controller.startAnalysis();
+		} finally {
+			this.runningController = null;
+		}
+		return IApplication.EXIT_OK;
+	}
+
+	@Override
+	public void stop() {
+		final BeagleController controller = this.runningController;
+		if (controller != null) {
+			// The analysis will end as soon as possible and write its results.
+			controller.abortAnalysis();
+		}
+	}
+}
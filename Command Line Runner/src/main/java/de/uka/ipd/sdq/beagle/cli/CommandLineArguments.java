@@ -0,0 +1,339 @@
+package de.uka.ipd.sdq.beagle.cli;
+
+import de.uka.ipd.sdq.beagle.core.LaunchConfiguration;
+import de.uka.ipd.sdq.beagle.core.analysis.AllAnalysersSelectionStrategy;
+import de.uka.ipd.sdq.beagle.core.analysis.AnalyserSelectionStrategy;
+import de.uka.ipd.sdq.beagle.core.analysis.BanditAnalyserSelectionStrategy;
+import de.uka.ipd.sdq.beagle.core.facade.ProcessLaunchConfiguration;
+import de.uka.ipd.sdq.beagle.core.timeout.AdaptiveTimeout;
+import de.uka.ipd.sdq.beagle.core.timeout.ConstantTimeout;
+import de.uka.ipd.sdq.beagle.core.timeout.NoTimeout;
+import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The arguments Beagle was started with from the command line. See {@link #USAGE} for the
+ * supported arguments.
+ *
+ * @author Joshua Gleitze
+ */
+public final class CommandLineArguments {
+
+	/**
+	 * Describes the supported command line arguments.
+	 */
+	public static final String USAGE = String.join(System.lineSeparator(),
+		"Arguments:",
+		"  --repository <file>              The PCM repository to analyse. Results are written back to it.",
+		"  --source-statement-link <file>   The PCM source statement link model.",
+		"  --source <folders>               The project's source folders, separated by the path separator.",
+		"  --classpath <entries>            The class path to compile and launch the project with.",
+		"                                   Entries ending in * denote all jars in a folder.",
+		"  --launch \"<main class> [<arg>...]\" Launches the project's main class to measure it. Arguments are",
+		"                                   separated by white space. May be repeated.",
+		"  --element <id>                   Only analyse the PCM element with this id. May be repeated.",
+		"  --charset <name>                 The charset of the project's source files. Defaults to the",
+		"                                   platform's charset.",
+		"  --timeout adaptive|none|<ms>     The timeout to use. Defaults to adaptive.",
+		"  --snapshot <file>                Regularly saves the analysis' state to this file. If the file",
+		"                                   exists, the analysis continues from the saved state.",
+		"  --analysers-per-round <n>        Lets at most n analysers contribute at once, preferring those",
+		"                                   whose proposals improved the results most. Defaults to all.");
+
+	/**
+	 * The PCM repository file to analyse.
+	 */
+	private File repositoryFile;
+
+	/**
+	 * The file containing the PCM source statement link model.
+	 */
+	private File sourceStatementLinkFile;
+
+	/**
+	 * The folders containing the project’s source code.
+	 */
+	private final List<File> sourceFolders = new ArrayList<>();
+
+	/**
+	 * The resolved class path.
+	 */
+	private String classPath;
+
+	/**
+	 * The main class and arguments of each launch.
+	 */
+	private final List<List<String>> launches = new ArrayList<>();
+
+	/**
+	 * The ids of the elements to analyse. {@code null} to analyse all elements.
+	 */
+	private List<String> elements;
+
+	/**
+	 * The charset of the project’s source files. {@code null} to use the default charset.
+	 */
+	private Charset charset;
+
+	/**
+	 * The timeout to use.
+	 */
+	private Timeout timeout = new AdaptiveTimeout();
+
+	/**
+	 * The file to save the analysis’ state to. {@code null} if the state is not to be
+	 * saved.
+	 */
+	private File snapshotFile;
+
+	/**
+	 * Selects the analysers to contribute.
+	 */
+	private AnalyserSelectionStrategy analyserSelectionStrategy = new AllAnalysersSelectionStrategy();
+
+	/**
+	 * Creates empty arguments. Use {@link #parse(String...)} to obtain instances.
+	 */
+	private CommandLineArguments() {
+	}
+
+	/**
+	 * Parses the arguments Beagle was started with.
+	 *
+	 * @param arguments The command line arguments. Must not be {@code null}.
+	 * @return The parsed arguments.
+	 * @throws IllegalArgumentException If {@code arguments} does not conform to
+	 *             {@link #USAGE}. The exception’s message describes the problem.
+	 */
+	public static CommandLineArguments parse(final String... arguments) {
+		Validate.notNull(arguments);
+
+		final CommandLineArguments result = new CommandLineArguments();
+		for (int i = 0; i < arguments.length; i += 2) {
+			final String option = arguments[i];
+			Validate.isTrue(i + 1 < arguments.length, "Missing value for %s", option);
+			result.readOption(option, arguments[i + 1]);
+		}
+
+		Validate.isTrue(result.repositoryFile != null, "Missing --repository");
+		Validate.isTrue(result.sourceStatementLinkFile != null, "Missing --source-statement-link");
+		Validate.isTrue(!result.sourceFolders.isEmpty(), "Missing --source");
+		Validate.isTrue(result.classPath != null, "Missing --classpath");
+		Validate.isTrue(!result.launches.isEmpty(), "Missing --launch");
+		return result;
+	}
+
+	/**
+	 * Reads the value of one option.
+	 *
+	 * @param option The option’s name.
+	 * @param value The option’s value.
+	 */
+	private void readOption(final String option, final String value) {
+		switch (option) {
+			case "--repository":
+				this.repositoryFile = existingFile(option, value);
+				break;
+			case "--source-statement-link":
+				this.sourceStatementLinkFile = existingFile(option, value);
+				break;
+			case "--source":
+				for (final String sourceFolder : value.split(File.pathSeparator)) {
+					Validate.isTrue(new File(sourceFolder).isDirectory(), "The source folder %s does not exist.",
+						sourceFolder);
+					this.sourceFolders.add(new File(sourceFolder).getAbsoluteFile());
+				}
+				break;
+			case "--classpath":
+				this.classPath = new FileSystemClasspathResolver(value).getClasspath();
+				break;
+			case "--launch":
+				final List<String> launch = new ArrayList<>(Arrays.asList(value.trim().split("\\s+")));
+				Validate.isTrue(!launch.get(0).isEmpty(), "--launch needs a main class.");
+				this.launches.add(launch);
+				break;
+			case "--element":
+				if (this.elements == null) {
+					this.elements = new ArrayList<>();
+				}
+				this.elements.add(value);
+				break;
+			case "--charset":
+				Validate.isTrue(Charset.isSupported(value), "The charset %s is not supported.", value);
+				this.charset = Charset.forName(value);
+				break;
+			case "--timeout":
+				this.timeout = parseTimeout(value);
+				break;
+			case "--snapshot":
+				this.snapshotFile = new File(value).getAbsoluteFile();
+				break;
+			case "--analysers-per-round":
+				this.analyserSelectionStrategy = parseAnalysersPerRound(value);
+				break;
+			default:
+				throw new IllegalArgumentException(String.format("Unknown option %s", option));
+		}
+	}
+
+	/**
+	 * Parses the value of the {@code --timeout} option.
+	 *
+	 * @param value The option’s value.
+	 * @return The timeout described by {@code value}.
+	 */
+	private static Timeout parseTimeout(final String value) {
+		switch (value) {
+			case "adaptive":
+				return new AdaptiveTimeout();
+			case "none":
+				return new NoTimeout();
+			default:
+				try {
+					return new ConstantTimeout(Integer.parseInt(value));
+				} catch (final IllegalArgumentException invalidTimeout) {
+					// includes NumberFormatException
+					throw new IllegalArgumentException(String.format("Invalid timeout %s", value), invalidTimeout);
+				}
+		}
+	}
+
+	/**
+	 * Parses the value of the {@code --analysers-per-round} option.
+	 *
+	 * @param value The option’s value.
+	 * @return A strategy selecting at most as many analysers as {@code value} describes.
+	 */
+	private static AnalyserSelectionStrategy parseAnalysersPerRound(final String value) {
+		try {
+			return new BanditAnalyserSelectionStrategy(Integer.parseInt(value));
+		} catch (final IllegalArgumentException invalidCount) {
+			// includes NumberFormatException
+			throw new IllegalArgumentException(String.format("Invalid number of analysers per round %s", value),
+				invalidCount);
+		}
+	}
+
+	/**
+	 * Checks that the file given for {@code option} exists.
+	 *
+	 * @param option The option the file was given for.
+	 * @param path The path given for {@code option}.
+	 * @return The file denoted by {@code path}.
+	 */
+	private static File existingFile(final String option, final String path) {
+		final File file = new File(path).getAbsoluteFile();
+		Validate.isTrue(file.isFile(), "The file %s given for %s does not exist.", path, option);
+		return file;
+	}
+
+	/**
+	 * Queries the PCM repository file to analyse.
+	 *
+	 * @return The repository file. Will never be {@code null}.
+	 */
+	public File getRepositoryFile() {
+		return this.repositoryFile;
+	}
+
+	/**
+	 * Queries the file containing the PCM source statement link model.
+	 *
+	 * @return The source statement link file. Will never be {@code null}.
+	 */
+	public File getSourceStatementLinkFile() {
+		return this.sourceStatementLinkFile;
+	}
+
+	/**
+	 * Queries the folders containing the project’s source code.
+	 *
+	 * @return The absolute source folders, in the order they were given. Will never be
+	 *         {@code null} or empty.
+	 */
+	public List<File> getSourceFolders() {
+		return Collections.unmodifiableList(this.sourceFolders);
+	}
+
+	/**
+	 * Queries the class path to compile and launch the project with.
+	 *
+	 * @return The class path, {@linkplain FileSystemClasspathResolver resolved}. Will
+	 *         never be {@code null}.
+	 */
+	public String getClassPath() {
+		return this.classPath;
+	}
+
+	/**
+	 * Creates the configurations to launch the project with. Each launch uses
+	 * {@link #getClassPath()}.
+	 *
+	 * @return One new launch configuration for each {@code --launch} option. Will never be
+	 *         {@code null} or empty.
+	 */
+	public Set<LaunchConfiguration> createLaunchConfigurations() {
+		final Set<LaunchConfiguration> launchConfigurations = new HashSet<>();
+		for (final List<String> launch : this.launches) {
+			launchConfigurations.add(new ProcessLaunchConfiguration(launch.get(0), this.classPath,
+				Collections.emptyList(), launch.subList(1, launch.size())));
+		}
+		return launchConfigurations;
+	}
+
+	/**
+	 * Queries which elements shall be analysed.
+	 *
+	 * @return The ids of the elements to analyse. {@code null} to analyse all elements in
+	 *         the repository.
+	 */
+	public List<String> getElements() {
+		return this.elements == null ? null : Collections.unmodifiableList(this.elements);
+	}
+
+	/**
+	 * Queries the charset of the project’s source files.
+	 *
+	 * @return The charset. {@code null} if the platform’s default charset shall be used.
+	 */
+	public Charset getCharset() {
+		return this.charset;
+	}
+
+	/**
+	 * Queries the timeout to use.
+	 *
+	 * @return The timeout. Will never be {@code null}.
+	 */
+	public Timeout getTimeout() {
+		return this.timeout;
+	}
+
+	/**
+	 * Queries the file to save the analysis’ state to.
+	 *
+	 * @return The absolute snapshot file. {@code null} if the state is not to be saved.
+	 */
+	public File getSnapshotFile() {
+		return this.snapshotFile;
+	}
+
+	/**
+	 * Queries the strategy selecting the analysers to contribute.
+	 *
+	 * @return The analyser selection strategy. Will never be {@code null}.
+	 */
+	public AnalyserSelectionStrategy getAnalyserSelectionStrategy() {
+		return this.analyserSelectionStrategy;
+	}
+}
@@ -0,0 +1,70 @@
+package de.uka.ipd.sdq.beagle.cli;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Resolves a class path given on the command line into a class path Beagle can compile
+ * and launch the analysed project with. Relative entries are resolved against the current
+ * working directory. Like the {@code java} command, an entry ending in {@code *} denotes
+ * all jar files in the folder it names. Unlike the {@code java} command, the Eclipse
+ * compiler Beagle uses does not understand such entries, so they are expanded here.
+ *
+ * @author Joshua Gleitze
+ */
+public class FileSystemClasspathResolver {
+
+	/**
+	 * Suffix of class path entries that denote all jar files in a folder.
+	 */
+	private static final String WILDCARD = "*";
+
+	/**
+	 * The class path as given on the command line.
+	 */
+	private final String classPath;
+
+	/**
+	 * Creates a resolver for {@code classPath}.
+	 *
+	 * @param classPath A class path, its entries separated by
+	 *            {@link File#pathSeparator}. Must not be {@code null}.
+	 */
+	public FileSystemClasspathResolver(final String classPath) {
+		Validate.notNull(classPath);
+		this.classPath = classPath;
+	}
+
+	/**
+	 * Builds a class path string separated by {@link File#pathSeparator} that contains
+	 * absolute paths only, with all wildcard entries expanded. Jar files matched by a
+	 * wildcard are added in alphabetical order.
+	 *
+	 * @return The resolved class path.
+	 */
+	public String getClasspath() {
+		final List<String> entries = new ArrayList<>();
+		for (final String entry : this.classPath.split(File.pathSeparator)) {
+			if (entry.isEmpty()) {
+				continue;
+			}
+			if (entry.endsWith(WILDCARD)) {
+				final File folder = new File(entry.substring(0, entry.length() - WILDCARD.length()));
+				final File[] jars = folder.listFiles((file) -> file.isFile() && file.getName().endsWith(".jar"));
+				if (jars != null) {
+					Arrays.sort(jars);
+					for (final File jar : jars) {
+						entries.add(jar.getAbsolutePath());
+					}
+				}
+			} else {
+				entries.add(new File(entry).getAbsolutePath());
+			}
+		}
+		return String.join(File.pathSeparator, entries);
+	}
+}
@@ -0,0 +1,65 @@
+package de.uka.ipd.sdq.beagle.cli;
+
+import de.uka.ipd.sdq.beagle.core.facade.SourceCodeFileProvider;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Provides source code files from source folders in the file system. Source files are
+ * expected to follow Java’s conventional layout: The type {@code a.b.C} is declared in
+ * the file {@code a/b/C.java}, relative to one of the source folders. Nested types are
+ * found in the file declaring their top level type.
+ *
+ * @author Joshua Gleitze
+ */
+public class FileSystemSourceCodeFileProvider implements SourceCodeFileProvider {
+
+	/**
+	 * See {@link Serializable}.
+	 */
+	private static final long serialVersionUID = 4395062127460930176L;
+
+	/**
+	 * The folders to search source files in, in the order they are searched.
+	 */
+	private final List<File> sourceFolders;
+
+	/**
+	 * Creates a provider returning source files from the provided {@code sourceFolders}.
+	 *
+	 * @param sourceFolders The folders to search source files in. If a type is declared
+	 *            in multiple folders, the folder that comes first is used. Must not be
+	 *            {@code null} and not contain {@code null}.
+	 */
+	public FileSystemSourceCodeFileProvider(final Collection<File> sourceFolders) {
+		Validate.noNullElements(sourceFolders);
+		this.sourceFolders = new ArrayList<>(sourceFolders);
+	}
+
+	@Override
+	public File getSourceFile(final String fullyQualifiedJavaPath) {
+		Validate.notNull(fullyQualifiedJavaPath);
+
+		// Nested types are declared in the file of their enclosing type, so we try
+		// shorter names until a file is found.
+		String typePath = fullyQualifiedJavaPath.replace('$', '.');
+		while (!typePath.isEmpty()) {
+			final String relativeFilePath = typePath.replace('.', File.separatorChar) + ".java";
+			for (final File sourceFolder : this.sourceFolders) {
+				final File sourceFile = new File(sourceFolder, relativeFilePath);
+				if (sourceFile.isFile()) {
+					return sourceFile;
+				}
+			}
+			final int lastDot = typePath.lastIndexOf('.');
+			typePath = lastDot == -1 ? "" : typePath.substring(0, lastDot);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * This plugin runs Beagle’s analysis from the command line, without the Eclipse workbench.
+ * It analyses projects that are described by plain files and folders, so it does not
+ * need an Eclipse workspace either.
+ */
+package de.uka.ipd.sdq.beagle.cli;
@@ -0,0 +1,152 @@
+package de.uka.ipd.sdq.beagle.cli;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import de.uka.ipd.sdq.beagle.core.analysis.AllAnalysersSelectionStrategy;
+import de.uka.ipd.sdq.beagle.core.analysis.BanditAnalyserSelectionStrategy;
+import de.uka.ipd.sdq.beagle.core.facade.ProcessLaunchConfiguration;
+import de.uka.ipd.sdq.beagle.core.timeout.AdaptiveTimeout;
+import de.uka.ipd.sdq.beagle.core.timeout.ConstantTimeout;
+import de.uka.ipd.sdq.beagle.core.timeout.NoTimeout;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests {@link CommandLineArguments}.
+ *
+ * @author Joshua Gleitze
+ */
+public class CommandLineArgumentsTest {
+
+	/**
+	 * Provides the files passed as arguments.
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * Arguments containing every required option.
+	 */
+	private List<String> requiredArguments;
+
+	/**
+	 * Creates {@link #requiredArguments}.
+	 *
+	 * @throws IOException If creating the files fails.
+	 */
+	@Before
+	public void createRequiredArguments() throws IOException {
+		this.requiredArguments = new ArrayList<>(Arrays.asList("--repository",
+			this.temporaryFolder.newFile("test.repository").getPath(), "--source-statement-link",
+			this.temporaryFolder.newFile("test.sourcestatementlink").getPath(), "--source",
+			this.temporaryFolder.newFolder("src").getPath(), "--classpath", "bin", "--launch", "a.Main"));
+	}
+
+	/**
+	 * Asserts that the required arguments are parsed correctly and that optional
+	 * arguments have their default values.
+	 */
+	@Test
+	public void parseRequired() {
+		final CommandLineArguments arguments = this.parse();
+
+		assertThat(arguments.getRepositoryFile(), is(new File(this.temporaryFolder.getRoot(), "test.repository")));
+		assertThat(arguments.getSourceStatementLinkFile(),
+			is(new File(this.temporaryFolder.getRoot(), "test.sourcestatementlink")));
+		assertThat(arguments.getSourceFolders(), contains(new File(this.temporaryFolder.getRoot(), "src")));
+		assertThat(arguments.getClassPath(), is(new File("bin").getAbsolutePath()));
+		assertThat(arguments.createLaunchConfigurations(), hasSize(1));
+		assertThat(arguments.createLaunchConfigurations().iterator().next(),
+			is(instanceOf(ProcessLaunchConfiguration.class)));
+		assertThat(arguments.getElements(), is(nullValue()));
+		assertThat(arguments.getCharset(), is(nullValue()));
+		assertThat(arguments.getTimeout(), is(instanceOf(AdaptiveTimeout.class)));
+		assertThat(arguments.getSnapshotFile(), is(nullValue()));
+		assertThat(arguments.getAnalyserSelectionStrategy(), is(instanceOf(AllAnalysersSelectionStrategy.class)));
+	}
+
+	/**
+	 * Asserts that optional and repeated arguments are parsed correctly.
+	 */
+	@Test
+	public void parseOptional() {
+		this.requiredArguments.addAll(Arrays.asList("--launch", "b.Main first second", "--element", "one",
+			"--element", "two", "--charset", "UTF-8", "--timeout", "none", "--snapshot", "analysis.snapshot",
+			"--analysers-per-round", "2"));
+		final CommandLineArguments arguments = this.parse();
+
+		assertThat(arguments.createLaunchConfigurations(), hasSize(2));
+		assertThat(arguments.getElements(), contains("one", "two"));
+		assertThat(arguments.getCharset(), is(StandardCharsets.UTF_8));
+		assertThat(arguments.getTimeout(), is(instanceOf(NoTimeout.class)));
+		assertThat(arguments.getSnapshotFile(), is(new File("analysis.snapshot").getAbsoluteFile()));
+		assertThat(arguments.getAnalyserSelectionStrategy(), is(instanceOf(BanditAnalyserSelectionStrategy.class)));
+
+		this.requiredArguments.addAll(Arrays.asList("--timeout", "1000"));
+		assertThat(this.parse().getTimeout(), is(instanceOf(ConstantTimeout.class)));
+	}
+
+	/**
+	 * Asserts that invalid arguments are rejected.
+	 */
+	@Test
+	public void parseInvalid() {
+		assertThat("arguments must not be null", () -> CommandLineArguments.parse((String[]) null),
+			throwsException(NullPointerException.class));
+		assertThat("required arguments must be present", () -> CommandLineArguments.parse(),
+			throwsException(IllegalArgumentException.class));
+
+		for (final String[] invalidArguments : new String[][] {
+			{
+				"--unknown", "value"
+			}, {
+				"--timeout"
+			}, {
+				"--timeout", "never"
+			}, {
+				"--timeout", "-1"
+			}, {
+				"--analysers-per-round", "0"
+			}, {
+				"--analysers-per-round", "some"
+			}, {
+				"--charset", "no such charset"
+			}, {
+				"--repository", new File(this.temporaryFolder.getRoot(), "missing").getPath()
+			}, {
+				"--source", new File(this.temporaryFolder.getRoot(), "missing").getPath()
+			}
+		}) {
+			final List<String> arguments = new ArrayList<>(this.requiredArguments);
+			arguments.addAll(Arrays.asList(invalidArguments));
+			assertThat(String.join(" ", invalidArguments) + " must be rejected",
+				() -> CommandLineArguments.parse(arguments.toArray(new String[arguments.size()])),
+				throwsException(IllegalArgumentException.class));
+		}
+	}
+
+	/**
+	 * Parses {@link #requiredArguments}.
+	 *
+	 * @return The parsed arguments.
+	 */
+	private CommandLineArguments parse() {
+		return CommandLineArguments.parse(this.requiredArguments.toArray(new String[this.requiredArguments.size()]));
+	}
+}
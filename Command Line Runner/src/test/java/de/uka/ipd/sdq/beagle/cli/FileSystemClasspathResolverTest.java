@@ -0,0 +1,61 @@
+package de.uka.ipd.sdq.beagle.cli;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Tests {@link FileSystemClasspathResolver}.
+ *
+ * @author Joshua Gleitze
+ */
+public class FileSystemClasspathResolverTest {
+
+	/**
+	 * Provides the class path entries.
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * Test method for {@link FileSystemClasspathResolver#FileSystemClasspathResolver(String)}
+	 * .
+	 */
+	@Test
+	public void constructor() {
+		assertThat("class path must not be null", () -> new FileSystemClasspathResolver(null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link FileSystemClasspathResolver#getClasspath()}.
+	 *
+	 * @throws IOException If creating the class path entries fails.
+	 */
+	@Test
+	public void getClasspath() throws IOException {
+		final File bin = this.temporaryFolder.newFolder("bin");
+		final File lib = this.temporaryFolder.newFolder("lib");
+		final File secondJar = new File(lib, "b.jar");
+		final File firstJar = new File(lib, "a.jar");
+		secondJar.createNewFile();
+		firstJar.createNewFile();
+		new File(lib, "readme.txt").createNewFile();
+
+		final String classPath = bin.getPath() + File.pathSeparator + File.pathSeparator + lib.getPath()
+			+ File.separator + "*";
+		assertThat(new FileSystemClasspathResolver(classPath).getClasspath(), is(String.join(File.pathSeparator,
+			bin.getAbsolutePath(), firstJar.getAbsolutePath(), secondJar.getAbsolutePath())));
+
+		assertThat("relative entries are made absolute",
+			new FileSystemClasspathResolver("relative").getClasspath(), is(new File("relative").getAbsolutePath()));
+		assertThat(new FileSystemClasspathResolver("").getClasspath(), is(""));
+	}
+}
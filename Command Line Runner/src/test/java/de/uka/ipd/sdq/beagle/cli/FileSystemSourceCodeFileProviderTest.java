@@ -0,0 +1,103 @@
+package de.uka.ipd.sdq.beagle.cli;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Tests {@link FileSystemSourceCodeFileProvider}.
+ *
+ * @author Joshua Gleitze
+ */
+public class FileSystemSourceCodeFileProviderTest {
+
+	/**
+	 * Provides the source folders.
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * The first source folder.
+	 */
+	private File firstFolder;
+
+	/**
+	 * The second source folder.
+	 */
+	private File secondFolder;
+
+	/**
+	 * Creates the source folders.
+	 *
+	 * @throws IOException If creating the folders fails.
+	 */
+	@Before
+	public void createSourceFolders() throws IOException {
+		this.firstFolder = this.temporaryFolder.newFolder("first");
+		this.secondFolder = this.temporaryFolder.newFolder("second");
+	}
+
+	/**
+	 * Test method for
+	 * {@link FileSystemSourceCodeFileProvider#FileSystemSourceCodeFileProvider(java.util.Collection)}
+	 * .
+	 */
+	@Test
+	public void constructor() {
+		assertThat("source folders must not be null", () -> new FileSystemSourceCodeFileProvider(null),
+			throwsException(NullPointerException.class));
+		assertThat("source folders must not contain null",
+			() -> new FileSystemSourceCodeFileProvider(Arrays.asList(this.firstFolder, null)),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link FileSystemSourceCodeFileProvider#getSourceFile(String)}.
+	 *
+	 * @throws IOException If creating the source files fails.
+	 */
+	@Test
+	public void getSourceFile() throws IOException {
+		final File onlySecond = this.createSourceFile(this.secondFolder, "a/b/OnlySecond.java");
+		final File inBothFirst = this.createSourceFile(this.firstFolder, "a/InBoth.java");
+		this.createSourceFile(this.secondFolder, "a/InBoth.java");
+		final FileSystemSourceCodeFileProvider provider =
+			new FileSystemSourceCodeFileProvider(Arrays.asList(this.firstFolder, this.secondFolder));
+
+		assertThat(provider.getSourceFile("a.b.OnlySecond"), is(onlySecond));
+		assertThat("the first folder takes precedence", provider.getSourceFile("a.InBoth"), is(inBothFirst));
+		assertThat("nested types are in the top level type’s file", provider.getSourceFile("a.InBoth.Nested"),
+			is(inBothFirst));
+		assertThat("nested types are in the top level type’s file", provider.getSourceFile("a.InBoth$Nested"),
+			is(inBothFirst));
+		assertThat(provider.getSourceFile("a.Missing"), is(nullValue()));
+		assertThat("type names must not be null", () -> provider.getSourceFile(null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Creates an empty source file.
+	 *
+	 * @param sourceFolder The source folder to create the file in.
+	 * @param relativePath The file’s path, relative to {@code sourceFolder}.
+	 * @return The created file.
+	 * @throws IOException If creating the file fails.
+	 */
+	private File createSourceFile(final File sourceFolder, final String relativePath) throws IOException {
+		final File sourceFile = new File(sourceFolder, relativePath);
+		sourceFile.getParentFile().mkdirs();
+		sourceFile.createNewFile();
+		return sourceFile;
+	}
+}
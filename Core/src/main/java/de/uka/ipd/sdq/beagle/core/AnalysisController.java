@@ -1,7 +1,10 @@
 package de.uka.ipd.sdq.beagle.core;
 
+import de.uka.ipd.sdq.beagle.core.analysis.AllAnalysersSelectionStrategy;
+import de.uka.ipd.sdq.beagle.core.analysis.AnalyserSelectionStrategy;
 import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyser;
 import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyserBlackboardView;
+import de.uka.ipd.sdq.beagle.core.analysis.ProposalRecord;
 import de.uka.ipd.sdq.beagle.core.analysis.ProposedExpressionAnalyser;
 import de.uka.ipd.sdq.beagle.core.analysis.ProposedExpressionAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyMeasurementResultAnalyserBlackboardView;
@@ -14,9 +17,19 @@ import de.uka.ipd.sdq.beagle.core.measurement.ReadOnlyMeasurementControllerBlack
 
 import org.apache.commons.lang3.Validate;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.Random;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Conducts a complete analysis of elements on a blackboard. Controls the
@@ -29,9 +42,14 @@ import java.util.Set;
  *
  * <ul>
  *
- * <li>There is always only the {@link MeasurementController}, only the {@link FinalJudge}
- * or only one {@link ProposedExpressionAnalyser} (or none of the previous) running. They
- * may use parallelisation as they wish but are self-responsible for synchronisation.
+ * <li>There are always only the {@link MeasurementController}, only the
+ * {@link FinalJudge}, only {@linkplain MeasurementResultAnalyser
+ * MeasurementResultAnalysers} or only {@linkplain ProposedExpressionAnalyser
+ * ProposedExpressionAnalysers} (or none of the previous) running. All analysers of one
+ * kind that can contribute are run concurrently, each in its own thread, but each
+ * analyser is called at most once at a time. They may use parallelisation as they wish
+ * but are self-responsible for synchronisation. The threads of running analysers are
+ * interrupted if the analysis is paused or aborted.
  *
  * <li>A {@link ProposedExpressionAnalyser} will only be called if its
  * {@link ProposedExpressionAnalyser#canContribute} method returns {@code true}. The
@@ -42,12 +60,16 @@ import java.util.Set;
  * be called next if its {@link MeasurementController#canMeasure canMeasure} method
  * returns {@code true}.
  *
- * <li>Any {@link ProposedExpressionAnalyser} whose
+ * <li>If any {@link MeasurementResultAnalyser} can contribute, the
+ * {@linkplain MeasurementResultAnalyser MeasurementResultAnalysers} the
+ * {@link AnalyserSelectionStrategy} selects among those whose
+ * {@link MeasurementResultAnalyser#canContribute canContribute} method returns
+ * {@code true} will be called. Otherwise, the {@linkplain ProposedExpressionAnalyser
+ * ProposedExpressionAnalysers} it selects among those whose
  * {@link ProposedExpressionAnalyser#canContribute canContribute} method returns
- * {@code true} will be called.
+ * {@code true} will be called. By default, all of them are selected.
  *
- * <li>The {@linkplain FinalJudge} will only be called if no
- * {@link ProposedExpressionAnalyser} can contribute.
+ * <li>The {@linkplain FinalJudge} is called after each of the previous steps.
  *
  * </ul>
  *
@@ -93,6 +115,45 @@ public class AnalysisController {
 	 */
 	private Runnable analysisInterruptor;
 
+	/**
+	 * The pool the final judge grades expressions in.
+	 */
+	private final ForkJoinPool gradingPool;
+
+	/**
+	 * The threads the contributing analysers run in. Owned by this controller, so
+	 * blocking analysers do not starve a shared pool and can be interrupted. Only exists
+	 * while the analysis is running.
+	 */
+	private ExecutorService contributionPool;
+
+	/**
+	 * The threads that are currently running an analyser’s contribution.
+	 */
+	private final Set<Thread> contributingThreads = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Selects the analysers to contribute.
+	 */
+	private final AnalyserSelectionStrategy selectionStrategy;
+
+	/**
+	 * The file to write snapshots of the blackboard to. {@code null} if no snapshots are
+	 * to be written.
+	 */
+	private BlackboardSnapshotFile snapshotFile;
+
+	/**
+	 * The minimal time in milliseconds between two snapshots.
+	 */
+	private long snapshotInterval;
+
+	/**
+	 * The time the last snapshot was written at, as returned by
+	 * {@link System#currentTimeMillis()}.
+	 */
+	private long lastSnapshotTime;
+
 	/**
 	 * Creates a controller to analyse all elements written on {@code blackboard}.
 	 *
@@ -108,6 +169,33 @@ public class AnalysisController {
 	public AnalysisController(final Blackboard blackboard, final Set<MeasurementTool> measurementTools,
 		final Set<MeasurementResultAnalyser> measurementResultAnalysers,
 		final Set<ProposedExpressionAnalyser> proposedExpressionAnalysers) {
+		this(blackboard, measurementTools, measurementResultAnalysers, proposedExpressionAnalysers,
+			ForkJoinPool.commonPool(), new AllAnalysersSelectionStrategy());
+	}
+
+	/**
+	 * Creates a controller to analyse all elements written on {@code blackboard} that
+	 * lets the final judge grade in {@code gradingPool} and lets
+	 * {@code selectionStrategy} select the analysers to contribute. The analysers are run
+	 * in threads owned by the controller.
+	 *
+	 * @param blackboard A blackboard having everything to be analysed written on it. Must
+	 *            not be {@code null}.
+	 * @param measurementTools The {@link MeasurementTool}s to use. Must not be
+	 *            {@code null} and must not contain {@code null}.
+	 * @param measurementResultAnalysers The {@link MeasurementResultAnalyser}s to use.
+	 *            Must not be {@code null} and must not contain {@code null}.
+	 * @param proposedExpressionAnalysers The {@link ProposedExpressionAnalyser}s to use.
+	 *            Must not be {@code null} and must not contain {@code null}.
+	 * @param gradingPool The pool the final judge grades expressions in. Must not be
+	 *            {@code null}.
+	 * @param selectionStrategy Selects the analysers to contribute among those that can
+	 *            contribute. Must not be {@code null}.
+	 */
+	public AnalysisController(final Blackboard blackboard, final Set<MeasurementTool> measurementTools,
+		final Set<MeasurementResultAnalyser> measurementResultAnalysers,
+		final Set<ProposedExpressionAnalyser> proposedExpressionAnalysers, final ForkJoinPool gradingPool,
+		final AnalyserSelectionStrategy selectionStrategy) {
 		Validate.notNull(blackboard);
 		Validate.notNull(measurementTools);
 		Validate.notNull(measurementResultAnalysers);
@@ -115,19 +203,62 @@ public class AnalysisController {
 		Validate.noNullElements(measurementTools);
 		Validate.noNullElements(measurementResultAnalysers);
 		Validate.noNullElements(proposedExpressionAnalysers);
+		Validate.notNull(gradingPool);
+		Validate.notNull(selectionStrategy);
 
 		this.blackboard = blackboard;
+		this.gradingPool = gradingPool;
+		this.selectionStrategy = selectionStrategy;
 		this.measurementController = new MeasurementController(measurementTools);
 		this.measurementResultAnalysers = new HashSet<>(measurementResultAnalysers);
 		this.proposedExpressionAnalysers = new HashSet<>(proposedExpressionAnalysers);
 	}
 
+	/**
+	 * Makes the controller write snapshots of the blackboard to {@code snapshotFile}
+	 * while analysing. Snapshots are written after the {@link FinalJudge} judged, but at
+	 * most once every {@code snapshotInterval} milliseconds. A last snapshot is always
+	 * written when the analysis ends. The analysis can be continued from a snapshot
+	 * through {@link #resumeAnalysis()}.
+	 *
+	 * @param newSnapshotFile The file to write the snapshots to. {@code null} to not
+	 *            write snapshots.
+	 * @param newSnapshotInterval The minimal time in milliseconds between two snapshots.
+	 *            Must not be negative.
+	 */
+	public void setSnapshotFile(final BlackboardSnapshotFile newSnapshotFile, final long newSnapshotInterval) {
+		Validate.isTrue(newSnapshotInterval >= 0, "The snapshot interval must not be negative.");
+		this.snapshotFile = newSnapshotFile;
+		this.snapshotInterval = newSnapshotInterval;
+	}
+
 	/**
 	 * Runs the complete analysis, including measurements, result analysis and the final
 	 * judging. See the class description for more details on the analysis process.
 	 */
 	public void performAnalysis() {
+		this.addAllSeffElementsAsToBeMeasured();
+		this.analyse(false);
+	}
 
+	/**
+	 * Continues an analysis on a blackboard that was restored from a
+	 * {@linkplain BlackboardSnapshotFile snapshot}. In contrast to
+	 * {@link #performAnalysis()}, the elements on the blackboard will not be measured
+	 * again, as their measurement results are already known. Elements that were reported
+	 * to be measured but not measured before the snapshot was written will be measured.
+	 * The {@link FinalJudge} continues with the data it stored on the blackboard.
+	 */
+	public void resumeAnalysis() {
+		this.analyse(true);
+	}
+
+	/**
+	 * Runs the analysis loop.
+	 *
+	 * @param resume Whether an interrupted analysis is continued.
+	 */
+	private void analyse(final boolean resume) {
 		this.analysisInterruptor = new Interruptor(Thread.currentThread());
 		this.blackboard.getProjectInformation()
 			.getTimeout()
@@ -138,36 +269,92 @@ public class AnalysisController {
 		final MeasurementControllerBlackboardView measurementControllerBlackboardView =
 			new MeasurementControllerBlackboardView(this.blackboard);
 
-		this.addAllSeffElementsAsToBeMeasured();
-
-		final FinalJudge finalJudge = new FinalJudge();
-		finalJudge.init(this.blackboard);
+		final FinalJudge finalJudge = new FinalJudge(this.gradingPool);
+		if (resume) {
+			finalJudge.resume(this.blackboard);
+		} else {
+			finalJudge.init(this.blackboard);
+		}
+		this.lastSnapshotTime = System.currentTimeMillis();
 		this.analysisState = AnalysisState.RUNNING;
 		boolean shouldContinue = true;
 
 		this.waitForPauseEnd();
 
-		while (this.analysisState != AnalysisState.ABORTING && shouldContinue) {
-			if (this.measurementController.canMeasure(readOnlyMeasurementControllerBlackboardView)) {
-				this.measurementController.measure(measurementControllerBlackboardView);
-
-				if (this.analysisState == AnalysisState.RUNNING) {
-					// After the measurements completed, clear the seff elements to be
-					// measured on the blackboard so they won't be measured again in the
-					// next iteration.
-					this.clearSeffElementsToBeMeasuredFromBlackboard();
+		this.contributionPool = Executors.newCachedThreadPool();
+		try {
+			while (this.analysisState != AnalysisState.ABORTING && shouldContinue) {
+				Map<?, ProposalRecord> contributions = Collections.emptyMap();
+
+				if (this.measurementController.canMeasure(readOnlyMeasurementControllerBlackboardView)) {
+					this.measurementController.measure(measurementControllerBlackboardView);
+
+					if (this.analysisState == AnalysisState.RUNNING) {
+						// After the measurements completed, clear the seff elements to be
+						// measured on the blackboard so they won't be measured again in the
+						// next iteration.
+						this.clearSeffElementsToBeMeasuredFromBlackboard();
+					}
+				} else {
+					contributions = this.letMeasurementResultAnalysersContribute();
+					if (contributions.isEmpty()) {
+						contributions = this.letProposedExpressionAnalysersContribute();
+					}
 				}
-			} else if (!this.chooseRandomMeasurementResultAnalyserToContribute()) {
-				this.chooseRandomProposedExpressionAnalyserToContribute();
-			}
 
-			shouldContinue = !finalJudge.judge(this.blackboard);
-			this.waitForPauseEnd();
+				shouldContinue = !finalJudge.judge(this.blackboard);
+
+				this.reportImprovements(contributions, finalJudge);
+				this.writeSnapshot(false);
+				this.waitForPauseEnd();
+			}
+		} finally {
+			this.contributionPool.shutdownNow();
 		}
 
+		this.writeSnapshot(true);
 		this.analysisState = AnalysisState.TERMINATED;
 	}
 
+	/**
+	 * Reports to the {@link #selectionStrategy} how much the proposals of each analyser
+	 * that contributed improved the fitness. Must be called after {@code finalJudge}
+	 * judged the contributions.
+	 *
+	 * @param contributions The analysers that contributed, mapped to the record of the
+	 *            expressions they proposed.
+	 * @param finalJudge The judge that judged the contributions.
+	 */
+	private void reportImprovements(final Map<?, ProposalRecord> contributions, final FinalJudge finalJudge) {
+		if (contributions.isEmpty()) {
+			return;
+		}
+		final double fitnessBefore = finalJudge.getOverallFitnessWith(Collections.emptyMap());
+		for (final Map.Entry<?, ProposalRecord> contribution : contributions.entrySet()) {
+			final double fitnessAfter = finalJudge.getOverallFitnessWith(contribution.getValue().getProposals());
+			this.selectionStrategy.reportImprovement(contribution.getKey(),
+				this.getRelativeImprovement(fitnessBefore, fitnessAfter));
+		}
+	}
+
+	/**
+	 * Writes a snapshot of the blackboard to the {@link #snapshotFile}, if one is set.
+	 * Must only be called while no participant is running.
+	 *
+	 * @param force Whether to write the snapshot even if the {@link #snapshotInterval}
+	 *            has not passed since the last snapshot.
+	 */
+	private void writeSnapshot(final boolean force) {
+		if (this.snapshotFile == null) {
+			return;
+		}
+		final long now = System.currentTimeMillis();
+		if (force || now - this.lastSnapshotTime >= this.snapshotInterval) {
+			this.snapshotFile.write(this.blackboard);
+			this.lastSnapshotTime = now;
+		}
+	}
+
 	/**
 	 * Clears the "to be measured" lists of seff elements on the blackboard.
 	 *
@@ -199,10 +386,10 @@ public class AnalysisController {
 	 *
 	 */
 	private void addAllSeffElementsAsToBeMeasured() {
-		final Set<SeffBranch> seffBranches = this.blackboard.getAllSeffBranches();
-		final Set<SeffLoop> seffLoops = this.blackboard.getAllSeffLoops();
-		final Set<ResourceDemandingInternalAction> rdias = this.blackboard.getAllRdias();
-		final Set<ExternalCallParameter> externalCallParameters = this.blackboard.getAllExternalCallParameters();
+		final Set<SeffBranch> seffBranches = this.blackboard.viewAllSeffBranches();
+		final Set<SeffLoop> seffLoops = this.blackboard.viewAllSeffLoops();
+		final Set<ResourceDemandingInternalAction> rdias = this.blackboard.viewAllRdias();
+		final Set<ExternalCallParameter> externalCallParameters = this.blackboard.viewAllExternalCallParameters();
 
 		this.blackboard.addToBeMeasuredSeffBranches(seffBranches);
 		this.blackboard.addToBeMeasuredSeffLoops(seffLoops);
@@ -211,20 +398,19 @@ public class AnalysisController {
 	}
 
 	/**
-	 * Chooses a {@link MeasurementResultAnalyser} able to contribute at random and lets
-	 * it contribute.
+	 * Lets the {@linkplain MeasurementResultAnalyser MeasurementResultAnalysers} the
+	 * {@link #selectionStrategy} selects among those able to contribute contribute
+	 * concurrently.
 	 *
-	 * @return {@code true} if the task was executed successfully; {@code false} if there
-	 *         was no {@link MeasurementResultAnalyser} able to contribute.
+	 * @return The analysers that contributed, mapped to the record of the expressions
+	 *         they proposed. Empty if there was no {@link MeasurementResultAnalyser} able
+	 *         to contribute.
 	 */
-	private boolean chooseRandomMeasurementResultAnalyserToContribute() {
+	private Map<MeasurementResultAnalyser, ProposalRecord> letMeasurementResultAnalysersContribute() {
 		final ReadOnlyMeasurementResultAnalyserBlackboardView readOnlyMeasurementResultAnalyserBlackboardView =
 			new ReadOnlyMeasurementResultAnalyserBlackboardView(this.blackboard);
-		final MeasurementResultAnalyserBlackboardView measurementResultAnalyserBlackboardView =
-			new MeasurementResultAnalyserBlackboardView(this.blackboard);
 
-		final Set<MeasurementResultAnalyser> measurementResultAnalysersAbleToContribute =
-			new HashSet<MeasurementResultAnalyser>();
+		final List<MeasurementResultAnalyser> measurementResultAnalysersAbleToContribute = new ArrayList<>();
 
 		for (final MeasurementResultAnalyser measurementResultAnalyser : this.measurementResultAnalysers) {
 			if (measurementResultAnalyser.canContribute(readOnlyMeasurementResultAnalyserBlackboardView)) {
@@ -232,45 +418,38 @@ public class AnalysisController {
 			}
 		}
 
-		if (measurementResultAnalysersAbleToContribute.size() != 0) {
-			// Choose a measurement result analyser at random.
-			final int minimum = 1;
-			final int maximum = measurementResultAnalysersAbleToContribute.size();
-			final int chosenResultAnalyser = new Random().nextInt(maximum - minimum + 1) + minimum;
-
-			int count = 1;
-			// @formatter:off
-			for (final MeasurementResultAnalyser measurementResultAnalyserAbleToContribute
-				: measurementResultAnalysersAbleToContribute) {
-				// @formatter:on
-				if (count == chosenResultAnalyser) {
-					measurementResultAnalyserAbleToContribute.contribute(measurementResultAnalyserBlackboardView);
-					return true;
-				}
-
-				count++;
-			}
-
+		if (measurementResultAnalysersAbleToContribute.isEmpty()) {
+			return Collections.emptyMap();
 		}
 
-		return false;
+		final Map<MeasurementResultAnalyser, ProposalRecord> contributors = new LinkedHashMap<>();
+		final List<Runnable> contributions = new ArrayList<>();
+		for (final MeasurementResultAnalyser contributor : this.selectionStrategy
+			.select(measurementResultAnalysersAbleToContribute)) {
+			final ProposalRecord proposalRecord = new ProposalRecord();
+			final MeasurementResultAnalyserBlackboardView measurementResultAnalyserBlackboardView =
+				new MeasurementResultAnalyserBlackboardView(this.blackboard, proposalRecord);
+			contributors.put(contributor, proposalRecord);
+			contributions.add(() -> contributor.contribute(measurementResultAnalyserBlackboardView));
+		}
+		this.contributeConcurrently(contributions);
+		return contributors;
 	}
 
 	/**
-	 * Chooses a {@link ProposedExpressionAnalyser} able to contribute at random and lets
-	 * it contribute.
+	 * Lets the {@linkplain ProposedExpressionAnalyser ProposedExpressionAnalysers} the
+	 * {@link #selectionStrategy} selects among those able to contribute contribute
+	 * concurrently.
 	 *
-	 * @return {@code true} if the task was executed successfully; {@code false} if there
-	 *         was no {@link ProposedExpressionAnalyser} able to contribute.
+	 * @return The analysers that contributed, mapped to the record of the expressions
+	 *         they proposed. Empty if there was no {@link ProposedExpressionAnalyser} able
+	 *         to contribute.
 	 */
-	private boolean chooseRandomProposedExpressionAnalyserToContribute() {
+	private Map<ProposedExpressionAnalyser, ProposalRecord> letProposedExpressionAnalysersContribute() {
 		final ReadOnlyProposedExpressionAnalyserBlackboardView readOnlyProposedExpressionAnalyserBlackboardView =
 			new ReadOnlyProposedExpressionAnalyserBlackboardView(this.blackboard);
-		final ProposedExpressionAnalyserBlackboardView proposedExpressionAnalyserBlackboardView =
-			new ProposedExpressionAnalyserBlackboardView(this.blackboard);
 
-		final Set<ProposedExpressionAnalyser> proposedExpressionAnalysersAbleToContribute =
-			new HashSet<ProposedExpressionAnalyser>();
+		final List<ProposedExpressionAnalyser> proposedExpressionAnalysersAbleToContribute = new ArrayList<>();
 
 		for (final ProposedExpressionAnalyser proposedExpressionAnalyser : this.proposedExpressionAnalysers) {
 			if (proposedExpressionAnalyser.canContribute(readOnlyProposedExpressionAnalyserBlackboardView)) {
@@ -278,28 +457,112 @@ public class AnalysisController {
 			}
 		}
 
-		if (proposedExpressionAnalysersAbleToContribute.size() != 0) {
-			// Choose a proposed expression analyser at random.
-			final int minimum = 1;
-			final int maximum = proposedExpressionAnalysersAbleToContribute.size();
-			final int chosenProposedExpressionAnalyser = new Random().nextInt(maximum - minimum + 1) + minimum;
-
-			int count = 1;
-			// @formatter:off
-			for (final ProposedExpressionAnalyser proposedExpressionAnalyserAbleToContribute
-				: proposedExpressionAnalysersAbleToContribute) {
-				// @formatter:on
-				if (count == chosenProposedExpressionAnalyser) {
-					proposedExpressionAnalyserAbleToContribute.contribute(proposedExpressionAnalyserBlackboardView);
-					return true;
-				}
+		if (proposedExpressionAnalysersAbleToContribute.isEmpty()) {
+			return Collections.emptyMap();
+		}
 
-				count++;
+		final Map<ProposedExpressionAnalyser, ProposalRecord> contributors = new LinkedHashMap<>();
+		final List<Runnable> contributions = new ArrayList<>();
+		for (final ProposedExpressionAnalyser contributor : this.selectionStrategy
+			.select(proposedExpressionAnalysersAbleToContribute)) {
+			final ProposalRecord proposalRecord = new ProposalRecord();
+			final ProposedExpressionAnalyserBlackboardView proposedExpressionAnalyserBlackboardView =
+				new ProposedExpressionAnalyserBlackboardView(this.blackboard, proposalRecord);
+			contributors.put(contributor, proposalRecord);
+			contributions.add(() -> contributor.contribute(proposedExpressionAnalyserBlackboardView));
+		}
+		this.contributeConcurrently(contributions);
+		return contributors;
+	}
+
+	/**
+	 * Runs {@code contributions} concurrently in the {@link #contributionPool} and waits
+	 * for all of them to finish. If a contribution fails, its exception is rethrown after
+	 * all contributions finished.
+	 *
+	 * @param contributions The contributions of analysers.
+	 */
+	private void contributeConcurrently(final List<Runnable> contributions) {
+		final List<Future<?>> runningContributions = new ArrayList<>();
+		for (final Runnable contribution : contributions) {
+			runningContributions.add(this.contributionPool.submit(() -> this.runInterruptibly(contribution)));
+		}
+		// Wait for all contributions before reporting the first failure, so no analyser
+		// keeps working on the blackboard in the background.
+		Throwable failure = null;
+		for (final Future<?> runningContribution : runningContributions) {
+			final Throwable contributionFailure = this.awaitContribution(runningContribution);
+			if (failure == null) {
+				failure = contributionFailure;
 			}
+		}
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+		if (failure != null) {
+			throw new IllegalStateException("An analyser failed to contribute.", failure);
+		}
+	}
 
+	/**
+	 * Runs {@code contribution} in the current thread, which will be interrupted if the
+	 * analysis is paused or aborted meanwhile.
+	 *
+	 * @param contribution The contribution of an analyser.
+	 */
+	private void runInterruptibly(final Runnable contribution) {
+		final Thread contributingThread = Thread.currentThread();
+		this.contributingThreads.add(contributingThread);
+		try {
+			contribution.run();
+		} finally {
+			this.contributingThreads.remove(contributingThread);
 		}
+	}
 
-		return false;
+	/**
+	 * Waits for a contribution to finish. Interrupts of the waiting thread are ignored,
+	 * as they were passed on to the contributing analysers, which decide themselves how
+	 * to react to them.
+	 *
+	 * @param runningContribution The contribution to wait for.
+	 * @return The exception the contribution failed with. {@code null} if it did not
+	 *         fail.
+	 */
+	private Throwable awaitContribution(final Future<?> runningContribution) {
+		while (true) {
+			try {
+				runningContribution.get();
+				return null;
+			} catch (final ExecutionException contributionFailure) {
+				return contributionFailure.getCause();
+			} catch (final InterruptedException exception) {
+				// Retry on interrupt. The analysers were interrupted, too.
+			}
+		}
+	}
+
+	/**
+	 * Calculates the relative improvement from {@code fitnessBefore} to
+	 * {@code fitnessAfter}.
+	 *
+	 * @param fitnessBefore The overall fitness before the improvement.
+	 * @param fitnessAfter The overall fitness after the improvement.
+	 * @return The relative improvement. A value between 0 (the fitness did not get
+	 *         better) and 1 (the deviation was eliminated).
+	 */
+	private double getRelativeImprovement(final double fitnessBefore, final double fitnessAfter) {
+		if (!(fitnessAfter < fitnessBefore)) {
+			return 0;
+		}
+		if (Double.isInfinite(fitnessBefore)) {
+			// Any finite fitness is infinitely better.
+			return 1;
+		}
+		return 1 - fitnessAfter / fitnessBefore;
 	}
 
 	/**
@@ -361,8 +624,9 @@ public class AnalysisController {
 	}
 
 	/**
-	 * The callback the {@link AnalysisController} uses to interrupt the working thread if
-	 * the user is pausing or aborting the analysis.
+	 * The callback the {@link AnalysisController} uses to interrupt the working thread and
+	 * the threads of all contributing analysers if the user is pausing or aborting the
+	 * analysis.
 	 *
 	 * @author Christoph Michelbach
 	 */
@@ -385,6 +649,9 @@ public class AnalysisController {
 		@Override
 		public void run() {
 			this.mainTread.interrupt();
+			for (final Thread contributingThread : AnalysisController.this.contributingThreads) {
+				contributingThread.interrupt();
+			}
 		}
 
 	}
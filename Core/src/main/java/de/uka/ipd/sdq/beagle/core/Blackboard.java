@@ -1,10 +1,12 @@
 package de.uka.ipd.sdq.beagle.core;
 
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.CanonicalExpressionFactory;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
 import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunction;
 import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 
 import org.apache.commons.lang3.Validate;
@@ -12,10 +14,13 @@ import org.apache.commons.lang3.Validate;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Central and only storage of all knowledge gained by Beagle. Implements, together with
@@ -25,11 +30,40 @@ import java.util.Set;
  * {@link BranchDecisionMeasurementResult} , {@link LoopRepetitionCountMeasurementResult}
  * and {@link EvaluableExpression}. It further allows classes to store custom data.
  *
+ * <p>Measurement results are not stored as objects but in
+ * {@linkplain MeasurementResultColumns columns} of primitive values. The
+ * {@code getMeasurementResultColumnsFor} methods provide access to them without copying.
+ * Likewise, the {@code get} methods returning sets return copies that may be modified
+ * freely, while the {@code view} methods return read only, live views. Views are cheap
+ * to create and answer queries like {@link Set#size()}, {@link Set#isEmpty()} and
+ * {@link Set#forEach} without copying anything.
+ *
+ * <p>The Blackboard keeps track of which elements got new measurement results and new
+ * proposed expressions. Each such change gets a <em>version</em>. Versions are positive,
+ * increase monotonically and are shared by both kinds of changes. Clients can remember
+ * the {@linkplain #getMeasurementResultsVersion() current version} and later ask which
+ * elements {@linkplain #getElementsWithMeasurementResultsSince(long) changed since}. This
+ * takes time proportional to the number of changed elements instead of the number of
+ * all elements and results.
+ *
+ * <p>Analysers may contribute to the Blackboard concurrently. Proposing expressions,
+ * reporting elements to be measured and reading and writing private data of
+ * {@linkplain BlackboardStorer BlackboardStorers} is thread safe. Each
+ * {@linkplain BlackboardStorer} only ever accesses its own private data, so concurrently
+ * running analysers are isolated from each other. All other modifications must not
+ * happen concurrently to any access.
+ *
  * <p>The Blackboard is typically not accessed directly by its using classes, but through
  * <em>blackboard views</em> (recognisable by having the {@code BlackboardView} suffix).
  * These are surrogates for the blackboard. They don’t modify its contents but only
  * restrict access to it.
  *
+ * <p>The state of an analysis can be saved and later be continued by writing the
+ * blackboard to a {@link BlackboardSnapshotFile}. Everything on the blackboard, including
+ * the private data of {@linkplain BlackboardStorer BlackboardStorers}, is part of the
+ * snapshot. The {@linkplain #getFitnessFunction() fitness function} and the
+ * {@linkplain #getProjectInformation() project information} are not.
+ *
  * @author Christoph Michelbach
  * @author Joshua Gleitze
  * @author Roman Langrehr
@@ -71,45 +105,43 @@ public class Blackboard implements Serializable {
 	/**
 	 * All resource demanding internal actions which are to be measured.
 	 */
-	private final Set<ResourceDemandingInternalAction> rdiasToBeMeasured = new HashSet<>();
+	private final Set<ResourceDemandingInternalAction> rdiasToBeMeasured = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * All SEFF branches which are to be measured.
 	 */
-	private final Set<SeffBranch> branchesToBeMeasured = new HashSet<>();
+	private final Set<SeffBranch> branchesToBeMeasured = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * All SEFF loops which are to be count.
 	 */
-	private final Set<SeffLoop> loopsToBeMeasured = new HashSet<>();
+	private final Set<SeffLoop> loopsToBeMeasured = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * All external call parameter which are to be measured.
 	 */
-	private final Set<ExternalCallParameter> externalCallParameterToBeMeasured = new HashSet<>();
+	private final Set<ExternalCallParameter> externalCallParameterToBeMeasured = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * All resource demanding internal results.
 	 */
-	private final Map<ResourceDemandingInternalAction, Set<ResourceDemandMeasurementResult>> rdiasMeasurementResults =
+	private final Map<ResourceDemandingInternalAction, DoubleMeasurementResultColumns> rdiasMeasurementResults =
 		new HashMap<>();
 
 	/**
 	 * All SEFF branches results.
 	 */
-	private final Map<SeffBranch, Set<BranchDecisionMeasurementResult>> branchDecisionMeasurementResults =
-		new HashMap<>();
+	private final Map<SeffBranch, IntMeasurementResultColumns> branchDecisionMeasurementResults = new HashMap<>();
 
 	/**
 	 * All SEFF loop count results.
 	 */
-	private final Map<SeffLoop, Set<LoopRepetitionCountMeasurementResult>> loopRepititionCountMeasurementResults =
-		new HashMap<>();
+	private final Map<SeffLoop, IntMeasurementResultColumns> loopRepititionCountMeasurementResults = new HashMap<>();
 
 	/**
 	 * All parameter change results.
 	 */
-	private final Map<ExternalCallParameter, Set<ParameterChangeMeasurementResult>> parameterChangeMeasurementResults =
+	private final Map<ExternalCallParameter, IntMeasurementResultColumns> parameterChangeMeasurementResults =
 		new HashMap<>();
 
 	/**
@@ -123,20 +155,38 @@ public class Blackboard implements Serializable {
 	private final Map<MeasurableSeffElement, EvaluableExpression> finalExpressions = new HashMap<>();
 
 	/**
-	 * Is the function to get a better evaluable expression result.
+	 * The clock handing out the versions of all changes recorded in
+	 * {@link #measurementResultsChangelog} and {@link #proposedExpressionsChangelog}.
+	 */
+	private final AtomicLong changeClock = new AtomicLong();
+
+	/**
+	 * Records which elements got new measurement results.
+	 */
+	private final BlackboardChangelog measurementResultsChangelog = new BlackboardChangelog(this.changeClock);
+
+	/**
+	 * Records which elements got new proposed expressions.
+	 */
+	private final BlackboardChangelog proposedExpressionsChangelog = new BlackboardChangelog(this.changeClock);
+
+	/**
+	 * Is the function to get a better evaluable expression result. Not serialised, as it
+	 * describes the environment of the analysis rather than its state.
 	 */
-	private final EvaluableExpressionFitnessFunction fitnessFunction;
+	private transient EvaluableExpressionFitnessFunction fitnessFunction;
 
 	/**
 	 * Private data of tools, written through {@link #writeFor(Class, Serializable)}.
 	 */
 	private final Map<Class<? extends BlackboardStorer<? extends Serializable>>, Object> privateWrittenData =
-		new HashMap<>();
+		new ConcurrentHashMap<>();
 
 	/**
-	 * Information about the project belonging to this blackboard.
+	 * Information about the project belonging to this blackboard. Not serialised, as it
+	 * describes the environment of the analysis rather than its state.
 	 */
-	private final ProjectInformation projectInformation;
+	private transient ProjectInformation projectInformation;
 
 	/**
 	 * Creates a new blackboard that can be used to analyse the given elements.
@@ -171,20 +221,20 @@ public class Blackboard implements Serializable {
 		this.allSeffElements.addAll(externalCalls);
 
 		for (final SeffBranch branch : this.branches) {
-			this.branchDecisionMeasurementResults.put(branch, new HashSet<>());
+			this.branchDecisionMeasurementResults.put(branch, new IntMeasurementResultColumns());
 		}
 		for (final SeffLoop loop : this.loops) {
-			this.loopRepititionCountMeasurementResults.put(loop, new HashSet<>());
+			this.loopRepititionCountMeasurementResults.put(loop, new IntMeasurementResultColumns());
 		}
 		for (final ExternalCallParameter parameter : this.externalCallParameters) {
-			this.parameterChangeMeasurementResults.put(parameter, new HashSet<>());
+			this.parameterChangeMeasurementResults.put(parameter, new IntMeasurementResultColumns());
 		}
 		for (final ResourceDemandingInternalAction rdia : this.rdias) {
-			this.rdiasMeasurementResults.put(rdia, new HashSet<>());
+			this.rdiasMeasurementResults.put(rdia, new DoubleMeasurementResultColumns());
 		}
 
 		for (final MeasurableSeffElement element : this.allSeffElements) {
-			this.proposedExpressions.put(element, new HashSet<>());
+			this.proposedExpressions.put(element, ConcurrentHashMap.newKeySet());
 		}
 	}
 
@@ -275,6 +325,114 @@ public class Blackboard implements Serializable {
 		return new HashSet<>(this.externalCallParameterToBeMeasured);
 	}
 
+	/**
+	 * All {@linkplain ResourceDemandingInternalAction resource demanding internal
+	 * actions} known to Beagle. Unlike {@link #getAllRdias()}, this method does not copy
+	 * anything.
+	 *
+	 * @return all {@linkplain ResourceDemandingInternalAction resource demanding internal
+	 *         actions} known to Beagle. A read only, live view on the blackboard content.
+	 *         Is never {@code null}.
+	 */
+	public Set<ResourceDemandingInternalAction> viewAllRdias() {
+		return Collections.unmodifiableSet(this.rdias);
+	}
+
+	/**
+	 * All {@linkplain SeffBranch SEFF branches} known to Beagle. Unlike
+	 * {@link #getAllSeffBranches()}, this method does not copy anything.
+	 *
+	 * @return all {@linkplain SeffBranch SEFF branches} known to Beagle. A read only,
+	 *         live view on the blackboard content. Is never {@code null}.
+	 */
+	public Set<SeffBranch> viewAllSeffBranches() {
+		return Collections.unmodifiableSet(this.branches);
+	}
+
+	/**
+	 * All {@linkplain SeffLoop SEFF loops} known to Beagle. Unlike
+	 * {@link #getAllSeffLoops()}, this method does not copy anything.
+	 *
+	 * @return all {@linkplain SeffLoop SEFF loops} known to Beagle. A read only, live
+	 *         view on the blackboard content. Is never {@code null}.
+	 */
+	public Set<SeffLoop> viewAllSeffLoops() {
+		return Collections.unmodifiableSet(this.loops);
+	}
+
+	/**
+	 * All {@linkplain ExternalCallParameter external call parameters} known to Beagle.
+	 * Unlike {@link #getAllExternalCallParameters()}, this method does not copy anything.
+	 *
+	 * @return All {@linkplain ExternalCallParameter external call parameters} known to
+	 *         Beagle. A read only, live view on the blackboard content. Is never
+	 *         {@code null}.
+	 */
+	public Set<ExternalCallParameter> viewAllExternalCallParameters() {
+		return Collections.unmodifiableSet(this.externalCallParameters);
+	}
+
+	/**
+	 * {@linkplain ResourceDemandingInternalAction RDIAs} that shall be measured for their
+	 * resource demands. Unlike {@link #getRdiasToBeMeasured()}, this method does not copy
+	 * anything.
+	 *
+	 * @return All {@linkplain ResourceDemandingInternalAction resource demanding internal
+	 *         actions} to be measured. A read only, live view on the blackboard content.
+	 *         Is never {@code null}.
+	 */
+	public Set<ResourceDemandingInternalAction> viewRdiasToBeMeasured() {
+		return Collections.unmodifiableSet(this.rdiasToBeMeasured);
+	}
+
+	/**
+	 * {@linkplain SeffBranch SEFF branches} that shall be measured for their branch
+	 * decisions. Unlike {@link #getSeffBranchesToBeMeasured()}, this method does not copy
+	 * anything.
+	 *
+	 * @return All {@linkplain SeffBranch SEFF branches} to be measured. A read only, live
+	 *         view on the blackboard content. Is never {@code null}.
+	 */
+	public Set<SeffBranch> viewSeffBranchesToBeMeasured() {
+		return Collections.unmodifiableSet(this.branchesToBeMeasured);
+	}
+
+	/**
+	 * {@linkplain SeffLoop SEFF loops} that shall be measured for their repetitions.
+	 * Unlike {@link #getSeffLoopsToBeMeasured()}, this method does not copy anything.
+	 *
+	 * @return All {@linkplain SeffLoop SEFF loops} to be measured. A read only, live view
+	 *         on the blackboard content. Is never {@code null}.
+	 */
+	public Set<SeffLoop> viewSeffLoopsToBeMeasured() {
+		return Collections.unmodifiableSet(this.loopsToBeMeasured);
+	}
+
+	/**
+	 * {@linkplain ExternalCallParameter External call parameters} that shall be measured.
+	 * Unlike {@link #getExternalCallParametersToBeMeasured()}, this method does not copy
+	 * anything.
+	 *
+	 * @return All {@linkplain ExternalCallParameter external call parameters} which shall
+	 *         be measured. A read only, live view on the blackboard content. Is never
+	 *         {@code null}.
+	 */
+	public Set<ExternalCallParameter> viewExternalCallParametersToBeMeasured() {
+		return Collections.unmodifiableSet(this.externalCallParameterToBeMeasured);
+	}
+
+	/**
+	 * Checks whether any SEFF element shall be measured.
+	 *
+	 * @return {@code true} if any resource demanding internal action, SEFF branch, SEFF
+	 *         loop or external call parameter was reported to be measured since the
+	 *         respective set was cleared last.
+	 */
+	public boolean hasElementsToBeMeasured() {
+		return !(this.rdiasToBeMeasured.isEmpty() && this.branchesToBeMeasured.isEmpty()
+			&& this.loopsToBeMeasured.isEmpty() && this.externalCallParameterToBeMeasured.isEmpty());
+	}
+
 	/**
 	 * Reports that {@code rdias} shall be measured for its resource demands.
 	 *
@@ -428,9 +586,30 @@ public class Blackboard implements Serializable {
 	 *         set will not modify the blackboard content. Is never {@code null}.
 	 */
 	public Set<ResourceDemandMeasurementResult> getMeasurementResultsFor(final ResourceDemandingInternalAction rdia) {
+		Validate.notNull(rdia);
+		final DoubleMeasurementResultColumns columns = this.getMeasurementResultColumnsFor(rdia);
+		final Set<ResourceDemandMeasurementResult> results = new HashSet<>(columns.size());
+		for (int i = 0; i < columns.size(); i++) {
+			final Parameterisation parameterisation = columns.getParameterisationAt(i);
+			results.add(parameterisation == null ? new ResourceDemandMeasurementResult(columns.getValueAt(i))
+				: new ResourceDemandMeasurementResult(parameterisation, columns.getValueAt(i)));
+		}
+		return results;
+	}
+
+	/**
+	 * Gets all results yet measured for the resource demands of {@code rdia} without
+	 * copying them.
+	 *
+	 * @param rdia An resource demanding internal action to get the measurement results
+	 *            of. Must not be {@code null}.
+	 * @return The resource demands measured for {@code rdia}. A read only, live view on
+	 *         the blackboard content. Is never {@code null}.
+	 */
+	public DoubleMeasurementResultColumns getMeasurementResultColumnsFor(final ResourceDemandingInternalAction rdia) {
 		Validate.notNull(rdia);
 		Validate.isTrue(this.rdias.contains(rdia));
-		return new HashSet<>(this.rdiasMeasurementResults.get(rdia));
+		return this.rdiasMeasurementResults.get(rdia);
 	}
 
 	/**
@@ -442,9 +621,30 @@ public class Blackboard implements Serializable {
 	 *         returned set will not modify the blackboard content. Is never {@code null}.
 	 */
 	public Set<BranchDecisionMeasurementResult> getMeasurementResultsFor(final SeffBranch branch) {
+		Validate.notNull(branch);
+		final IntMeasurementResultColumns columns = this.getMeasurementResultColumnsFor(branch);
+		final Set<BranchDecisionMeasurementResult> results = new HashSet<>(columns.size());
+		for (int i = 0; i < columns.size(); i++) {
+			final Parameterisation parameterisation = columns.getParameterisationAt(i);
+			results.add(parameterisation == null ? new BranchDecisionMeasurementResult(columns.getValueAt(i))
+				: new BranchDecisionMeasurementResult(parameterisation, columns.getValueAt(i)));
+		}
+		return results;
+	}
+
+	/**
+	 * Gets all results yet measured for branch decisions of {@code branch} without
+	 * copying them. The values are the indices of the taken branches.
+	 *
+	 * @param branch A SEFF Branch to get the measurement results of. Must not be
+	 *            {@code null}.
+	 * @return The branch decisions measured for {@code branch}. A read only, live view on
+	 *         the blackboard content. Is never {@code null}.
+	 */
+	public IntMeasurementResultColumns getMeasurementResultColumnsFor(final SeffBranch branch) {
 		Validate.notNull(branch);
 		Validate.isTrue(this.branches.contains(branch));
-		return new HashSet<>(this.branchDecisionMeasurementResults.get(branch));
+		return this.branchDecisionMeasurementResults.get(branch);
 	}
 
 	/**
@@ -456,9 +656,30 @@ public class Blackboard implements Serializable {
 	 *         set will not modify the blackboard content. Is never {@code null}.
 	 */
 	public Set<LoopRepetitionCountMeasurementResult> getMeasurementResultsFor(final SeffLoop loop) {
+		Validate.notNull(loop);
+		final IntMeasurementResultColumns columns = this.getMeasurementResultColumnsFor(loop);
+		final Set<LoopRepetitionCountMeasurementResult> results = new HashSet<>(columns.size());
+		for (int i = 0; i < columns.size(); i++) {
+			final Parameterisation parameterisation = columns.getParameterisationAt(i);
+			results.add(parameterisation == null ? new LoopRepetitionCountMeasurementResult(columns.getValueAt(i))
+				: new LoopRepetitionCountMeasurementResult(parameterisation, columns.getValueAt(i)));
+		}
+		return results;
+	}
+
+	/**
+	 * Gets all results yet measured for the loop repetitions of {@code loop} without
+	 * copying them. The values are the measured repetition counts.
+	 *
+	 * @param loop A SEFF Loop to get the measurement results of. Must not be {@code null}
+	 *            .
+	 * @return The repetition counts measured for {@code loop}. A read only, live view on
+	 *         the blackboard content. Is never {@code null}.
+	 */
+	public IntMeasurementResultColumns getMeasurementResultColumnsFor(final SeffLoop loop) {
 		Validate.notNull(loop);
 		Validate.isTrue(this.loops.contains(loop));
-		return new HashSet<>(this.loopRepititionCountMeasurementResults.get(loop));
+		return this.loopRepititionCountMeasurementResults.get(loop);
 	}
 
 	/**
@@ -472,10 +693,33 @@ public class Blackboard implements Serializable {
 	 *         {@code null}.
 	 */
 	public Set<ParameterChangeMeasurementResult> getMeasurementResultsFor(
+		final ExternalCallParameter externalCallParameter) {
+		Validate.notNull(externalCallParameter);
+		final IntMeasurementResultColumns columns = this.getMeasurementResultColumnsFor(externalCallParameter);
+		final Set<ParameterChangeMeasurementResult> results = new HashSet<>(columns.size());
+		for (int i = 0; i < columns.size(); i++) {
+			final Parameterisation parameterisation = columns.getParameterisationAt(i);
+			results.add(parameterisation == null ? new ParameterChangeMeasurementResult()
+				: new ParameterChangeMeasurementResult(parameterisation));
+		}
+		return results;
+	}
+
+	/**
+	 * Gets all results yet measured for the external parameter
+	 * {@code externalCallParameter} without copying them. The values are the measured
+	 * change counts.
+	 *
+	 * @param externalCallParameter An external parameter to get the measurement results
+	 *            of. Must not be {@code null}.
+	 * @return The parameter changes measured for {@code externalCallParameter}. A read
+	 *         only, live view on the blackboard content. Is never {@code null}.
+	 */
+	public IntMeasurementResultColumns getMeasurementResultColumnsFor(
 		final ExternalCallParameter externalCallParameter) {
 		Validate.notNull(externalCallParameter);
 		Validate.isTrue(this.externalCallParameters.contains(externalCallParameter));
-		return new HashSet<>(this.parameterChangeMeasurementResults.get(externalCallParameter));
+		return this.parameterChangeMeasurementResults.get(externalCallParameter);
 	}
 
 	/**
@@ -490,7 +734,8 @@ public class Blackboard implements Serializable {
 		Validate.notNull(rdia);
 		Validate.notNull(results);
 		Validate.isTrue(this.rdias.contains(rdia), "rdia must already be on the blackboard");
-		this.rdiasMeasurementResults.get(rdia).add(results);
+		this.rdiasMeasurementResults.get(rdia).add(results.getParameterisation(), results.getValue());
+		this.measurementResultsChangelog.record(rdia);
 	}
 
 	/**
@@ -503,7 +748,8 @@ public class Blackboard implements Serializable {
 		Validate.notNull(branch);
 		Validate.notNull(results);
 		Validate.isTrue(this.branches.contains(branch), "branch must already be on the blackboard");
-		this.branchDecisionMeasurementResults.get(branch).add(results);
+		this.branchDecisionMeasurementResults.get(branch).add(results.getParameterisation(), results.getBranchIndex());
+		this.measurementResultsChangelog.record(branch);
 	}
 
 	/**
@@ -516,7 +762,8 @@ public class Blackboard implements Serializable {
 		Validate.notNull(loop);
 		Validate.notNull(results);
 		Validate.isTrue(this.loops.contains(loop), "loop must already be on the blackboard");
-		this.loopRepititionCountMeasurementResults.get(loop).add(results);
+		this.loopRepititionCountMeasurementResults.get(loop).add(results.getParameterisation(), results.getCount());
+		this.measurementResultsChangelog.record(loop);
 	}
 
 	/**
@@ -531,7 +778,172 @@ public class Blackboard implements Serializable {
 		Validate.notNull(parameter);
 		Validate.notNull(results);
 		Validate.isTrue(this.externalCallParameters.contains(parameter), "parameter must already be on the blackboard");
-		this.parameterChangeMeasurementResults.get(parameter).add(results);
+		this.parameterChangeMeasurementResults.get(parameter).add(results.getParameterisation(), results.getCount());
+		this.measurementResultsChangelog.record(parameter);
+	}
+
+	/**
+	 * Adds measurement results for the provided {@code rdia}.
+	 *
+	 * @param rdia A resource demanding internal action that was measured. Must not be
+	 *            {@code null} .
+	 * @param results The results of measurements. Must not be {@code null} and must not
+	 *            contain {@code null}.
+	 * @see #addMeasurementResultFor(ResourceDemandingInternalAction,
+	 *      ResourceDemandMeasurementResult)
+	 */
+	public void addMeasurementResultsFor(final ResourceDemandingInternalAction rdia,
+		final Collection<ResourceDemandMeasurementResult> results) {
+		Validate.notNull(rdia);
+		Validate.noNullElements(results);
+		Validate.isTrue(this.rdias.contains(rdia), "rdia must already be on the blackboard");
+		final DoubleMeasurementResultColumns columns = this.rdiasMeasurementResults.get(rdia);
+		for (final ResourceDemandMeasurementResult result : results) {
+			columns.add(result.getParameterisation(), result.getValue());
+		}
+		if (!results.isEmpty()) {
+			this.measurementResultsChangelog.record(rdia);
+		}
+	}
+
+	/**
+	 * Adds measurement results for the provided {@code branch}.
+	 *
+	 * @param branch A SEFF Branch which was measured. Must not be {@code null}.
+	 * @param results The results of measurements. Must not be {@code null} and must not
+	 *            contain {@code null}.
+	 * @see #addMeasurementResultFor(SeffBranch, BranchDecisionMeasurementResult)
+	 */
+	public void addMeasurementResultsFor(final SeffBranch branch,
+		final Collection<BranchDecisionMeasurementResult> results) {
+		Validate.notNull(branch);
+		Validate.noNullElements(results);
+		Validate.isTrue(this.branches.contains(branch), "branch must already be on the blackboard");
+		final IntMeasurementResultColumns columns = this.branchDecisionMeasurementResults.get(branch);
+		for (final BranchDecisionMeasurementResult result : results) {
+			columns.add(result.getParameterisation(), result.getBranchIndex());
+		}
+		if (!results.isEmpty()) {
+			this.measurementResultsChangelog.record(branch);
+		}
+	}
+
+	/**
+	 * Adds measurement results for the provided {@code loop}.
+	 *
+	 * @param loop A SEFF Loop which was measured. Must not be {@code null}.
+	 * @param results The results of measurements. Must not be {@code null} and must not
+	 *            contain {@code null}.
+	 * @see #addMeasurementResultFor(SeffLoop, LoopRepetitionCountMeasurementResult)
+	 */
+	public void addMeasurementResultsFor(final SeffLoop loop,
+		final Collection<LoopRepetitionCountMeasurementResult> results) {
+		Validate.notNull(loop);
+		Validate.noNullElements(results);
+		Validate.isTrue(this.loops.contains(loop), "loop must already be on the blackboard");
+		final IntMeasurementResultColumns columns = this.loopRepititionCountMeasurementResults.get(loop);
+		for (final LoopRepetitionCountMeasurementResult result : results) {
+			columns.add(result.getParameterisation(), result.getCount());
+		}
+		if (!results.isEmpty()) {
+			this.measurementResultsChangelog.record(loop);
+		}
+	}
+
+	/**
+	 * Adds measurement results for the provided {@code parameter}.
+	 *
+	 * @param parameter An external call parameter which was measured. Must not be
+	 *            {@code null}.
+	 * @param results The results of measurements. Must not be {@code null} and must not
+	 *            contain {@code null}.
+	 * @see #addMeasurementResultFor(ExternalCallParameter,
+	 *      ParameterChangeMeasurementResult)
+	 */
+	public void addMeasurementResultsFor(final ExternalCallParameter parameter,
+		final Collection<ParameterChangeMeasurementResult> results) {
+		Validate.notNull(parameter);
+		Validate.noNullElements(results);
+		Validate.isTrue(this.externalCallParameters.contains(parameter), "parameter must already be on the blackboard");
+		final IntMeasurementResultColumns columns = this.parameterChangeMeasurementResults.get(parameter);
+		for (final ParameterChangeMeasurementResult result : results) {
+			columns.add(result.getParameterisation(), result.getCount());
+		}
+		if (!results.isEmpty()) {
+			this.measurementResultsChangelog.record(parameter);
+		}
+	}
+
+	/**
+	 * Gets the version of the latest measurement results added to the blackboard.
+	 *
+	 * @return The version of the latest change of any element’s measurement results, or
+	 *         {@code 0} if no results were added yet.
+	 */
+	public long getMeasurementResultsVersion() {
+		return this.measurementResultsChangelog.getVersion();
+	}
+
+	/**
+	 * Gets the version of the latest measurement results added for {@code element}.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return The version of the latest change of {@code element}’s measurement results,
+	 *         or {@code 0} if no results were added for it yet.
+	 */
+	public long getMeasurementResultsVersionFor(final MeasurableSeffElement element) {
+		Validate.notNull(element);
+		Validate.isTrue(this.allSeffElements.contains(element), "element must already be on the blackboard");
+		return this.measurementResultsChangelog.getVersionOf(element);
+	}
+
+	/**
+	 * Gets all elements that got new measurement results after {@code version}.
+	 *
+	 * @param version A version, typically obtained from
+	 *            {@link #getMeasurementResultsVersion()} earlier. Must not be negative.
+	 * @return All elements whose measurement results changed after {@code version}.
+	 *         Changes to the returned set will not modify the blackboard content. Is
+	 *         never {@code null}.
+	 */
+	public Set<MeasurableSeffElement> getElementsWithMeasurementResultsSince(final long version) {
+		return this.measurementResultsChangelog.getChangedSince(version);
+	}
+
+	/**
+	 * Gets the version of the latest expression proposed on the blackboard.
+	 *
+	 * @return The version of the latest change of any element’s proposed expressions, or
+	 *         {@code 0} if no expressions were proposed yet.
+	 */
+	public long getProposedExpressionsVersion() {
+		return this.proposedExpressionsChangelog.getVersion();
+	}
+
+	/**
+	 * Gets the version of the latest expression proposed for {@code element}.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return The version of the latest change of {@code element}’s proposed
+	 *         expressions, or {@code 0} if no expressions were proposed for it yet.
+	 */
+	public long getProposedExpressionsVersionFor(final MeasurableSeffElement element) {
+		Validate.notNull(element);
+		Validate.isTrue(this.allSeffElements.contains(element), "element must already be on the blackboard");
+		return this.proposedExpressionsChangelog.getVersionOf(element);
+	}
+
+	/**
+	 * Gets all elements that got new proposed expressions after {@code version}.
+	 *
+	 * @param version A version, typically obtained from
+	 *            {@link #getProposedExpressionsVersion()} earlier. Must not be negative.
+	 * @return All elements whose proposed expressions changed after {@code version}.
+	 *         Changes to the returned set will not modify the blackboard content. Is
+	 *         never {@code null}.
+	 */
+	public Set<MeasurableSeffElement> getElementsWithProposedExpressionsSince(final long version) {
+		return this.proposedExpressionsChangelog.getChangedSince(version);
 	}
 
 	/**
@@ -549,7 +961,26 @@ public class Blackboard implements Serializable {
 	}
 
 	/**
-	 * Adds {@code expression} as a proposal.
+	 * Returns all {@linkplain EvaluableExpression evaluable expressions} proposed for
+	 * {@code element}. Unlike {@link #getProposedExpressionFor(MeasurableSeffElement)},
+	 * this method does not copy anything. The view may be iterated while expressions are
+	 * proposed concurrently.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return All {@linkplain EvaluableExpression evaluable expressions} proposed for
+	 *         {@code element}. A read only, live view on the blackboard content. Is never
+	 *         {@code null}.
+	 */
+	public Set<EvaluableExpression> viewProposedExpressionsFor(final MeasurableSeffElement element) {
+		Validate.notNull(element);
+		Validate.isTrue(this.allSeffElements.contains(element), "element must already be on the blackboard");
+		return Collections.unmodifiableSet(this.proposedExpressions.get(element));
+	}
+
+	/**
+	 * Adds {@code expression} as a proposal. The blackboard stores the
+	 * {@linkplain CanonicalExpressionFactory#intern canonical instance} of
+	 * {@code expression}, so proposals share their common subexpressions.
 	 *
 	 * @param element A SEFF element. Must not be {@code null}.
 	 * @param expression An evaluable expression proposed to describe {@code element}’s
@@ -559,7 +990,34 @@ public class Blackboard implements Serializable {
 		Validate.notNull(element);
 		Validate.notNull(expression);
 		Validate.isTrue(this.allSeffElements.contains(element), "element must already be on the blackboard");
-		this.proposedExpressions.get(element).add(expression);
+		if (this.proposedExpressions.get(element).add(CanonicalExpressionFactory.intern(expression))) {
+			this.proposedExpressionsChangelog.record(element);
+		}
+	}
+
+	/**
+	 * Adds all {@code expressions} as proposals, like
+	 * {@link #addProposedExpressionFor(MeasurableSeffElement, EvaluableExpression)} does
+	 * for each of them.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @param expressions Evaluable expressions proposed to describe {@code element}’s
+	 *            measurement results. Must not be {@code null} and must not contain
+	 *            {@code null}.
+	 */
+	public void addProposedExpressionsFor(final MeasurableSeffElement element,
+		final Collection<EvaluableExpression> expressions) {
+		Validate.notNull(element);
+		Validate.noNullElements(expressions);
+		Validate.isTrue(this.allSeffElements.contains(element), "element must already be on the blackboard");
+		final Set<EvaluableExpression> proposed = this.proposedExpressions.get(element);
+		boolean changed = false;
+		for (final EvaluableExpression expression : expressions) {
+			changed |= proposed.add(CanonicalExpressionFactory.intern(expression));
+		}
+		if (changed) {
+			this.proposedExpressionsChangelog.record(element);
+		}
 	}
 
 	/**
@@ -625,7 +1083,11 @@ public class Blackboard implements Serializable {
 	public <WRITTEN_TYPE extends Serializable> void writeFor(
 		final Class<? extends BlackboardStorer<WRITTEN_TYPE>> writer, final WRITTEN_TYPE written) {
 		Validate.notNull(writer);
-		this.privateWrittenData.put(writer, written);
+		if (written == null) {
+			this.privateWrittenData.remove(writer);
+		} else {
+			this.privateWrittenData.put(writer, written);
+		}
 	}
 
 	/**
@@ -652,6 +1114,40 @@ public class Blackboard implements Serializable {
 		return (WRITTEN_TYPE) this.privateWrittenData.get(writer);
 	}
 
+	/**
+	 * Gives direct access to the private data of all
+	 * {@linkplain BlackboardStorer BlackboardStorers}. Only meant to be used by
+	 * {@link BlackboardCodec}, which needs to store and restore all of it.
+	 *
+	 * @return The private data, mapped by the class it was written for. Changes to the
+	 *         map will be written through to this blackboard.
+	 */
+	Map<Class<? extends BlackboardStorer<? extends Serializable>>, Object> getPrivateWrittenData() {
+		return this.privateWrittenData;
+	}
+
+	/**
+	 * Gives direct access to the record of which elements got new measurement results.
+	 * Only meant to be used by {@link BlackboardCodec}, which needs to store and restore
+	 * it.
+	 *
+	 * @return The changelog of measurement results.
+	 */
+	BlackboardChangelog getMeasurementResultsChangelog() {
+		return this.measurementResultsChangelog;
+	}
+
+	/**
+	 * Gives direct access to the record of which elements got new proposed expressions.
+	 * Only meant to be used by {@link BlackboardCodec}, which needs to store and restore
+	 * it.
+	 *
+	 * @return The changelog of proposed expressions.
+	 */
+	BlackboardChangelog getProposedExpressionsChangelog() {
+		return this.proposedExpressionsChangelog;
+	}
+
 	/**
 	 * Information about the project belonging to this blackboard.
 	 *
@@ -660,4 +1156,5 @@ public class Blackboard implements Serializable {
 	public ProjectInformation getProjectInformation() {
 		return this.projectInformation;
 	}
+
 }
@@ -0,0 +1,156 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records which {@linkplain MeasurableSeffElement SEFF elements} changed in one category
+ * of the {@link Blackboard}’s content, like their measurement results. Every change gets
+ * a <em>version</em> from a clock that may be shared between several changelogs. Versions
+ * are positive and increase monotonically, so changes of all changelogs sharing a clock
+ * are ordered. The version {@code 0} stands for “never changed”.
+ *
+ * <p>Only the latest change of each element is kept. Finding the elements that changed
+ * since a version thus takes time proportional to the number of these elements, not to
+ * the number of all elements.
+ *
+ * <p>This class is thread safe.
+ *
+ * @author Joshua Gleitze
+ */
+final class BlackboardChangelog implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -4407364006383302174L;
+
+	/**
+	 * The clock handing out versions.
+	 */
+	private final AtomicLong clock;
+
+	/**
+	 * The version of each element’s latest change.
+	 */
+	private final Map<MeasurableSeffElement, Long> elementVersions = new HashMap<>();
+
+	/**
+	 * The elements by the version of their latest change.
+	 */
+	private final NavigableMap<Long, MeasurableSeffElement> changes = new TreeMap<>();
+
+	/**
+	 * Creates a changelog that obtains its versions from {@code clock}.
+	 *
+	 * @param clock The clock handing out versions. Its value is the latest version handed
+	 *            out. Must not be {@code null}.
+	 */
+	BlackboardChangelog(final AtomicLong clock) {
+		Validate.notNull(clock);
+		this.clock = clock;
+	}
+
+	/**
+	 * Records that {@code element} changed.
+	 *
+	 * @param element The element that changed. Must not be {@code null}.
+	 * @return The version of this change.
+	 */
+	synchronized long record(final MeasurableSeffElement element) {
+		Validate.notNull(element);
+		final long version = this.clock.incrementAndGet();
+		this.setVersion(element, version);
+		return version;
+	}
+
+	/**
+	 * Replaces everything recorded in this changelog by {@code versions}. Used to restore
+	 * a changelog. The clock is advanced to the greatest restored version if it is
+	 * behind.
+	 *
+	 * @param versions The version of the latest change of every element that changed.
+	 *            Must not be {@code null}, must not contain {@code null} keys and all
+	 *            versions must be positive and distinct.
+	 */
+	synchronized void restore(final Map<MeasurableSeffElement, Long> versions) {
+		Validate.notNull(versions);
+		Validate.isTrue(new HashSet<>(versions.values()).size() == versions.size(), "Versions must be distinct.");
+		this.elementVersions.clear();
+		this.changes.clear();
+		for (final Map.Entry<MeasurableSeffElement, Long> change : versions.entrySet()) {
+			Validate.isTrue(change.getValue() != null && change.getValue() > 0, "Invalid version for %s: %s",
+				change.getKey(), change.getValue());
+			this.clock.accumulateAndGet(change.getValue(), Math::max);
+			this.setVersion(change.getKey(), change.getValue());
+		}
+	}
+
+	/**
+	 * Gets the version of the latest change recorded in this changelog.
+	 *
+	 * @return The version of the latest change, or {@code 0} if nothing changed yet.
+	 */
+	synchronized long getVersion() {
+		return this.changes.isEmpty() ? 0 : this.changes.lastKey();
+	}
+
+	/**
+	 * Gets the version of the latest change of {@code element}.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return The version of {@code element}’s latest change, or {@code 0} if it did not
+	 *         change yet.
+	 */
+	synchronized long getVersionOf(final MeasurableSeffElement element) {
+		Validate.notNull(element);
+		final Long version = this.elementVersions.get(element);
+		return version == null ? 0 : version;
+	}
+
+	/**
+	 * Gets all elements that changed after {@code version}.
+	 *
+	 * @param version A version. Must not be negative.
+	 * @return All elements whose latest change has a version greater than
+	 *         {@code version}. Changes to the returned set will not modify the
+	 *         changelog. Is never {@code null}.
+	 */
+	synchronized Set<MeasurableSeffElement> getChangedSince(final long version) {
+		Validate.isTrue(version >= 0, "Versions are never negative, but got %d.", version);
+		return new HashSet<>(this.changes.tailMap(version, false).values());
+	}
+
+	/**
+	 * Gets the version of the latest change of every element that changed.
+	 *
+	 * @return The version of each changed element’s latest change. A read only copy.
+	 */
+	synchronized Map<MeasurableSeffElement, Long> getElementVersions() {
+		return Collections.unmodifiableMap(new HashMap<>(this.elementVersions));
+	}
+
+	/**
+	 * Sets the version of {@code element}’s latest change.
+	 *
+	 * @param element The element that changed. Must not be {@code null}.
+	 * @param version The version of the change.
+	 */
+	private void setVersion(final MeasurableSeffElement element, final long version) {
+		Validate.notNull(element);
+		final Long previousVersion = this.elementVersions.put(element, version);
+		if (previousVersion != null) {
+			this.changes.remove(previousVersion);
+		}
+		this.changes.put(version, element);
+	}
+}
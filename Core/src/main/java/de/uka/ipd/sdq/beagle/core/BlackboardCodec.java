@@ -0,0 +1,1193 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.AdditionExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ComparisonExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.DivisionExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpressionVisitor;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ExponentationExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ExponentialFunctionExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.IfThenElseExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.LogarithmExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.MultiplicationExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.NaturalLogarithmExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.SineExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.SubtractionExpression;
+import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunction;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes {@linkplain Blackboard Blackboards} in a compact binary format and reads them
+ * back. Compared to Java’s serialisation, the format is much smaller and faster to
+ * process:
+ *
+ * <ul>
+ *
+ * <li>Files, {@linkplain CodeSection code sections}, {@linkplain ResourceDemandType
+ * resource demand types} and {@linkplain EvaluableVariable variables} are interned: Each
+ * distinct value is written only once and referenced afterwards. Equal values are thus
+ * restored as the same instance.
+ *
+ * <li>Measurement results are written as packed arrays of their primitive values.
+ *
+ * <li>Expression trees are written in prefix order, one tag byte per node. Sub
+ * expressions that were written before are referenced.
+ *
+ * </ul>
+ *
+ * <p>Like {@linkplain BlackboardSnapshotFile snapshots}, the encoding contains
+ * everything written on the blackboard, including the private data of
+ * {@linkplain BlackboardStorer BlackboardStorers}, but neither its fitness function nor
+ * its project information. Expressions of unknown types are written through Java’s
+ * serialisation. The private data of all storers is written as one serialised
+ * {@link HashMap}, too. It is thus not interned: Values in it that equal values written
+ * elsewhere in the encoding are written again and are restored as separate instances.
+ *
+ * <p>This class is thread safe.
+ *
+ * @author Joshua Gleitze
+ */
+public class BlackboardCodec {
+
+	/**
+	 * Marks the start of an encoded blackboard.
+	 */
+	private static final int MAGIC_NUMBER = 0x4265_426C;
+
+	/**
+	 * The version of the format written by this codec.
+	 */
+	private static final byte FORMAT_VERSION = 3;
+
+	/**
+	 * Tag of an expression that was written before and is referenced.
+	 */
+	private static final byte REFERENCE = 0;
+
+	/**
+	 * Tag of an {@link AdditionExpression}.
+	 */
+	private static final byte ADDITION = 1;
+
+	/**
+	 * Tag of a {@link MultiplicationExpression}.
+	 */
+	private static final byte MULTIPLICATION = 2;
+
+	/**
+	 * Tag of an {@link EvaluableVariable}.
+	 */
+	private static final byte VARIABLE = 3;
+
+	/**
+	 * Tag of a {@link ConstantExpression}.
+	 */
+	private static final byte CONSTANT = 4;
+
+	/**
+	 * Tag of a {@link ComparisonExpression}.
+	 */
+	private static final byte COMPARISON = 5;
+
+	/**
+	 * Tag of a {@link DivisionExpression}.
+	 */
+	private static final byte DIVISION = 6;
+
+	/**
+	 * Tag of an {@link ExponentationExpression}.
+	 */
+	private static final byte EXPONENTATION = 7;
+
+	/**
+	 * Tag of an {@link ExponentialFunctionExpression}.
+	 */
+	private static final byte EXPONENTIAL_FUNCTION = 8;
+
+	/**
+	 * Tag of an {@link IfThenElseExpression}.
+	 */
+	private static final byte IF_THEN_ELSE = 9;
+
+	/**
+	 * Tag of a {@link LogarithmExpression}.
+	 */
+	private static final byte LOGARITHM = 10;
+
+	/**
+	 * Tag of a {@link NaturalLogarithmExpression}.
+	 */
+	private static final byte NATURAL_LOGARITHM = 11;
+
+	/**
+	 * Tag of a {@link SineExpression}.
+	 */
+	private static final byte SINE = 12;
+
+	/**
+	 * Tag of a {@link SubtractionExpression}.
+	 */
+	private static final byte SUBTRACTION = 13;
+
+	/**
+	 * Tag of an expression of an unknown type, written through Java’s serialisation.
+	 */
+	private static final byte SERIALISED = 14;
+
+	/**
+	 * The expression types that are written in prefix order. Subclasses of them are not
+	 * included, as they could not be restored.
+	 */
+	private static final Set<Class<?>> KNOWN_EXPRESSION_TYPES = new HashSet<>(Arrays.asList(
+		AdditionExpression.class, MultiplicationExpression.class, EvaluableVariable.class, ConstantExpression.class,
+		ComparisonExpression.class, DivisionExpression.class, ExponentationExpression.class,
+		ExponentialFunctionExpression.class, IfThenElseExpression.class, LogarithmExpression.class,
+		NaturalLogarithmExpression.class, SineExpression.class, SubtractionExpression.class));
+
+	/**
+	 * Writes {@code blackboard} to {@code output}. The blackboard must not be modified
+	 * while it is written. {@code output} is flushed, but not closed.
+	 *
+	 * @param blackboard The blackboard to write. Must not be {@code null}.
+	 * @param output The stream to write to. Must not be {@code null}.
+	 * @throws IOException If writing to {@code output} fails.
+	 */
+	public void encode(final Blackboard blackboard, final OutputStream output) throws IOException {
+		Validate.notNull(blackboard);
+		Validate.notNull(output);
+		final DataOutputStream dataOutput = new DataOutputStream(output);
+		new Encoder(dataOutput).encode(blackboard);
+		dataOutput.flush();
+	}
+
+	/**
+	 * Reads a blackboard written by {@link #encode(Blackboard, OutputStream)} from
+	 * {@code input}.
+	 *
+	 * @param input The stream to read from. Must not be {@code null}. Will not be
+	 *            closed.
+	 * @param fitnessFunction The fitness function of the restored blackboard. Must not be
+	 *            {@code null}.
+	 * @param projectInformation Information about the project belonging to the restored
+	 *            blackboard.
+	 * @return The restored blackboard.
+	 * @throws IOException If reading from {@code input} fails or {@code input} does not
+	 *             contain an encoded blackboard.
+	 */
+	public Blackboard decode(final InputStream input, final EvaluableExpressionFitnessFunction fitnessFunction,
+		final ProjectInformation projectInformation) throws IOException {
+		Validate.notNull(input);
+		Validate.notNull(fitnessFunction);
+		return new Decoder(new DataInputStream(input)).decode(fitnessFunction, projectInformation);
+	}
+
+	/**
+	 * Writes {@code value} using one to five bytes. Small values take fewer bytes.
+	 *
+	 * @param output The output to write to.
+	 * @param value The value to write. Negative values take five bytes.
+	 * @throws IOException If writing fails.
+	 */
+	private static void writeVarInt(final DataOutput output, final int value) throws IOException {
+		int remaining = value;
+		while ((remaining & ~0x7F) != 0) {
+			output.writeByte((remaining & 0x7F) | 0x80);
+			remaining >>>= 7;
+		}
+		output.writeByte(remaining);
+	}
+
+	/**
+	 * Reads a value written by {@link #writeVarInt(DataOutput, int)}.
+	 *
+	 * @param input The input to read from.
+	 * @return The read value.
+	 * @throws IOException If reading fails or the value is malformed.
+	 */
+	private static int readVarInt(final DataInput input) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+			final byte current = input.readByte();
+			value |= (current & 0x7F) << shift;
+			if ((current & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new StreamCorruptedException("Malformed variable length integer.");
+	}
+
+	/**
+	 * Reads a non-negative count written by {@link #writeVarInt(DataOutput, int)}.
+	 *
+	 * @param input The input to read from.
+	 * @return The read count.
+	 * @throws IOException If reading fails or the count is negative.
+	 */
+	private static int readCount(final DataInput input) throws IOException {
+		final int count = readVarInt(input);
+		if (count < 0) {
+			throw new StreamCorruptedException(String.format("Invalid count: %d", count));
+		}
+		return count;
+	}
+
+	/**
+	 * Writes one blackboard. Realised as private inner class to hide the visitor
+	 * interface and to keep the interning tables of one encoding.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class Encoder implements EvaluableExpressionVisitor {
+
+		/**
+		 * The output to write to.
+		 */
+		private final DataOutputStream output;
+
+		/**
+		 * The files written so far, mapped to their id.
+		 */
+		private final Map<File, Integer> files = new HashMap<>();
+
+		/**
+		 * The code sections written so far, mapped to their id.
+		 */
+		private final Map<CodeSection, Integer> codeSections = new HashMap<>();
+
+		/**
+		 * The resource demand types written so far, mapped to their id.
+		 */
+		private final Map<ResourceDemandType, Integer> resourceDemandTypes = new HashMap<>();
+
+		/**
+		 * The SEFF elements written so far, mapped to their id.
+		 */
+		private final Map<MeasurableSeffElement, Integer> elements = new HashMap<>();
+
+		/**
+		 * The expressions written so far, mapped to their id.
+		 */
+		private final Map<EvaluableExpression, Integer> expressions = new IdentityHashMap<>();
+
+		/**
+		 * The variables written so far, mapped to their id. Equal variables are written
+		 * only once, even if they are different instances.
+		 */
+		private final Map<EvaluableVariable, Integer> variables = new HashMap<>();
+
+		/**
+		 * Creates an encoder writing to {@code output}.
+		 *
+		 * @param output The output to write to.
+		 */
+		private Encoder(final DataOutputStream output) {
+			this.output = output;
+		}
+
+		/**
+		 * Writes {@code blackboard}.
+		 *
+		 * @param blackboard The blackboard to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void encode(final Blackboard blackboard) throws IOException {
+			this.output.writeInt(MAGIC_NUMBER);
+			this.output.writeByte(FORMAT_VERSION);
+
+			final Set<ResourceDemandingInternalAction> rdias = blackboard.getAllRdias();
+			final Set<SeffBranch> branches = blackboard.getAllSeffBranches();
+			final Set<SeffLoop> loops = blackboard.getAllSeffLoops();
+			final Set<ExternalCallParameter> parameters = blackboard.getAllExternalCallParameters();
+
+			writeVarInt(this.output, rdias.size());
+			for (final ResourceDemandingInternalAction rdia : rdias) {
+				this.writeResourceDemandType(rdia.getResourceType());
+				this.writeCodeSection(rdia.getAction());
+				this.elements.put(rdia, this.elements.size());
+			}
+			writeVarInt(this.output, branches.size());
+			for (final SeffBranch branch : branches) {
+				writeVarInt(this.output, branch.getBranches().size());
+				for (final CodeSection codeSection : branch.getBranches()) {
+					this.writeCodeSection(codeSection);
+				}
+				this.elements.put(branch, this.elements.size());
+			}
+			writeVarInt(this.output, loops.size());
+			for (final SeffLoop loop : loops) {
+				this.writeCodeSection(loop.getLoopBody());
+				this.elements.put(loop, this.elements.size());
+			}
+			writeVarInt(this.output, parameters.size());
+			for (final ExternalCallParameter parameter : parameters) {
+				this.writeCodeSection(parameter.getCallCodeSection());
+				writeVarInt(this.output, parameter.getIndex());
+				this.elements.put(parameter, this.elements.size());
+			}
+
+			this.writeElements(blackboard.getRdiasToBeMeasured());
+			this.writeElements(blackboard.getSeffBranchesToBeMeasured());
+			this.writeElements(blackboard.getSeffLoopsToBeMeasured());
+			this.writeElements(blackboard.getExternalCallParametersToBeMeasured());
+
+			for (final ResourceDemandingInternalAction rdia : rdias) {
+				this.writeColumns(blackboard.getMeasurementResultColumnsFor(rdia));
+			}
+			for (final SeffBranch branch : branches) {
+				this.writeColumns(blackboard.getMeasurementResultColumnsFor(branch));
+			}
+			for (final SeffLoop loop : loops) {
+				this.writeColumns(blackboard.getMeasurementResultColumnsFor(loop));
+			}
+			for (final ExternalCallParameter parameter : parameters) {
+				this.writeColumns(blackboard.getMeasurementResultColumnsFor(parameter));
+			}
+
+			// The elements map iterates in no particular order, but the decoder only
+			// needs the ids, which are written along.
+			for (final Map.Entry<MeasurableSeffElement, Integer> element : this.elements.entrySet()) {
+				final Set<EvaluableExpression> proposedExpressions =
+					blackboard.getProposedExpressionFor(element.getKey());
+				final EvaluableExpression finalExpression = blackboard.getFinalExpressionFor(element.getKey());
+				if (proposedExpressions.isEmpty() && finalExpression == null) {
+					continue;
+				}
+				writeVarInt(this.output, element.getValue());
+				writeVarInt(this.output, proposedExpressions.size());
+				for (final EvaluableExpression expression : proposedExpressions) {
+					this.writeExpression(expression);
+				}
+				this.output.writeBoolean(finalExpression != null);
+				if (finalExpression != null) {
+					this.writeExpression(finalExpression);
+				}
+			}
+			// Element ids are non-negative, so -1 ends the list.
+			writeVarInt(this.output, -1);
+
+			this.writeChangelog(blackboard.getMeasurementResultsChangelog());
+			this.writeChangelog(blackboard.getProposedExpressionsChangelog());
+
+			this.writeSerialised(new HashMap<>(blackboard.getPrivateWrittenData()));
+		}
+
+		/**
+		 * Writes the ids of {@code seffElements}.
+		 *
+		 * @param seffElements SEFF elements that were written before.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeElements(final Collection<? extends MeasurableSeffElement> seffElements)
+			throws IOException {
+			writeVarInt(this.output, seffElements.size());
+			for (final MeasurableSeffElement element : seffElements) {
+				writeVarInt(this.output, this.elements.get(element));
+			}
+		}
+
+		/**
+		 * Writes the versions recorded in {@code changelog}.
+		 *
+		 * @param changelog A changelog of the written blackboard.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeChangelog(final BlackboardChangelog changelog) throws IOException {
+			final Map<MeasurableSeffElement, Long> versions = changelog.getElementVersions();
+			writeVarInt(this.output, versions.size());
+			for (final Map.Entry<MeasurableSeffElement, Long> version : versions.entrySet()) {
+				writeVarInt(this.output, this.elements.get(version.getKey()));
+				this.output.writeLong(version.getValue());
+			}
+		}
+
+		/**
+		 * Writes {@code file}, or a reference to it if it was written before.
+		 *
+		 * @param file The file to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeFile(final File file) throws IOException {
+			final Integer id = this.files.get(file);
+			if (id != null) {
+				writeVarInt(this.output, id + 1);
+				return;
+			}
+			writeVarInt(this.output, 0);
+			this.output.writeUTF(file.getPath());
+			this.files.put(file, this.files.size());
+		}
+
+		/**
+		 * Writes {@code codeSection}, or a reference to it if an equal code section was
+		 * written before.
+		 *
+		 * @param codeSection The code section to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeCodeSection(final CodeSection codeSection) throws IOException {
+			final Integer id = this.codeSections.get(codeSection);
+			if (id != null) {
+				writeVarInt(this.output, id + 1);
+				return;
+			}
+			writeVarInt(this.output, 0);
+			this.writeFile(codeSection.getStartFile());
+			writeVarInt(this.output, codeSection.getStartSectionIndex());
+			this.writeFile(codeSection.getEndFile());
+			writeVarInt(this.output, codeSection.getEndSectionIndex());
+			this.codeSections.put(codeSection, this.codeSections.size());
+		}
+
+		/**
+		 * Writes {@code type}, or a reference to it if an equal type was written before.
+		 *
+		 * @param type The resource demand type to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeResourceDemandType(final ResourceDemandType type) throws IOException {
+			final Integer id = this.resourceDemandTypes.get(type);
+			if (id != null) {
+				writeVarInt(this.output, id + 1);
+				return;
+			}
+			writeVarInt(this.output, 0);
+			this.output.writeUTF(type.getName());
+			this.output.writeBoolean(type.isNs());
+			this.resourceDemandTypes.put(type, this.resourceDemandTypes.size());
+		}
+
+		/**
+		 * Writes all values in {@code columns} as one packed array.
+		 *
+		 * @param columns The measurement results to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeColumns(final DoubleMeasurementResultColumns columns) throws IOException {
+			writeVarInt(this.output, columns.size());
+			this.writeParameterisations(columns);
+			final byte[] packed = new byte[columns.size() * Double.BYTES];
+			ByteBuffer.wrap(packed).asDoubleBuffer().put(columns.getValues().toArray());
+			this.output.write(packed);
+		}
+
+		/**
+		 * Writes all values in {@code columns}. Each value takes as few bytes as
+		 * possible.
+		 *
+		 * @param columns The measurement results to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeColumns(final IntMeasurementResultColumns columns) throws IOException {
+			writeVarInt(this.output, columns.size());
+			this.writeParameterisations(columns);
+			for (int i = 0; i < columns.size(); i++) {
+				final int value = columns.getValueAt(i);
+				// zig zag encoding, so small negative values take few bytes, too
+				writeVarInt(this.output, (value << 1) ^ (value >> (Integer.SIZE - 1)));
+			}
+		}
+
+		/**
+		 * Writes which values in {@code columns} have a parameterisation, as a bit set,
+		 * followed by the variables and values of each parameterisation.
+		 *
+		 * @param columns The measurement results to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeParameterisations(final MeasurementResultColumns columns) throws IOException {
+			byte[] present = null;
+			for (int i = 0; i < columns.size(); i++) {
+				if (columns.getParameterisationAt(i) != null) {
+					if (present == null) {
+						present = new byte[(columns.size() + Byte.SIZE - 1) / Byte.SIZE];
+					}
+					present[i / Byte.SIZE] |= 1 << (i % Byte.SIZE);
+				}
+			}
+			this.output.writeBoolean(present != null);
+			if (present != null) {
+				this.output.write(present);
+				for (int i = 0; i < columns.size(); i++) {
+					final Parameterisation parameterisation = columns.getParameterisationAt(i);
+					if (parameterisation != null) {
+						this.writeParameterisation(parameterisation);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Writes the variables of {@code parameterisation} and their values. Variables
+		 * are interned together with expressions.
+		 *
+		 * @param parameterisation The parameterisation to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeParameterisation(final Parameterisation parameterisation) throws IOException {
+			final Set<EvaluableVariable> variables = parameterisation.getVariables();
+			writeVarInt(this.output, variables.size());
+			for (final EvaluableVariable variable : variables) {
+				this.writeExpression(variable);
+				this.output.writeDouble(parameterisation.getValueFor(variable));
+			}
+		}
+
+		/**
+		 * Writes {@code expression} in prefix order. Writes a reference for
+		 * {@code expression} and each of its contained expressions that was written
+		 * before.
+		 *
+		 * @param expression The expression to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeExpression(final EvaluableExpression expression) throws IOException {
+			Integer id = this.expressions.get(expression);
+			if (id == null && expression instanceof EvaluableVariable) {
+				id = this.variables.get(expression);
+			}
+			if (id != null) {
+				this.output.writeByte(REFERENCE);
+				writeVarInt(this.output, id);
+				return;
+			}
+
+			if (KNOWN_EXPRESSION_TYPES.contains(expression.getClass())) {
+				try {
+					expression.receive(this);
+				} catch (final UncheckedIOException ioError) {
+					throw ioError.getCause();
+				}
+			} else {
+				this.output.writeByte(SERIALISED);
+				this.writeSerialised(expression);
+			}
+
+			// Ids are assigned after the contained expressions were written, because the
+			// decoder can only create an expression after having read them.
+			id = this.expressions.size();
+			this.expressions.put(expression, id);
+			if (expression instanceof EvaluableVariable) {
+				this.variables.put((EvaluableVariable) expression, id);
+			}
+		}
+
+		/**
+		 * Writes the tag of an expression and the expressions it contains.
+		 *
+		 * @param tag The expression’s tag.
+		 * @param containedExpressions The expressions directly contained in the
+		 *            expression.
+		 */
+		private void writeExpression(final byte tag, final EvaluableExpression... containedExpressions) {
+			try {
+				this.output.writeByte(tag);
+				for (final EvaluableExpression containedExpression : containedExpressions) {
+					this.writeExpression(containedExpression);
+				}
+			} catch (final IOException ioError) {
+				throw new UncheckedIOException(ioError);
+			}
+		}
+
+		/**
+		 * Writes the tag of an expression and the expressions it contains, preceded by
+		 * their number.
+		 *
+		 * @param tag The expression’s tag.
+		 * @param containedExpressions The expressions directly contained in the
+		 *            expression.
+		 */
+		private void writeExpression(final byte tag, final Collection<EvaluableExpression> containedExpressions) {
+			try {
+				this.output.writeByte(tag);
+				writeVarInt(this.output, containedExpressions.size());
+				for (final EvaluableExpression containedExpression : containedExpressions) {
+					this.writeExpression(containedExpression);
+				}
+			} catch (final IOException ioError) {
+				throw new UncheckedIOException(ioError);
+			}
+		}
+
+		/**
+		 * Writes {@code object} through Java’s serialisation, preceded by the number of
+		 * written bytes.
+		 *
+		 * @param object The object to write.
+		 * @throws IOException If writing fails.
+		 */
+		private void writeSerialised(final Object object) throws IOException {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (ObjectOutputStream objectOutput = new ObjectOutputStream(bytes)) {
+				objectOutput.writeObject(object);
+			}
+			writeVarInt(this.output, bytes.size());
+			bytes.writeTo(this.output);
+		}
+
+		@Override
+		public void visit(final AdditionExpression expression) {
+			this.writeExpression(ADDITION, expression.getSummands());
+		}
+
+		@Override
+		public void visit(final MultiplicationExpression expression) {
+			this.writeExpression(MULTIPLICATION, expression.getFactors());
+		}
+
+		@Override
+		public void visit(final EvaluableVariable variable) {
+			try {
+				this.output.writeByte(VARIABLE);
+				this.output.writeUTF(variable.getName());
+			} catch (final IOException ioError) {
+				throw new UncheckedIOException(ioError);
+			}
+		}
+
+		@Override
+		public void visit(final ComparisonExpression expression) {
+			this.writeExpression(COMPARISON, expression.getSmaller(), expression.getGreater());
+		}
+
+		@Override
+		public void visit(final ConstantExpression constant) {
+			try {
+				this.output.writeByte(CONSTANT);
+				this.output.writeDouble(constant.getValue());
+			} catch (final IOException ioError) {
+				throw new UncheckedIOException(ioError);
+			}
+		}
+
+		@Override
+		public void visit(final DivisionExpression expression) {
+			this.writeExpression(DIVISION, expression.getDividend(), expression.getDivisor());
+		}
+
+		@Override
+		public void visit(final ExponentationExpression expression) {
+			this.writeExpression(EXPONENTATION, expression.getBase(), expression.getExponent());
+		}
+
+		@Override
+		public void visit(final ExponentialFunctionExpression expression) {
+			this.writeExpression(EXPONENTIAL_FUNCTION, expression.getExponent());
+		}
+
+		@Override
+		public void visit(final IfThenElseExpression expression) {
+			this.writeExpression(IF_THEN_ELSE, expression.getIfStatement(), expression.getThenStatement(),
+				expression.getElseStatement());
+		}
+
+		@Override
+		public void visit(final LogarithmExpression expression) {
+			this.writeExpression(LOGARITHM, expression.getBase(), expression.getAntilogarithm());
+		}
+
+		@Override
+		public void visit(final NaturalLogarithmExpression expression) {
+			this.writeExpression(NATURAL_LOGARITHM, expression.getAntilogarithm());
+		}
+
+		@Override
+		public void visit(final SineExpression expression) {
+			this.writeExpression(SINE, expression.getArgument());
+		}
+
+		@Override
+		public void visit(final SubtractionExpression expression) {
+			this.writeExpression(SUBTRACTION, expression.getMinuend(), expression.getSubtrahend());
+		}
+	}
+
+	/**
+	 * Reads one blackboard. Keeps the interning tables of one encoding.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class Decoder {
+
+		/**
+		 * The input to read from.
+		 */
+		private final DataInput input;
+
+		/**
+		 * The files read so far, by their id.
+		 */
+		private final List<File> files = new ArrayList<>();
+
+		/**
+		 * The code sections read so far, by their id.
+		 */
+		private final List<CodeSection> codeSections = new ArrayList<>();
+
+		/**
+		 * The resource demand types read so far, by their id.
+		 */
+		private final List<ResourceDemandType> resourceDemandTypes = new ArrayList<>();
+
+		/**
+		 * The SEFF elements read so far, by their id.
+		 */
+		private final List<MeasurableSeffElement> elements = new ArrayList<>();
+
+		/**
+		 * The expressions read so far, by their id.
+		 */
+		private final List<EvaluableExpression> expressions = new ArrayList<>();
+
+		/**
+		 * Creates a decoder reading from {@code input}.
+		 *
+		 * @param input The input to read from.
+		 */
+		private Decoder(final DataInput input) {
+			this.input = input;
+		}
+
+		/**
+		 * Reads a blackboard.
+		 *
+		 * @param fitnessFunction The fitness function of the restored blackboard.
+		 * @param projectInformation The project information of the restored blackboard.
+		 * @return The restored blackboard.
+		 * @throws IOException If reading fails.
+		 */
+		private Blackboard decode(final EvaluableExpressionFitnessFunction fitnessFunction,
+			final ProjectInformation projectInformation) throws IOException {
+			if (this.input.readInt() != MAGIC_NUMBER) {
+				throw new StreamCorruptedException("The input does not contain an encoded blackboard.");
+			}
+			final byte version = this.input.readByte();
+			if (version != FORMAT_VERSION) {
+				throw new StreamCorruptedException(String.format("Unsupported format version %d.", version));
+			}
+
+			final List<ResourceDemandingInternalAction> rdias = new ArrayList<>();
+			for (int i = readCount(this.input); i > 0; i--) {
+				final ResourceDemandType type = this.readResourceDemandType();
+				rdias.add(this.register(new ResourceDemandingInternalAction(type, this.readCodeSection())));
+			}
+			final List<SeffBranch> branches = new ArrayList<>();
+			for (int i = readCount(this.input); i > 0; i--) {
+				// The branch keeps the iteration order of the set it is created with.
+				final Set<CodeSection> branchSections = new LinkedHashSet<>();
+				for (int j = readCount(this.input); j > 0; j--) {
+					branchSections.add(this.readCodeSection());
+				}
+				branches.add(this.register(new SeffBranch(branchSections)));
+			}
+			final List<SeffLoop> loops = new ArrayList<>();
+			for (int i = readCount(this.input); i > 0; i--) {
+				loops.add(this.register(new SeffLoop(this.readCodeSection())));
+			}
+			final List<ExternalCallParameter> parameters = new ArrayList<>();
+			for (int i = readCount(this.input); i > 0; i--) {
+				final CodeSection call = this.readCodeSection();
+				parameters.add(this.register(new ExternalCallParameter(call, readCount(this.input))));
+			}
+
+			final Blackboard blackboard = new Blackboard(new HashSet<>(rdias), new HashSet<>(branches),
+				new HashSet<>(loops), new HashSet<>(parameters), fitnessFunction, projectInformation);
+
+			blackboard.addToBeMeasuredRdias(this.readElements(ResourceDemandingInternalAction.class));
+			blackboard.addToBeMeasuredSeffBranches(this.readElements(SeffBranch.class));
+			blackboard.addToBeMeasuredSeffLoops(this.readElements(SeffLoop.class));
+			blackboard.addToBeMeasuredExternalCallParameters(this.readElements(ExternalCallParameter.class));
+
+			for (final ResourceDemandingInternalAction rdia : rdias) {
+				this.readColumns(blackboard.getMeasurementResultColumnsFor(rdia));
+			}
+			for (final SeffBranch branch : branches) {
+				this.readColumns(blackboard.getMeasurementResultColumnsFor(branch));
+			}
+			for (final SeffLoop loop : loops) {
+				this.readColumns(blackboard.getMeasurementResultColumnsFor(loop));
+			}
+			for (final ExternalCallParameter parameter : parameters) {
+				this.readColumns(blackboard.getMeasurementResultColumnsFor(parameter));
+			}
+
+			for (int elementId = readVarInt(this.input); elementId != -1; elementId = readVarInt(this.input)) {
+				final MeasurableSeffElement element = this.getElement(elementId, MeasurableSeffElement.class);
+				for (int i = readCount(this.input); i > 0; i--) {
+					blackboard.addProposedExpressionFor(element, this.readExpression());
+				}
+				if (this.input.readBoolean()) {
+					blackboard.setFinalExpressionFor(element, this.readExpression());
+				}
+			}
+
+			// Adding the proposed expressions recorded new versions, so the changelogs are
+			// restored afterwards.
+			this.readChangelog(blackboard.getMeasurementResultsChangelog());
+			this.readChangelog(blackboard.getProposedExpressionsChangelog());
+
+			final Object privateData = this.readSerialised();
+			if (!(privateData instanceof Map)) {
+				throw new StreamCorruptedException("The private data is malformed.");
+			}
+			// The data was written from a map with the same key and value types.
+			@SuppressWarnings("unchecked")
+			final Map<Class<? extends BlackboardStorer<? extends Serializable>>, Object> typedPrivateData =
+				(Map<Class<? extends BlackboardStorer<? extends Serializable>>, Object>) privateData;
+			blackboard.getPrivateWrittenData().putAll(typedPrivateData);
+			return blackboard;
+		}
+
+		/**
+		 * Assigns the next id to {@code element}.
+		 *
+		 * @param element A SEFF element that was read.
+		 * @param <ELEMENT_TYPE> {@code element}’s type.
+		 * @return {@code element}.
+		 */
+		private <ELEMENT_TYPE extends MeasurableSeffElement> ELEMENT_TYPE register(final ELEMENT_TYPE element) {
+			this.elements.add(element);
+			return element;
+		}
+
+		/**
+		 * Looks up the SEFF element having the id {@code elementId}.
+		 *
+		 * @param elementId The element’s id.
+		 * @param type The type the element must have.
+		 * @param <ELEMENT_TYPE> The type the element must have.
+		 * @return The element.
+		 * @throws IOException If there is no such element of type {@code type}.
+		 */
+		private <ELEMENT_TYPE extends MeasurableSeffElement> ELEMENT_TYPE getElement(final int elementId,
+			final Class<ELEMENT_TYPE> type) throws IOException {
+			if (elementId < 0 || elementId >= this.elements.size() || !type.isInstance(this.elements.get(elementId))) {
+				throw new StreamCorruptedException(String.format("Invalid element id: %d", elementId));
+			}
+			return type.cast(this.elements.get(elementId));
+		}
+
+		/**
+		 * Reads versions written by {@link Encoder#writeChangelog(BlackboardChangelog)}
+		 * and restores them to {@code changelog}.
+		 *
+		 * @param changelog A changelog of the restored blackboard.
+		 * @throws IOException If reading fails or the versions are malformed.
+		 */
+		private void readChangelog(final BlackboardChangelog changelog) throws IOException {
+			final Map<MeasurableSeffElement, Long> versions = new HashMap<>();
+			final Set<Long> seenVersions = new HashSet<>();
+			for (int i = readCount(this.input); i > 0; i--) {
+				final MeasurableSeffElement element =
+					this.getElement(readVarInt(this.input), MeasurableSeffElement.class);
+				final long version = this.input.readLong();
+				if (version <= 0 || !seenVersions.add(version) || versions.put(element, version) != null) {
+					throw new StreamCorruptedException(String.format("Invalid version %d for %s.", version, element));
+				}
+			}
+			changelog.restore(versions);
+		}
+
+		/**
+		 * Reads ids of SEFF elements.
+		 *
+		 * @param type The type the elements must have.
+		 * @param <ELEMENT_TYPE> The type the elements must have.
+		 * @return The elements.
+		 * @throws IOException If reading fails.
+		 */
+		private <ELEMENT_TYPE extends MeasurableSeffElement> List<ELEMENT_TYPE> readElements(
+			final Class<ELEMENT_TYPE> type) throws IOException {
+			final List<ELEMENT_TYPE> result = new ArrayList<>();
+			for (int i = readCount(this.input); i > 0; i--) {
+				result.add(this.getElement(readVarInt(this.input), type));
+			}
+			return result;
+		}
+
+		/**
+		 * Reads the id of an interned value and, if it was not read before, the value
+		 * itself.
+		 *
+		 * @param readValues The values read before, by their id.
+		 * @param valueReader Reads the value if it was not read before.
+		 * @param <VALUE_TYPE> The type of the read value.
+		 * @return The read value.
+		 * @throws IOException If reading fails.
+		 */
+		private <VALUE_TYPE> VALUE_TYPE readInterned(final List<VALUE_TYPE> readValues,
+			final ValueReader<VALUE_TYPE> valueReader) throws IOException {
+			final int reference = readCount(this.input);
+			if (reference == 0) {
+				final VALUE_TYPE value = valueReader.read();
+				readValues.add(value);
+				return value;
+			}
+			if (reference > readValues.size()) {
+				throw new StreamCorruptedException(String.format("Invalid reference: %d", reference));
+			}
+			return readValues.get(reference - 1);
+		}
+
+		/**
+		 * Reads a file.
+		 *
+		 * @return The read file.
+		 * @throws IOException If reading fails.
+		 */
+		private File readFile() throws IOException {
+			return this.readInterned(this.files, () -> new File(this.input.readUTF()));
+		}
+
+		/**
+		 * Reads a code section.
+		 *
+		 * @return The read code section.
+		 * @throws IOException If reading fails.
+		 */
+		private CodeSection readCodeSection() throws IOException {
+			return this.readInterned(this.codeSections, () -> {
+				final File startFile = this.readFile();
+				final int startIndex = readCount(this.input);
+				final File endFile = this.readFile();
+				return CodeSection.restore(startFile, startIndex, endFile, readCount(this.input));
+			});
+		}
+
+		/**
+		 * Reads a resource demand type.
+		 *
+		 * @return The read resource demand type.
+		 * @throws IOException If reading fails.
+		 */
+		private ResourceDemandType readResourceDemandType() throws IOException {
+			return this.readInterned(this.resourceDemandTypes,
+				() -> new ResourceDemandType(this.input.readUTF(), this.input.readBoolean()));
+		}
+
+		/**
+		 * Reads measurement results into {@code columns}.
+		 *
+		 * @param columns The columns to add the read results to.
+		 * @throws IOException If reading fails.
+		 */
+		private void readColumns(final DoubleMeasurementResultColumns columns) throws IOException {
+			final int size = readCount(this.input);
+			final Parameterisation[] parameterisations = this.readParameterisations(size);
+			final byte[] packed = new byte[Math.multiplyExact(size, Double.BYTES)];
+			this.input.readFully(packed);
+			final DoubleBuffer values = ByteBuffer.wrap(packed).asDoubleBuffer();
+			for (int i = 0; i < size; i++) {
+				columns.add(parameterisations[i], values.get(i));
+			}
+		}
+
+		/**
+		 * Reads measurement results into {@code columns}.
+		 *
+		 * @param columns The columns to add the read results to.
+		 * @throws IOException If reading fails.
+		 */
+		private void readColumns(final IntMeasurementResultColumns columns) throws IOException {
+			final int size = readCount(this.input);
+			final Parameterisation[] parameterisations = this.readParameterisations(size);
+			for (int i = 0; i < size; i++) {
+				final int zigZag = readVarInt(this.input);
+				columns.add(parameterisations[i], (zigZag >>> 1) ^ -(zigZag & 1));
+			}
+		}
+
+		/**
+		 * Reads which of {@code size} measurement results have a parameterisation, and
+		 * these parameterisations.
+		 *
+		 * @param size The number of measurement results.
+		 * @return The parameterisation of each result. {@code null} entries for results
+		 *         without one.
+		 * @throws IOException If reading fails.
+		 */
+		private Parameterisation[] readParameterisations(final int size) throws IOException {
+			final Parameterisation[] parameterisations = new Parameterisation[size];
+			if (this.input.readBoolean()) {
+				final byte[] present = new byte[(size + Byte.SIZE - 1) / Byte.SIZE];
+				this.input.readFully(present);
+				for (int i = 0; i < size; i++) {
+					if ((present[i / Byte.SIZE] & (1 << (i % Byte.SIZE))) != 0) {
+						parameterisations[i] = this.readParameterisation();
+					}
+				}
+			}
+			return parameterisations;
+		}
+
+		/**
+		 * Reads the variables of a parameterisation and their values.
+		 *
+		 * @return The read parameterisation.
+		 * @throws IOException If reading fails.
+		 */
+		private Parameterisation readParameterisation() throws IOException {
+			final int variableCount = readCount(this.input);
+			final Map<EvaluableVariable, Double> values = new HashMap<>();
+			for (int i = 0; i < variableCount; i++) {
+				final EvaluableExpression variable = this.readExpression();
+				if (!(variable instanceof EvaluableVariable)) {
+					throw new StreamCorruptedException(String.format("Expected a variable, but got %s.", variable));
+				}
+				values.put((EvaluableVariable) variable, this.input.readDouble());
+			}
+			return new Parameterisation(values);
+		}
+
+		/**
+		 * Reads an expression written in prefix order.
+		 *
+		 * @return The read expression.
+		 * @throws IOException If reading fails.
+		 */
+		private EvaluableExpression readExpression() throws IOException {
+			final byte tag = this.input.readByte();
+			final EvaluableExpression expression;
+			switch (tag) {
+				case REFERENCE:
+					final int id = readCount(this.input);
+					if (id >= this.expressions.size()) {
+						throw new StreamCorruptedException(String.format("Invalid expression reference: %d", id));
+					}
+					return this.expressions.get(id);
+				case ADDITION:
+					expression = new AdditionExpression(this.readExpressions());
+					break;
+				case MULTIPLICATION:
+					expression = new MultiplicationExpression(this.readExpressions());
+					break;
+				case VARIABLE:
+					expression = new EvaluableVariable(this.input.readUTF());
+					break;
+				case CONSTANT:
+					expression = ConstantExpression.forValue(this.input.readDouble());
+					break;
+				case COMPARISON:
+					expression = new ComparisonExpression(this.readExpression(), this.readExpression());
+					break;
+				case DIVISION:
+					expression = new DivisionExpression(this.readExpression(), this.readExpression());
+					break;
+				case EXPONENTATION:
+					expression = new ExponentationExpression(this.readExpression(), this.readExpression());
+					break;
+				case EXPONENTIAL_FUNCTION:
+					expression = new ExponentialFunctionExpression(this.readExpression());
+					break;
+				case IF_THEN_ELSE:
+					expression =
+						new IfThenElseExpression(this.readExpression(), this.readExpression(), this.readExpression());
+					break;
+				case LOGARITHM:
+					expression = new LogarithmExpression(this.readExpression(), this.readExpression());
+					break;
+				case NATURAL_LOGARITHM:
+					expression = new NaturalLogarithmExpression(this.readExpression());
+					break;
+				case SINE:
+					expression = new SineExpression(this.readExpression());
+					break;
+				case SUBTRACTION:
+					expression = new SubtractionExpression(this.readExpression(), this.readExpression());
+					break;
+				case SERIALISED:
+					final Object serialised = this.readSerialised();
+					if (!(serialised instanceof EvaluableExpression)) {
+						throw new StreamCorruptedException("A serialised expression is malformed.");
+					}
+					expression = (EvaluableExpression) serialised;
+					break;
+				default:
+					throw new StreamCorruptedException(String.format("Unknown expression tag: %d", tag));
+			}
+			this.expressions.add(expression);
+			return expression;
+		}
+
+		/**
+		 * Reads expressions, preceded by their number.
+		 *
+		 * @return The read expressions.
+		 * @throws IOException If reading fails.
+		 */
+		private List<EvaluableExpression> readExpressions() throws IOException {
+			final int count = readCount(this.input);
+			final List<EvaluableExpression> result = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				result.add(this.readExpression());
+			}
+			return result;
+		}
+
+		/**
+		 * Reads an object written through Java’s serialisation.
+		 *
+		 * @return The read object.
+		 * @throws IOException If reading fails.
+		 */
+		private Object readSerialised() throws IOException {
+			final byte[] bytes = new byte[readCount(this.input)];
+			this.input.readFully(bytes);
+			try (ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+				return objectInput.readObject();
+			} catch (final ClassNotFoundException unknownClass) {
+				throw new IOException("A serialised class is not available.", unknownClass);
+			}
+		}
+	}
+
+	/**
+	 * Reads a value that may throw an {@link IOException}.
+	 *
+	 * @author Joshua Gleitze
+	 * @param <VALUE_TYPE> The type of the read value.
+	 */
+	@FunctionalInterface
+	private interface ValueReader<VALUE_TYPE> {
+
+		/**
+		 * Reads the value.
+		 *
+		 * @return The read value.
+		 * @throws IOException If reading fails.
+		 */
+		VALUE_TYPE read() throws IOException;
+	}
+}
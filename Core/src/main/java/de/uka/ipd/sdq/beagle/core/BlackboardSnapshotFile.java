@@ -0,0 +1,147 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunction;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A file storing a snapshot of a {@link Blackboard}. Snapshots allow to continue an
+ * analysis after it was aborted or Beagle crashed, without losing the measurement results
+ * and proposed expressions that were gathered so far. A snapshot contains everything
+ * written on the blackboard, including the private data of
+ * {@linkplain BlackboardStorer BlackboardStorers}. It does not contain the blackboard’s
+ * {@linkplain Blackboard#getFitnessFunction() fitness function} and
+ * {@linkplain Blackboard#getProjectInformation() project information}, which have to be
+ * provided when {@linkplain #read restoring} the blackboard.
+ *
+ * <p>Snapshots are written in the compact format of {@link BlackboardCodec}. They are
+ * written atomically: The file always contains either the previous or the new snapshot,
+ * even if Beagle crashes while writing it.
+ *
+ * @author Joshua Gleitze
+ * @see AnalysisController#setSnapshotFile(BlackboardSnapshotFile, long)
+ */
+public class BlackboardSnapshotFile {
+
+	/**
+	 * The failure handler for this class.
+	 */
+	private static final FailureHandler FAILURE_HANDLER = FailureHandler.getHandler(BlackboardSnapshotFile.class);
+
+	/**
+	 * Writes and reads the snapshots.
+	 */
+	private static final BlackboardCodec CODEC = new BlackboardCodec();
+
+	/**
+	 * The file the snapshot is stored in.
+	 */
+	private final File file;
+
+	/**
+	 * Creates a snapshot file stored in {@code file}. The file does not need to exist.
+	 *
+	 * @param file The file to store the snapshot in. Must not be {@code null}.
+	 */
+	public BlackboardSnapshotFile(final File file) {
+		Validate.notNull(file);
+		this.file = file;
+	}
+
+	/**
+	 * Queries whether a snapshot has been written to this file.
+	 *
+	 * @return {@code true} if the file exists and can thus be {@linkplain #read read}.
+	 */
+	public boolean exists() {
+		return this.file.isFile();
+	}
+
+	/**
+	 * Writes a snapshot of {@code blackboard} to this file, replacing any previous
+	 * snapshot. The blackboard must not be modified while the snapshot is written.
+	 *
+	 * @param blackboard The blackboard to save. Must not be {@code null}.
+	 */
+	public void write(final Blackboard blackboard) {
+		Validate.notNull(blackboard);
+		final Path target = this.file.getAbsoluteFile().toPath();
+
+		Path temporaryFile = null;
+		try {
+			Files.createDirectories(target.getParent());
+			temporaryFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+			try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+				CODEC.encode(blackboard, output);
+			}
+			try {
+				Files.move(temporaryFile, target, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+			} catch (final AtomicMoveNotSupportedException atomicMoveNotSupported) {
+				Files.move(temporaryFile, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (final IOException ioError) {
+			this.deleteQuietly(temporaryFile);
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Writing the blackboard snapshot to %s failed.", this.file)
+				.recoverable()
+				.retryWith(() -> this.write(blackboard));
+			FAILURE_HANDLER.handle(failure);
+		}
+	}
+
+	/**
+	 * Restores the blackboard saved in this file.
+	 *
+	 * @param fitnessFunction The fitness function of the restored blackboard. Must not be
+	 *            {@code null}.
+	 * @param projectInformation Information about the project belonging to the restored
+	 *            blackboard.
+	 * @return The restored blackboard. {@code null} if no snapshot exists.
+	 */
+	public Blackboard read(final EvaluableExpressionFitnessFunction fitnessFunction,
+		final ProjectInformation projectInformation) {
+		Validate.notNull(fitnessFunction);
+		if (!this.exists()) {
+			return null;
+		}
+
+		try (InputStream input = new BufferedInputStream(Files.newInputStream(this.file.toPath()))) {
+			return CODEC.decode(input, fitnessFunction, projectInformation);
+		} catch (final IOException readError) {
+			final FailureReport<Blackboard> failure = new FailureReport<Blackboard>().cause(readError)
+				.message("Reading the blackboard snapshot from %s failed.", this.file)
+				.continueWith(() -> null)
+				.retryWith(() -> this.read(fitnessFunction, projectInformation));
+			return FAILURE_HANDLER.handle(failure);
+		}
+	}
+
+	/**
+	 * Deletes {@code path}, ignoring any failure.
+	 *
+	 * @param path The file to delete. May be {@code null}.
+	 */
+	private void deleteQuietly(final Path path) {
+		if (path != null) {
+			try {
+				Files.deleteIfExists(path);
+			} catch (final IOException ioError) {
+				// Only a left over temporary file. Nothing to do.
+			}
+		}
+	}
+}
@@ -100,6 +100,49 @@ public class CodeSection implements Serializable {
 		this.endStatementNumber = endIndex;
 	}
 
+	/**
+	 * Creates a code section without checking its files. See
+	 * {@link #restore(File, int, File, int)}.
+	 *
+	 * @param startFile The file containing this section’s first statement.
+	 * @param endFile The file containing this section’s last statement.
+	 * @param startIndex The index of this section’s first statement’s first character in
+	 *            {@code startFile}.
+	 * @param endIndex The index of this section’s last statement’s first character in
+	 *            {@code endFile}.
+	 */
+	private CodeSection(final File startFile, final File endFile, final int startIndex, final int endIndex) {
+		this.startFile = startFile;
+		this.startStatementNumber = startIndex;
+		this.endFile = endFile;
+		this.endStatementNumber = endIndex;
+	}
+
+	/**
+	 * Restores a code section that was checked when it was created first. Unlike the
+	 * public constructor, this does not read the files, which would be too costly when
+	 * restoring a blackboard and would prevent restoring it where the files are not
+	 * available.
+	 *
+	 * @param startFile The file containing the section’s first statement. Must not be
+	 *            {@code null}.
+	 * @param startIndex The index of the section’s first statement’s first character in
+	 *            {@code startFile}. Must not be negative.
+	 * @param endFile The file containing the section’s last statement. Must not be
+	 *            {@code null}.
+	 * @param endIndex The index of the section’s last statement’s first character in
+	 *            {@code endFile}. Must not be negative.
+	 * @return The restored code section.
+	 * @see BlackboardCodec
+	 */
+	static CodeSection restore(final File startFile, final int startIndex, final File endFile, final int endIndex) {
+		Validate.notNull(startFile);
+		Validate.notNull(endFile);
+		Validate.isTrue(startIndex >= 0, "The startIndex must be non-neagtive, but was %d", startIndex);
+		Validate.isTrue(endIndex >= 0, "The endIndex must be non-neagtive, but was %d", endIndex);
+		return new CodeSection(startFile, endFile, startIndex, endIndex);
+	}
+
 	@Override
 	public boolean equals(final Object object) {
 		if (object == null) {
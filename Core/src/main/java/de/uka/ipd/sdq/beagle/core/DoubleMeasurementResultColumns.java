@@ -0,0 +1,63 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
+
+import java.util.Arrays;
+import java.util.stream.DoubleStream;
+
+/**
+ * {@link MeasurementResultColumns} for results having a {@code double} value, like
+ * {@linkplain de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult
+ * ResourceDemandMeasurementResults}.
+ *
+ * @author Joshua Gleitze
+ */
+public class DoubleMeasurementResultColumns extends MeasurementResultColumns {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 3541384127690316745L;
+
+	/**
+	 * The value of each result.
+	 */
+	private double[] values = new double[0];
+
+	/**
+	 * Gets the value of the result at {@code index}.
+	 *
+	 * @param index The index of a result. Must be {@code >= 0} and {@code < size()}.
+	 * @return The value of the result at {@code index}.
+	 */
+	public double getValueAt(final int index) {
+		this.validateIndex(index);
+		return this.values[index];
+	}
+
+	/**
+	 * Streams the values of all results stored at the time of calling this method. The
+	 * values are not copied.
+	 *
+	 * @return The values of all results, in the order they were added.
+	 */
+	public DoubleStream getValues() {
+		return Arrays.stream(this.values, 0, this.size);
+	}
+
+	/**
+	 * Adds a result.
+	 *
+	 * @param parameterisation The parameterisation of the result. May be {@code null} if
+	 *            no parameterisation was recorded.
+	 * @param value The value of the result.
+	 */
+	void add(final Parameterisation parameterisation, final double value) {
+		this.addParameterisation(parameterisation);
+		if (this.values.length == this.size) {
+			this.values = Arrays.copyOf(this.values, this.capacityFor(this.size + 1));
+		}
+		this.values[this.size] = value;
+		this.size++;
+	}
+}
@@ -0,0 +1,65 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * {@link MeasurementResultColumns} for results having an {@code int} value, like
+ * {@linkplain de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult
+ * BranchDecisionMeasurementResults} or
+ * {@linkplain de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult
+ * LoopRepetitionCountMeasurementResults}.
+ *
+ * @author Joshua Gleitze
+ */
+public class IntMeasurementResultColumns extends MeasurementResultColumns {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -8810298145574926405L;
+
+	/**
+	 * The value of each result.
+	 */
+	private int[] values = new int[0];
+
+	/**
+	 * Gets the value of the result at {@code index}.
+	 *
+	 * @param index The index of a result. Must be {@code >= 0} and {@code < size()}.
+	 * @return The value of the result at {@code index}.
+	 */
+	public int getValueAt(final int index) {
+		this.validateIndex(index);
+		return this.values[index];
+	}
+
+	/**
+	 * Streams the values of all results stored at the time of calling this method. The
+	 * values are not copied.
+	 *
+	 * @return The values of all results, in the order they were added.
+	 */
+	public IntStream getValues() {
+		return Arrays.stream(this.values, 0, this.size);
+	}
+
+	/**
+	 * Adds a result.
+	 *
+	 * @param parameterisation The parameterisation of the result. May be {@code null} if
+	 *            no parameterisation was recorded.
+	 * @param value The value of the result.
+	 */
+	void add(final Parameterisation parameterisation, final int value) {
+		this.addParameterisation(parameterisation);
+		if (this.values.length == this.size) {
+			this.values = Arrays.copyOf(this.values, this.capacityFor(this.size + 1));
+		}
+		this.values[this.size] = value;
+		this.size++;
+	}
+}
@@ -0,0 +1,169 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableColumns;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Column oriented, append only storage of the measurement results of one
+ * {@link MeasurableSeffElement}. Instead of keeping one result object per measurement,
+ * the results’ values and parameterisations are stored in arrays. The {@code i}th entry of
+ * each column belongs to the {@code i}th result that was added.
+ *
+ * <p>Instances are handed out by the {@link Blackboard} and its views without copying.
+ * They are live views: Results that are added to the blackboard after an instance was
+ * obtained will be visible through it. Entries that were once visible will never change.
+ * Outside of the {@code core} package, instances are read only.
+ *
+ * @author Joshua Gleitze
+ */
+public abstract class MeasurementResultColumns implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -2640297811463713473L;
+
+	/**
+	 * The capacity allocated for the first results added.
+	 */
+	protected static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * The number of results stored.
+	 */
+	protected int size;
+
+	/**
+	 * The parameterisation of each result. Will only be allocated once a result with a
+	 * parameterisation is added, because most results don’t carry one.
+	 */
+	private Parameterisation[] parameterisations;
+
+	/**
+	 * Queries how many results are stored.
+	 *
+	 * @return The number of results stored in this instance.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Queries whether results are stored.
+	 *
+	 * @return {@code true} if no result has been added to this instance yet.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Gets the parameterisation of the result at {@code index}.
+	 *
+	 * @param index The index of a result. Must be {@code >= 0} and {@code < size()}.
+	 * @return The parameterisation recorded for the result at {@code index}. {@code null}
+	 *         if no parameterisation was recorded for it.
+	 */
+	public Parameterisation getParameterisationAt(final int index) {
+		this.validateIndex(index);
+		return this.parameterisations == null ? null : this.parameterisations[index];
+	}
+
+	/**
+	 * Creates a table of the parameterisations of the results from {@code from}
+	 * (inclusive) to {@code to} (exclusive). Row {@code i} of the table belongs to the
+	 * result at {@code from + i}. Only variables covered by the parameterisation of every
+	 * result in the range get a column, so expressions over other variables cannot be
+	 * evaluated on the table.
+	 *
+	 * @param from The index of the first result. Must be {@code >= 0}.
+	 * @param to The index after the last result. Must be {@code >= from} and
+	 *            {@code <= size()}.
+	 * @return A new table with {@code to - from} rows. Is never {@code null}.
+	 */
+	public EvaluableVariableColumns getVariableColumns(final int from, final int to) {
+		Validate.isTrue(from >= 0 && from <= to && to <= this.size, "Invalid range [%d, %d) for %d results.", from,
+			to, this.size);
+		final EvaluableVariableColumns variableColumns = new EvaluableVariableColumns(to - from);
+		if (this.parameterisations == null || from == to) {
+			return variableColumns;
+		}
+
+		Set<EvaluableVariable> coveredVariables = null;
+		for (int index = from; index < to; index++) {
+			final Parameterisation parameterisation = this.parameterisations[index];
+			if (parameterisation == null) {
+				return variableColumns;
+			}
+			if (coveredVariables == null) {
+				coveredVariables = new HashSet<>(parameterisation.getVariables());
+			} else {
+				coveredVariables.retainAll(parameterisation.getVariables());
+			}
+		}
+
+		for (final EvaluableVariable variable : coveredVariables) {
+			final double[] column = new double[to - from];
+			for (int index = from; index < to; index++) {
+				column[index - from] = this.parameterisations[index].getValueFor(variable);
+			}
+			variableColumns.setColumnFor(variable, column);
+		}
+		return variableColumns;
+	}
+
+	/**
+	 * Checks that {@code index} denotes a stored result.
+	 *
+	 * @param index The index to check.
+	 * @throws IndexOutOfBoundsException If there is no result at {@code index}.
+	 */
+	protected void validateIndex(final int index) {
+		if (index < 0 || index >= this.size) {
+			throw new IndexOutOfBoundsException(String.format("Index: %d, Size: %d", index, this.size));
+		}
+	}
+
+	/**
+	 * Stores the parameterisation of the result that is about to be added at index
+	 * {@link #size}.
+	 *
+	 * @param parameterisation The parameterisation to store. May be {@code null}.
+	 */
+	protected void addParameterisation(final Parameterisation parameterisation) {
+		if (parameterisation == null && this.parameterisations == null) {
+			return;
+		}
+		if (this.parameterisations == null) {
+			this.parameterisations = new Parameterisation[this.capacityFor(this.size + 1)];
+		} else if (this.parameterisations.length == this.size) {
+			this.parameterisations = Arrays.copyOf(this.parameterisations, this.capacityFor(this.size + 1));
+		}
+		this.parameterisations[this.size] = parameterisation;
+	}
+
+	/**
+	 * Calculates the capacity to allocate if {@code requiredCapacity} results must be
+	 * stored.
+	 *
+	 * @param requiredCapacity The minimum number of results that must fit. Must be
+	 *            positive.
+	 * @return The capacity to allocate.
+	 */
+	protected int capacityFor(final int requiredCapacity) {
+		Validate.isTrue(requiredCapacity > 0, "Cannot store more than %d results.", Integer.MAX_VALUE);
+		int capacity = Math.max(INITIAL_CAPACITY, this.size);
+		while (capacity < requiredCapacity) {
+			capacity = capacity > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : capacity * 2;
+		}
+		return capacity;
+	}
+}
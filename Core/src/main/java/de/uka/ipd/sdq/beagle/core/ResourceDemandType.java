@@ -4,6 +4,8 @@ import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import java.io.Serializable;
+
 /**
  * Represents a type of a measured resource, like CPU usage or HDD usage.
  *
@@ -26,7 +28,12 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  *
  * @author Roman Langrehr
  */
-public class ResourceDemandType {
+public class ResourceDemandType implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 5530279361845126917L;
 
 	/**
 	 * Common resource type for cycles performed on a CPU.
@@ -0,0 +1,26 @@
+package de.uka.ipd.sdq.beagle.core.analysis;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects all analysers that can contribute. Reported improvements are ignored.
+ *
+ * @author Joshua Gleitze
+ */
+public class AllAnalysersSelectionStrategy implements AnalyserSelectionStrategy {
+
+	@Override
+	public <ANALYSER> List<ANALYSER> select(final List<ANALYSER> ableAnalysers) {
+		Validate.noNullElements(ableAnalysers);
+		Validate.isTrue(!ableAnalysers.isEmpty(), "There must be at least one analyser to select.");
+		return new ArrayList<>(ableAnalysers);
+	}
+
+	@Override
+	public void reportImprovement(final Object contributor, final double improvement) {
+		Validate.notNull(contributor);
+	}
+}
@@ -0,0 +1,43 @@
+package de.uka.ipd.sdq.beagle.core.analysis;
+
+import java.util.List;
+
+/**
+ * Decides which of the analysers that can contribute will actually contribute. The
+ * {@link de.uka.ipd.sdq.beagle.core.AnalysisController} asks its strategy each time
+ * analysers are to contribute and reports back how much the expressions each of them
+ * proposed improved the fitness. Strategies may use these reports to prefer analysers
+ * that improved the results in the past.
+ *
+ * <p>The methods of a strategy are only called from the thread performing the analysis.
+ *
+ * @author Joshua Gleitze
+ * @see AllAnalysersSelectionStrategy
+ * @see BanditAnalyserSelectionStrategy
+ */
+public interface AnalyserSelectionStrategy {
+
+	/**
+	 * Selects the analysers that will contribute next. The selected analysers will
+	 * contribute concurrently.
+	 *
+	 * @param ableAnalysers All analysers that can contribute at the moment. Must not be
+	 *            {@code null}, must not be empty and must not contain {@code null}.
+	 * @param <ANALYSER> The type of the analysers.
+	 * @return The analysers to contribute. A non-empty subset of {@code ableAnalysers}.
+	 *         Is never {@code null}.
+	 */
+	<ANALYSER> List<ANALYSER> select(List<ANALYSER> ableAnalysers);
+
+	/**
+	 * Reports how much the expressions an analyser proposed in its last contribution
+	 * improved the fitness. Only the analyser’s own proposals are taken into account,
+	 * so analysers that were selected together are reported individually.
+	 *
+	 * @param contributor An analyser that contributed. Must not be {@code null}.
+	 * @param improvement The relative improvement of the fitness achieved by
+	 *            {@code contributor}’s proposals. Is a value between 0 (no improvement)
+	 *            and 1 (all deviation was eliminated).
+	 */
+	void reportImprovement(Object contributor, double improvement);
+}
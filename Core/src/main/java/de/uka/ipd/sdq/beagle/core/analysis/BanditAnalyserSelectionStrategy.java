@@ -0,0 +1,121 @@
+package de.uka.ipd.sdq.beagle.core.analysis;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Treats analyser selection as a multi-armed bandit problem and solves it with the UCB1
+ * algorithm. Each analyser is an arm; the improvements its own proposals achieved are
+ * its rewards. A fixed number of analysers is selected in each round: the ones with the
+ * highest upper confidence bound of their mean improvement. Analysers that were never
+ * selected are always preferred. Thus, most of the time goes to the analysers that
+ * lowered the fitness values the most, while all analysers are still tried every once
+ * in a while.
+ *
+ * <p>The selection is deterministic. Analysers with the same bound are selected in the
+ * order they were passed in.
+ *
+ * @author Joshua Gleitze
+ */
+public class BanditAnalyserSelectionStrategy implements AnalyserSelectionStrategy {
+
+	/**
+	 * Weights the exploration term of the upper confidence bound.
+	 */
+	private static final double EXPLORATION_WEIGHT = Math.sqrt(2);
+
+	/**
+	 * The maximum number of analysers to select in one round.
+	 */
+	private final int contributorsPerRound;
+
+	/**
+	 * The rewards reported for each analyser.
+	 */
+	private final Map<Object, Rewards> rewards = new HashMap<>();
+
+	/**
+	 * The number of rewards reported for all analysers together.
+	 */
+	private int totalRewardCount;
+
+	/**
+	 * Creates a strategy selecting up to {@code contributorsPerRound} analysers in each
+	 * round.
+	 *
+	 * @param contributorsPerRound The maximum number of analysers to contribute
+	 *            concurrently. Must be positive.
+	 */
+	public BanditAnalyserSelectionStrategy(final int contributorsPerRound) {
+		Validate.isTrue(contributorsPerRound > 0, "At least one analyser must be selected per round, not %d.",
+			contributorsPerRound);
+		this.contributorsPerRound = contributorsPerRound;
+	}
+
+	@Override
+	public <ANALYSER> List<ANALYSER> select(final List<ANALYSER> ableAnalysers) {
+		Validate.noNullElements(ableAnalysers);
+		Validate.isTrue(!ableAnalysers.isEmpty(), "There must be at least one analyser to select.");
+
+		if (ableAnalysers.size() <= this.contributorsPerRound) {
+			return new ArrayList<>(ableAnalysers);
+		}
+
+		final List<ANALYSER> ranking = new ArrayList<>(ableAnalysers);
+		// List.sort is stable, so analysers having the same bound keep their order.
+		ranking.sort(Comparator.<ANALYSER>comparingDouble(this::getUpperConfidenceBound).reversed());
+		return new ArrayList<>(ranking.subList(0, this.contributorsPerRound));
+	}
+
+	@Override
+	public void reportImprovement(final Object contributor, final double improvement) {
+		Validate.notNull(contributor);
+		Validate.isTrue(improvement >= 0 && improvement <= 1, "The improvement must be in [0, 1], but was %f.",
+			improvement);
+
+		final Rewards contributorRewards = this.rewards.computeIfAbsent(contributor, (analyser) -> new Rewards());
+		contributorRewards.count++;
+		contributorRewards.sum += improvement;
+		this.totalRewardCount++;
+	}
+
+	/**
+	 * Calculates the upper confidence bound of the mean improvement achieved by
+	 * {@code analyser}.
+	 *
+	 * @param analyser An analyser.
+	 * @return The upper confidence bound. {@link Double#POSITIVE_INFINITY} if no
+	 *         improvement was reported for {@code analyser} yet.
+	 */
+	private double getUpperConfidenceBound(final Object analyser) {
+		final Rewards analyserRewards = this.rewards.get(analyser);
+		if (analyserRewards == null) {
+			return Double.POSITIVE_INFINITY;
+		}
+		final double meanReward = analyserRewards.sum / analyserRewards.count;
+		return meanReward + EXPLORATION_WEIGHT * Math.sqrt(Math.log(this.totalRewardCount) / analyserRewards.count);
+	}
+
+	/**
+	 * The rewards reported for one analyser.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class Rewards {
+
+		/**
+		 * The number of reported rewards.
+		 */
+		private int count;
+
+		/**
+		 * The sum of all reported rewards.
+		 */
+		private double sum;
+	}
+}
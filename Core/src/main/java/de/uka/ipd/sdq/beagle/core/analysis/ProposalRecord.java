@@ -0,0 +1,75 @@
+package de.uka.ipd.sdq.beagle.core.analysis;
+
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the expressions an analyser proposed through its blackboard view. The
+ * {@link de.uka.ipd.sdq.beagle.core.AnalysisController} uses the record to find out
+ * how much an analyser’s own proposals improved the fitness, even if other analysers
+ * contributed at the same time. Proposals may be recorded from multiple threads at once.
+ *
+ * @author Joshua Gleitze
+ * @see AnalyserSelectionStrategy
+ */
+public class ProposalRecord {
+
+	/**
+	 * The recorded proposals, mapped by the element they were proposed for.
+	 */
+	private final Map<MeasurableSeffElement, Set<EvaluableExpression>> proposals = new ConcurrentHashMap<>();
+
+	/**
+	 * Records that {@code expression} was proposed for {@code element}.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @param expression The expression proposed for {@code element}. Must not be
+	 *            {@code null}.
+	 */
+	public void record(final MeasurableSeffElement element, final EvaluableExpression expression) {
+		Validate.notNull(element);
+		Validate.notNull(expression);
+		this.getProposalsFor(element).add(expression);
+	}
+
+	/**
+	 * Records that all {@code expressions} were proposed for {@code element}.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @param expressions The expressions proposed for {@code element}. Must not be
+	 *            {@code null} and must not contain {@code null}.
+	 */
+	public void recordAll(final MeasurableSeffElement element, final Collection<EvaluableExpression> expressions) {
+		Validate.notNull(element);
+		Validate.noNullElements(expressions);
+		this.getProposalsFor(element).addAll(expressions);
+	}
+
+	/**
+	 * Gives all recorded proposals.
+	 *
+	 * @return The recorded expressions, mapped by the element they were proposed for. A
+	 *         read only, live view. Is never {@code null}.
+	 */
+	public Map<MeasurableSeffElement, Set<EvaluableExpression>> getProposals() {
+		return Collections.unmodifiableMap(this.proposals);
+	}
+
+	/**
+	 * Gives the set of expressions proposed for {@code element}, creating it if needed.
+	 *
+	 * @param element A SEFF element.
+	 * @return The modifiable set of expressions proposed for {@code element}.
+	 */
+	private Set<EvaluableExpression> getProposalsFor(final MeasurableSeffElement element) {
+		return this.proposals.computeIfAbsent(element, (newElement) -> ConcurrentHashMap.newKeySet());
+	}
+}
@@ -3,7 +3,9 @@ package de.uka.ipd.sdq.beagle.core.analysis;
 import de.uka.ipd.sdq.beagle.core.AnalysisController;
 import de.uka.ipd.sdq.beagle.core.Blackboard;
 import de.uka.ipd.sdq.beagle.core.BlackboardStorer;
+import de.uka.ipd.sdq.beagle.core.DoubleMeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.IntMeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
 import de.uka.ipd.sdq.beagle.core.ProjectInformation;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
@@ -42,6 +44,12 @@ public class ProposedExpressionAnalyserBlackboardView implements EvaluableExpres
 	 */
 	private final Blackboard blackboard;
 
+	/**
+	 * Records the expressions proposed through this view. {@code null} if proposals are
+	 * not recorded.
+	 */
+	private final ProposalRecord proposalRecord;
+
 	/**
 	 * Set the blackboard instance from the {@link AnalysisController} to the private
 	 * blackboard attribute.
@@ -51,6 +59,23 @@ public class ProposedExpressionAnalyserBlackboardView implements EvaluableExpres
 	public ProposedExpressionAnalyserBlackboardView(final Blackboard blackboard) {
 		Validate.notNull(blackboard);
 		this.blackboard = blackboard;
+		this.proposalRecord = null;
+	}
+
+	/**
+	 * Creates a view on {@code blackboard} that records all expressions proposed through
+	 * it in {@code proposalRecord}.
+	 *
+	 * @param blackboard The blackboard given from the {@link AnalysisController}. Must
+	 *            not be {@code null}.
+	 * @param proposalRecord Receives all expressions proposed through this view. Must
+	 *            not be {@code null}.
+	 */
+	public ProposedExpressionAnalyserBlackboardView(final Blackboard blackboard, final ProposalRecord proposalRecord) {
+		Validate.notNull(blackboard);
+		Validate.notNull(proposalRecord);
+		this.blackboard = blackboard;
+		this.proposalRecord = proposalRecord;
 	}
 
 	@Override
@@ -110,6 +135,131 @@ public class ProposedExpressionAnalyserBlackboardView implements EvaluableExpres
 		return this.blackboard.getAllExternalCallParameters();
 	}
 
+	/**
+	 * Delegates to {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewAllRdias()}.
+	 *
+	 * @return all {@linkplain ResourceDemandingInternalAction resource demanding internal
+	 *         actions} known to Beagle. A read only, live view on the blackboard content.
+	 *         Is never {@code null}.
+	 */
+	public Set<ResourceDemandingInternalAction> viewAllRdias() {
+		return this.blackboard.viewAllRdias();
+	}
+
+	/**
+	 * Delegates to {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewAllSeffBranches()}.
+	 *
+	 * @return all {@linkplain SeffBranch SEFF branches} known to Beagle. A read only,
+	 *         live view on the blackboard content. Is never {@code null}.
+	 */
+	public Set<SeffBranch> viewAllSeffBranches() {
+		return this.blackboard.viewAllSeffBranches();
+	}
+
+	/**
+	 * Delegates to {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewAllSeffLoops()}.
+	 *
+	 * @return all {@linkplain SeffLoop SEFF loops} known to Beagle. A read only, live
+	 *         view on the blackboard content. Is never {@code null}.
+	 */
+	public Set<SeffLoop> viewAllSeffLoops() {
+		return this.blackboard.viewAllSeffLoops();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewAllExternalCallParameters()}.
+	 *
+	 * @return All {@linkplain ExternalCallParameter external call parameters} known to
+	 *         Beagle. A read only, live view on the blackboard content. Is never
+	 *         {@code null}.
+	 */
+	public Set<ExternalCallParameter> viewAllExternalCallParameters() {
+		return this.blackboard.viewAllExternalCallParameters();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultsVersion()}.
+	 *
+	 * @return The version of the latest change of any element’s measurement results, or
+	 *         {@code 0} if no results were added yet.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultsVersion()
+	 */
+	public long getMeasurementResultsVersion() {
+		return this.blackboard.getMeasurementResultsVersion();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultsVersionFor(MeasurableSeffElement)}
+	 * .
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return The version of the latest change of {@code element}’s measurement results,
+	 *         or {@code 0} if no results were added for it yet.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultsVersionFor(MeasurableSeffElement)
+	 */
+	public long getMeasurementResultsVersionFor(final MeasurableSeffElement element) {
+		return this.blackboard.getMeasurementResultsVersionFor(element);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getElementsWithMeasurementResultsSince(long)}
+	 * .
+	 *
+	 * @param version A version. Must not be negative.
+	 * @return All elements whose measurement results changed after {@code version}.
+	 *         Changes to the returned set will not modify the blackboard content. Is
+	 *         never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getElementsWithMeasurementResultsSince(long)
+	 */
+	public Set<MeasurableSeffElement> getElementsWithMeasurementResultsSince(final long version) {
+		return this.blackboard.getElementsWithMeasurementResultsSince(version);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getProposedExpressionsVersion()}.
+	 *
+	 * @return The version of the latest change of any element’s proposed expressions, or
+	 *         {@code 0} if no expressions were proposed yet.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getProposedExpressionsVersion()
+	 */
+	public long getProposedExpressionsVersion() {
+		return this.blackboard.getProposedExpressionsVersion();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getProposedExpressionsVersionFor(MeasurableSeffElement)}
+	 * .
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return The version of the latest change of {@code element}’s proposed
+	 *         expressions, or {@code 0} if no expressions were proposed for it yet.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getProposedExpressionsVersionFor(MeasurableSeffElement)
+	 */
+	public long getProposedExpressionsVersionFor(final MeasurableSeffElement element) {
+		return this.blackboard.getProposedExpressionsVersionFor(element);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getElementsWithProposedExpressionsSince(long)}
+	 * .
+	 *
+	 * @param version A version. Must not be negative.
+	 * @return All elements whose proposed expressions changed after {@code version}.
+	 *         Changes to the returned set will not modify the blackboard content. Is
+	 *         never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getElementsWithProposedExpressionsSince(long)
+	 */
+	public Set<MeasurableSeffElement> getElementsWithProposedExpressionsSince(final long version) {
+		return this.blackboard.getElementsWithProposedExpressionsSince(version);
+	}
+
 	/**
 	 * Delegates to
 	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#addToBeMeasuredRdias(Collection)}.
@@ -221,6 +371,71 @@ public class ProposedExpressionAnalyserBlackboardView implements EvaluableExpres
 		return this.blackboard.getMeasurementResultsFor(externalCallParameter);
 	}
 
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(ResourceDemandingInternalAction)}
+	 * .
+	 *
+	 * @param rdia An resource demanding internal action to get the measurement results
+	 *            of. Must not be {@code null}.
+	 * @return The resource demands measured for {@code rdia}. A read only, live view on
+	 *         the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(ResourceDemandingInternalAction)
+	 */
+	@Override
+	public DoubleMeasurementResultColumns getMeasurementResultColumnsFor(final ResourceDemandingInternalAction rdia) {
+		return this.blackboard.getMeasurementResultColumnsFor(rdia);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(SeffBranch)}
+	 * .
+	 *
+	 * @param branch A SEFF Branch to get the measurement results of. Must not be
+	 *            {@code null}.
+	 * @return The branch decisions measured for {@code branch}. A read only, live view on
+	 *         the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(SeffBranch)
+	 */
+	@Override
+	public IntMeasurementResultColumns getMeasurementResultColumnsFor(final SeffBranch branch) {
+		return this.blackboard.getMeasurementResultColumnsFor(branch);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(SeffLoop)}
+	 * .
+	 *
+	 * @param loop A SEFF Loop to get the measurement results of. Must not be {@code null}
+	 *            .
+	 * @return The repetition counts measured for {@code loop}. A read only, live view on
+	 *         the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(SeffLoop)
+	 */
+	@Override
+	public IntMeasurementResultColumns getMeasurementResultColumnsFor(final SeffLoop loop) {
+		return this.blackboard.getMeasurementResultColumnsFor(loop);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(ExternalCallParameter)}
+	 * .
+	 *
+	 * @param externalCallParameter An external parameter to get the measurement results
+	 *            of. Must not be {@code null}.
+	 * @return The parameter changes measured for {@code externalCallParameter}. A read
+	 *         only, live view on the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(ExternalCallParameter)
+	 */
+	@Override
+	public IntMeasurementResultColumns getMeasurementResultColumnsFor(
+		final ExternalCallParameter externalCallParameter) {
+		return this.blackboard.getMeasurementResultColumnsFor(externalCallParameter);
+	}
+
 	/**
 	 * Delegates to
 	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getProposedExpressionFor(MeasurableSeffElement)}
@@ -237,6 +452,56 @@ public class ProposedExpressionAnalyserBlackboardView implements EvaluableExpres
 		return this.blackboard.getProposedExpressionFor(element);
 	}
 
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewProposedExpressionsFor(MeasurableSeffElement)}
+	 * .
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return All proposed expressions for {@code element}. A read only, live view on the
+	 *         blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#viewProposedExpressionsFor(MeasurableSeffElement)
+	 */
+	public Set<EvaluableExpression> viewProposedExpressionsFor(final MeasurableSeffElement element) {
+		return this.blackboard.viewProposedExpressionsFor(element);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#addProposedExpressionFor(MeasurableSeffElement, EvaluableExpression)}
+	 * . If this view was created with a {@link ProposalRecord}, {@code expression} is
+	 * recorded in it.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @param expression An evaluable expression proposed to describe {@code element}’s
+	 *            measurement results. Must not be {@code null}.
+	 */
+	public void addProposedExpressionFor(final MeasurableSeffElement element, final EvaluableExpression expression) {
+		this.blackboard.addProposedExpressionFor(element, expression);
+		if (this.proposalRecord != null) {
+			this.proposalRecord.record(element, expression);
+		}
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#addProposedExpressionsFor(MeasurableSeffElement, Collection)}
+	 * . If this view was created with a {@link ProposalRecord}, {@code expressions} are
+	 * recorded in it.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @param expressions Evaluable expressions proposed to describe {@code element}’s
+	 *            measurement results. Must not be {@code null} and must not contain
+	 *            {@code null}.
+	 */
+	public void addProposedExpressionsFor(final MeasurableSeffElement element,
+		final Collection<EvaluableExpression> expressions) {
+		this.blackboard.addProposedExpressionsFor(element, expressions);
+		if (this.proposalRecord != null) {
+			this.proposalRecord.recordAll(element, expressions);
+		}
+	}
+
 	/**
 	 * Delegates to {@link de.uka.ipd.sdq.beagle.core.Blackboard#getFitnessFunction()} .
 	 *
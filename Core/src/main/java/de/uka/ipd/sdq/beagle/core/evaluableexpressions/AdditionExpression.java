@@ -17,6 +17,11 @@ import java.util.Collection;
  */
 public class AdditionExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -5368365131923579908L;
+
 	/**
 	 * The minimum number of summands needed to create a correct expression.
 	 */
@@ -27,6 +32,12 @@ public class AdditionExpression implements EvaluableExpression {
 	 */
 	private final MultiSet<EvaluableExpression> summands;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression that will return the sum of all {@code summands} on
 	 * evaluation.
@@ -93,6 +104,19 @@ public class AdditionExpression implements EvaluableExpression {
 		return result;
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = new double[variableColumns.getRowCount()];
+		for (final EvaluableExpression summand : this.summands) {
+			final double[] values = summand.evaluateAll(variableColumns);
+			for (int row = 0; row < result.length; row++) {
+				result[row] += values[row];
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder result = new StringBuilder();
@@ -123,13 +147,19 @@ public class AdditionExpression implements EvaluableExpression {
 			return false;
 		}
 		final AdditionExpression other = (AdditionExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.summands, other.summands).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(999, 393).append(this.summands).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(999, 393).append(this.summands).toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 }
@@ -0,0 +1,375 @@
+package de.uka.ipd.sdq.beagle.core.evaluableexpressions;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Creates hash-consed {@linkplain EvaluableExpression evaluable expressions}: For every
+ * group of equal expressions, the factory returns the same instance. Inner expressions
+ * of expressions returned by this factory are hash-consed as well, so structurally equal
+ * subtrees are shared between all expressions obtained from the factory. This saves
+ * memory when many similar expressions are created, for example when proposing
+ * expressions, and makes comparing them cheap, as equal expressions are mostly the same
+ * instance.
+ *
+ * <p>The factory may be used concurrently. It does not prevent its expressions from
+ * being garbage collected. Expressions may still be created through their constructors.
+ * {@link #intern(EvaluableExpression)} retrieves the canonical instance for them.
+ *
+ * @author Joshua Gleitze
+ */
+public final class CanonicalExpressionFactory {
+
+	/**
+	 * The canonical instances of all hash-consed expressions.
+	 */
+	private static final WeakInterner<EvaluableExpression> EXPRESSIONS = new WeakInterner<>();
+
+	/**
+	 * The expression types whose inner expressions are hash-consed, too. Other
+	 * expressions are treated as leaves.
+	 */
+	private static final Set<Class<?>> COMPOSITE_EXPRESSION_TYPES = new HashSet<>(Arrays.asList(
+		AdditionExpression.class, ComparisonExpression.class, DivisionExpression.class, ExponentationExpression.class,
+		ExponentialFunctionExpression.class, IfThenElseExpression.class, LogarithmExpression.class,
+		MultiplicationExpression.class, NaturalLogarithmExpression.class, SineExpression.class,
+		SubtractionExpression.class));
+
+	/**
+	 * Private constructor because this is an utility class.
+	 */
+	private CanonicalExpressionFactory() {
+	}
+
+	/**
+	 * Gets the canonical instance of {@code expression}. The canonical instance is equal
+	 * to {@code expression} and all its inner expressions are canonical instances, too.
+	 * If there is no canonical instance yet, {@code expression} (or, if its inner
+	 * expressions were not canonical, an equal expression consisting of canonical inner
+	 * expressions) becomes the canonical instance.
+	 *
+	 * @param expression The expression to intern. Must not be {@code null}.
+	 * @param <EXPRESSION_TYPE> The type of {@code expression}.
+	 * @return The canonical instance for {@code expression}. Will never be {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <EXPRESSION_TYPE extends EvaluableExpression> EXPRESSION_TYPE intern(
+		final EXPRESSION_TYPE expression) {
+		Validate.notNull(expression);
+		final EvaluableExpression existing = EXPRESSIONS.get(expression);
+		if (existing != null) {
+			// equal expressions always have the same type
+			return (EXPRESSION_TYPE) existing;
+		}
+
+		EvaluableExpression canonical = expression;
+		if (COMPOSITE_EXPRESSION_TYPES.contains(expression.getClass())) {
+			final InnerExpressionInterner innerExpressionInterner = new InnerExpressionInterner();
+			expression.receive(innerExpressionInterner);
+			canonical = innerExpressionInterner.result;
+		}
+		return (EXPRESSION_TYPE) EXPRESSIONS.intern(canonical);
+	}
+
+	/**
+	 * Creates the canonical expression returning the sum of all {@code summands}.
+	 *
+	 * @param summands The summands. Must at least be 2 and must not contain {@code null}.
+	 * @return The canonical {@link AdditionExpression} of {@code summands}.
+	 */
+	public static AdditionExpression addition(final EvaluableExpression... summands) {
+		return intern(new AdditionExpression(summands));
+	}
+
+	/**
+	 * Creates the canonical expression returning the product of all {@code factors}.
+	 *
+	 * @param factors The factors. Must at least be 2 and must not contain {@code null}.
+	 * @return The canonical {@link MultiplicationExpression} of {@code factors}.
+	 */
+	public static MultiplicationExpression multiplication(final EvaluableExpression... factors) {
+		return intern(new MultiplicationExpression(factors));
+	}
+
+	/**
+	 * Creates the canonical expression returning {@code minuend - subtrahend}.
+	 *
+	 * @param minuend The minuend. Must not be {@code null}.
+	 * @param subtrahend The subtrahend. Must not be {@code null}.
+	 * @return The canonical {@link SubtractionExpression} of the arguments.
+	 */
+	public static SubtractionExpression subtraction(final EvaluableExpression minuend,
+		final EvaluableExpression subtrahend) {
+		return intern(new SubtractionExpression(minuend, subtrahend));
+	}
+
+	/**
+	 * Creates the canonical expression returning {@code dividend / divisor}.
+	 *
+	 * @param dividend The dividend. Must not be {@code null}.
+	 * @param divisor The divisor. Must not be {@code null}.
+	 * @return The canonical {@link DivisionExpression} of the arguments.
+	 */
+	public static DivisionExpression division(final EvaluableExpression dividend, final EvaluableExpression divisor) {
+		return intern(new DivisionExpression(dividend, divisor));
+	}
+
+	/**
+	 * Creates the canonical expression returning {@code base} to the power of
+	 * {@code exponent}.
+	 *
+	 * @param base The base. Must not be {@code null}.
+	 * @param exponent The exponent. Must not be {@code null}.
+	 * @return The canonical {@link ExponentationExpression} of the arguments.
+	 */
+	public static ExponentationExpression exponentation(final EvaluableExpression base,
+		final EvaluableExpression exponent) {
+		return intern(new ExponentationExpression(base, exponent));
+	}
+
+	/**
+	 * Creates the canonical expression returning e to the power of {@code exponent}.
+	 *
+	 * @param exponent The exponent. Must not be {@code null}.
+	 * @return The canonical {@link ExponentialFunctionExpression} of {@code exponent}.
+	 */
+	public static ExponentialFunctionExpression exponentialFunction(final EvaluableExpression exponent) {
+		return intern(new ExponentialFunctionExpression(exponent));
+	}
+
+	/**
+	 * Creates the canonical expression returning the logarithm of {@code antilogarithm}
+	 * to {@code base}.
+	 *
+	 * @param base The base. Must not be {@code null}.
+	 * @param antilogarithm The antilogarithm. Must not be {@code null}.
+	 * @return The canonical {@link LogarithmExpression} of the arguments.
+	 */
+	public static LogarithmExpression logarithm(final EvaluableExpression base,
+		final EvaluableExpression antilogarithm) {
+		return intern(new LogarithmExpression(base, antilogarithm));
+	}
+
+	/**
+	 * Creates the canonical expression returning the natural logarithm of
+	 * {@code antilogarithm}.
+	 *
+	 * @param antilogarithm The antilogarithm. Must not be {@code null}.
+	 * @return The canonical {@link NaturalLogarithmExpression} of {@code antilogarithm}.
+	 */
+	public static NaturalLogarithmExpression naturalLogarithm(final EvaluableExpression antilogarithm) {
+		return intern(new NaturalLogarithmExpression(antilogarithm));
+	}
+
+	/**
+	 * Creates the canonical expression returning the sine of {@code argument}.
+	 *
+	 * @param argument The argument. Must not be {@code null}.
+	 * @return The canonical {@link SineExpression} of {@code argument}.
+	 */
+	public static SineExpression sine(final EvaluableExpression argument) {
+		return intern(new SineExpression(argument));
+	}
+
+	/**
+	 * Creates the canonical expression comparing {@code smaller} and {@code greater}.
+	 *
+	 * @param smaller The expression expected to be smaller. Must not be {@code null}.
+	 * @param greater The expression expected to be greater. Must not be {@code null}.
+	 * @return The canonical {@link ComparisonExpression} of the arguments.
+	 */
+	public static ComparisonExpression comparison(final EvaluableExpression smaller,
+		final EvaluableExpression greater) {
+		return intern(new ComparisonExpression(smaller, greater));
+	}
+
+	/**
+	 * Creates the canonical expression returning {@code thenStatement} if
+	 * {@code ifStatement} evaluates to a true value and {@code elseStatement} otherwise.
+	 *
+	 * @param ifStatement The condition. Must not be {@code null}.
+	 * @param thenStatement The expression for a true condition. Must not be {@code null}.
+	 * @param elseStatement The expression for a false condition. Must not be
+	 *            {@code null}.
+	 * @return The canonical {@link IfThenElseExpression} of the arguments.
+	 */
+	public static IfThenElseExpression ifThenElse(final EvaluableExpression ifStatement,
+		final EvaluableExpression thenStatement, final EvaluableExpression elseStatement) {
+		return intern(new IfThenElseExpression(ifStatement, thenStatement, elseStatement));
+	}
+
+	/**
+	 * Creates the canonical variable named {@code name}.
+	 *
+	 * @param name The variable’s name. Must not be {@code null} or empty.
+	 * @return The canonical {@link EvaluableVariable} named {@code name}.
+	 */
+	public static EvaluableVariable variable(final String name) {
+		return intern(new EvaluableVariable(name));
+	}
+
+	/**
+	 * Creates the canonical constant expression for {@code value}.
+	 *
+	 * @param value The constant’s value.
+	 * @return The canonical {@link ConstantExpression} for {@code value}.
+	 */
+	public static ConstantExpression constant(final double value) {
+		return ConstantExpression.forValue(value);
+	}
+
+	/**
+	 * Interns a constant expression without handling inner expressions. Used by
+	 * {@link ConstantExpression#forValue(double)}.
+	 *
+	 * @param constant The constant expression to intern.
+	 * @return The canonical instance for {@code constant}.
+	 */
+	static ConstantExpression internConstant(final ConstantExpression constant) {
+		return (ConstantExpression) EXPRESSIONS.intern(constant);
+	}
+
+	/**
+	 * Creates an expression equal to the visited one that consists of canonical inner
+	 * expressions. Reuses the visited expression if its inner expressions are canonical
+	 * already.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class InnerExpressionInterner implements EvaluableExpressionVisitor {
+
+		/**
+		 * The expression equal to the visited one.
+		 */
+		private EvaluableExpression result;
+
+		/**
+		 * Whether any inner expression of the visited one was not canonical.
+		 */
+		private boolean changed;
+
+		/**
+		 * Interns {@code inner}, noting whether it was canonical.
+		 *
+		 * @param inner An inner expression of the visited expression.
+		 * @return The canonical instance for {@code inner}.
+		 */
+		private EvaluableExpression canonical(final EvaluableExpression inner) {
+			final EvaluableExpression canonical = intern(inner);
+			this.changed |= canonical != inner;
+			return canonical;
+		}
+
+		/**
+		 * Interns all {@code inner} expressions.
+		 *
+		 * @param inner Inner expressions of the visited expression.
+		 * @return The canonical instances for {@code inner}.
+		 */
+		private Collection<EvaluableExpression> canonical(final Collection<EvaluableExpression> inner) {
+			final Collection<EvaluableExpression> canonical = new ArrayList<>(inner.size());
+			for (final EvaluableExpression expression : inner) {
+				canonical.add(this.canonical(expression));
+			}
+			return canonical;
+		}
+
+		/**
+		 * Sets the {@link #result}.
+		 *
+		 * @param visited The visited expression.
+		 * @param rebuilt The expression built from canonical inner expressions.
+		 */
+		private void result(final EvaluableExpression visited, final EvaluableExpression rebuilt) {
+			this.result = this.changed ? rebuilt : visited;
+		}
+
+		@Override
+		public void visit(final AdditionExpression expression) {
+			final Collection<EvaluableExpression> summands = this.canonical(expression.getSummands());
+			this.result(expression, new AdditionExpression(summands));
+		}
+
+		@Override
+		public void visit(final MultiplicationExpression expression) {
+			final Collection<EvaluableExpression> factors = this.canonical(expression.getFactors());
+			this.result(expression, new MultiplicationExpression(factors));
+		}
+
+		@Override
+		public void visit(final SubtractionExpression expression) {
+			final EvaluableExpression minuend = this.canonical(expression.getMinuend());
+			final EvaluableExpression subtrahend = this.canonical(expression.getSubtrahend());
+			this.result(expression, new SubtractionExpression(minuend, subtrahend));
+		}
+
+		@Override
+		public void visit(final DivisionExpression expression) {
+			final EvaluableExpression dividend = this.canonical(expression.getDividend());
+			final EvaluableExpression divisor = this.canonical(expression.getDivisor());
+			this.result(expression, new DivisionExpression(dividend, divisor));
+		}
+
+		@Override
+		public void visit(final ExponentationExpression expression) {
+			final EvaluableExpression base = this.canonical(expression.getBase());
+			final EvaluableExpression exponent = this.canonical(expression.getExponent());
+			this.result(expression, new ExponentationExpression(base, exponent));
+		}
+
+		@Override
+		public void visit(final ExponentialFunctionExpression expression) {
+			final EvaluableExpression exponent = this.canonical(expression.getExponent());
+			this.result(expression, new ExponentialFunctionExpression(exponent));
+		}
+
+		@Override
+		public void visit(final LogarithmExpression expression) {
+			final EvaluableExpression base = this.canonical(expression.getBase());
+			final EvaluableExpression antilogarithm = this.canonical(expression.getAntilogarithm());
+			this.result(expression, new LogarithmExpression(base, antilogarithm));
+		}
+
+		@Override
+		public void visit(final NaturalLogarithmExpression expression) {
+			final EvaluableExpression antilogarithm = this.canonical(expression.getAntilogarithm());
+			this.result(expression, new NaturalLogarithmExpression(antilogarithm));
+		}
+
+		@Override
+		public void visit(final SineExpression expression) {
+			final EvaluableExpression argument = this.canonical(expression.getArgument());
+			this.result(expression, new SineExpression(argument));
+		}
+
+		@Override
+		public void visit(final ComparisonExpression expression) {
+			final EvaluableExpression smaller = this.canonical(expression.getSmaller());
+			final EvaluableExpression greater = this.canonical(expression.getGreater());
+			this.result(expression, new ComparisonExpression(smaller, greater));
+		}
+
+		@Override
+		public void visit(final IfThenElseExpression expression) {
+			final EvaluableExpression ifStatement = this.canonical(expression.getIfStatement());
+			final EvaluableExpression thenStatement = this.canonical(expression.getThenStatement());
+			final EvaluableExpression elseStatement = this.canonical(expression.getElseStatement());
+			this.result(expression, new IfThenElseExpression(ifStatement, thenStatement, elseStatement));
+		}
+
+		@Override
+		public void visit(final EvaluableVariable variable) {
+			this.result = variable;
+		}
+
+		@Override
+		public void visit(final ConstantExpression constant) {
+			this.result = constant;
+		}
+	}
+}
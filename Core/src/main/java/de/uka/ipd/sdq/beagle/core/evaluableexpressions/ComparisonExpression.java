@@ -12,6 +12,11 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class ComparisonExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 4353277032674952737L;
+
 	/**
 	 * The used value to express {@code true} as double.
 	 */
@@ -29,6 +34,12 @@ public class ComparisonExpression implements EvaluableExpression {
 	 */
 	private final EvaluableExpression greater;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression that will return '1' if the expression set as smaller is
 	 * smaller and '0' else.
@@ -100,6 +111,17 @@ public class ComparisonExpression implements EvaluableExpression {
 		}
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = this.smaller.evaluateAll(variableColumns);
+		final double[] greaterValues = this.greater.evaluateAll(variableColumns);
+		for (int row = 0; row < result.length; row++) {
+			result[row] = result[row] < greaterValues[row] ? TRUE : FALSE;
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("(%s < %s)", this.smaller, this.greater);
@@ -117,14 +139,22 @@ public class ComparisonExpression implements EvaluableExpression {
 			return false;
 		}
 		final ComparisonExpression other = (ComparisonExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.smaller, other.smaller).append(this.greater, other.greater).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(839, 39901).append(this.smaller).append(this.greater).hashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(839, 39901).append(this.smaller)
+				.append(this.greater)
+				.toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 
 }
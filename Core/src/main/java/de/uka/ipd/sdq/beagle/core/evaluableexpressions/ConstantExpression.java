@@ -4,8 +4,7 @@ import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 /**
  * An {@link EvaluableExpression} having a constant value.
@@ -16,15 +15,21 @@ import java.util.Map;
 public final class ConstantExpression implements EvaluableExpression {
 
 	/**
-	 * Hash map containing all existing constant expressions with their value as key.
+	 * Serialisation version UID, see {@link java.io.Serializable}.
 	 */
-	private static Map<Double, ConstantExpression> constantExpressions = new HashMap<Double, ConstantExpression>();
+	private static final long serialVersionUID = -8911978815150107791L;
 
 	/**
 	 * The value of this constant expression.
 	 */
 	private final double value;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression which returns the value of the expression.
 	 *
@@ -33,7 +38,6 @@ public final class ConstantExpression implements EvaluableExpression {
 	private ConstantExpression(final double value) {
 		Validate.notNull(value);
 		this.value = value;
-		constantExpressions.put(value, this);
 	}
 
 	/**
@@ -46,19 +50,26 @@ public final class ConstantExpression implements EvaluableExpression {
 	}
 
 	/**
-	 * Looks for the constant expression belonging to an input {@code value}.
+	 * Looks for the constant expression belonging to an input {@code value}. Constant
+	 * expressions are hash-consed through {@link CanonicalExpressionFactory}, so this
+	 * method may safely be called concurrently.
 	 *
 	 * @param value The value whose expression should be returned.
 	 * @return The constant expression belonging to the given {@code value}.
 	 */
 	public static ConstantExpression forValue(final double value) {
 		Validate.notNull(value);
-		if (constantExpressions.containsKey(value)) {
-			return constantExpressions.get(value);
-		} else {
-			final ConstantExpression newConstant = new ConstantExpression(value);
-			return newConstant;
-		}
+		return CanonicalExpressionFactory.internConstant(new ConstantExpression(value));
+	}
+
+	/**
+	 * Replaces deserialised instances by the constant expression known for their value,
+	 * so there remains only one instance for each value.
+	 *
+	 * @return The constant expression for {@link #value}.
+	 */
+	private Object readResolve() {
+		return forValue(this.value);
 	}
 
 	/*
@@ -86,6 +97,14 @@ public final class ConstantExpression implements EvaluableExpression {
 		return this.value;
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = new double[variableColumns.getRowCount()];
+		Arrays.fill(result, this.value);
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return String.valueOf(this.value);
@@ -103,13 +122,19 @@ public final class ConstantExpression implements EvaluableExpression {
 			return false;
 		}
 		final ConstantExpression other = (ConstantExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.value, other.value).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(191, 193).append(this.value).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(191, 193).append(this.value).toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 }
@@ -12,6 +12,11 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class DivisionExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -2448020660233702164L;
+
 	/**
 	 * The divisor of this division expression.
 	 */
@@ -22,6 +27,12 @@ public class DivisionExpression implements EvaluableExpression {
 	 */
 	private final EvaluableExpression dividend;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression which returns the quotient of a division using the given
 	 * divisor and dividend.
@@ -81,6 +92,17 @@ public class DivisionExpression implements EvaluableExpression {
 		return quotient;
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] quotient = this.dividend.evaluateAll(variableColumns);
+		final double[] divisorValues = this.divisor.evaluateAll(variableColumns);
+		for (int row = 0; row < quotient.length; row++) {
+			quotient[row] /= divisorValues[row];
+		}
+		return quotient;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("(%s / %s)", this.dividend, this.divisor);
@@ -98,13 +120,19 @@ public class DivisionExpression implements EvaluableExpression {
 			return false;
 		}
 		final DivisionExpression other = (DivisionExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.dividend, other.dividend).append(this.divisor, other.divisor).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(195, 197).append(this.dividend).append(this.divisor).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(195, 197).append(this.dividend).append(this.divisor).toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 }
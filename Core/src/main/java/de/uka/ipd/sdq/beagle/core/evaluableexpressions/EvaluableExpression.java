@@ -1,5 +1,9 @@
 package de.uka.ipd.sdq.beagle.core.evaluableexpressions;
 
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+
 /**
  * Expressions describing relations between {@link EvaluableVariable}s and a
  * {@code double} value. Expressions will usually combine other expressions, called
@@ -26,9 +30,13 @@ package de.uka.ipd.sdq.beagle.core.evaluableexpressions;
  * EvaluableExpression#equals(Object)} may be very costly, as it might require a lot of
  * comparisons and expressions may an unlimited amount of contained expressions.
  *
+ * <p>Expressions are serializable, so that they can be stored with the
+ * {@link de.uka.ipd.sdq.beagle.core.Blackboard} they were proposed on. Implementations
+ * must thus only contain serializable values.
+ *
  * @author Joshua Gleitze
  */
-public interface EvaluableExpression {
+public interface EvaluableExpression extends Serializable {
 
 	/**
 	 * The used value to express {@code true} as double.
@@ -51,4 +59,26 @@ public interface EvaluableExpression {
 	 * @return the value for the given assignments.
 	 */
 	double evaluate(EvaluableVariableAssignment variableAssignments);
+
+	/**
+	 * Calculates this expression’s value for each row of {@code variableColumns}. The
+	 * result equals calling {@link #evaluate(EvaluableVariableAssignment)} for
+	 * {@linkplain EvaluableVariableColumns#getRow each row}. Implementations should
+	 * however evaluate whole columns at once, which is much faster for many rows. The
+	 * default implementation evaluates row by row.
+	 *
+	 * @param variableColumns must assign a column to at least all
+	 *            {@link EvaluableVariable}s contained in this expression. Must not be
+	 *            {@code null}.
+	 * @return A new array containing the value for each row, in order of the rows. May
+	 *         be modified by the caller.
+	 */
+	default double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = new double[variableColumns.getRowCount()];
+		for (int row = 0; row < result.length; row++) {
+			result[row] = this.evaluate(variableColumns.getRow(row));
+		}
+		return result;
+	}
 }
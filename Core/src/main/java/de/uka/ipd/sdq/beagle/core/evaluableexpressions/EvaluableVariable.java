@@ -11,11 +11,28 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class EvaluableVariable implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -2986938140826257268L;
+
 	/**
 	 * The name of the evaluable variable.
 	 */
 	private final String name;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
+	/**
+	 * This variable’s {@linkplain EvaluableVariableRegistry slot}, plus one. {@code 0} if
+	 * the slot has not been looked up yet, which is also the case after deserialisation.
+	 */
+	private transient int cachedSlotPlusOne;
+
 	/**
 	 * Builds an evaluable variable with the given name.
 	 *
@@ -36,6 +53,19 @@ public class EvaluableVariable implements EvaluableExpression {
 		return this.name;
 	}
 
+	/**
+	 * Gets this variable’s slot in the {@link EvaluableVariableRegistry}. Only queries
+	 * the registry the first time.
+	 *
+	 * @return This variable’s slot.
+	 */
+	int getSlot() {
+		if (this.cachedSlotPlusOne == 0) {
+			this.cachedSlotPlusOne = EvaluableVariableRegistry.getSlot(this) + 1;
+		}
+		return this.cachedSlotPlusOne - 1;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -58,10 +88,23 @@ public class EvaluableVariable implements EvaluableExpression {
 	@Override
 	public double evaluate(final EvaluableVariableAssignment variableAssignments) {
 		Validate.notNull(variableAssignments);
-		if (!variableAssignments.isValueAssignedFor(this)) {
+		final int slot = this.getSlot();
+		if (!variableAssignments.isValueAssignedAt(slot)) {
 			throw new UndefinedExpressionException(variableAssignments, this);
 		}
-		return variableAssignments.getValueFor(this);
+		return variableAssignments.getValueAt(slot);
+	}
+
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		if (!variableColumns.isColumnSetFor(this)) {
+			if (variableColumns.getRowCount() == 0) {
+				return new double[0];
+			}
+			throw new UndefinedExpressionException(variableColumns.getRow(0), this);
+		}
+		return variableColumns.getColumnFor(this).clone();
 	}
 
 	@Override
@@ -81,14 +124,20 @@ public class EvaluableVariable implements EvaluableExpression {
 			return false;
 		}
 		final EvaluableVariable other = (EvaluableVariable) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.name, other.name).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(197, 199).append(this.name).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(197, 199).append(this.name).toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 
 }
@@ -4,12 +4,15 @@ import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+import java.util.BitSet;
 
 /**
  * Assigns {@link EvaluableVariable EvaluableVariables} to values.
  *
+ * <p>Values are stored in an array, at the {@linkplain EvaluableVariableRegistry slot}
+ * of their variable. Looking up a variable’s value is thus a single array access.
+ *
  * @author Annika Berger
  *
  * @see EvaluableVariable
@@ -18,9 +21,14 @@ import java.util.Map;
 public class EvaluableVariableAssignment {
 
 	/**
-	 * Contains all assignements of evaluable variables and their double value.
+	 * The assigned values, at the slot of their variable.
 	 */
-	private final Map<EvaluableVariable, Double> assignment = new HashMap<EvaluableVariable, Double>();
+	private double[] values = new double[EvaluableVariableRegistry.size()];
+
+	/**
+	 * The slots of all variables that have a value assigned.
+	 */
+	private final BitSet assignedSlots = new BitSet();
 
 	/**
 	 * Gets the assigned value for the {@code EvaluableVariable variable}.
@@ -30,10 +38,11 @@ public class EvaluableVariableAssignment {
 	 */
 	public double getValueFor(final EvaluableVariable variable) {
 		Validate.notNull(variable);
-		if (!this.assignment.containsKey(variable)) {
+		final int slot = variable.getSlot();
+		if (!this.isValueAssignedAt(slot)) {
 			throw new IllegalArgumentException("There is no value defined for " + variable.toString());
 		}
-		return this.assignment.get(variable);
+		return this.values[slot];
 	}
 
 	/**
@@ -45,7 +54,12 @@ public class EvaluableVariableAssignment {
 	 */
 	public void setValueFor(final EvaluableVariable variable, final double value) {
 		Validate.notNull(variable);
-		this.assignment.put(variable, value);
+		final int slot = variable.getSlot();
+		if (slot >= this.values.length) {
+			this.values = Arrays.copyOf(this.values, Math.max(slot + 1, EvaluableVariableRegistry.size()));
+		}
+		this.values[slot] = value;
+		this.assignedSlots.set(slot);
 	}
 
 	/**
@@ -59,23 +73,43 @@ public class EvaluableVariableAssignment {
 	 */
 	public boolean isValueAssignedFor(final EvaluableVariable variable) {
 		Validate.notNull(variable);
-		if (this.assignment.containsKey(variable)) {
-			return true;
-		}
-		return false;
+		return this.isValueAssignedAt(variable.getSlot());
+	}
+
+	/**
+	 * Checks whether the variable at {@code slot} has a value assigned.
+	 *
+	 * @param slot A variable’s {@linkplain EvaluableVariableRegistry slot}.
+	 * @return {@code true} if a value is assigned for the variable at {@code slot}.
+	 */
+	boolean isValueAssignedAt(final int slot) {
+		return this.assignedSlots.get(slot);
+	}
+
+	/**
+	 * Gets the value assigned to the variable at {@code slot}.
+	 *
+	 * @param slot A variable’s {@linkplain EvaluableVariableRegistry slot}. The variable
+	 *            must have a value assigned.
+	 * @return The value of the variable at {@code slot}.
+	 */
+	double getValueAt(final int slot) {
+		return this.values[slot];
 	}
 
 	@Override
 	public String toString() {
 		final StringBuilder result = new StringBuilder();
 		boolean first = true;
-		for (final EvaluableVariable variable : this.assignment.keySet()) {
+		for (int slot = this.assignedSlots.nextSetBit(0); slot >= 0; slot = this.assignedSlots.nextSetBit(slot + 1)) {
 			if (!first) {
 				result.append(", ");
 			} else {
 				first = false;
 			}
-			result.append(variable.toString()).append(" = ").append(this.getValueFor(variable));
+			result.append(EvaluableVariableRegistry.getVariable(slot).toString())
+				.append(" = ")
+				.append(this.values[slot]);
 		}
 		return result.toString();
 	}
@@ -93,10 +127,11 @@ public class EvaluableVariableAssignment {
 		}
 		final EvaluableVariableAssignment other = (EvaluableVariableAssignment) object;
 		final EqualsBuilder result = new EqualsBuilder();
-		// asserts that it is the same key set
-		result.append(this.assignment, other.assignment);
-		for (final EvaluableVariable variable : this.assignment.keySet()) {
-			result.append(this.getValueFor(variable), other.getValueFor(variable));
+		// asserts that the same variables are assigned
+		result.append(this.assignedSlots, other.assignedSlots);
+		for (int slot = this.assignedSlots.nextSetBit(0); slot >= 0 && result.isEquals();
+			slot = this.assignedSlots.nextSetBit(slot + 1)) {
+			result.append(this.values[slot], other.values[slot]);
 		}
 		return result.isEquals();
 	}
@@ -106,9 +141,9 @@ public class EvaluableVariableAssignment {
 		// you pick a hard-coded, randomly chosen, non-zero, odd number
 		// ideally different for each class
 		final HashCodeBuilder result = new HashCodeBuilder(199, 201);
-		result.append(this.assignment);
-		for (final EvaluableVariable variable : this.assignment.keySet()) {
-			result.append(this.getValueFor(variable));
+		result.append(this.assignedSlots);
+		for (int slot = this.assignedSlots.nextSetBit(0); slot >= 0; slot = this.assignedSlots.nextSetBit(slot + 1)) {
+			result.append(this.values[slot]);
 		}
 		return result.toHashCode();
 	}
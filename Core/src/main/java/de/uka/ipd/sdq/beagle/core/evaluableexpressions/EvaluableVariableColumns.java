@@ -0,0 +1,120 @@
+package de.uka.ipd.sdq.beagle.core.evaluableexpressions;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns {@link EvaluableVariable EvaluableVariables} to columns of values. The columns
+ * form a table with a fixed number of rows. Each row assigns one value to each variable,
+ * like an {@link EvaluableVariableAssignment} does. Expressions can be evaluated for all
+ * rows at once through {@link EvaluableExpression#evaluateAll(EvaluableVariableColumns)}.
+ *
+ * <p>The columns are not copied when they are set or queried, so that large tables can
+ * be evaluated without copying them. They must thus not be modified while the table is
+ * in use.
+ *
+ * @author Joshua Gleitze
+ * @see EvaluableVariableAssignment
+ */
+public class EvaluableVariableColumns {
+
+	/**
+	 * The number of rows in this table.
+	 */
+	private final int rowCount;
+
+	/**
+	 * The column of each variable. Every column contains {@link #rowCount} values.
+	 */
+	private final Map<EvaluableVariable, double[]> columns = new HashMap<>();
+
+	/**
+	 * Creates a table without columns.
+	 *
+	 * @param rowCount The number of rows of the table. Must not be negative.
+	 */
+	public EvaluableVariableColumns(final int rowCount) {
+		Validate.isTrue(rowCount >= 0, "The row count must not be negative, but was %d", rowCount);
+		this.rowCount = rowCount;
+	}
+
+	/**
+	 * Gets the number of rows of this table. Every column has this many values.
+	 *
+	 * @return The number of rows. A non-negative integer.
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Gets the values assigned to {@code variable}.
+	 *
+	 * @param variable Whose values are wanted. Must not be {@code null}.
+	 * @return The column of {@code variable}, containing its value for each row. Must
+	 *         not be modified.
+	 */
+	public double[] getColumnFor(final EvaluableVariable variable) {
+		Validate.notNull(variable);
+		final double[] column = this.columns.get(variable);
+		if (column == null) {
+			throw new IllegalArgumentException("There is no column defined for " + variable.toString());
+		}
+		return column;
+	}
+
+	/**
+	 * Assigns values to an evaluable variable.
+	 *
+	 * @param variable The variable for which the values shall be set. Must not be
+	 *            {@code null}.
+	 * @param values The value of {@code variable} for each row. Must not be {@code null}
+	 *            and must contain exactly {@link #getRowCount()} values. Must not be
+	 *            modified afterwards.
+	 */
+	public void setColumnFor(final EvaluableVariable variable, final double[] values) {
+		Validate.notNull(variable);
+		Validate.notNull(values);
+		Validate.isTrue(values.length == this.rowCount, "The table has %d rows, but %d values were provided.",
+			this.rowCount, values.length);
+		this.columns.put(variable, values);
+	}
+
+	/**
+	 * Checks whether the {@code EvaluableVariable variable} has already a column
+	 * assigned or not.
+	 *
+	 * @param variable Whose assignment status should be identified. Must not be
+	 *            {@code null}.
+	 * @return {@code true} if a column is assigned for the given variable.
+	 */
+	public boolean isColumnSetFor(final EvaluableVariable variable) {
+		Validate.notNull(variable);
+		return this.columns.containsKey(variable);
+	}
+
+	/**
+	 * Creates an assignment of all variables to their value in one row.
+	 *
+	 * @param row The index of the row. Must be non-negative and smaller than
+	 *            {@link #getRowCount()}.
+	 * @return An assignment assigning each variable that has a column the value in
+	 *         {@code row}.
+	 */
+	public EvaluableVariableAssignment getRow(final int row) {
+		Validate.isTrue(row >= 0 && row < this.rowCount, "The table has %d rows, so there is no row %d.",
+			this.rowCount, row);
+		final EvaluableVariableAssignment assignment = new EvaluableVariableAssignment();
+		for (final Map.Entry<EvaluableVariable, double[]> column : this.columns.entrySet()) {
+			assignment.setValueFor(column.getKey(), column.getValue()[row]);
+		}
+		return assignment;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d rows of %s", this.rowCount, this.columns.keySet());
+	}
+}
@@ -0,0 +1,92 @@
+package de.uka.ipd.sdq.beagle.core.evaluableexpressions;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Gives each {@link EvaluableVariable} a dense integer <em>slot</em>. Equal variables
+ * always have the same slot, different variables always have different slots. Slots are
+ * assigned in the order variables are first registered, starting at {@code 0}, so
+ * values for all variables can be stored in an array indexed by slot, like
+ * {@link EvaluableVariableAssignment} does.
+ *
+ * <p>The registry may be used concurrently. It never forgets a variable. This is
+ * acceptable because the number of different variables, which describe the parameters of
+ * the analysed software, is small.
+ *
+ * @author Joshua Gleitze
+ */
+public final class EvaluableVariableRegistry {
+
+	/**
+	 * The slot of each registered variable, by the variable’s name.
+	 */
+	private static final Map<String, Integer> SLOTS = new ConcurrentHashMap<>();
+
+	/**
+	 * The registered variables. Each variable’s index is its slot.
+	 */
+	private static final List<EvaluableVariable> VARIABLES = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Private constructor because this is an utility class.
+	 */
+	private EvaluableVariableRegistry() {
+	}
+
+	/**
+	 * Gets the slot of {@code variable}, registering it if it has none yet.
+	 *
+	 * @param variable A variable. Must not be {@code null}.
+	 * @return The slot of {@code variable}. A non-negative integer smaller than
+	 *         {@link #size()}.
+	 */
+	public static int getSlot(final EvaluableVariable variable) {
+		Validate.notNull(variable);
+		final Integer slot = SLOTS.get(variable.getName());
+		return slot != null ? slot : register(variable);
+	}
+
+	/**
+	 * Gets the variable registered at {@code slot}.
+	 *
+	 * @param slot A slot. Must be non-negative and smaller than {@link #size()}.
+	 * @return The variable having the slot {@code slot}.
+	 */
+	public static EvaluableVariable getVariable(final int slot) {
+		Validate.isTrue(slot >= 0 && slot < VARIABLES.size(), "There is no variable at slot %d.", slot);
+		return VARIABLES.get(slot);
+	}
+
+	/**
+	 * Gets the number of registered variables. All slots are smaller than this number.
+	 *
+	 * @return The number of variables that have a slot.
+	 */
+	public static int size() {
+		return VARIABLES.size();
+	}
+
+	/**
+	 * Assigns the next free slot to {@code variable}, unless it was registered
+	 * concurrently.
+	 *
+	 * @param variable The variable to register.
+	 * @return The slot of {@code variable}.
+	 */
+	private static synchronized int register(final EvaluableVariable variable) {
+		final Integer existingSlot = SLOTS.get(variable.getName());
+		if (existingSlot != null) {
+			return existingSlot;
+		}
+		final int slot = VARIABLES.size();
+		// the variable must be found at its slot as soon as the slot is visible
+		VARIABLES.add(variable);
+		SLOTS.put(variable.getName(), slot);
+		return slot;
+	}
+}
@@ -11,6 +11,11 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class ExponentationExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -2661140056859985584L;
+
 	/**
 	 * The {@link EvaluableExpression} which is the exponent of this expression.
 	 */
@@ -21,6 +26,12 @@ public class ExponentationExpression implements EvaluableExpression {
 	 */
 	private final EvaluableExpression base;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Build an expression which returns the base raised to the power of the exponent.
 	 *
@@ -79,6 +90,17 @@ public class ExponentationExpression implements EvaluableExpression {
 		return Math.pow(this.base.evaluate(variableAssignments), this.exponent.evaluate(variableAssignments));
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = this.base.evaluateAll(variableColumns);
+		final double[] exponentValues = this.exponent.evaluateAll(variableColumns);
+		for (int row = 0; row < result.length; row++) {
+			result[row] = Math.pow(result[row], exponentValues[row]);
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("(%s^%s)", this.base, this.exponent);
@@ -96,13 +118,19 @@ public class ExponentationExpression implements EvaluableExpression {
 			return false;
 		}
 		final ExponentationExpression other = (ExponentationExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.base, other.base).append(this.exponent, other.exponent).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(203, 205).append(this.base).append(this.exponent).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(203, 205).append(this.base).append(this.exponent).toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 }
@@ -12,11 +12,22 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class ExponentialFunctionExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -4366081245383479964L;
+
 	/**
 	 * The {@link EvaluableExpression} which is the exponent of this expression.
 	 */
 	private final EvaluableExpression exponent;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression which returns e raised to the power of the exponent.
 	 *
@@ -62,6 +73,16 @@ public class ExponentialFunctionExpression implements EvaluableExpression {
 		return Math.pow(Math.E, this.exponent.evaluate(variableAssignments));
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = this.exponent.evaluateAll(variableColumns);
+		for (int row = 0; row < result.length; row++) {
+			result[row] = Math.pow(Math.E, result[row]);
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("(e^%s)", this.exponent);
@@ -79,14 +100,20 @@ public class ExponentialFunctionExpression implements EvaluableExpression {
 			return false;
 		}
 		final ExponentialFunctionExpression other = (ExponentialFunctionExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.exponent, other.exponent).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(207, 209).append(this.exponent).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(207, 209).append(this.exponent).toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 
 }
@@ -11,6 +11,11 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class IfThenElseExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 6908907173738476736L;
+
 	/**
 	 * The expression containing the if-statement.
 	 */
@@ -26,6 +31,12 @@ public class IfThenElseExpression implements EvaluableExpression {
 	 */
 	private final EvaluableExpression thenStatement;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression which returns .
 	 *
@@ -108,6 +119,28 @@ public class IfThenElseExpression implements EvaluableExpression {
 		}
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = this.ifStatement.evaluateAll(variableColumns);
+		boolean thenNeeded = false;
+		boolean elseNeeded = false;
+		for (final double resultIf : result) {
+			thenNeeded |= resultIf != FALSE && !Double.isNaN(resultIf);
+			elseNeeded |= resultIf == FALSE;
+		}
+		// like evaluate, only evaluate the statements that are needed for any row
+		final double[] thenValues = thenNeeded ? this.thenStatement.evaluateAll(variableColumns) : null;
+		final double[] elseValues = elseNeeded ? this.elseStatement.evaluateAll(variableColumns) : null;
+		for (int row = 0; row < result.length; row++) {
+			if (Double.isNaN(result[row])) {
+				continue;
+			}
+			result[row] = result[row] != FALSE ? thenValues[row] : elseValues[row];
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("(%s ? %s : %s)", this.ifStatement, this.thenStatement, this.elseStatement);
@@ -125,6 +158,9 @@ public class IfThenElseExpression implements EvaluableExpression {
 			return false;
 		}
 		final IfThenElseExpression other = (IfThenElseExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.ifStatement, other.ifStatement)
 			.append(this.thenStatement, other.thenStatement)
 			.append(this.elseStatement, other.elseStatement)
@@ -133,12 +169,15 @@ public class IfThenElseExpression implements EvaluableExpression {
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(215, 217).append(this.ifStatement)
-			.append(this.thenStatement)
-			.append(this.elseStatement)
-			.toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(215, 217).append(this.ifStatement)
+				.append(this.thenStatement)
+				.append(this.elseStatement)
+				.toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 
 }
@@ -12,6 +12,11 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class LogarithmExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -3442701117959401536L;
+
 	/**
 	 * The Base of the expression.
 	 */
@@ -22,6 +27,12 @@ public class LogarithmExpression implements EvaluableExpression {
 	 */
 	private final EvaluableExpression antilogarithm;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression which returns the result of logarithm of antilogarithm to the
 	 * base.
@@ -81,6 +92,17 @@ public class LogarithmExpression implements EvaluableExpression {
 			/ Math.log(this.base.evaluate(variableAssignments));
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = this.antilogarithm.evaluateAll(variableColumns);
+		final double[] baseValues = this.base.evaluateAll(variableColumns);
+		for (int row = 0; row < result.length; row++) {
+			result[row] = Math.log(result[row]) / Math.log(baseValues[row]);
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("(log_%s%s)", this.base, this.antilogarithm);
@@ -98,6 +120,9 @@ public class LogarithmExpression implements EvaluableExpression {
 			return false;
 		}
 		final LogarithmExpression other = (LogarithmExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.base, other.base)
 			.append(this.antilogarithm, other.antilogarithm)
 			.isEquals();
@@ -105,9 +130,14 @@ public class LogarithmExpression implements EvaluableExpression {
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(219, 221).append(this.base).append(this.antilogarithm).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(219, 221).append(this.base)
+				.append(this.antilogarithm)
+				.toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 
 }
@@ -17,6 +17,11 @@ import java.util.Collection;
  */
 public class MultiplicationExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -1467119637380914151L;
+
 	/**
 	 * The minimum number of summands needed to create a correct expression.
 	 */
@@ -27,6 +32,12 @@ public class MultiplicationExpression implements EvaluableExpression {
 	 */
 	private final MultiSet<EvaluableExpression> factors;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression that will return the product of all {@code factors} on
 	 * evaluation.
@@ -88,6 +99,20 @@ public class MultiplicationExpression implements EvaluableExpression {
 		return product;
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] product = new double[variableColumns.getRowCount()];
+		Arrays.fill(product, 1);
+		for (final EvaluableExpression factor : this.factors) {
+			final double[] values = factor.evaluateAll(variableColumns);
+			for (int row = 0; row < product.length; row++) {
+				product[row] *= values[row];
+			}
+		}
+		return product;
+	}
+
 	@Override
 	public String toString() {
 		final StringBuilder result = new StringBuilder();
@@ -117,13 +142,19 @@ public class MultiplicationExpression implements EvaluableExpression {
 			return false;
 		}
 		final MultiplicationExpression other = (MultiplicationExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.factors, other.factors).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(223, 225).append(this.factors).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(223, 225).append(this.factors).toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 }
@@ -12,11 +12,22 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class NaturalLogarithmExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -191451833317919988L;
+
 	/**
 	 * The antilogarithm of the expression.
 	 */
 	private final EvaluableExpression antilogarithm;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression which returns the result of a logarithm of the antilogarithm
 	 * to the base.
@@ -64,6 +75,16 @@ public class NaturalLogarithmExpression implements EvaluableExpression {
 		return Math.log(this.antilogarithm.evaluate(variableAssignments));
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = this.antilogarithm.evaluateAll(variableColumns);
+		for (int row = 0; row < result.length; row++) {
+			result[row] = Math.log(result[row]);
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("(ln%s)", this.antilogarithm);
@@ -81,14 +102,20 @@ public class NaturalLogarithmExpression implements EvaluableExpression {
 			return false;
 		}
 		final NaturalLogarithmExpression other = (NaturalLogarithmExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.antilogarithm, other.antilogarithm).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(227, 229).append(this.antilogarithm).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(227, 229).append(this.antilogarithm).toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 
 }
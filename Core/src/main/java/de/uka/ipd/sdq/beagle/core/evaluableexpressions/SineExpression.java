@@ -12,11 +12,22 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class SineExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -911485984078288832L;
+
 	/**
 	 * The argument of the sine expression.
 	 */
 	private final EvaluableExpression argument;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression which returns the sine of the argument.
 	 *
@@ -61,6 +72,16 @@ public class SineExpression implements EvaluableExpression {
 		return Math.sin(this.argument.evaluate(variableAssignments));
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = this.argument.evaluateAll(variableColumns);
+		for (int row = 0; row < result.length; row++) {
+			result[row] = Math.sin(result[row]);
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("(sin%s)", this.argument);
@@ -78,14 +99,20 @@ public class SineExpression implements EvaluableExpression {
 			return false;
 		}
 		final SineExpression other = (SineExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.argument, other.argument).isEquals();
 	}
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(231, 233).append(this.argument).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(231, 233).append(this.argument).toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 
 }
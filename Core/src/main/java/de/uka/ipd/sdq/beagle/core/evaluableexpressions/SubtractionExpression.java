@@ -12,6 +12,11 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
  */
 public class SubtractionExpression implements EvaluableExpression {
 
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -8008856741284174090L;
+
 	/**
 	 * The subtrahend of the expression.
 	 */
@@ -22,6 +27,12 @@ public class SubtractionExpression implements EvaluableExpression {
 	 */
 	private final EvaluableExpression minuend;
 
+	/**
+	 * This expression’s hash code. Expressions are immutable, so it is computed only
+	 * once. {@code 0} if it has not been computed yet.
+	 */
+	private transient int cachedHashCode;
+
 	/**
 	 * Builds an expression which returns the difference of subtrahend and minuend.
 	 *
@@ -78,6 +89,17 @@ public class SubtractionExpression implements EvaluableExpression {
 		return this.minuend.evaluate(variableAssignments) - this.subtrahend.evaluate(variableAssignments);
 	}
 
+	@Override
+	public double[] evaluateAll(final EvaluableVariableColumns variableColumns) {
+		Validate.notNull(variableColumns);
+		final double[] result = this.minuend.evaluateAll(variableColumns);
+		final double[] subtrahendValues = this.subtrahend.evaluateAll(variableColumns);
+		for (int row = 0; row < result.length; row++) {
+			result[row] -= subtrahendValues[row];
+		}
+		return result;
+	}
+
 	@Override
 	public String toString() {
 		return String.format("(%s - %s)", this.minuend, this.subtrahend);
@@ -95,6 +117,9 @@ public class SubtractionExpression implements EvaluableExpression {
 			return false;
 		}
 		final SubtractionExpression other = (SubtractionExpression) object;
+		if (this.hashCode() != other.hashCode()) {
+			return false;
+		}
 		return new EqualsBuilder().append(this.minuend, other.minuend)
 			.append(this.subtrahend, other.subtrahend)
 			.isEquals();
@@ -102,9 +127,14 @@ public class SubtractionExpression implements EvaluableExpression {
 
 	@Override
 	public int hashCode() {
-		// you pick a hard-coded, randomly chosen, non-zero, odd number
-		// ideally different for each class
-		return new HashCodeBuilder(235, 237).append(this.minuend).append(this.subtrahend).toHashCode();
+		if (this.cachedHashCode == 0) {
+			// you pick a hard-coded, randomly chosen, non-zero, odd number
+			// ideally different for each class
+			this.cachedHashCode = new HashCodeBuilder(235, 237).append(this.minuend)
+				.append(this.subtrahend)
+				.toHashCode();
+		}
+		return this.cachedHashCode;
 	}
 
 }
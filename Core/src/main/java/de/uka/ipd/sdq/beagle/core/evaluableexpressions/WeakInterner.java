@@ -0,0 +1,130 @@
+package de.uka.ipd.sdq.beagle.core.evaluableexpressions;
+
+import org.apache.commons.lang3.Validate;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A thread safe pool of canonical instances. For every group of equal objects passed to
+ * {@link #intern}, the interner returns the same instance. The pool only holds weak
+ * references to its instances, so instances that are no longer used anywhere else are
+ * removed from it by the garbage collector.
+ *
+ * @author Joshua Gleitze
+ * @param <VALUE_TYPE> The type of the interned objects.
+ */
+final class WeakInterner<VALUE_TYPE> {
+
+	/**
+	 * The canonical instances. Every entry is mapped to itself.
+	 */
+	private final ConcurrentMap<WeakEntry<VALUE_TYPE>, WeakEntry<VALUE_TYPE>> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Queue of entries whose instance was garbage collected.
+	 */
+	private final ReferenceQueue<VALUE_TYPE> collectedEntries = new ReferenceQueue<>();
+
+	/**
+	 * Gets the canonical instance equal to {@code value}. If there is none yet,
+	 * {@code value} becomes the canonical instance.
+	 *
+	 * @param value The object to intern. Must not be {@code null}.
+	 * @return The canonical instance equal to {@code value}. Will never be {@code null}.
+	 */
+	VALUE_TYPE intern(final VALUE_TYPE value) {
+		Validate.notNull(value);
+		this.removeCollectedEntries();
+
+		final WeakEntry<VALUE_TYPE> entry = new WeakEntry<>(value, this.collectedEntries);
+		while (true) {
+			final WeakEntry<VALUE_TYPE> existingEntry = this.entries.putIfAbsent(entry, entry);
+			if (existingEntry == null) {
+				return value;
+			}
+			final VALUE_TYPE canonical = existingEntry.get();
+			if (canonical != null) {
+				return canonical;
+			}
+			// the canonical instance was collected in the meantime
+			this.entries.remove(existingEntry, existingEntry);
+		}
+	}
+
+	/**
+	 * Gets the canonical instance equal to {@code value} without making {@code value}
+	 * canonical if there is none.
+	 *
+	 * @param value The object to look up. Must not be {@code null}.
+	 * @return The canonical instance equal to {@code value}. {@code null} if there is
+	 *         none.
+	 */
+	VALUE_TYPE get(final VALUE_TYPE value) {
+		Validate.notNull(value);
+		final WeakEntry<VALUE_TYPE> existingEntry = this.entries.get(new WeakEntry<>(value, null));
+		return existingEntry == null ? null : existingEntry.get();
+	}
+
+	/**
+	 * Removes the entries whose instance was garbage collected.
+	 */
+	private void removeCollectedEntries() {
+		Reference<? extends VALUE_TYPE> collected;
+		while ((collected = this.collectedEntries.poll()) != null) {
+			this.entries.remove(collected);
+		}
+	}
+
+	/**
+	 * A weak reference to an interned instance that can be used as a map key. Entries
+	 * are equal if they are the same or refer to equal instances. An entry whose
+	 * instance was collected is only equal to itself.
+	 *
+	 * @author Joshua Gleitze
+	 * @param <VALUE_TYPE> The type of the referred instance.
+	 */
+	private static final class WeakEntry<VALUE_TYPE> extends WeakReference<VALUE_TYPE> {
+
+		/**
+		 * The hash code of the referred instance. Kept to find the entry after the
+		 * instance was collected.
+		 */
+		private final int hashCode;
+
+		/**
+		 * Creates an entry referring to {@code value}.
+		 *
+		 * @param value The referred instance.
+		 * @param queue The queue to register the entry at. May be {@code null}.
+		 */
+		private WeakEntry(final VALUE_TYPE value, final ReferenceQueue<? super VALUE_TYPE> queue) {
+			super(value, queue);
+			this.hashCode = value.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (object == this) {
+				return true;
+			}
+			if (!(object instanceof WeakEntry)) {
+				return false;
+			}
+			final WeakEntry<?> other = (WeakEntry<?>) object;
+			if (this.hashCode != other.hashCode) {
+				return false;
+			}
+			final VALUE_TYPE value = this.get();
+			return value != null && value.equals(other.get());
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+}
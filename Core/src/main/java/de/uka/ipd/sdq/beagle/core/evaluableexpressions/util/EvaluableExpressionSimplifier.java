@@ -1,15 +1,31 @@
 package de.uka.ipd.sdq.beagle.core.evaluableexpressions.util;
 
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.AdditionExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.CanonicalExpressionFactory;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ComparisonExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.DivisionExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableAssignment;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ExponentationExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ExponentialFunctionExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.IfThenElseExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.LogarithmExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.MultiplicationExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.NaturalLogarithmExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.SineExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.SubtractionExpression;
 
 import org.apache.commons.lang3.Validate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Produces shorter versions of unnecessarily complex {@linkplain EvaluableExpression
@@ -20,15 +36,63 @@ import java.util.List;
  * that {@code |e1| ≤ |e|} and for any {@link EvaluableVariableAssignment} {@code x}
  * {@code e.evaluate(x) = e1.evaluate(x)}.
  *
+ * <p>The simplifier applies rewriting rules bottom up until no rule applies any more.
+ * The rules fold operations on constants, eliminate identities like {@code x · 1} or
+ * {@code x - 0}, merge integer powers of the same base, merge nested sums and products
+ * and remove branches of {@linkplain IfThenElseExpression IfThenElseExpressions} that
+ * can never be taken. Rules that are only valid for finite values are not applied: For
+ * example, {@code 0 · x} is not replaced by {@code 0}, as {@code x} might be infinite or
+ * not a number. Equal inner expressions of the result are shared, so each of them is
+ * only stored once. The result is only returned if it is neither longer nor, according
+ * to the cost model the simplifier was created with, computationally more complex than
+ * the original expression.
+ *
  * @author Joshua Gleitze
  */
 public class EvaluableExpressionSimplifier {
 
+	/**
+	 * How often the rules will be applied to the whole expression at most. The rules
+	 * usually reach a fixed point after very few passes. The limit guards against rules
+	 * undoing each other.
+	 */
+	private static final int MAX_PASSES = 16;
+
 	/**
 	 * The instance that will do the actual work.
 	 */
-	private final ActualSimplifier sipmlifier = new ActualSimplifier();
+	private final ActualSimplifier simplifier = new ActualSimplifier();
+
+	/**
+	 * Counts the inner expressions of expressions.
+	 */
+	private final LengthAnalyser lengthAnalyser = new LengthAnalyser();
+
+	/**
+	 * Determines the computational complexity of expressions.
+	 */
+	private final ToDoubleFunction<EvaluableExpression> computationalComplexity;
+
+	/**
+	 * Creates a simplifier that only makes sure that simplified expressions are not
+	 * longer than the original ones.
+	 */
+	public EvaluableExpressionSimplifier() {
+		this((expression) -> 0);
+	}
 
+	/**
+	 * Creates a simplifier that makes sure that simplified expressions are neither
+	 * longer nor computationally more complex than the original ones.
+	 *
+	 * @param computationalComplexity Determines the computational complexity of an
+	 *            expression. Must not be {@code null}. Will only be called on the thread
+	 *            calling {@link #simplify(EvaluableExpression)}.
+	 */
+	public EvaluableExpressionSimplifier(final ToDoubleFunction<EvaluableExpression> computationalComplexity) {
+		Validate.notNull(computationalComplexity);
+		this.computationalComplexity = computationalComplexity;
+	}
 
 	/**
 	 * Simplifies {@code expression}.
@@ -38,8 +102,72 @@ public class EvaluableExpressionSimplifier {
 	 *         class description for details. Might me {@code expression} itself.
 	 */
 	public EvaluableExpression simplify(final EvaluableExpression expression) {
-		Validate.notNull("The expression passed to simplify was null!");
-		return this.sipmlifier.modifyRecursively(expression);
+		Validate.notNull(expression, "The expression passed to simplify was null!");
+
+		EvaluableExpression simplified = expression;
+		for (int pass = 0; pass < MAX_PASSES; pass++) {
+			final EvaluableExpression next = this.simplifier.modifyRecursively(simplified);
+			if (next.equals(simplified)) {
+				break;
+			}
+			simplified = next;
+		}
+		simplified = CanonicalExpressionFactory.intern(simplified);
+
+		return this.isNoWorse(simplified, expression) ? simplified : expression;
+	}
+
+	/**
+	 * Checks whether {@code candidate} is neither longer nor computationally more complex
+	 * than {@code original}.
+	 *
+	 * @param candidate The simplified expression.
+	 * @param original The expression that was simplified.
+	 * @return {@code true} if {@code candidate} may replace {@code original}.
+	 */
+	private boolean isNoWorse(final EvaluableExpression candidate, final EvaluableExpression original) {
+		if (this.lengthAnalyser.getLengthOf(candidate) > this.lengthAnalyser.getLengthOf(original)) {
+			return false;
+		}
+		return this.computationalComplexity.applyAsDouble(candidate) <= this.computationalComplexity
+			.applyAsDouble(original);
+	}
+
+	/**
+	 * Checks whether {@code expression} is a constant.
+	 *
+	 * @param expression An evaluable expression.
+	 * @return {@code true} if {@code expression} is a {@link ConstantExpression}.
+	 */
+	private static boolean isConstant(final EvaluableExpression expression) {
+		return expression instanceof ConstantExpression;
+	}
+
+	/**
+	 * Checks whether {@code expression} is the constant {@code value}.
+	 *
+	 * @param expression An evaluable expression.
+	 * @param value A value.
+	 * @return {@code true} if {@code expression} is a {@link ConstantExpression} having
+	 *         the value {@code value}.
+	 */
+	private static boolean isConstant(final EvaluableExpression expression, final double value) {
+		return isConstant(expression) && ((ConstantExpression) expression).getValue() == value;
+	}
+
+	/**
+	 * Gets the value of {@code expression} if it is a constant integer.
+	 *
+	 * @param expression An evaluable expression.
+	 * @return The value of {@code expression} if it is a {@link ConstantExpression}
+	 *         having a finite integer value. {@link Double#NaN} otherwise.
+	 */
+	private static double getIntegerValue(final EvaluableExpression expression) {
+		if (!isConstant(expression)) {
+			return Double.NaN;
+		}
+		final double value = ((ConstantExpression) expression).getValue();
+		return !Double.isInfinite(value) && value == Math.rint(value) ? value : Double.NaN;
 	}
 
 	/*
@@ -59,9 +187,181 @@ public class EvaluableExpressionSimplifier {
 		 */
 		private final AdditionSimplifier additionSimplifier = new AdditionSimplifier();
 
+		/**
+		 * Handles simplifying of a {@link MultiplicationExpression}.
+		 */
+		private final MultiplicationSimplifier multiplicationSimplifier = new MultiplicationSimplifier();
+
+		/**
+		 * Replaces the current expression with its value if all of its inner expressions
+		 * are constants.
+		 *
+		 * @param expression The currently visited expression.
+		 * @param innerExpressions All inner expressions {@code expression} directly
+		 *            contains.
+		 * @return {@code true} if the current expression was replaced.
+		 */
+		private boolean foldConstants(final EvaluableExpression expression,
+			final Collection<EvaluableExpression> innerExpressions) {
+			for (final EvaluableExpression innerExpression : innerExpressions) {
+				if (!isConstant(innerExpression)) {
+					return false;
+				}
+			}
+			this.replaceCurrentExpressionWith(
+				ConstantExpression.forValue(expression.evaluate(new EvaluableVariableAssignment())));
+			return true;
+		}
+
+		/**
+		 * Replaces the current expression with its value if all of its inner expressions
+		 * are constants.
+		 *
+		 * @param expression The currently visited expression.
+		 * @param innerExpressions All inner expressions {@code expression} directly
+		 *            contains.
+		 * @return {@code true} if the current expression was replaced.
+		 */
+		private boolean foldConstants(final EvaluableExpression expression,
+			final EvaluableExpression... innerExpressions) {
+			return this.foldConstants(expression, Arrays.asList(innerExpressions));
+		}
+
 		@Override
 		protected void afterAddition(final AdditionExpression expression) {
-			this.additionSimplifier.simplify(expression);
+			if (!this.foldConstants(expression, expression.getSummands())) {
+				this.additionSimplifier.simplify(expression);
+			}
+		}
+
+		@Override
+		protected void afterMultiplication(final MultiplicationExpression expression) {
+			if (!this.foldConstants(expression, expression.getFactors())) {
+				this.multiplicationSimplifier.simplify(expression);
+			}
+		}
+
+		@Override
+		protected void afterSubtraction(final SubtractionExpression expression) {
+			if (this.foldConstants(expression, expression.getMinuend(), expression.getSubtrahend())) {
+				return;
+			}
+			// x - 0 = x
+			if (isConstant(expression.getSubtrahend(), 0)) {
+				this.replaceCurrentExpressionWith(expression.getMinuend());
+			}
+		}
+
+		@Override
+		protected void afterDivision(final DivisionExpression expression) {
+			if (this.foldConstants(expression, expression.getDividend(), expression.getDivisor())) {
+				return;
+			}
+			// x / 1 = x
+			if (isConstant(expression.getDivisor(), 1)) {
+				this.replaceCurrentExpressionWith(expression.getDividend());
+			}
+		}
+
+		@Override
+		protected void afterExponentation(final ExponentationExpression expression) {
+			if (this.foldConstants(expression, expression.getBase(), expression.getExponent())) {
+				return;
+			}
+			if (isConstant(expression.getExponent(), 0)) {
+				// x^0 = 1, even if x is not a number
+				this.replaceCurrentExpressionWith(ConstantExpression.forValue(1));
+			} else if (isConstant(expression.getExponent(), 1)) {
+				this.replaceCurrentExpressionWith(expression.getBase());
+			} else if (isConstant(expression.getBase(), Math.E)) {
+				this.replaceCurrentExpressionWith(new ExponentialFunctionExpression(expression.getExponent()));
+			}
+		}
+
+		@Override
+		protected void afterExponentialFunction(final ExponentialFunctionExpression expression) {
+			this.foldConstants(expression, expression.getExponent());
+		}
+
+		@Override
+		protected void afterLogarithm(final LogarithmExpression expression) {
+			this.foldConstants(expression, expression.getBase(), expression.getAntilogarithm());
+		}
+
+		@Override
+		protected void afterNaturalLogarithm(final NaturalLogarithmExpression expression) {
+			this.foldConstants(expression, expression.getAntilogarithm());
+		}
+
+		@Override
+		protected void afterSine(final SineExpression expression) {
+			this.foldConstants(expression, expression.getArgument());
+		}
+
+		@Override
+		protected void afterComparison(final ComparisonExpression expression) {
+			if (this.foldConstants(expression, expression.getSmaller(), expression.getGreater())) {
+				return;
+			}
+			// x < x is false for any x, including NaN
+			if (expression.getSmaller().equals(expression.getGreater())) {
+				this.replaceCurrentExpressionWith(ConstantExpression.forValue(EvaluableExpression.FALSE));
+			}
+		}
+
+		@Override
+		protected void afterIfThenElse(final IfThenElseExpression expression) {
+			final EvaluableExpression condition = expression.getIfStatement();
+			if (isConstant(condition)) {
+				final double conditionValue = ((ConstantExpression) condition).getValue();
+				if (Double.isNaN(conditionValue)) {
+					this.replaceCurrentExpressionWith(ConstantExpression.forValue(Double.NaN));
+				} else if (conditionValue != EvaluableExpression.FALSE) {
+					this.replaceCurrentExpressionWith(expression.getThenStatement());
+				} else {
+					this.replaceCurrentExpressionWith(expression.getElseStatement());
+				}
+				return;
+			}
+
+			// comparisons are never NaN, so one of the branches will be taken.
+			if (condition instanceof ComparisonExpression
+				&& expression.getThenStatement().equals(expression.getElseStatement())) {
+				this.replaceCurrentExpressionWith(expression.getThenStatement());
+				return;
+			}
+
+			// A nested expression having the same condition will always take the same
+			// branch as this one.
+			final EvaluableExpression thenStatement =
+				this.getTakenBranch(expression.getThenStatement(), condition, true);
+			final EvaluableExpression elseStatement =
+				this.getTakenBranch(expression.getElseStatement(), condition, false);
+			this.replaceCurrentExpressionWith(new IfThenElseExpression(condition, thenStatement, elseStatement));
+		}
+
+		/**
+		 * Removes the dead branch from {@code branch} if it is an
+		 * {@link IfThenElseExpression} having the condition {@code condition}.
+		 *
+		 * @param branch A branch of an {@link IfThenElseExpression} having the condition
+		 *            {@code condition}.
+		 * @param condition The condition of the {@link IfThenElseExpression} containing
+		 *            {@code branch}.
+		 * @param conditionHolds Whether {@code branch} is only evaluated if
+		 *            {@code condition} holds.
+		 * @return The expression that is evaluated in place of {@code branch}.
+		 */
+		private EvaluableExpression getTakenBranch(final EvaluableExpression branch,
+			final EvaluableExpression condition, final boolean conditionHolds) {
+			if (!(branch instanceof IfThenElseExpression)) {
+				return branch;
+			}
+			final IfThenElseExpression nested = (IfThenElseExpression) branch;
+			if (!nested.getIfStatement().equals(condition)) {
+				return branch;
+			}
+			return conditionHolds ? nested.getThenStatement() : nested.getElseStatement();
 		}
 	}
 
@@ -145,6 +445,18 @@ public class EvaluableExpressionSimplifier {
 				this.summands.get(this.index).receive(this);
 			}
 
+			if (this.constantIndex != -1 && Double.isNaN(this.constantSum)) {
+				// NaN + x = NaN for any x
+				EvaluableExpressionSimplifier.this.simplifier
+					.replaceCurrentExpressionWith(ConstantExpression.forValue(Double.NaN));
+				return;
+			}
+			if (this.constantIndex != -1 && this.constantSum == 0 && this.summands.size() > 1) {
+				// x + 0 = x
+				this.summands.remove(this.constantIndex);
+				this.modified = true;
+			}
+
 			if (this.modified) {
 				EvaluableExpression newSum;
 				if (this.summands.size() > 1) {
@@ -160,7 +472,7 @@ public class EvaluableExpressionSimplifier {
 						newSum = new SubtractionExpression(newSum, new AdditionExpression(this.negativePart));
 					}
 				}
-				EvaluableExpressionSimplifier.this.sipmlifier.replaceCurrentExpressionWith(newSum);
+				EvaluableExpressionSimplifier.this.simplifier.replaceCurrentExpressionWith(newSum);
 			}
 		}
 
@@ -217,9 +529,218 @@ public class EvaluableExpressionSimplifier {
 				} else {
 					AdditionSimplifier.this.constantSum = -constant.getValue();
 					AdditionSimplifier.this.summands.add(0, ConstantExpression.forValue(-constant.getValue()));
+					AdditionSimplifier.this.constantIndex = 0;
 					AdditionSimplifier.this.index++;
 				}
 			}
 		}
 	}
+
+	/**
+	 * Simplifies {@link MultiplicationExpression MultiplicationExpressions}. Merges nested
+	 * multiplications, multiplies all constant factors and merges integer powers of the
+	 * same base.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private class MultiplicationSimplifier extends AbstractEvaluableExpressionVisitor {
+
+		/**
+		 * The factors that have not been visited yet.
+		 */
+		private final LinkedList<EvaluableExpression> pendingFactors = new LinkedList<>();
+
+		/**
+		 * The factors that will be kept as they are.
+		 */
+		private final List<EvaluableExpression> keptFactors = new ArrayList<>();
+
+		/**
+		 * The factors that are integer powers, grouped by their base. Factors that are no
+		 * powers are their own base with the exponent {@code 1}.
+		 */
+		private final Map<EvaluableExpression, PowerGroup> powers = new LinkedHashMap<>();
+
+		/**
+		 * The product of all constant factors seen so far.
+		 */
+		private double constantProduct;
+
+		/**
+		 * Simplifies a {@link MultiplicationExpression}.
+		 *
+		 * @param expression the expression to simplify.
+		 */
+		private void simplify(final MultiplicationExpression expression) {
+			this.pendingFactors.clear();
+			this.pendingFactors.addAll(expression.getFactors());
+			this.keptFactors.clear();
+			this.powers.clear();
+			this.constantProduct = 1;
+
+			while (!this.pendingFactors.isEmpty()) {
+				this.pendingFactors.removeFirst().receive(this);
+			}
+
+			if (Double.isNaN(this.constantProduct)) {
+				// NaN · x = NaN for any x
+				EvaluableExpressionSimplifier.this.simplifier
+					.replaceCurrentExpressionWith(ConstantExpression.forValue(Double.NaN));
+				return;
+			}
+
+			final List<EvaluableExpression> newFactors = new ArrayList<>(this.keptFactors);
+			for (final PowerGroup group : this.powers.values()) {
+				group.addTo(newFactors);
+			}
+			// x · 1 = x. We may not remove 0, as 0 · x is NaN for infinite x.
+			if (this.constantProduct != 1 || newFactors.isEmpty()) {
+				newFactors.add(ConstantExpression.forValue(this.constantProduct));
+			}
+
+			final EvaluableExpression newProduct;
+			if (newFactors.size() > 1) {
+				newProduct = new MultiplicationExpression(newFactors);
+			} else {
+				newProduct = newFactors.get(0);
+			}
+			EvaluableExpressionSimplifier.this.simplifier.replaceCurrentExpressionWith(newProduct);
+		}
+
+		/**
+		 * Adds a factor to the power group of its base.
+		 *
+		 * @param factor The visited factor.
+		 * @param base The base of {@code factor}.
+		 * @param exponent The integer exponent of {@code factor}.
+		 */
+		private void addPower(final EvaluableExpression factor, final EvaluableExpression base,
+			final double exponent) {
+			PowerGroup group = this.powers.get(base);
+			if (group == null) {
+				group = new PowerGroup(base);
+				this.powers.put(base, group);
+			}
+			group.add(factor, exponent);
+		}
+
+		@Override
+		protected void visitOther(final EvaluableExpression expression) {
+			this.addPower(expression, expression, 1);
+		}
+
+		@Override
+		public void visit(final MultiplicationExpression expression) {
+			this.pendingFactors.addAll(expression.getFactors());
+		}
+
+		@Override
+		public void visit(final ConstantExpression constant) {
+			this.constantProduct *= constant.getValue();
+		}
+
+		@Override
+		public void visit(final ExponentationExpression expression) {
+			final double exponent = getIntegerValue(expression.getExponent());
+			if (Double.isNaN(exponent) || exponent == 0) {
+				this.keptFactors.add(expression);
+			} else {
+				this.addPower(expression, expression.getBase(), exponent);
+			}
+		}
+	}
+
+	/**
+	 * Factors of a multiplication that are integer powers of the same base. Powers can
+	 * only be merged if their exponents have the same sign: {@code x^2 · x^3 = x^5} holds
+	 * for any {@code x}, while {@code x^-1 · x^1} is NaN, and not {@code 1}, for
+	 * {@code x = 0}.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static class PowerGroup {
+
+		/**
+		 * The base of all powers in this group.
+		 */
+		private final EvaluableExpression base;
+
+		/**
+		 * The factors in this group, as they were found in the multiplication.
+		 */
+		private final List<EvaluableExpression> factors = new ArrayList<>();
+
+		/**
+		 * The sum of the exponents of all {@link #factors}.
+		 */
+		private double exponentSum;
+
+		/**
+		 * Whether any of the {@link #factors} is an {@link ExponentationExpression}.
+		 */
+		private boolean containsPower;
+
+		/**
+		 * Whether all exponents added so far have the same sign.
+		 */
+		private boolean sameSign = true;
+
+		/**
+		 * Creates an empty group.
+		 *
+		 * @param base The base of all powers in this group.
+		 */
+		PowerGroup(final EvaluableExpression base) {
+			this.base = base;
+		}
+
+		/**
+		 * Adds a factor to this group.
+		 *
+		 * @param factor A factor being a power of {@link #base}.
+		 * @param exponent The exponent of {@code factor}. A non-zero integer.
+		 */
+		private void add(final EvaluableExpression factor, final double exponent) {
+			if (!this.factors.isEmpty() && Math.signum(exponent) != Math.signum(this.exponentSum)) {
+				this.sameSign = false;
+			}
+			this.factors.add(factor);
+			this.exponentSum += exponent;
+			this.containsPower |= factor != this.base;
+		}
+
+		/**
+		 * Adds the factors of this group to {@code newFactors}, merged into one power if
+		 * that is possible and makes the product shorter.
+		 *
+		 * @param newFactors The factors of the simplified multiplication.
+		 */
+		private void addTo(final List<EvaluableExpression> newFactors) {
+			if (this.factors.size() > 1 && this.containsPower && this.sameSign) {
+				newFactors.add(new ExponentationExpression(this.base, ConstantExpression.forValue(this.exponentSum)));
+			} else {
+				newFactors.addAll(this.factors);
+			}
+		}
+	}
+
+	/**
+	 * Counts the inner expressions of an expression.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static class LengthAnalyser extends RecursiveEvaluableExpressionVisitor {
+
+		/**
+		 * Counts the inner expressions of {@code expression}.
+		 *
+		 * @param expression An evaluable expression.
+		 * @return The number of expressions in {@code expression}’s tree, including
+		 *         {@code expression} itself.
+		 */
+		private int getLengthOf(final EvaluableExpression expression) {
+			this.visitRecursively(expression);
+			return this.getVisitedCount();
+		}
+	}
 }
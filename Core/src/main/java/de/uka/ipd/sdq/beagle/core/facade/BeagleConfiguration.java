@@ -1,6 +1,8 @@
 package de.uka.ipd.sdq.beagle.core.facade;
 
 import de.uka.ipd.sdq.beagle.core.LaunchConfiguration;
+import de.uka.ipd.sdq.beagle.core.analysis.AllAnalysersSelectionStrategy;
+import de.uka.ipd.sdq.beagle.core.analysis.AnalyserSelectionStrategy;
 import de.uka.ipd.sdq.beagle.core.timeout.AdaptiveTimeout;
 import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
 
@@ -66,6 +68,17 @@ public class BeagleConfiguration {
 	 */
 	private File sourceStatementLinkFile;
 
+	/**
+	 * The file to store snapshots of the analysis in. {@code null} if no snapshots are to
+	 * be stored.
+	 */
+	private File snapshotFile;
+
+	/**
+	 * Selects the analysers to contribute.
+	 */
+	private AnalyserSelectionStrategy analyserSelectionStrategy;
+
 	/**
 	 * Constructs a new {@link BeagleConfiguration} using {@code elements} as the default
 	 * elements to be measured.
@@ -79,9 +92,40 @@ public class BeagleConfiguration {
 	 */
 	public BeagleConfiguration(final List<String> elements, final File repositoryFile,
 		final File sourceStatementLinkFile, final IJavaProject javaProject) {
+		this(Validate.notNull(javaProject), elements, repositoryFile, sourceStatementLinkFile);
+	}
+
+	/**
+	 * Constructs a new {@link BeagleConfiguration} that is not bound to an
+	 * {@link IJavaProject}. Information about the analysed project must be passed to
+	 * {@link BeagleController#initialise(SourceCodeFileProvider, String, java.nio.charset.Charset)}
+	 * instead.
+	 *
+	 * @param elements The elements to be measured or {@code null} to indicate that
+	 *            everything in {@code repositoryFile} should be analysed.
+	 * @param repositoryFile The repository file to use. Must not be {@code null}.
+	 * @param sourceStatementLinkFile The xml file containing the PCM Element Source
+	 *            Statement Link Model. Must not be {@code null}.
+	 */
+	public BeagleConfiguration(final List<String> elements, final File repositoryFile,
+		final File sourceStatementLinkFile) {
+		this(null, elements, repositoryFile, sourceStatementLinkFile);
+	}
+
+	/**
+	 * Constructs a new {@link BeagleConfiguration}.
+	 *
+	 * @param javaProject the {@link IJavaProject} to analyse. May be {@code null}.
+	 * @param elements The elements to be measured or {@code null} to indicate that
+	 *            everything in {@code repositoryFile} should be analysed.
+	 * @param repositoryFile The repository file to use. Must not be {@code null}.
+	 * @param sourceStatementLinkFile The xml file containing the PCM Element Source
+	 *            Statement Link Model. Must not be {@code null}.
+	 */
+	private BeagleConfiguration(final IJavaProject javaProject, final List<String> elements,
+		final File repositoryFile, final File sourceStatementLinkFile) {
 		Validate.notNull(repositoryFile);
 		Validate.notNull(sourceStatementLinkFile);
-		Validate.notNull(javaProject);
 
 		if (!repositoryFile.exists()) {
 			throw new IllegalArgumentException("Repository file must exist. Path was: " + repositoryFile.getPath());
@@ -97,6 +141,7 @@ public class BeagleConfiguration {
 
 		this.repositoryFile = repositoryFile;
 		this.timeout = new AdaptiveTimeout();
+		this.analyserSelectionStrategy = new AllAnalysersSelectionStrategy();
 		this.javaProject = javaProject;
 		this.sourceStatementLinkFile = sourceStatementLinkFile;
 	}
@@ -104,7 +149,8 @@ public class BeagleConfiguration {
 	/**
 	 * Gives the {@link IJavaProject} to analyse.
 	 *
-	 * @return the {@link IJavaProject} to analyse.
+	 * @return the {@link IJavaProject} to analyse. {@code null} if this configuration was
+	 *         created without a Java project.
 	 */
 	public IJavaProject getJavaProject() {
 		return this.javaProject;
@@ -245,6 +291,62 @@ public class BeagleConfiguration {
 		return this.sourceStatementLinkFile;
 	}
 
+	/**
+	 * Sets the file to store snapshots of the analysis in. Beagle regularly writes the
+	 * state of the analysis to this file. If the file already contains a snapshot when
+	 * the analysis is initialised, the analysis will continue from the snapshot instead
+	 * of starting from scratch. This operation is only allowed in the <em>set up</em>
+	 * state.
+	 *
+	 * @param snapshotFile The snapshot file. {@code null} to not store snapshots, which
+	 *            is the default.
+	 * @throws IllegalStateException If this configuration is not in the <em>set up</em>
+	 *             state.
+	 * @see de.uka.ipd.sdq.beagle.core.BlackboardSnapshotFile
+	 */
+	public void setSnapshotFile(final File snapshotFile) {
+		Validate.validState(!this.finalised,
+			"setting values is only allowed if this configuration is not yet finalised");
+		this.snapshotFile = snapshotFile;
+	}
+
+	/**
+	 * Returns the file to store snapshots of the analysis in.
+	 *
+	 * @return The snapshot file. {@code null} if no snapshots are to be stored.
+	 */
+	public File getSnapshotFile() {
+		return this.snapshotFile;
+	}
+
+	/**
+	 * Sets the strategy selecting which of the analysers that can contribute will
+	 * contribute. By default, all of them are selected. A
+	 * {@link de.uka.ipd.sdq.beagle.core.analysis.BanditAnalyserSelectionStrategy} makes
+	 * Beagle spend most time on the analysers whose proposals improved the results the
+	 * most. This operation is only allowed in the <em>set up</em> state.
+	 *
+	 * @param analyserSelectionStrategy The strategy to use. Must not be {@code null}.
+	 * @throws IllegalStateException If this configuration is not in the <em>set up</em>
+	 *             state.
+	 */
+	public void setAnalyserSelectionStrategy(final AnalyserSelectionStrategy analyserSelectionStrategy) {
+		Validate.validState(!this.finalised,
+			"setting values is only allowed if this configuration is not yet finalised");
+		Validate.notNull(analyserSelectionStrategy);
+		this.analyserSelectionStrategy = analyserSelectionStrategy;
+	}
+
+	/**
+	 * Returns the strategy selecting which of the analysers that can contribute will
+	 * contribute.
+	 *
+	 * @return The analyser selection strategy. Is never {@code null}.
+	 */
+	public AnalyserSelectionStrategy getAnalyserSelectionStrategy() {
+		return this.analyserSelectionStrategy;
+	}
+
 	/**
 	 * Queries whether this configuration is in the <em>finalised</em> state.
 	 *
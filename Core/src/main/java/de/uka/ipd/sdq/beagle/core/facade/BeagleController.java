@@ -3,7 +3,7 @@ package de.uka.ipd.sdq.beagle.core.facade;
 import de.uka.ipd.sdq.beagle.core.AnalysisController;
 import de.uka.ipd.sdq.beagle.core.AnalysisState;
 import de.uka.ipd.sdq.beagle.core.Blackboard;
-import de.uka.ipd.sdq.beagle.core.LaunchConfiguration;
+import de.uka.ipd.sdq.beagle.core.BlackboardSnapshotFile;
 import de.uka.ipd.sdq.beagle.core.ProjectInformation;
 import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyserContributionsHandler;
 import de.uka.ipd.sdq.beagle.core.analysis.ProposedExpressionAnalyserContributionsHandler;
@@ -21,15 +21,21 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IJavaProject;
 
+import java.io.File;
 import java.nio.charset.Charset;
 import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Controls the execution of the Beagle Analysis. {@code BeagleController} can start,
  * pause, continue, and abort an Analysis. The controller has to be initialised through
  * {@link #initialise()} before it can be used.
  *
+ * <p>If the configuration names a {@linkplain BeagleConfiguration#getSnapshotFile()
+ * snapshot file}, the analysis’ state is saved to it regularly. An analysis initialised
+ * with an existing snapshot continues where the snapshot was taken instead of reading
+ * the elements to analyse from the PCM repository again.
+ *
  * @author Christoph Michelbach
  * @author Roman Langrehr
  */
@@ -40,6 +46,11 @@ public class BeagleController {
 	 */
 	private static final FailureHandler FAILURE_HANDLER = FailureHandler.getHandler(BeagleConfiguration.class);
 
+	/**
+	 * The minimal time in milliseconds between two snapshots of the analysis.
+	 */
+	private static final long SNAPSHOT_INTERVAL = 5 * 60 * 1000;
+
 	/**
 	 * The analysis controller used for this project.
 	 */
@@ -55,6 +66,17 @@ public class BeagleController {
 	 */
 	private Blackboard blackboard;
 
+	/**
+	 * The file snapshots of the analysis are written to. {@code null} if no snapshots
+	 * are written.
+	 */
+	private BlackboardSnapshotFile snapshot;
+
+	/**
+	 * Whether the {@link #blackboard} was restored from the {@link #snapshot}.
+	 */
+	private boolean resumed;
+
 	/**
 	 * Will be set to {@code true} after {@link #initialise()} has been run.
 	 */
@@ -81,12 +103,72 @@ public class BeagleController {
 	}
 
 	/**
-	 * Initialises this controller, making it ready to start the analysis.
+	 * Initialises this controller, making it ready to start the analysis. Information
+	 * about the analysed project is read from the configuration’s
+	 * {@linkplain BeagleConfiguration#getJavaProject() Java project}.
+	 *
+	 * @throws IllegalStateException If the configuration was created without a Java
+	 *             project.
 	 */
 	public void initialise() {
+		final IJavaProject javaProject = this.beagleConfiguration.getJavaProject();
+		Validate.validState(javaProject != null,
+			"The configuration has no Java project. Information about the project must be passed explicitly.");
+
+		this.initialise(new JdtProjectSourceCodeFileProvider(javaProject),
+			new JdtProjectClasspathExtractor(javaProject).getClasspath(), this.readCharset(javaProject));
+	}
+
+	/**
+	 * Initialises this controller, making it ready to start the analysis. This method
+	 * does not need an Eclipse workspace and can thus be used to analyse projects without
+	 * a running Eclipse.
+	 *
+	 * @param sourceCodeFileProvider The provider of the analysed project’s source files.
+	 *            Must not be {@code null}.
+	 * @param buildPath The class path containing everything needed to compile the
+	 *            analysed project. Must not be {@code null}.
+	 * @param charset The charset used for all files in the analysed project. May be
+	 *            {@code null}, in this case {@link Charset#defaultCharset()} will be used.
+	 */
+	public void initialise(final SourceCodeFileProvider sourceCodeFileProvider, final String buildPath,
+		final Charset charset) {
+		Validate.notNull(sourceCodeFileProvider);
+		Validate.notNull(buildPath);
+
+		final ProjectInformation projectInformation = new ProjectInformation(this.beagleConfiguration.getTimeout(),
+			sourceCodeFileProvider, buildPath, charset, this.beagleConfiguration.getLaunchConfigurations());
+		final File snapshotFile = this.beagleConfiguration.getSnapshotFile();
+		if (snapshotFile != null) {
+			this.snapshot = new BlackboardSnapshotFile(snapshotFile);
+			this.blackboard = this.snapshot.read(new AbstractionAndPrecisionFitnessFunction(), projectInformation);
+		}
+		this.resumed = this.blackboard != null;
+		if (!this.resumed) {
+			this.blackboard = this.createBlackboard(sourceCodeFileProvider, projectInformation);
+		}
+
+		this.analysisController = new AnalysisController(this.blackboard,
+			new HashSet<>(new MeasurementToolContributionsHandler().getAvailableMeasurmentTools()),
+			new HashSet<>(new MeasurementResultAnalyserContributionsHandler().getAvailableMeasurmentResultAnalysers()),
+			new HashSet<>(
+				new ProposedExpressionAnalyserContributionsHandler().getAvailableProposedExpressionAnalysers()),
+			ForkJoinPool.commonPool(), this.beagleConfiguration.getAnalyserSelectionStrategy());
+		this.analysisController.setSnapshotFile(this.snapshot, SNAPSHOT_INTERVAL);
+		this.inited = true;
+	}
+
+	/**
+	 * Creates a blackboard containing the elements to analyse, read from the configured
+	 * PCM repository.
+	 *
+	 * @param sourceCodeFileProvider The provider of the analysed project’s source files.
+	 * @param projectInformation Information about the analysed project.
+	 * @return The new blackboard.
+	 */
+	private Blackboard createBlackboard(final SourceCodeFileProvider sourceCodeFileProvider,
+		final ProjectInformation projectInformation) {
 		final BlackboardCreator blackboardFactory = new BlackboardCreator();
-		final SourceCodeFileProvider sourceCodeFileProvider =
-			new JdtProjectSourceCodeFileProvider(this.beagleConfiguration.getJavaProject());
 
 		final PcmSourceStatementLinkReader linkReader =
 			new PcmSourceStatementLinkReader(this.beagleConfiguration.getSourceStatementLinkFile());
@@ -101,22 +183,9 @@ public class BeagleController {
 					blackboardFactory);
 		}
 
-		final Charset charset = this.readCharset(this.beagleConfiguration.getJavaProject());
-		final String buildPath =
-			new JdtProjectClasspathExtractor(this.beagleConfiguration.getJavaProject()).getClasspath();
-
-		final Set<LaunchConfiguration> launchConfigurations = this.beagleConfiguration.getLaunchConfigurations();
-		blackboardFactory.setProjectInformation(new ProjectInformation(this.beagleConfiguration.getTimeout(),
-			sourceCodeFileProvider, buildPath, charset, launchConfigurations));
-
+		blackboardFactory.setProjectInformation(projectInformation);
 		blackboardFactory.setFitnessFunction(new AbstractionAndPrecisionFitnessFunction());
-		this.blackboard = blackboardFactory.createBlackboard();
-		this.analysisController = new AnalysisController(this.blackboard,
-			new HashSet<>(new MeasurementToolContributionsHandler().getAvailableMeasurmentTools()),
-			new HashSet<>(new MeasurementResultAnalyserContributionsHandler().getAvailableMeasurmentResultAnalysers()),
-			new HashSet<>(
-				new ProposedExpressionAnalyserContributionsHandler().getAvailableProposedExpressionAnalysers()));
-		this.inited = true;
+		return blackboardFactory.createBlackboard();
 	}
 
 	/**
@@ -130,7 +199,11 @@ public class BeagleController {
 
 		if (!this.started) {
 			this.started = true;
-			this.analysisController.performAnalysis();
+			if (this.resumed) {
+				this.analysisController.resumeAnalysis();
+			} else {
+				this.analysisController.performAnalysis();
+			}
 			new PcmRepositoryWriter(this.blackboard).writeTo(this.beagleConfiguration.getRepositoryFile());
 		}
 	}
@@ -0,0 +1,243 @@
+package de.uka.ipd.sdq.beagle.core.facade;
+
+import de.uka.ipd.sdq.beagle.core.LaunchConfiguration;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
+import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A launch configuration that starts the measured software in a new Java virtual machine
+ * process. It does not need a running Eclipse and can thus be used to measure software on
+ * machines without an Eclipse workbench.
+ *
+ * <p>The launched process uses the Java runtime Beagle itself runs on. Its standard output
+ * and standard error are passed on to Beagle’s own standard output and standard error by
+ * default, or are written to a file set through {@link #redirectOutputTo(File)}. They are
+ * never held in memory. The process’ exit code is not examined.
+ *
+ * <p>Arguments passed to {@link #appendJvmArgument(String)} are split at white space
+ * outside of double quotes, and the double quotes are removed. This matches how Eclipse
+ * treats JVM arguments in its launch configurations.
+ *
+ * @author Joshua Gleitze
+ */
+public class ProcessLaunchConfiguration implements LaunchConfiguration {
+
+	/**
+	 * Handler of failures.
+	 */
+	private static final FailureHandler FAILURE_HANDLER = FailureHandler.getHandler("Process Launcher");
+
+	/**
+	 * The fully qualified name of the class whose {@code main} method is to be run.
+	 */
+	private final String mainClass;
+
+	/**
+	 * The class path to launch the software with.
+	 */
+	private final String classPath;
+
+	/**
+	 * The arguments to pass to the Java virtual machine on every launch.
+	 */
+	private final List<String> jvmArguments;
+
+	/**
+	 * The arguments to pass to the {@code main} method.
+	 */
+	private final List<String> programArguments;
+
+	/**
+	 * Class path entries to put in front of {@link #classPath} on the next launch.
+	 */
+	private final List<String> prependedClassPath = new ArrayList<>();
+
+	/**
+	 * Arguments to pass to the Java virtual machine in addition to {@link #jvmArguments}
+	 * on the next launch.
+	 */
+	private final List<String> appendedJvmArguments = new ArrayList<>();
+
+	/**
+	 * The file the launched process’ output is appended to. {@code null} to pass the
+	 * output on to this process’ output.
+	 */
+	private File outputFile;
+
+	/**
+	 * Indicates whether the execution should be tried (again). Used to retry if starting
+	 * the process failed.
+	 */
+	private boolean execute;
+
+	/**
+	 * Creates a launch configuration that runs the {@code main} method of
+	 * {@code mainClass}.
+	 *
+	 * @param mainClass The fully qualified name of the class whose {@code main} method
+	 *            shall be run. Must not be {@code null}.
+	 * @param classPath The class path to launch the software with, in the platform’s
+	 *            class path format. Must not be {@code null}.
+	 * @param jvmArguments Arguments to pass to the Java virtual machine on every launch.
+	 *            Must not be {@code null} and not contain {@code null}.
+	 * @param programArguments Arguments to pass to the {@code main} method. Must not be
+	 *            {@code null} and not contain {@code null}.
+	 */
+	public ProcessLaunchConfiguration(final String mainClass, final String classPath,
+		final List<String> jvmArguments, final List<String> programArguments) {
+		Validate.notNull(mainClass);
+		Validate.notNull(classPath);
+		Validate.noNullElements(jvmArguments);
+		Validate.noNullElements(programArguments);
+
+		this.mainClass = mainClass;
+		this.classPath = classPath;
+		this.jvmArguments = new ArrayList<>(jvmArguments);
+		this.programArguments = new ArrayList<>(programArguments);
+	}
+
+	/**
+	 * Creates a launch configuration that runs the {@code main} method of
+	 * {@code mainClass} without any arguments.
+	 *
+	 * @param mainClass The fully qualified name of the class whose {@code main} method
+	 *            shall be run. Must not be {@code null}.
+	 * @param classPath The class path to launch the software with, in the platform’s
+	 *            class path format. Must not be {@code null}.
+	 */
+	public ProcessLaunchConfiguration(final String mainClass, final String classPath) {
+		this(mainClass, classPath, Collections.emptyList(), Collections.emptyList());
+	}
+
+	/**
+	 * Makes all following launches append their standard output and standard error to
+	 * {@code file}.
+	 *
+	 * @param file The file to append the launched process’ output to. {@code null} to
+	 *            pass the output on to this process’ standard output and standard error.
+	 * @return {@code this}.
+	 */
+	public ProcessLaunchConfiguration redirectOutputTo(final File file) {
+		this.outputFile = file;
+		return this;
+	}
+
+	@Override
+	public void execute() throws InterruptedException {
+		final ProcessBuilder processBuilder = new ProcessBuilder(this.buildCommand());
+		if (this.outputFile == null) {
+			processBuilder.inheritIO();
+		} else {
+			processBuilder.redirectInput(Redirect.INHERIT).redirectErrorStream(true)
+				.redirectOutput(Redirect.appendTo(this.outputFile));
+		}
+		this.execute = true;
+
+		try {
+			// try again until we succeed or we’re told to stop by the failure handler
+			while (this.execute) {
+				final Process process;
+				try {
+					process = processBuilder.start();
+				} catch (final IOException startError) {
+					final FailureReport<Void> failure = new FailureReport<Void>().cause(startError)
+						.message("Starting the measured software failed.")
+						.retryWith(() -> this.execute = true)
+						.continueWith(() -> this.execute = false);
+					FAILURE_HANDLER.handle(failure);
+					continue;
+				}
+
+				try {
+					process.waitFor();
+				} catch (final InterruptedException interrupt) {
+					process.destroyForcibly();
+					throw interrupt;
+				}
+				this.execute = false;
+			}
+		} finally {
+			this.prependedClassPath.clear();
+			this.appendedJvmArguments.clear();
+		}
+	}
+
+	@Override
+	public LaunchConfiguration prependClasspath(final String classPathEntry) {
+		Validate.notNull(classPathEntry);
+		this.prependedClassPath.add(0, classPathEntry);
+		return this;
+	}
+
+	@Override
+	public LaunchConfiguration appendJvmArgument(final String argument) {
+		Validate.notNull(argument);
+		this.appendedJvmArguments.addAll(splitArguments(argument));
+		return this;
+	}
+
+	/**
+	 * Assembles the command line to launch the measured software with.
+	 *
+	 * @return The command and its arguments.
+	 */
+	private List<String> buildCommand() {
+		final List<String> fullClassPath = new ArrayList<>(this.prependedClassPath);
+		if (!this.classPath.isEmpty()) {
+			fullClassPath.add(this.classPath);
+		}
+
+		final List<String> command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(this.jvmArguments);
+		command.addAll(this.appendedJvmArguments);
+		command.add("-classpath");
+		command.add(String.join(File.pathSeparator, fullClassPath));
+		command.add(this.mainClass);
+		command.addAll(this.programArguments);
+		return command;
+	}
+
+	/**
+	 * Splits {@code arguments} at white space that is not enclosed in double quotes, and
+	 * removes the double quotes.
+	 *
+	 * @param arguments A string containing one or more arguments.
+	 * @return The single arguments.
+	 */
+	private static List<String> splitArguments(final String arguments) {
+		final List<String> result = new ArrayList<>();
+		final StringBuilder currentArgument = new StringBuilder();
+		boolean inQuotes = false;
+		boolean inArgument = false;
+		for (final char character : arguments.toCharArray()) {
+			if (character == '"') {
+				inQuotes = !inQuotes;
+				inArgument = true;
+			} else if (Character.isWhitespace(character) && !inQuotes) {
+				if (inArgument) {
+					result.add(currentArgument.toString());
+					currentArgument.setLength(0);
+					inArgument = false;
+				}
+			} else {
+				currentArgument.append(character);
+				inArgument = true;
+			}
+		}
+		if (inArgument) {
+			result.add(currentArgument.toString());
+		}
+		return result;
+	}
+}
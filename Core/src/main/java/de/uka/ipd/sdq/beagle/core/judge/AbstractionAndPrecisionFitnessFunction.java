@@ -1,19 +1,23 @@
 package de.uka.ipd.sdq.beagle.core.judge;
 
+import de.uka.ipd.sdq.beagle.core.DoubleMeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.IntMeasurementResultColumns;
+import de.uka.ipd.sdq.beagle.core.MeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
 import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
-import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableAssignment;
-import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
-import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableColumns;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.UndefinedExpressionException;
 
 import org.apache.commons.lang3.Validate;
 
-import java.util.Set;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntToDoubleFunction;
 
 /**
  * Fitness function regarding abstract but precise expression as fittest. Naturally, these
@@ -49,6 +53,15 @@ public class AbstractionAndPrecisionFitnessFunction implements EvaluableExpressi
 	 */
 	private static final double COMPUTATIONIONAL_COMPLEXITY_NORMATION = .01d;
 
+	/**
+	 * The running sums of squared deviations calculated so far, per measurement result
+	 * columns. Measurement result columns only ever grow, so only the results that were
+	 * added since an expression was graded the last time need to be evaluated when
+	 * grading it again. Columns that are no longer in use are dropped automatically.
+	 */
+	private final Map<MeasurementResultColumns, ColumnDeviations> deviationSums =
+		Collections.synchronizedMap(new WeakHashMap<>());
+
 	@Override
 	public double gradeFor(final ResourceDemandingInternalAction rdia, final EvaluableExpression expression,
 		final EvaluableExpressionFitnessFunctionBlackboardView blackboard) {
@@ -56,30 +69,14 @@ public class AbstractionAndPrecisionFitnessFunction implements EvaluableExpressi
 		Validate.notNull(expression);
 		Validate.notNull(blackboard);
 
-		final Set<ResourceDemandMeasurementResult> resourceDemandMeasurementResults =
-			blackboard.getMeasurementResultsFor(rdia);
+		final DoubleMeasurementResultColumns results = blackboard.getMeasurementResultColumnsFor(rdia);
 
 		// If there is no expression, return infinity.
-		if (resourceDemandMeasurementResults.size() == 0) {
+		if (results.isEmpty()) {
 			return Double.POSITIVE_INFINITY;
 		}
 
-		double meanSquareDeviation = 0;
-
-		for (final ResourceDemandMeasurementResult resourceDemandMeasurementResult : resourceDemandMeasurementResults) {
-			final double realValue = resourceDemandMeasurementResult.getValue();
-			// final Parameterisation parameterisation =
-			// resourceDemandMeasurementResult.getParameterisation();
-
-			final EvaluableVariableAssignment evaluableVariableAssignment = new EvaluableVariableAssignment();
-
-			final double predictedValue = expression.evaluate(evaluableVariableAssignment);
-
-			final double squareDeviation = Math.pow(Math.abs(realValue) - Math.abs(predictedValue), 2);
-			meanSquareDeviation += squareDeviation / resourceDemandMeasurementResults.size();
-		}
-
-		return this.determineFitnessValue(expression, meanSquareDeviation);
+		return this.grade(expression, results, results::getValueAt);
 	}
 
 	@Override
@@ -89,30 +86,14 @@ public class AbstractionAndPrecisionFitnessFunction implements EvaluableExpressi
 		Validate.notNull(expression);
 		Validate.notNull(blackboard);
 
-		final Set<BranchDecisionMeasurementResult> branchDecisionMeasurementResults =
-			blackboard.getMeasurementResultsFor(branch);
+		final IntMeasurementResultColumns results = blackboard.getMeasurementResultColumnsFor(branch);
 
 		// If there is no expression, return infinity.
-		if (branchDecisionMeasurementResults.size() == 0) {
+		if (results.isEmpty()) {
 			return Double.POSITIVE_INFINITY;
 		}
 
-		double meanSquareDeviation = 0;
-
-		for (final BranchDecisionMeasurementResult branchDecisionMeasurementResult : branchDecisionMeasurementResults) {
-			final double realValue = branchDecisionMeasurementResult.getBranchIndex();
-			// final Parameterisation parameterisation =
-			// branchDecisionMeasurementResult.getParameterisation();
-
-			final EvaluableVariableAssignment evaluableVariableAssignment = new EvaluableVariableAssignment();
-
-			final double predictedValue = expression.evaluate(evaluableVariableAssignment);
-
-			final double squareDeviation = Math.pow(Math.abs(realValue) - Math.abs(predictedValue), 2);
-			meanSquareDeviation += squareDeviation / branchDecisionMeasurementResults.size();
-		}
-
-		return this.determineFitnessValue(expression, meanSquareDeviation);
+		return this.grade(expression, results, results::getValueAt);
 	}
 
 	@Override
@@ -122,33 +103,14 @@ public class AbstractionAndPrecisionFitnessFunction implements EvaluableExpressi
 		Validate.notNull(expression);
 		Validate.notNull(blackboard);
 
-		final Set<LoopRepetitionCountMeasurementResult> loopRepetitionCountMeasurementResults =
-			blackboard.getMeasurementResultsFor(loop);
+		final IntMeasurementResultColumns results = blackboard.getMeasurementResultColumnsFor(loop);
 
 		// If there is no expression, return infinity.
-		if (loopRepetitionCountMeasurementResults.size() == 0) {
+		if (results.isEmpty()) {
 			return Double.POSITIVE_INFINITY;
 		}
 
-		double meanSquareDeviation = 0;
-
-		// @formatter:off
-		for (final LoopRepetitionCountMeasurementResult loopRepetitionCountMeasurementResult
-			: loopRepetitionCountMeasurementResults) {
-			// @formatter:on
-			final double realValue = loopRepetitionCountMeasurementResult.getCount();
-			// final Parameterisation parameterisation =
-			// loopRepetitionCountMeasurementResult.getParameterisation();
-
-			final EvaluableVariableAssignment evaluableVariableAssignment = new EvaluableVariableAssignment();
-
-			final double predictedValue = expression.evaluate(evaluableVariableAssignment);
-
-			final double squareDeviation = Math.pow(Math.abs(realValue) - Math.abs(predictedValue), 2);
-			meanSquareDeviation += squareDeviation / loopRepetitionCountMeasurementResults.size();
-		}
-
-		return this.determineFitnessValue(expression, meanSquareDeviation);
+		return this.grade(expression, results, results::getValueAt);
 	}
 
 	@Override
@@ -158,30 +120,91 @@ public class AbstractionAndPrecisionFitnessFunction implements EvaluableExpressi
 		Validate.notNull(expression);
 		Validate.notNull(blackboard);
 
-		final Set<ParameterChangeMeasurementResult> parameterChangeMeasurementResults =
-			blackboard.getMeasurementResultsFor(parameter);
+		final IntMeasurementResultColumns results = blackboard.getMeasurementResultColumnsFor(parameter);
 
 		// If there is no expression, return infinity.
-		if (parameterChangeMeasurementResults.size() == 0) {
+		if (results.isEmpty()) {
 			return Double.POSITIVE_INFINITY;
 		}
 
-		double meanSquareDeviation = 0;
-
-		for (final ParameterChangeMeasurementResult parameterChangeMeasurementResult : parameterChangeMeasurementResults) {
-			final double realValue = parameterChangeMeasurementResult.getCount();
-			// final Parameterisation parameterisation =
-			// parameterChangeMeasurementResult.getParameterisation();
-
-			final EvaluableVariableAssignment evaluableVariableAssignment = new EvaluableVariableAssignment();
-
-			final double predictedValue = expression.evaluate(evaluableVariableAssignment);
+		return this.grade(expression, results, results::getValueAt);
+	}
 
-			final double squareDeviation = Math.pow(Math.abs(realValue) - Math.abs(predictedValue), 2);
-			meanSquareDeviation += squareDeviation / parameterChangeMeasurementResults.size();
+	/**
+	 * Grades {@code expression} for {@code results}. Keeps the sum of the squared
+	 * deviations of {@code expression} only while {@code expression} is competitive: If
+	 * its deviation alone makes it less fit than the fittest expression graded for the
+	 * same results, it is dropped and calculated anew if {@code expression} is graded
+	 * again. This way, the memory needed does not grow with every expression that is
+	 * graded.
+	 *
+	 * @param expression The {@link EvaluableExpression}.
+	 * @param results The measurement results. Must not be empty.
+	 * @param realValues Provides the measured value of each result, by the result’s
+	 *            index.
+	 * @return The fitness value of {@code expression}.
+	 */
+	private double grade(final EvaluableExpression expression, final MeasurementResultColumns results,
+		final IntToDoubleFunction realValues) {
+		final ColumnDeviations columnDeviations =
+			this.deviationSums.computeIfAbsent(results, (columns) -> new ColumnDeviations());
+		final DeviationSum deviationSum =
+			columnDeviations.deviationSums.computeIfAbsent(expression, (graded) -> new DeviationSum());
+
+		final double meanSquareDeviation =
+			this.determineMeanSquareDeviation(expression, results, realValues, deviationSum);
+		final double fitnessValue = this.determineFitnessValue(expression, meanSquareDeviation);
+
+		if (!columnDeviations.isCompetitive(results.size(), (1 - NICE_VALUE) * meanSquareDeviation, fitnessValue)) {
+			columnDeviations.deviationSums.remove(expression, deviationSum);
 		}
+		return fitnessValue;
+	}
 
-		return this.determineFitnessValue(expression, meanSquareDeviation);
+	/**
+	 * Determines the mean square deviation of the values predicted by {@code expression}
+	 * from the measured values. {@code expression} is evaluated with the variables of each
+	 * result’s parameterisation. Only evaluates {@code expression} for the results that
+	 * were added to {@code results} since {@code deviationSum} was last updated. If
+	 * {@code expression} uses a variable that is not covered by the parameterisation of
+	 * every result, it cannot be evaluated and its deviation is infinite.
+	 *
+	 * @param expression The {@link EvaluableExpression}.
+	 * @param results The measurement results. Must not be empty.
+	 * @param realValues Provides the measured value of each result, by the result’s
+	 *            index.
+	 * @param deviationSum The sum of squared deviations of {@code expression} from the
+	 *            first results in {@code results}. Will be updated to cover all results.
+	 * @return The mean square deviation of {@code expression} from the measured values.
+	 */
+	private double determineMeanSquareDeviation(final EvaluableExpression expression,
+		final MeasurementResultColumns results, final IntToDoubleFunction realValues,
+		final DeviationSum deviationSum) {
+		synchronized (deviationSum) {
+			final int resultCount = results.size();
+			if (deviationSum.resultCount < resultCount) {
+				final EvaluableVariableColumns variableColumns =
+					results.getVariableColumns(deviationSum.resultCount, resultCount);
+				final double[] predictedValues;
+				try {
+					predictedValues = expression.evaluateAll(variableColumns);
+				} catch (final UndefinedExpressionException undefinedExpression) {
+					deviationSum.squareDeviationSum = Double.POSITIVE_INFINITY;
+					deviationSum.resultCount = resultCount;
+					return Double.POSITIVE_INFINITY;
+				}
+
+				for (int i = deviationSum.resultCount; i < resultCount; i++) {
+					final double realValue = realValues.applyAsDouble(i);
+					final double predictedValue = predictedValues[i - deviationSum.resultCount];
+
+					deviationSum.squareDeviationSum += Math.pow(Math.abs(realValue) - Math.abs(predictedValue), 2);
+				}
+				deviationSum.resultCount = resultCount;
+			}
+
+			return deviationSum.squareDeviationSum / resultCount;
+		}
 	}
 
 	/**
@@ -208,4 +231,75 @@ public class AbstractionAndPrecisionFitnessFunction implements EvaluableExpressi
 
 		return NICE_VALUE * combinedComplexity + (1 - NICE_VALUE) * meanSquareDeviation;
 	}
+
+	/**
+	 * The deviation sums of the competitive expressions graded for one measurement result
+	 * columns instance.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class ColumnDeviations {
+
+		/**
+		 * The deviation sums, mapped by their expression.
+		 */
+		private final Map<EvaluableExpression, DeviationSum> deviationSums = new ConcurrentHashMap<>();
+
+		/**
+		 * The number of measurement results {@link #fittestValue} was determined for.
+		 */
+		private int fittestValueResultCount;
+
+		/**
+		 * The lowest fitness value graded for the first {@link #fittestValueResultCount}
+		 * measurement results.
+		 */
+		private double fittestValue = Double.POSITIVE_INFINITY;
+
+		/**
+		 * Notes the fitness value of an expression and determines whether the expression
+		 * is still competitive.
+		 *
+		 * @param resultCount The number of measurement results the expression was graded
+		 *            for.
+		 * @param precisionValue The part of the expression’s fitness value that is due to
+		 *            its deviation from the measured values.
+		 * @param fitnessValue The expression’s fitness value.
+		 * @return {@code false} if the expression’s {@code precisionValue} alone is
+		 *         worse than the fittest value graded for {@code resultCount} results.
+		 */
+		private synchronized boolean isCompetitive(final int resultCount, final double precisionValue,
+			final double fitnessValue) {
+			if (resultCount < this.fittestValueResultCount) {
+				return true;
+			}
+			if (resultCount > this.fittestValueResultCount) {
+				this.fittestValueResultCount = resultCount;
+				this.fittestValue = Double.POSITIVE_INFINITY;
+			}
+			this.fittestValue = Math.min(this.fittestValue, fitnessValue);
+			return Double.isFinite(precisionValue) && precisionValue <= this.fittestValue;
+		}
+	}
+
+	/**
+	 * The sum of the squared deviations of an expression from the first
+	 * {@link #resultCount} values of measurement result columns.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class DeviationSum {
+
+		/**
+		 * The number of measurement results {@link #squareDeviationSum} was calculated
+		 * for.
+		 */
+		private int resultCount;
+
+		/**
+		 * The sum of the squared deviations from the first {@link #resultCount}
+		 * measurement results.
+		 */
+		private double squareDeviationSum;
+	}
 }
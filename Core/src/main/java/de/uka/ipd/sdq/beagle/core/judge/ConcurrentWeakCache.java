@@ -0,0 +1,119 @@
+package de.uka.ipd.sdq.beagle.core.judge;
+
+import org.apache.commons.lang3.Validate;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A thread safe cache of values, mapped by keys that are compared by equality. The cache
+ * only holds weak references to its keys, so entries whose key is no longer used anywhere
+ * else are removed by the garbage collector. Unlike a synchronised
+ * {@link java.util.WeakHashMap}, the cache does not lock when it is accessed, so it may
+ * be used by many threads at once without them waiting for each other. Values must not
+ * refer to their keys, or the entries will never be removed.
+ *
+ * @author Joshua Gleitze
+ * @param <KEY_TYPE> The type of the keys.
+ * @param <VALUE_TYPE> The type of the cached values.
+ */
+final class ConcurrentWeakCache<KEY_TYPE, VALUE_TYPE> {
+
+	/**
+	 * The cached values, mapped by weak references to their keys.
+	 */
+	private final ConcurrentMap<WeakKey<KEY_TYPE>, VALUE_TYPE> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Queue of keys that were garbage collected.
+	 */
+	private final ReferenceQueue<KEY_TYPE> collectedKeys = new ReferenceQueue<>();
+
+	/**
+	 * Gets the value cached for {@code key}.
+	 *
+	 * @param key The key to look up. Must not be {@code null}.
+	 * @return The value cached for a key equal to {@code key}. {@code null} if there is
+	 *         none.
+	 */
+	VALUE_TYPE get(final KEY_TYPE key) {
+		Validate.notNull(key);
+		return this.entries.get(new WeakKey<>(key, null));
+	}
+
+	/**
+	 * Caches {@code value} for {@code key}. Replaces any value cached for a key equal to
+	 * {@code key} before.
+	 *
+	 * @param key The key to cache {@code value} for. Must not be {@code null}.
+	 * @param value The value to cache. Must not be {@code null}.
+	 */
+	void put(final KEY_TYPE key, final VALUE_TYPE value) {
+		Validate.notNull(key);
+		Validate.notNull(value);
+		this.removeCollectedEntries();
+		this.entries.put(new WeakKey<>(key, this.collectedKeys), value);
+	}
+
+	/**
+	 * Removes the entries whose key was garbage collected.
+	 */
+	private void removeCollectedEntries() {
+		Reference<? extends KEY_TYPE> collected;
+		while ((collected = this.collectedKeys.poll()) != null) {
+			this.entries.remove(collected);
+		}
+	}
+
+	/**
+	 * A weak reference to a key that can be used as a map key. Keys are equal if they are
+	 * the same or refer to equal instances. A key whose instance was collected is only
+	 * equal to itself.
+	 *
+	 * @author Joshua Gleitze
+	 * @param <KEY_TYPE> The type of the referred instance.
+	 */
+	private static final class WeakKey<KEY_TYPE> extends WeakReference<KEY_TYPE> {
+
+		/**
+		 * The hash code of the referred instance. Kept to find the entry after the
+		 * instance was collected.
+		 */
+		private final int hashCode;
+
+		/**
+		 * Creates a key referring to {@code key}.
+		 *
+		 * @param key The referred instance.
+		 * @param queue The queue to register the key at. May be {@code null}.
+		 */
+		private WeakKey(final KEY_TYPE key, final ReferenceQueue<? super KEY_TYPE> queue) {
+			super(key, queue);
+			this.hashCode = key.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if (object == this) {
+				return true;
+			}
+			if (!(object instanceof WeakKey)) {
+				return false;
+			}
+			final WeakKey<?> other = (WeakKey<?>) object;
+			if (this.hashCode != other.hashCode) {
+				return false;
+			}
+			final KEY_TYPE key = this.get();
+			return key != null && key.equals(other.get());
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+}
@@ -18,6 +18,10 @@ import de.uka.ipd.sdq.beagle.core.evaluableexpressions.util.RecursiveEvaluableEx
 
 import org.apache.commons.lang3.Validate;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
 /*
  * ATTENTION: Checkstyle is turned off where numbers with obvious meanings are used.
  */
@@ -29,6 +33,10 @@ import org.apache.commons.lang3.Validate;
  * {@link #getComputationalComplexitySum()} or
  * {@link #getHumanComprehensibilityComplexitySum()} are called.
  *
+ * <p>The complexity of every distinct expression and inner expression is determined
+ * only once and shared by all analysers. Analysing an expression again, or an
+ * expression sharing inner expressions with an expression analysed before, thus only
+ * needs to visit the parts that were not seen yet.
  *
  * @author Christoph Michelbach
  */
@@ -72,9 +80,27 @@ public class EvaluableExpressionComplexityAnalyser {
 	private static final double DEPTH_PENALTY_EXPONENT = 1.3d;
 
 	/**
-	 * The visitor this class uses.
+	 * The complexity of all expressions analysed so far, by expression. Equal expressions
+	 * have equal complexities, so the complexity of each distinct expression and of each
+	 * distinct inner expression is determined only once. Entries are removed as soon as
+	 * their expression is no longer used. Analysers running in different threads do not
+	 * wait for each other to access the cache.
+	 */
+	private static final ConcurrentWeakCache<EvaluableExpression, SubtreeComplexity> COMPLEXITY_CACHE =
+		new ConcurrentWeakCache<>();
+
+	/**
+	 * The complexity of an expression tree containing no expression that could be
+	 * analysed.
 	 */
-	private Visitor visitor;
+	private static final SubtreeComplexity NO_COMPLEXITY = new SubtreeComplexity(0, 0, new int[] {1});
+
+	/**
+	 * The complexity of the expression passed to
+	 * {@link #determineComplexity(EvaluableExpression)} last. {@code null} if no
+	 * expression was analysed yet.
+	 */
+	private SubtreeComplexity complexity;
 
 	/**
 	 * Determines the computational and human-readability complexity of {@code expression}
@@ -84,12 +110,12 @@ public class EvaluableExpressionComplexityAnalyser {
 	 *            values for.
 	 */
 	public void determineComplexity(final EvaluableExpression expression) {
-		this.visitor = new Visitor();
-		this.visitor.visitRecursively(expression);
-
-		if (this.visitor.maxDepth > DEPTH_PENALTY_THRESHOLD) {
-			this.visitor.humanComprehensibilityComplexitySum +=
-				PENALTY_MAX_DEPTH_FACTOR * Math.pow(this.visitor.maxDepth, PENALTY_MAX_DEPTH_EXPONTENT);
+		this.complexity = COMPLEXITY_CACHE.get(expression);
+		if (this.complexity == null) {
+			final Visitor visitor = new Visitor();
+			visitor.visitRecursively(expression);
+			// expressions that do not let the visitor visit them have no complexity
+			this.complexity = visitor.result != null ? visitor.result : NO_COMPLEXITY;
 		}
 	}
 
@@ -102,9 +128,9 @@ public class EvaluableExpressionComplexityAnalyser {
 	 * @return The computationalComplexitySum.
 	 */
 	public double getComputationalComplexitySum() {
-		Validate.validState(this.visitor != null);
+		Validate.validState(this.complexity != null);
 
-		return this.visitor.computationalComplexitySum;
+		return this.complexity.computationalComplexitySum;
 	}
 
 	/**
@@ -116,50 +142,227 @@ public class EvaluableExpressionComplexityAnalyser {
 	 * @return The humanComprehensibilityComplexitySum.
 	 */
 	public double getHumanComprehensibilityComplexitySum() {
-		Validate.validState(this.visitor != null);
+		Validate.validState(this.complexity != null);
 
-		return this.visitor.humanComprehensibilityComplexitySum;
+		return this.complexity.getHumanComprehensibilityComplexitySumAtRoot();
 	}
 
 	/**
-	 * Private class for hiding the visitor pattern.
+	 * The complexity of an expression tree that does not depend on the depth the tree is
+	 * found at in a bigger expression. Instances are immutable.
 	 *
-	 * @author Christoph Michelbach
+	 * @author Joshua Gleitze
 	 */
-	private class Visitor extends RecursiveEvaluableExpressionVisitor {
+	private static final class SubtreeComplexity {
 
 		/**
-		 * The total computational complexity. The values added up to this sum have been
-		 * determined on a laptop with an Intel® Core™ i7-4720HQ CPU @ 2.60GHz × 8 (8
-		 * cores with Hyper-Threading; 4 cores physically) processor running Linux
+		 * The total computational complexity of the tree. The values added up to this sum
+		 * have been determined on a laptop with an Intel® Core™ i7-4720HQ CPU @ 2.60GHz ×
+		 * 8 (8 cores with Hyper-Threading; 4 cores physically) processor running Linux
 		 * 3.19.0-30-generic.
 		 */
+		private final double computationalComplexitySum;
+
+		/**
+		 * The total human-readability complexity of the tree’s expressions, not including
+		 * any depth penalty.
+		 */
+		private final double humanComprehensibilityComplexitySum;
+
+		/**
+		 * How many expressions there are at each depth of the tree, the tree’s root having
+		 * the depth 0. The last index is thus the maximum depth of the tree.
+		 */
+		private final int[] expressionsPerDepth;
+
+		/**
+		 * The human-readability complexity if the tree is analysed on its own, including
+		 * the depth penalties. Computed lazily, {@link Double#NaN} if not computed yet.
+		 */
+		private volatile double humanComprehensibilityComplexitySumAtRoot = Double.NaN;
+
+		/**
+		 * Creates the complexity of a tree.
+		 *
+		 * @param computationalComplexitySum The total computational complexity of the
+		 *            tree.
+		 * @param humanComprehensibilityComplexitySum The total human-readability
+		 *            complexity of the tree’s expressions, not including any depth penalty.
+		 * @param expressionsPerDepth How many expressions there are at each depth of the
+		 *            tree. Will not be copied.
+		 */
+		private SubtreeComplexity(final double computationalComplexitySum,
+			final double humanComprehensibilityComplexitySum, final int[] expressionsPerDepth) {
+			this.computationalComplexitySum = computationalComplexitySum;
+			this.humanComprehensibilityComplexitySum = humanComprehensibilityComplexitySum;
+			this.expressionsPerDepth = expressionsPerDepth;
+		}
+
+		/**
+		 * Gets the human-readability complexity of the tree if it is analysed on its own.
+		 * Adds the penalties for every expression deeper than
+		 * {@link #DEPTH_PENALTY_THRESHOLD} and for the maximum depth.
+		 *
+		 * @return The human-readability complexity, including all depth penalties.
+		 */
+		private double getHumanComprehensibilityComplexitySumAtRoot() {
+			double result = this.humanComprehensibilityComplexitySumAtRoot;
+			if (Double.isNaN(result)) {
+				result = this.humanComprehensibilityComplexitySum;
+				for (int depth = DEPTH_PENALTY_THRESHOLD + 1; depth < this.expressionsPerDepth.length; depth++) {
+					result += this.expressionsPerDepth[depth] * DEPTH_PENATLY_FACOTOR
+						* Math.pow(depth, DEPTH_PENALTY_EXPONENT);
+				}
+				final int maxDepth = this.expressionsPerDepth.length - 1;
+				if (maxDepth > DEPTH_PENALTY_THRESHOLD) {
+					result += PENALTY_MAX_DEPTH_FACTOR * Math.pow(maxDepth, PENALTY_MAX_DEPTH_EXPONTENT);
+				}
+				this.humanComprehensibilityComplexitySumAtRoot = result;
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * The complexity of a tree whose inner expressions are still being visited.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class SubtreeComplexityBuilder {
+
+		/**
+		 * The complexity of the tree if it was found in {@link #COMPLEXITY_CACHE}.
+		 * {@code null} otherwise.
+		 */
+		private final SubtreeComplexity cached;
+
+		/**
+		 * The computational complexity of all expressions visited so far.
+		 */
 		private double computationalComplexitySum;
 
 		/**
-		 * The total human-readability complexity.
+		 * The human-readability complexity of all expressions visited so far.
 		 */
 		private double humanComprehensibilityComplexitySum;
 
 		/**
-		 * The maximum depth of this expression.
+		 * How many expressions visited so far there are at each depth. Might contain
+		 * unused trailing entries.
+		 */
+		private int[] expressionsPerDepth = {1};
+
+		/**
+		 * The number of used entries in {@link #expressionsPerDepth}.
+		 */
+		private int depthCount = 1;
+
+		/**
+		 * Creates the complexity of a tree that is about to be visited.
+		 *
+		 * @param cached The complexity of the tree if it is already known, {@code null}
+		 *            otherwise.
+		 */
+		private SubtreeComplexityBuilder(final SubtreeComplexity cached) {
+			this.cached = cached;
+		}
+
+		/**
+		 * Adds the complexity of an inner tree.
+		 *
+		 * @param inner The complexity of a tree directly contained in this tree.
+		 */
+		private void add(final SubtreeComplexity inner) {
+			this.computationalComplexitySum += inner.computationalComplexitySum;
+			this.humanComprehensibilityComplexitySum += inner.humanComprehensibilityComplexitySum;
+			final int innerDepthCount = inner.expressionsPerDepth.length + 1;
+			if (innerDepthCount > this.expressionsPerDepth.length) {
+				this.expressionsPerDepth =
+					Arrays.copyOf(this.expressionsPerDepth, Math.max(innerDepthCount, this.depthCount * 2));
+			}
+			for (int depth = 0; depth < inner.expressionsPerDepth.length; depth++) {
+				this.expressionsPerDepth[depth + 1] += inner.expressionsPerDepth[depth];
+			}
+			this.depthCount = Math.max(this.depthCount, innerDepthCount);
+		}
+
+		/**
+		 * Creates the complexity of the visited tree.
+		 *
+		 * @return The complexity of the tree.
+		 */
+		private SubtreeComplexity build() {
+			if (this.cached != null) {
+				return this.cached;
+			}
+			return new SubtreeComplexity(this.computationalComplexitySum, this.humanComprehensibilityComplexitySum,
+				Arrays.copyOf(this.expressionsPerDepth, this.depthCount));
+		}
+	}
+
+	/**
+	 * Private class for hiding the visitor pattern. Determines the complexity of every
+	 * inner expression bottom up, skipping inner expressions whose complexity is already
+	 * known.
+	 *
+	 * @author Christoph Michelbach
+	 */
+	private class Visitor extends RecursiveEvaluableExpressionVisitor {
+
+		/**
+		 * The complexities of the trees that are currently being visited. The tree of the
+		 * momentarily visited expression is on top.
 		 */
-		private int maxDepth;
+		private final Deque<SubtreeComplexityBuilder> visitedTrees = new ArrayDeque<>();
+
+		/**
+		 * The complexity of the visited expression, once the traversal is done.
+		 */
+		private SubtreeComplexity result;
 
 		@Override
 		protected void visitRecursively(final EvaluableExpression expression) {
 			super.visitRecursively(expression);
 		}
 
+		/**
+		 * Adds the complexity of the momentarily visited expression itself, unless the
+		 * complexity of its tree is already known.
+		 *
+		 * @param computationalComplexity The computational complexity of the expression.
+		 * @param humanComprehensibilityComplexity The human-readability complexity of the
+		 *            expression.
+		 */
+		private void addComplexity(final double computationalComplexity,
+			final double humanComprehensibilityComplexity) {
+			final SubtreeComplexityBuilder tree = this.visitedTrees.peek();
+			tree.computationalComplexitySum += computationalComplexity;
+			tree.humanComprehensibilityComplexitySum += humanComprehensibilityComplexity;
+		}
+
 		@Override
 		protected void atExpression(final EvaluableExpression expression) {
-			if (this.getTraversalDepth() > DEPTH_PENALTY_THRESHOLD) {
-				this.humanComprehensibilityComplexitySum +=
-					DEPTH_PENATLY_FACOTOR * Math.pow(this.getTraversalDepth(), DEPTH_PENALTY_EXPONENT);
+			final SubtreeComplexity cached = COMPLEXITY_CACHE.get(expression);
+			this.visitedTrees.push(new SubtreeComplexityBuilder(cached));
+			if (cached != null) {
+				this.stopTraversingInnerExpressions();
+			}
+		}
+
+		@Override
+		protected void afterExpression(final EvaluableExpression expression) {
+			final SubtreeComplexityBuilder tree = this.visitedTrees.pop();
+			final SubtreeComplexity complexity = tree.build();
+			if (tree.cached == null) {
+				COMPLEXITY_CACHE.put(expression, complexity);
+			} else {
+				this.startTraversingInnerExpressions();
 			}
 
-			if (this.getTraversalDepth() > this.maxDepth) {
-				this.maxDepth = this.getTraversalDepth();
+			if (this.visitedTrees.isEmpty()) {
+				this.result = complexity;
+			} else {
+				this.visitedTrees.peek().add(complexity);
 			}
 		}
 
@@ -173,8 +376,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		protected void atAddition(final AdditionExpression expression) {
 			final int numberOfElements = expression.getSummands().size();
 
-			this.computationalComplexitySum += 1d * (numberOfElements - 1);
-			this.humanComprehensibilityComplexitySum += 1d * (numberOfElements - 1);
+			this.addComplexity(1d * (numberOfElements - 1), 1d * (numberOfElements - 1));
 
 		}
 
@@ -190,8 +392,7 @@ public class EvaluableExpressionComplexityAnalyser {
 			final int numberOfElements = expression.getFactors().size();
 
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 1.6492450638792102d * (numberOfElements - 1);
-			this.humanComprehensibilityComplexitySum += 3d * (numberOfElements - 1);
+			this.addComplexity(1.6492450638792102d * (numberOfElements - 1), 3d * (numberOfElements - 1));
 			// CHECKSTYLE:ON
 
 		}
@@ -205,8 +406,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atVariable(final EvaluableVariable expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 1d;
-			this.humanComprehensibilityComplexitySum += 4d;
+			this.addComplexity(1d, 4d);
 			// CHECKSTYLE:ON
 
 		}
@@ -221,8 +421,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atComparison(final ComparisonExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 1d;
-			this.humanComprehensibilityComplexitySum += 3d;
+			this.addComplexity(1d, 3d);
 			// CHECKSTYLE:ON
 
 		}
@@ -236,8 +435,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atConstant(final ConstantExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += .1d;
-			this.humanComprehensibilityComplexitySum += .1d;
+			this.addComplexity(.1d, .1d);
 			// CHECKSTYLE:ON
 
 		}
@@ -251,8 +449,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atDivision(final DivisionExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 3.2740998838559814d;
-			this.humanComprehensibilityComplexitySum += 7d;
+			this.addComplexity(3.2740998838559814d, 7d);
 			// CHECKSTYLE:ON
 
 		}
@@ -267,8 +464,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atExponentation(final ExponentationExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 2177.7277840269966d;
-			this.humanComprehensibilityComplexitySum += 12d;
+			this.addComplexity(2177.7277840269966d, 12d);
 			// CHECKSTYLE:ON
 
 		}
@@ -283,8 +479,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atExponentialFunction(final ExponentialFunctionExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 941.1764705882353d;
-			this.humanComprehensibilityComplexitySum += 20d;
+			this.addComplexity(941.1764705882353d, 20d);
 			// CHECKSTYLE:ON
 
 		}
@@ -299,8 +494,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atIfThenElse(final IfThenElseExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 2d;
-			this.humanComprehensibilityComplexitySum += 4d;
+			this.addComplexity(2d, 4d);
 			// CHECKSTYLE:ON
 
 		}
@@ -315,8 +509,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atLogarithm(final LogarithmExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 126.78362573099415d;
-			this.humanComprehensibilityComplexitySum += 25d;
+			this.addComplexity(126.78362573099415d, 25d);
 			// CHECKSTYLE:ON
 
 		}
@@ -331,8 +524,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atNaturalLogarithm(final NaturalLogarithmExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 26.54729466718568d;
-			this.humanComprehensibilityComplexitySum += 17d;
+			this.addComplexity(26.54729466718568d, 17d);
 			// CHECKSTYLE:ON
 
 		}
@@ -346,8 +538,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atSine(final SineExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 205.03680743897714d;
-			this.humanComprehensibilityComplexitySum += 15d;
+			this.addComplexity(205.03680743897714d, 15d);
 			// CHECKSTYLE:ON
 
 		}
@@ -362,8 +553,7 @@ public class EvaluableExpressionComplexityAnalyser {
 		@Override
 		protected void atSubtraction(final SubtractionExpression expression) {
 			// CHECKSTYLE:OFF
-			this.computationalComplexitySum += 1d;
-			this.humanComprehensibilityComplexitySum += 1.2d;
+			this.addComplexity(1d, 1.2d);
 			// CHECKSTYLE:ON
 
 		}
@@ -1,7 +1,9 @@
 package de.uka.ipd.sdq.beagle.core.judge;
 
 import de.uka.ipd.sdq.beagle.core.BlackboardStorer;
+import de.uka.ipd.sdq.beagle.core.DoubleMeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.IntMeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
 import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
@@ -17,7 +19,7 @@ import java.util.Set;
  * Interface for Blackboard views designed to be passed to an
  * {@link EvaluableExpressionFitnessFunction}. Provides reading and writing access for
  * custom data on the Blackboard as well as access to the {@code getMeasurementResultsFor}
- * methods.
+ * and {@code getMeasurementResultColumnsFor} methods.
  *
  * @author Christoph Michelbach
  * @author Joshua Gleitze
@@ -75,6 +77,58 @@ public interface EvaluableExpressionFitnessFunctionBlackboardView {
 	 */
 	Set<ParameterChangeMeasurementResult> getMeasurementResultsFor(ExternalCallParameter externalCallParameter);
 
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(ResourceDemandingInternalAction)}
+	 * .
+	 *
+	 * @param rdia An resource demanding internal action to get the measurement results
+	 *            of. Must not be {@code null}.
+	 * @return The resource demands measured for {@code rdia}. A read only, live view on
+	 *         the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(ResourceDemandingInternalAction)
+	 */
+	DoubleMeasurementResultColumns getMeasurementResultColumnsFor(ResourceDemandingInternalAction rdia);
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(SeffBranch)}
+	 * .
+	 *
+	 * @param branch A SEFF Branch to get the measurement results of. Must not be
+	 *            {@code null}.
+	 * @return The branch decisions measured for {@code branch}. A read only, live view on
+	 *         the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(SeffBranch)
+	 */
+	IntMeasurementResultColumns getMeasurementResultColumnsFor(SeffBranch branch);
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(SeffLoop)}
+	 * .
+	 *
+	 * @param loop A SEFF Loop to get the measurement results of. Must not be {@code null}
+	 *            .
+	 * @return The repetition counts measured for {@code loop}. A read only, live view on
+	 *         the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(SeffLoop)
+	 */
+	IntMeasurementResultColumns getMeasurementResultColumnsFor(SeffLoop loop);
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(ExternalCallParameter)}
+	 * .
+	 *
+	 * @param externalCallParameter An external parameter to get the measurement results
+	 *            of. Must not be {@code null}.
+	 * @return The parameter changes measured for {@code externalCallParameter}. A read
+	 *         only, live view on the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultColumnsFor(ExternalCallParameter)
+	 */
+	IntMeasurementResultColumns getMeasurementResultColumnsFor(ExternalCallParameter externalCallParameter);
+
 	/**
 	 * Delegates to {@link de.uka.ipd.sdq.beagle.core.Blackboard#readFor(Class)} .
 	 *
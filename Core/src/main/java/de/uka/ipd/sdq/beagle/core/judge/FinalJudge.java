@@ -9,11 +9,22 @@ import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
 import de.uka.ipd.sdq.beagle.core.analysis.ProposedExpressionAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.util.EvaluableExpressionSimplifier;
 import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
 
 import org.apache.commons.lang3.Validate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleSupplier;
+import java.util.function.ToIntFunction;
 
 /**
  * Implements the break condition for evolution of evaluable expressions and decides which
@@ -57,6 +68,71 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 	 */
 	private FinalJudgeData data;
 
+	/**
+	 * The pool to grade expressions in. {@code null} if expressions are to be graded
+	 * sequentially on the calling thread.
+	 */
+	private final ForkJoinPool gradingPool;
+
+	/**
+	 * Simplifies the fittest expressions before they are annotated. Only used on the
+	 * thread calling {@link #judge(Blackboard)}.
+	 */
+	private final EvaluableExpressionSimplifier simplifier =
+		new EvaluableExpressionSimplifier(FinalJudge::getComputationalComplexityOf);
+
+	/**
+	 * The fittest expression last selected for each element, as it was proposed, mapped
+	 * by its element.
+	 */
+	private final Map<MeasurableSeffElement, EvaluableExpression> fittestExpressions = new HashMap<>();
+
+	/**
+	 * The simplified versions of the {@link #fittestExpressions}, mapped by their
+	 * element.
+	 */
+	private final Map<MeasurableSeffElement, EvaluableExpression> simplifiedFittestExpressions = new HashMap<>();
+
+	/**
+	 * The gradings of the last generation judged by this judge.
+	 */
+	private List<ElementGrading> lastElementGradings = Collections.emptyList();
+
+	/**
+	 * The fitness values of the fittest expressions of the last generation judged by this
+	 * judge, mapped by their element.
+	 */
+	private Map<MeasurableSeffElement, Double> fittestValues = new HashMap<>();
+
+	/**
+	 * The fitness values of the fittest expressions of the generation judged by this
+	 * judge before the last one, mapped by their element.
+	 */
+	private Map<MeasurableSeffElement, Double> previousFittestValues = new HashMap<>();
+
+	/**
+	 * Creates a final judge that grades all expressions sequentially on the thread
+	 * calling {@link #judge(Blackboard)}.
+	 */
+	public FinalJudge() {
+		this.gradingPool = null;
+	}
+
+	/**
+	 * Creates a final judge that grades expressions in parallel in {@code gradingPool}.
+	 * Both the different SEFF elements and the different expressions proposed for one
+	 * element are graded concurrently. The judge’s decisions and the expressions it
+	 * selects are the same as those of a sequentially grading judge. The fitness
+	 * function on the judged blackboards must support being called from multiple
+	 * threads at once.
+	 *
+	 * @param gradingPool The pool to grade expressions in. Must not be {@code null}.
+	 */
+	public FinalJudge(final ForkJoinPool gradingPool) {
+		Validate.notNull(gradingPool);
+		this.gradingPool = gradingPool;
+	}
+
 	/**
 	 * Initialises the {@link FinalJudge} object. Call this method before starting
 	 * evolution of evaluable expressions to start counting the total time the entire
@@ -77,6 +153,32 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 		timeout.init();
 	}
 
+	/**
+	 * Initialises the {@link FinalJudge} object to continue an evolution of evaluable
+	 * expressions that was interrupted, for example on a blackboard restored from a
+	 * {@linkplain de.uka.ipd.sdq.beagle.core.BlackboardSnapshotFile snapshot}. Unlike
+	 * {@link #init(Blackboard)}, this keeps the judge’s data already stored on
+	 * {@code blackboard}, so the generations judged before still count towards the break
+	 * condition. Behaves like {@link #init(Blackboard)} if no such data exists. The time
+	 * the evolution takes is counted anew.
+	 *
+	 * @param blackboard The {@link Blackboard} the data of this {@link FinalJudge} is
+	 *            stored on. Must not be {@code null}.
+	 */
+	public void resume(final Blackboard blackboard) {
+		Validate.notNull(blackboard);
+
+		if (blackboard.readFor(FinalJudge.class) == null) {
+			this.init(blackboard);
+			return;
+		}
+
+		this.loadData(blackboard);
+
+		final Timeout timeout = blackboard.getProjectInformation().getTimeout();
+		timeout.init();
+	}
+
 	/**
 	 * Implements the break condition for evolution of evaluable expressions. Decides
 	 * whether evolution will be continued or stopped depending on the fitness of the
@@ -113,6 +215,70 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 		return this.data.isWillReturnTrue();
 	}
 
+	/**
+	 * Gives the overall fitness determined by the last call to {@link #judge(Blackboard)}.
+	 * This is the average fitness value of the fittest expressions of all seff elements.
+	 *
+	 * @return The overall fitness of the last judged generation. The lower the value,
+	 *         the better the fitness. {@link Double#POSITIVE_INFINITY} if no generation
+	 *         was judged since {@link #init(Blackboard)} was called.
+	 * @throws IllegalStateException Thrown if this method is called before
+	 *             {@link #init(Blackboard)} or {@link #judge(Blackboard)}.
+	 */
+	public double getOverallFitness() {
+		Validate.validState(this.data != null, "getOverallFitness() cannot be called on FinalJudge before init().");
+		return this.data.getFittestValues().average().orElse(Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 * Gives the overall fitness the last generation judged by this judge would have had
+	 * if only {@code proposals} had been added to the generation this judge judged
+	 * before. This allows to find out how much the proposals of one analyser improved
+	 * the fitness, even if other analysers proposed expressions at the same time. Only
+	 * expressions that were proposed on the blackboard when it was judged are
+	 * considered. Expressions that were not graded in the last generation were graded
+	 * with the same measurement results before, so they cannot be fitter than the
+	 * fittest expression of the generation before and are not considered either.
+	 * Elements this judge did not judge before count with a fitness of
+	 * {@link #MAX_CONSIDERED_FITNESS_VALUE}.
+	 *
+	 * @param proposals Expressions proposed since the generation judged before the last
+	 *            one, mapped by the element they were proposed for. Must not be
+	 *            {@code null}. Pass an empty map to get the overall fitness of the
+	 *            generation judged before the last one.
+	 * @return The overall fitness the last judged generation would have had. The lower
+	 *         the value, the better the fitness. {@link Double#POSITIVE_INFINITY} if no
+	 *         element was judged in the last generation.
+	 * @throws IllegalStateException Thrown if this method is called before
+	 *             {@link #init(Blackboard)} or {@link #judge(Blackboard)}.
+	 */
+	public double getOverallFitnessWith(
+		final Map<MeasurableSeffElement, ? extends Collection<EvaluableExpression>> proposals) {
+		Validate.validState(this.data != null,
+			"getOverallFitnessWith() cannot be called on FinalJudge before init().");
+		Validate.notNull(proposals);
+		if (this.lastElementGradings.isEmpty()) {
+			return Double.POSITIVE_INFINITY;
+		}
+
+		double fitnessSum = 0;
+		for (final ElementGrading elementGrading : this.lastElementGradings) {
+			double fittest =
+				this.previousFittestValues.getOrDefault(elementGrading.seffElement, MAX_CONSIDERED_FITNESS_VALUE);
+			final Collection<EvaluableExpression> elementProposals = proposals.get(elementGrading.seffElement);
+			if (elementProposals != null) {
+				for (final ExpressionGrading expressionGrading : elementGrading.expressionGradings) {
+					if (expressionGrading.fitnessValue < fittest
+						&& elementProposals.contains(expressionGrading.expression)) {
+						fittest = expressionGrading.fitnessValue;
+					}
+				}
+			}
+			fitnessSum += fittest;
+		}
+		return fitnessSum / this.lastElementGradings.size();
+	}
+
 	/**
 	 * Loads the data stored for this object from the {@link Blackboard}.
 	 *
@@ -133,28 +299,50 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 	/**
 	 * Measures the fitness of all seff branches, seff loops, rdias, and external call
 	 * parameters on the {@link Blackboard} and for each seff element adds the expression
-	 * describing it best to the blackboard.
+	 * describing it best to the blackboard. Which expressions were graded and the fittest
+	 * of them are noted on the blackboard. An expression is only graded if it was not
+	 * graded for the element before, or if measurement results were added for the element
+	 * since. If this judge has a
+	 * {@link #gradingPool}, the gradings are performed in it.
 	 *
 	 * @param blackboard The {@link Blackboard} to use.
 	 */
 	private void measureFitnessOfAllSeffElementsAndAddResultsToBlackboard(final Blackboard blackboard) {
 		final EvaluableExpressionFitnessFunction fitnessFunction = blackboard.getFitnessFunction();
+		final List<ElementGrading> elementGradings = new ArrayList<>();
+		final List<ExpressionGrading> pendingGradings = new ArrayList<>();
+
+		this.prepareGradings(blackboard.viewAllSeffBranches(), blackboard, fitnessFunction::gradeFor,
+			(final SeffBranch branch) -> blackboard.getMeasurementResultColumnsFor(branch).size(), elementGradings,
+			pendingGradings);
+		this.prepareGradings(blackboard.viewAllSeffLoops(), blackboard, fitnessFunction::gradeFor,
+			(final SeffLoop loop) -> blackboard.getMeasurementResultColumnsFor(loop).size(), elementGradings,
+			pendingGradings);
+		this.prepareGradings(blackboard.viewAllRdias(), blackboard, fitnessFunction::gradeFor,
+			(final ResourceDemandingInternalAction rdia) -> blackboard.getMeasurementResultColumnsFor(rdia).size(),
+			elementGradings, pendingGradings);
+		this.prepareGradings(blackboard.viewAllExternalCallParameters(), blackboard, fitnessFunction::gradeFor,
+			(final ExternalCallParameter parameter) -> blackboard.getMeasurementResultColumnsFor(parameter).size(),
+			elementGradings, pendingGradings);
+
+		if (this.gradingPool == null) {
+			pendingGradings.forEach(ExpressionGrading::grade);
+		} else {
+			this.gradingPool.invoke(new GradingTask(pendingGradings, 0, pendingGradings.size()));
+		}
 
-		final Set<SeffBranch> seffBranches = blackboard.getAllSeffBranches();
-		final Set<SeffLoop> seffLoops = blackboard.getAllSeffLoops();
-		final Set<ResourceDemandingInternalAction> rdias = blackboard.getAllRdias();
-		final Set<ExternalCallParameter> extCallParameters = blackboard.getAllExternalCallParameters();
-
-		this.measureFitnessAndAddResultsToBlackboard(seffBranches, blackboard, fitnessFunction::gradeFor);
-		this.measureFitnessAndAddResultsToBlackboard(seffLoops, blackboard, fitnessFunction::gradeFor);
-		this.measureFitnessAndAddResultsToBlackboard(rdias, blackboard, fitnessFunction::gradeFor);
-		this.measureFitnessAndAddResultsToBlackboard(extCallParameters, blackboard, fitnessFunction::gradeFor);
+		this.previousFittestValues = this.fittestValues;
+		this.fittestValues = new HashMap<>();
+		for (final ElementGrading elementGrading : elementGradings) {
+			this.selectFittestExpression(elementGrading, blackboard);
+		}
+		this.lastElementGradings = elementGradings;
 	}
 
 	/**
-	 * Measures the fitness of all {@linkplain MeasurableSeffElement measurable SEFF
-	 * elements} and for each seff element adds the expression describing it best to the
-	 * blackboard.
+	 * Prepares grading the expressions proposed for all {@linkplain MeasurableSeffElement
+	 * measurable SEFF elements}. Skips expressions that were already graded with the
+	 * element’s current measurement results.
 	 *
 	 * <p/> CAUTION: All elements of {@code measurableSeffElements} have to be of type
 	 * {@code SEFF_ELEMENT_TYPE}.
@@ -167,40 +355,110 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 	 *            measurable SEFF elements} to operate on. Must not be {@code null}.
 	 * @param blackboard The {@link Blackboard} to operate on. Must not be {@code null}.
 	 * @param fitnessFunction The fitness function to use. Must not be {@code null}.
-	 * @return {@code true} if {@code measurableSeffElements} contains an element with
-	 *         sufficient fitness to stop evolution of evaluable expressions;
-	 *         {@code false} otherwise.
+	 * @param measurementVersion Provides the version of a seff element’s measurement
+	 *            results. The version must change whenever measurement results are added
+	 *            for the element. Must not be {@code null}.
+	 * @param elementGradings Receives a grading for each element of
+	 *            {@code measurableSeffElements}. Must not be {@code null}.
+	 * @param pendingGradings Receives all expression gradings that have to be performed.
+	 *            Must not be {@code null}.
 	 */
-	private <SEFF_ELEMENT_TYPE extends MeasurableSeffElement> boolean measureFitnessAndAddResultsToBlackboard(
+	private <SEFF_ELEMENT_TYPE extends MeasurableSeffElement> void prepareGradings(
 		final Set<SEFF_ELEMENT_TYPE> measurableSeffElements, final Blackboard blackboard,
-		final TypedFitnessFunction<SEFF_ELEMENT_TYPE> fitnessFunction) {
+		final TypedFitnessFunction<SEFF_ELEMENT_TYPE> fitnessFunction,
+		final ToIntFunction<SEFF_ELEMENT_TYPE> measurementVersion, final List<ElementGrading> elementGradings,
+		final List<ExpressionGrading> pendingGradings) {
 
 		final EvaluableExpressionFitnessFunctionBlackboardView fitnessFunctionView =
 			new ProposedExpressionAnalyserBlackboardView(blackboard);
 
 		for (final SEFF_ELEMENT_TYPE seffElement : measurableSeffElements) {
-			double fittest = MAX_CONSIDERED_FITNESS_VALUE;
-			EvaluableExpression bestExpression = null;
-			// Then let it attain a better fitness if possible.
-			for (final EvaluableExpression proposedExpression : blackboard.getProposedExpressionFor(seffElement)) {
-				final double fitnessValue =
-					fitnessFunction.gradeFor(seffElement, proposedExpression, fitnessFunctionView);
-				// This has to be smaller-than (not smaller) because {@code fittest}
-				// starts out as {@code MAX_CONSIDERED_FITNESS_VALUE}, not higher.
-				if (fitnessValue <= fittest) {
-					fittest = fitnessValue;
-					bestExpression = proposedExpression;
+			final ElementGrading elementGrading =
+				new ElementGrading(seffElement, measurementVersion.applyAsInt(seffElement));
+
+			for (final EvaluableExpression proposedExpression : blackboard.viewProposedExpressionsFor(seffElement)) {
+				if (!this.data.wasGraded(seffElement, proposedExpression, elementGrading.measurementVersion)) {
+					final ExpressionGrading expressionGrading = new ExpressionGrading(proposedExpression,
+						() -> fitnessFunction.gradeFor(seffElement, proposedExpression, fitnessFunctionView));
+					pendingGradings.add(expressionGrading);
+					elementGrading.expressionGradings.add(expressionGrading);
 				}
+			}
 
+			elementGradings.add(elementGrading);
+		}
+	}
+
+	/**
+	 * Compares the expressions of a completed element grading to the fittest expression
+	 * graded for the element before and adds the expression describing the element best
+	 * to the blackboard. Only the fitness value of the fittest expression is kept for
+	 * later generations, as the other expressions cannot become the fittest unless
+	 * measurement results are added for the element, which makes all of them be graded
+	 * again. The expression is
+	 * {@linkplain EvaluableExpressionSimplifier simplified} first, unless it was already
+	 * the fittest one in the generation before. As the simplified expression is
+	 * equivalent to the proposed one, the grading is not repeated.
+	 *
+	 * @param elementGrading A grading whose expressions have all been graded.
+	 * @param blackboard The {@link Blackboard} to operate on.
+	 */
+	private void selectFittestExpression(final ElementGrading elementGrading, final Blackboard blackboard) {
+		final MeasurableSeffElement seffElement = elementGrading.seffElement;
+		double fittest = this.data.getFittestGradedValue(seffElement, elementGrading.measurementVersion)
+			.orElse(MAX_CONSIDERED_FITNESS_VALUE);
+		EvaluableExpression bestExpression =
+			this.data.getFittestGradedExpression(seffElement, elementGrading.measurementVersion);
+		final List<EvaluableExpression> gradedExpressions = new ArrayList<>();
+		for (final ExpressionGrading expressionGrading : elementGrading.expressionGradings) {
+			gradedExpressions.add(expressionGrading.expression);
+			// This has to be smaller-than (not smaller) because {@code fittest}
+			// starts out as {@code MAX_CONSIDERED_FITNESS_VALUE}, not higher.
+			if (expressionGrading.fitnessValue <= fittest) {
+				fittest = expressionGrading.fitnessValue;
+				bestExpression = expressionGrading.expression;
 			}
+		}
 
-			this.data.addFittestValue(fittest);
+		this.data.noteGradings(seffElement, elementGrading.measurementVersion, gradedExpressions, bestExpression,
+			fittest);
+		this.data.addFittestValue(fittest);
+		this.fittestValues.put(seffElement, fittest);
 
-			// Add the best expression to the blackboard.
-			blackboard.setFinalExpressionFor(seffElement, bestExpression);
+		// Add the best expression to the blackboard.
+		blackboard.setFinalExpressionFor(seffElement,
+			bestExpression == null ? null : this.getSimplified(seffElement, bestExpression));
+	}
+
+	/**
+	 * Gives the simplified version of the fittest expression for {@code element}.
+	 * Simplifies the expression only if it is not the one that was the fittest for
+	 * {@code element} before.
+	 *
+	 * @param element A SEFF element.
+	 * @param fittestExpression The fittest expression proposed for {@code element}.
+	 * @return The simplified version of {@code fittestExpression}.
+	 */
+	private EvaluableExpression getSimplified(final MeasurableSeffElement element,
+		final EvaluableExpression fittestExpression) {
+		if (!fittestExpression.equals(this.fittestExpressions.get(element))) {
+			this.fittestExpressions.put(element, fittestExpression);
+			this.simplifiedFittestExpressions.put(element, this.simplifier.simplify(fittestExpression));
 		}
+		return this.simplifiedFittestExpressions.get(element);
+	}
 
-		return true;
+	/**
+	 * Determines the computational complexity of {@code expression}.
+	 *
+	 * @param expression An evaluable expression.
+	 * @return The computational complexity of {@code expression}, as determined by an
+	 *         {@link EvaluableExpressionComplexityAnalyser}.
+	 */
+	private static double getComputationalComplexityOf(final EvaluableExpression expression) {
+		final EvaluableExpressionComplexityAnalyser complexityAnalyser = new EvaluableExpressionComplexityAnalyser();
+		complexityAnalyser.determineComplexity(expression);
+		return complexityAnalyser.getComputationalComplexitySum();
 	}
 
 	/**
@@ -287,4 +545,145 @@ public class FinalJudge implements BlackboardStorer<FinalJudgeData> {
 		double gradeFor(SEFF_ELEMENT_TYPE seffElement, EvaluableExpression expression,
 			EvaluableExpressionFitnessFunctionBlackboardView blackboard);
 	}
+
+	/**
+	 * The grading of all expressions proposed for one SEFF element.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class ElementGrading {
+
+		/**
+		 * The graded element.
+		 */
+		private final MeasurableSeffElement seffElement;
+
+		/**
+		 * The version of {@link #seffElement}’s measurement results the expressions are
+		 * graded for.
+		 */
+		private final int measurementVersion;
+
+		/**
+		 * The gradings of all expressions proposed for {@link #seffElement} that were not
+		 * graded with the same measurement results before.
+		 */
+		private final List<ExpressionGrading> expressionGradings = new ArrayList<>();
+
+		/**
+		 * Creates a grading for {@code seffElement}.
+		 *
+		 * @param seffElement The graded element.
+		 * @param measurementVersion The version of {@code seffElement}’s measurement
+		 *            results the expressions are graded for.
+		 */
+		private ElementGrading(final MeasurableSeffElement seffElement, final int measurementVersion) {
+			this.seffElement = seffElement;
+			this.measurementVersion = measurementVersion;
+		}
+	}
+
+	/**
+	 * The grading of one expression proposed for a SEFF element.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class ExpressionGrading {
+
+		/**
+		 * The graded expression.
+		 */
+		private final EvaluableExpression expression;
+
+		/**
+		 * Grades {@link #expression}.
+		 */
+		private final DoubleSupplier fitnessFunction;
+
+		/**
+		 * The fitness value of {@link #expression}. Only valid after {@link #grade()}
+		 * was called.
+		 */
+		private double fitnessValue;
+
+		/**
+		 * Creates a grading that still has to be performed.
+		 *
+		 * @param expression The graded expression.
+		 * @param fitnessFunction Grades {@code expression}.
+		 */
+		private ExpressionGrading(final EvaluableExpression expression, final DoubleSupplier fitnessFunction) {
+			this.expression = expression;
+			this.fitnessFunction = fitnessFunction;
+		}
+
+		/**
+		 * Grades the expression.
+		 */
+		private void grade() {
+			this.fitnessValue = this.fitnessFunction.getAsDouble();
+		}
+	}
+
+	/**
+	 * Performs a range of expression gradings in a {@link ForkJoinPool}. Ranges are split
+	 * until they contain at most {@link #SEQUENTIAL_GRADINGS} gradings.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class GradingTask extends RecursiveAction {
+
+		/**
+		 * serialVersionUID to make sure serialisation works fine.
+		 */
+		private static final long serialVersionUID = 4913871284671925376L;
+
+		/**
+		 * The number of gradings that will be performed sequentially without splitting
+		 * the task.
+		 */
+		private static final int SEQUENTIAL_GRADINGS = 4;
+
+		/**
+		 * All gradings of the current judgement.
+		 */
+		private final transient List<ExpressionGrading> gradings;
+
+		/**
+		 * Index of the first grading to perform.
+		 */
+		private final int from;
+
+		/**
+		 * Index after the last grading to perform.
+		 */
+		private final int to;
+
+		/**
+		 * Creates a task performing the gradings from index {@code from} (inclusive) to
+		 * {@code to} (exclusive).
+		 *
+		 * @param gradings All gradings of the current judgement.
+		 * @param from Index of the first grading to perform.
+		 * @param to Index after the last grading to perform.
+		 */
+		private GradingTask(final List<ExpressionGrading> gradings, final int from, final int to) {
+			this.gradings = gradings;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= SEQUENTIAL_GRADINGS) {
+				for (int i = this.from; i < this.to; i++) {
+					this.gradings.get(i).grade();
+				}
+			} else {
+				final int middle = (this.from + this.to) >>> 1;
+				invokeAll(new GradingTask(this.gradings, this.from, middle),
+					new GradingTask(this.gradings, middle, this.to));
+			}
+		}
+	}
 }
@@ -1,9 +1,18 @@
 package de.uka.ipd.sdq.beagle.core.judge;
 
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+
 import org.apache.commons.collections4.MultiSet;
 import org.apache.commons.collections4.multiset.HashMultiSet;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
 import java.util.stream.DoubleStream;
 
 /**
@@ -41,6 +50,13 @@ class FinalJudgeData implements Serializable {
 	 */
 	private double fitnessBaselineValue = Double.POSITIVE_INFINITY;
 
+	/**
+	 * What is known about the gradings of the expressions proposed for each seff element.
+	 * Only kept in memory: it is not written to snapshots, so a resumed judge grades all
+	 * proposed expressions once more. {@code null} until it is needed the first time.
+	 */
+	private transient Map<MeasurableSeffElement, ElementGradings> elementGradings;
+
 	/**
 	 * Returns {@code numberOfGenerationsWithoutSignificantImprovementPassed}.
 	 *
@@ -102,9 +118,13 @@ class FinalJudgeData implements Serializable {
 	 *
 	 * @return The fittness values of the fittest proposed expressions of the momentary
 	 *         generation. The stream will contain as many {@code double}s as there are
-	 *         seff elements on the blackboard.
+	 *         seff elements on the blackboard. It will be empty if no generation was
+	 *         judged yet.
 	 */
 	public DoubleStream getFittestValues() {
+		if (this.fittestValues == null) {
+			return DoubleStream.empty();
+		}
 		return this.fittestValues.stream().mapToDouble(value -> value);
 	}
 
@@ -127,4 +147,140 @@ class FinalJudgeData implements Serializable {
 	public void setWillReturnTrue() {
 		this.willReturnTrue = true;
 	}
+
+	/**
+	 * Returns whether {@code expression} was already graded for {@code seffElement} with
+	 * the measurement results that are available now.
+	 *
+	 * @param seffElement A seff element.
+	 * @param expression An expression proposed for {@code seffElement}.
+	 * @param measurementVersion The version of {@code seffElement}’s measurement results.
+	 *            Changes whenever measurement results are added for {@code seffElement}.
+	 * @return {@code true} if {@code expression} was graded for {@code seffElement} and
+	 *         {@code measurementVersion}.
+	 */
+	public boolean wasGraded(final MeasurableSeffElement seffElement, final EvaluableExpression expression,
+		final int measurementVersion) {
+		final ElementGradings gradings = this.getElementGradings(seffElement, measurementVersion);
+		return gradings != null && gradings.gradedExpressions.contains(expression);
+	}
+
+	/**
+	 * Returns the fitness value of the fittest expression graded for {@code seffElement}
+	 * with the measurement results that are available now.
+	 *
+	 * @param seffElement A seff element.
+	 * @param measurementVersion The version of {@code seffElement}’s measurement results.
+	 * @return The fittest value. Empty if no expression was graded for
+	 *         {@code seffElement} and {@code measurementVersion}.
+	 */
+	public OptionalDouble getFittestGradedValue(final MeasurableSeffElement seffElement,
+		final int measurementVersion) {
+		final ElementGradings gradings = this.getElementGradings(seffElement, measurementVersion);
+		return gradings == null ? OptionalDouble.empty() : OptionalDouble.of(gradings.fittestValue);
+	}
+
+	/**
+	 * Returns the fittest expression graded for {@code seffElement} with the measurement
+	 * results that are available now.
+	 *
+	 * @param seffElement A seff element.
+	 * @param measurementVersion The version of {@code seffElement}’s measurement results.
+	 * @return The expression having the value returned by
+	 *         {@link #getFittestGradedValue(MeasurableSeffElement, int)}. {@code null} if
+	 *         there is no such value or no expression was considered fit enough.
+	 */
+	public EvaluableExpression getFittestGradedExpression(final MeasurableSeffElement seffElement,
+		final int measurementVersion) {
+		final ElementGradings gradings = this.getElementGradings(seffElement, measurementVersion);
+		return gradings == null ? null : gradings.fittestExpression;
+	}
+
+	/**
+	 * Notes that {@code gradedExpressions} were graded for {@code seffElement} and which
+	 * of all expressions graded for {@code seffElement} is the fittest one. Only the
+	 * fitness value of the fittest expression is kept. Everything noted for an older
+	 * {@code measurementVersion} is discarded.
+	 *
+	 * @param seffElement A seff element.
+	 * @param measurementVersion The version of {@code seffElement}’s measurement results
+	 *            the expressions were graded for.
+	 * @param gradedExpressions The expressions that were graded.
+	 * @param fittestExpression The fittest expression graded for {@code seffElement} and
+	 *            {@code measurementVersion}. May be {@code null}.
+	 * @param fittestValue The fitness value of {@code fittestExpression}.
+	 */
+	public void noteGradings(final MeasurableSeffElement seffElement, final int measurementVersion,
+		final Collection<EvaluableExpression> gradedExpressions, final EvaluableExpression fittestExpression,
+		final double fittestValue) {
+		ElementGradings gradings = this.getElementGradings(seffElement, measurementVersion);
+		if (gradings == null) {
+			gradings = new ElementGradings(measurementVersion);
+			this.elementGradings.put(seffElement, gradings);
+		}
+		gradings.gradedExpressions.addAll(gradedExpressions);
+		gradings.fittestExpression = fittestExpression;
+		gradings.fittestValue = fittestValue;
+	}
+
+	/**
+	 * Gives what is known about the gradings for {@code seffElement} and
+	 * {@code measurementVersion}.
+	 *
+	 * @param seffElement A seff element.
+	 * @param measurementVersion The version of {@code seffElement}’s measurement results.
+	 * @return The gradings. {@code null} if nothing is known for {@code seffElement} and
+	 *         {@code measurementVersion}.
+	 */
+	private ElementGradings getElementGradings(final MeasurableSeffElement seffElement,
+		final int measurementVersion) {
+		if (this.elementGradings == null) {
+			this.elementGradings = new HashMap<>();
+		}
+		final ElementGradings gradings = this.elementGradings.get(seffElement);
+		if (gradings == null || gradings.measurementVersion != measurementVersion) {
+			return null;
+		}
+		return gradings;
+	}
+
+	/**
+	 * The expressions graded for a seff element with one version of its measurement
+	 * results, and the fittest of them.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class ElementGradings {
+
+		/**
+		 * The version of the measurement results the expressions were graded for.
+		 */
+		private final int measurementVersion;
+
+		/**
+		 * All expressions that were graded.
+		 */
+		private final Set<EvaluableExpression> gradedExpressions = new HashSet<>();
+
+		/**
+		 * The fittest of {@link #gradedExpressions}. {@code null} if none of them was
+		 * considered fit enough.
+		 */
+		private EvaluableExpression fittestExpression;
+
+		/**
+		 * The fitness value of {@link #fittestExpression}.
+		 */
+		private double fittestValue;
+
+		/**
+		 * Creates empty gradings.
+		 *
+		 * @param measurementVersion The version of the measurement results the
+		 *            expressions are graded for.
+		 */
+		private ElementGradings(final int measurementVersion) {
+			this.measurementVersion = measurementVersion;
+		}
+	}
 }
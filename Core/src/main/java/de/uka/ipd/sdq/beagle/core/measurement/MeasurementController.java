@@ -7,7 +7,6 @@ import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
 import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
-import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder;
 import de.uka.ipd.sdq.beagle.core.measurement.order.ParameterCharacteriser;
 
@@ -63,13 +62,7 @@ public class MeasurementController {
 	public boolean canMeasure(final ReadOnlyMeasurementControllerBlackboardView blackboard) {
 		Validate.notNull(blackboard);
 
-		int elementsToBeMeasuredInTotal = 0;
-		elementsToBeMeasuredInTotal += blackboard.getSeffBranchesToBeMeasured().size();
-		elementsToBeMeasuredInTotal += blackboard.getSeffLoopsToBeMeasured().size();
-		elementsToBeMeasuredInTotal += blackboard.getRdiasToBeMeasured().size();
-		elementsToBeMeasuredInTotal += blackboard.getExternalCallParametersToBeMeasured().size();
-
-		return elementsToBeMeasuredInTotal != 0;
+		return blackboard.hasElementsToBeMeasured();
 	}
 
 	/**
@@ -87,11 +80,12 @@ public class MeasurementController {
 	public void measure(final MeasurementControllerBlackboardView blackboard) {
 		Validate.notNull(blackboard);
 
-		// Read from the blackboard.
-		final Set<SeffBranch> seffBranches = blackboard.getSeffBranchesToBeMeasured();
-		final Set<SeffLoop> seffLoops = blackboard.getSeffLoopsToBeMeasured();
-		final Set<ResourceDemandingInternalAction> rdias = blackboard.getRdiasToBeMeasured();
-		final Set<ExternalCallParameter> externalCallParameters = blackboard.getExternalCallParametersToBeMeasured();
+		// Read from the blackboard. Measuring does not change what is to be measured, so
+		// the views can be used without copying them.
+		final Set<SeffBranch> seffBranches = blackboard.viewSeffBranchesToBeMeasured();
+		final Set<SeffLoop> seffLoops = blackboard.viewSeffLoopsToBeMeasured();
+		final Set<ResourceDemandingInternalAction> rdias = blackboard.viewRdiasToBeMeasured();
+		final Set<ExternalCallParameter> externalCallParameters = blackboard.viewExternalCallParametersToBeMeasured();
 
 		// Initialise everything needed to create a measurement order.
 		final Set<CodeSection> resourceDemandSections = new HashSet<CodeSection>();
@@ -131,18 +125,18 @@ public class MeasurementController {
 				new MeasurementOrder(parameterValueSections, resourceDemandSections, executionSections,
 					blackboard.getProjectInformation(), this.parameterCharacteriser);
 
-			// Get the measurement results.
-			final List<MeasurementEvent> measurementEvents = measurementTool.measure(measurementOrder);
-
-			// Construct a measurement event parser.
-			final MeasurementEventParser measurementEventParser = new MeasurementEventParser(measurementEvents);
+			// Aggregate the measurement results while the tool produces its events.
+			final MeasurementResultAggregator resultAggregator =
+				new MeasurementResultAggregator(seffBranches, seffLoops, rdias, externalCallParameters);
+			measurementTool.measure(measurementOrder, resultAggregator);
+			resultAggregator.finish();
 
 			// Add the measurement results to the blackboard.
-			this.addMeasurementResultsOfSeffBranchesToBlackboard(seffBranches, blackboard, measurementEventParser);
-			this.addMeasurementResultsOfSeffLoopsToBlackboard(seffLoops, blackboard, measurementEventParser);
-			this.addMeasurementResultsOfRdiasToBlackboard(rdias, blackboard, measurementEventParser);
+			this.addMeasurementResultsOfSeffBranchesToBlackboard(seffBranches, blackboard, resultAggregator);
+			this.addMeasurementResultsOfSeffLoopsToBlackboard(seffLoops, blackboard, resultAggregator);
+			this.addMeasurementResultsOfRdiasToBlackboard(rdias, blackboard, resultAggregator);
 			this.addMeasurementResultsOfExternalCallParametersToBlackboard(externalCallParameters, blackboard,
-				measurementEventParser);
+				resultAggregator);
 		}
 	}
 
@@ -151,19 +145,12 @@ public class MeasurementController {
 	 *
 	 * @param seffBranches The seff branches.
 	 * @param blackboard The blackboard.
-	 * @param measurementEventParser A measurement result parser.
+	 * @param resultAggregator The aggregator that aggregated the measurement results.
 	 */
 	private void addMeasurementResultsOfSeffBranchesToBlackboard(final Set<SeffBranch> seffBranches,
-		final MeasurementControllerBlackboardView blackboard, final MeasurementEventParser measurementEventParser) {
-
+		final MeasurementControllerBlackboardView blackboard, final MeasurementResultAggregator resultAggregator) {
 		for (final SeffBranch seffBranch : seffBranches) {
-			final Set<BranchDecisionMeasurementResult> branchDecisionMeasurementResults =
-				measurementEventParser.getMeasurementResultsFor(seffBranch);
-
-			for (final BranchDecisionMeasurementResult branchDecisionMeasurementResult : branchDecisionMeasurementResults) {
-				blackboard.addMeasurementResultFor(seffBranch, branchDecisionMeasurementResult);
-			}
-
+			blackboard.addMeasurementResultsFor(seffBranch, resultAggregator.getMeasurementResultsFor(seffBranch));
 		}
 	}
 
@@ -172,21 +159,12 @@ public class MeasurementController {
 	 *
 	 * @param seffLoops The seff loops.
 	 * @param blackboard The blackboard.
-	 * @param measurementEventParser A measurement result parser.
+	 * @param resultAggregator The aggregator that aggregated the measurement results.
 	 */
 	private void addMeasurementResultsOfSeffLoopsToBlackboard(final Set<SeffLoop> seffLoops,
-		final MeasurementControllerBlackboardView blackboard, final MeasurementEventParser measurementEventParser) {
-
+		final MeasurementControllerBlackboardView blackboard, final MeasurementResultAggregator resultAggregator) {
 		for (final SeffLoop seffLoop : seffLoops) {
-			final Set<LoopRepetitionCountMeasurementResult> loopRepetitionCountMeasurementResults =
-				measurementEventParser.getMeasurementResultsFor(seffLoop);
-			// @formatter:off
-			for (final LoopRepetitionCountMeasurementResult loopRepetitionCountMeasurementResult
-				: loopRepetitionCountMeasurementResults) {
-				// @formatter:on
-
-				blackboard.addMeasurementResultFor(seffLoop, loopRepetitionCountMeasurementResult);
-			}
+			blackboard.addMeasurementResultsFor(seffLoop, resultAggregator.getMeasurementResultsFor(seffLoop));
 		}
 	}
 
@@ -195,17 +173,12 @@ public class MeasurementController {
 	 *
 	 * @param rdias The rdias.
 	 * @param blackboard The blackboard.
-	 * @param measurementEventParser A measurement result parser.
+	 * @param resultAggregator The aggregator that aggregated the measurement results.
 	 */
 	private void addMeasurementResultsOfRdiasToBlackboard(final Set<ResourceDemandingInternalAction> rdias,
-		final MeasurementControllerBlackboardView blackboard, final MeasurementEventParser measurementEventParser) {
+		final MeasurementControllerBlackboardView blackboard, final MeasurementResultAggregator resultAggregator) {
 		for (final ResourceDemandingInternalAction rdia : rdias) {
-			final Set<ResourceDemandMeasurementResult> resourceDemandMeasurementResults =
-				measurementEventParser.getMeasurementResultsFor(rdia);
-
-			for (final ResourceDemandMeasurementResult resourceDemandMeasurementResult : resourceDemandMeasurementResults) {
-				blackboard.addMeasurementResultFor(rdia, resourceDemandMeasurementResult);
-			}
+			blackboard.addMeasurementResultsFor(rdia, resultAggregator.getMeasurementResultsFor(rdia));
 		}
 	}
 
@@ -214,18 +187,14 @@ public class MeasurementController {
 	 *
 	 * @param externalCallParameters The external call parameters.
 	 * @param blackboard The blackboard.
-	 * @param measurementEventParser A measurement result parser.
+	 * @param resultAggregator The aggregator that aggregated the measurement results.
 	 */
 	private void addMeasurementResultsOfExternalCallParametersToBlackboard(
 		final Set<ExternalCallParameter> externalCallParameters, final MeasurementControllerBlackboardView blackboard,
-		final MeasurementEventParser measurementEventParser) {
+		final MeasurementResultAggregator resultAggregator) {
 		for (final ExternalCallParameter externalCallParameter : externalCallParameters) {
-			final Set<ParameterChangeMeasurementResult> parameterChangeMeasurementResults =
-				measurementEventParser.getMeasurementResultsFor(externalCallParameter);
-
-			for (final ParameterChangeMeasurementResult parameterChangeMeasurementResult : parameterChangeMeasurementResults) {
-				blackboard.addMeasurementResultFor(externalCallParameter, parameterChangeMeasurementResult);
-			}
+			blackboard.addMeasurementResultsFor(externalCallParameter,
+				resultAggregator.getMeasurementResultsFor(externalCallParameter));
 		}
 	}
 }
@@ -16,6 +16,7 @@ import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Set;
 
 /**
@@ -111,6 +112,68 @@ public final class MeasurementControllerBlackboardView {
 		return this.blackboard.getExternalCallParametersToBeMeasured();
 	}
 
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewRdiasToBeMeasured()}.
+	 *
+	 * @return All {@linkplain ResourceDemandingInternalAction resource demanding internal
+	 *         actions} to be measured. A read only, live view on the blackboard content.
+	 *         Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#viewRdiasToBeMeasured()
+	 */
+	public Set<ResourceDemandingInternalAction> viewRdiasToBeMeasured() {
+		return this.blackboard.viewRdiasToBeMeasured();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewSeffBranchesToBeMeasured()}.
+	 *
+	 * @return All {@linkplain SeffBranch SEFF branches} to be measured. A read only, live
+	 *         view on the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#viewSeffBranchesToBeMeasured()
+	 */
+	public Set<SeffBranch> viewSeffBranchesToBeMeasured() {
+		return this.blackboard.viewSeffBranchesToBeMeasured();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewSeffLoopsToBeMeasured()}.
+	 *
+	 * @return All {@linkplain SeffLoop SEFF loops} to be measured. A read only, live view
+	 *         on the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#viewSeffLoopsToBeMeasured()
+	 */
+	public Set<SeffLoop> viewSeffLoopsToBeMeasured() {
+		return this.blackboard.viewSeffLoopsToBeMeasured();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewExternalCallParametersToBeMeasured()}
+	 * .
+	 *
+	 * @return All {@linkplain ExternalCallParameter external call parameters} which shall
+	 *         be measured. A read only, live view on the blackboard content. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#viewExternalCallParametersToBeMeasured()
+	 */
+	public Set<ExternalCallParameter> viewExternalCallParametersToBeMeasured() {
+		return this.blackboard.viewExternalCallParametersToBeMeasured();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#hasElementsToBeMeasured()}.
+	 *
+	 * @return {@code true} if any SEFF element shall be measured.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#hasElementsToBeMeasured()
+	 */
+	public boolean hasElementsToBeMeasured() {
+		return this.blackboard.hasElementsToBeMeasured();
+	}
+
 	/**
 	 * Delegates to
 	 * {@link Blackboard#addMeasurementResultFor(ResourceDemandingInternalAction, ResourceDemandMeasurementResult)}
@@ -163,6 +226,59 @@ public final class MeasurementControllerBlackboardView {
 		this.blackboard.addMeasurementResultFor(parameter, results);
 	}
 
+	/**
+	 * Delegates to
+	 * {@link Blackboard#addMeasurementResultsFor(ResourceDemandingInternalAction, Collection)}
+	 * .
+	 *
+	 * @param rdia A resource demanding internal action that was measured. Must not be
+	 *            {@code null} .
+	 * @param results The results of measurements. Must not be {@code null} and must not
+	 *            contain {@code null}.
+	 */
+	public void addMeasurementResultsFor(final ResourceDemandingInternalAction rdia,
+		final Collection<ResourceDemandMeasurementResult> results) {
+		this.blackboard.addMeasurementResultsFor(rdia, results);
+	}
+
+	/**
+	 * Delegates to {@link Blackboard#addMeasurementResultsFor(SeffLoop, Collection)}.
+	 *
+	 * @param loop A SEFF Loop was measured. Must not be {@code null}.
+	 * @param results The results of measurements. Must not be {@code null} and must not
+	 *            contain {@code null}.
+	 */
+	public void addMeasurementResultsFor(final SeffLoop loop,
+		final Collection<LoopRepetitionCountMeasurementResult> results) {
+		this.blackboard.addMeasurementResultsFor(loop, results);
+	}
+
+	/**
+	 * Delegates to {@link Blackboard#addMeasurementResultsFor(SeffBranch, Collection)}.
+	 *
+	 * @param branch A SEFF Branch that was measured. Must not be {@code null}.
+	 * @param results The results of measurements. Must not be {@code null} and must not
+	 *            contain {@code null}.
+	 */
+	public void addMeasurementResultsFor(final SeffBranch branch,
+		final Collection<BranchDecisionMeasurementResult> results) {
+		this.blackboard.addMeasurementResultsFor(branch, results);
+	}
+
+	/**
+	 * Delegates to
+	 * {@link Blackboard#addMeasurementResultsFor(ExternalCallParameter, Collection)}.
+	 *
+	 * @param parameter An external call parameter which was measured. Must not be
+	 *            {@code null}.
+	 * @param results The results of measurements. Must not be {@code null} and must not
+	 *            contain {@code null}.
+	 */
+	public void addMeasurementResultsFor(final ExternalCallParameter parameter,
+		final Collection<ParameterChangeMeasurementResult> results) {
+		this.blackboard.addMeasurementResultsFor(parameter, results);
+	}
+
 	/**
 	 * Delegates to {@link de.uka.ipd.sdq.beagle.core.Blackboard#getFitnessFunction()} .
 	 *
@@ -0,0 +1,27 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+
+/**
+ * Receives {@linkplain MeasurementEvent MeasurementEvents} one by one, right when a
+ * {@link MeasurementTool} produces them. Sinks allow to process the results of a
+ * measurement without ever holding all of its events in memory.
+ *
+ * <p>Events must be passed to a sink in the order they occurred during the measurement,
+ * starting with the event that occurred first.
+ *
+ * @author Joshua Gleitze
+ * @see MeasurementTool#measure(de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder,
+ *      MeasurementEventSink)
+ */
+@FunctionalInterface
+public interface MeasurementEventSink {
+
+	/**
+	 * Receives the next event that occurred during a measurement.
+	 *
+	 * @param measurementEvent The event that occurred after all events that were passed
+	 *            to this sink before. Must not be {@code null}.
+	 */
+	void accept(MeasurementEvent measurementEvent);
+}
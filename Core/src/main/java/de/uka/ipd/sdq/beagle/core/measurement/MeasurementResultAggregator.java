@@ -0,0 +1,410 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
+import de.uka.ipd.sdq.beagle.core.SeffBranch;
+import de.uka.ipd.sdq.beagle.core.SeffLoop;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionEnteredEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionLeftEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEventVisitor;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aggregates {@linkplain MeasurementEvent MeasurementEvents} into
+ * {@linkplain ParameterisationDependentMeasurementResult
+ * ParameterisationDependentMeasurementResults} while they are produced. It processes
+ * every event right when it is {@linkplain #accept received} and does not keep it
+ * afterwards. The memory needed is thus bounded by the number of results found, not by
+ * the number of events that occurred.
+ *
+ * <p>An aggregator is created for the seff elements results shall be found for. Events
+ * concerning other code sections are discarded immediately. After all events were passed
+ * to the aggregator, {@link #finish()} must be called. The aggregated results can then be
+ * obtained by querying with the seff elements.
+ *
+ * @author Joshua Gleitze
+ * @see MeasurementTool#measure(de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder,
+ *      MeasurementEventSink)
+ */
+public class MeasurementResultAggregator implements MeasurementEventSink {
+
+	/**
+	 * The visitors aggregating the results of the seff elements, mapped by the code
+	 * sections whose events they need to see.
+	 */
+	private final Map<CodeSection, List<MeasurementEventVisitor>> sectionAggregators = new HashMap<>();
+
+	/**
+	 * The aggregators of all resource demanding internal actions results are aggregated
+	 * for.
+	 */
+	private final Map<ResourceDemandingInternalAction, RdiaAggregator> rdiaAggregators = new HashMap<>();
+
+	/**
+	 * The aggregators of all seff branches results are aggregated for.
+	 */
+	private final Map<SeffBranch, SeffBranchAggregator> seffBranchAggregators = new HashMap<>();
+
+	/**
+	 * The aggregators of all seff loops results are aggregated for.
+	 */
+	private final Map<SeffLoop, SeffLoopAggregator> seffLoopAggregators = new HashMap<>();
+
+	/**
+	 * The position of the event that is currently being aggregated in the sequence of all
+	 * received events.
+	 */
+	private long eventPosition = -1;
+
+	/**
+	 * Whether {@link #finish()} was called.
+	 */
+	private boolean finished;
+
+	/**
+	 * Creates an aggregator that finds the measurement results of the given seff
+	 * elements.
+	 *
+	 * @param seffBranches The seff branches to aggregate results for. Must not be
+	 *            {@code null} and must not contain {@code null}.
+	 * @param seffLoops The seff loops to aggregate results for. Must not be {@code null}
+	 *            and must not contain {@code null}.
+	 * @param rdias The resource demanding internal actions to aggregate results for. Must
+	 *            not be {@code null} and must not contain {@code null}.
+	 * @param externalCallParameters The external call parameters to aggregate results for.
+	 *            Must not be {@code null} and must not contain {@code null}.
+	 */
+	public MeasurementResultAggregator(final Collection<SeffBranch> seffBranches,
+		final Collection<SeffLoop> seffLoops, final Collection<ResourceDemandingInternalAction> rdias,
+		final Collection<ExternalCallParameter> externalCallParameters) {
+		Validate.noNullElements(seffBranches);
+		Validate.noNullElements(seffLoops);
+		Validate.noNullElements(rdias);
+		Validate.noNullElements(externalCallParameters);
+
+		for (final SeffBranch seffBranch : seffBranches) {
+			final SeffBranchAggregator aggregator = new SeffBranchAggregator(seffBranch);
+			this.seffBranchAggregators.put(seffBranch, aggregator);
+			for (final CodeSection possiblyPickedBranch : new HashSet<>(seffBranch.getBranches())) {
+				this.registerAggregator(possiblyPickedBranch, aggregator);
+			}
+		}
+
+		for (final SeffLoop seffLoop : seffLoops) {
+			final SeffLoopAggregator aggregator = new SeffLoopAggregator();
+			this.seffLoopAggregators.put(seffLoop, aggregator);
+			this.registerAggregator(seffLoop.getLoopBody(), aggregator);
+		}
+
+		for (final ResourceDemandingInternalAction rdia : rdias) {
+			final RdiaAggregator aggregator = new RdiaAggregator(rdia);
+			this.rdiaAggregators.put(rdia, aggregator);
+			this.registerAggregator(rdia.getAction(), aggregator);
+		}
+
+		// External call parameters are out of our project’s scope. There is nothing to
+		// aggregate for them.
+	}
+
+	/**
+	 * Makes {@code aggregator} receive all events concerning {@code codeSection}.
+	 *
+	 * @param codeSection A code section.
+	 * @param aggregator The aggregator interested in {@code codeSection}’s events.
+	 */
+	private void registerAggregator(final CodeSection codeSection, final MeasurementEventVisitor aggregator) {
+		this.sectionAggregators.computeIfAbsent(codeSection, (section) -> new ArrayList<>(1)).add(aggregator);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws IllegalStateException If {@link #finish()} was already called.
+	 */
+	@Override
+	public void accept(final MeasurementEvent measurementEvent) {
+		Validate.notNull(measurementEvent);
+		Validate.validState(!this.finished, "Events cannot be aggregated after the aggregation was finished.");
+
+		this.eventPosition++;
+		final List<MeasurementEventVisitor> interestedAggregators =
+			this.sectionAggregators.get(measurementEvent.getCodeSection());
+		if (interestedAggregators != null) {
+			for (final MeasurementEventVisitor aggregator : interestedAggregators) {
+				measurementEvent.receive(aggregator);
+			}
+		}
+	}
+
+	/**
+	 * Announces that all events were passed to this aggregator. Completes all results
+	 * that were still waiting for events. Calling this method more than once has no
+	 * effect.
+	 */
+	public void finish() {
+		if (this.finished) {
+			return;
+		}
+		for (final SeffLoopAggregator loopAggregator : this.seffLoopAggregators.values()) {
+			loopAggregator.finish();
+		}
+		this.finished = true;
+	}
+
+	/**
+	 * Gets all results that were aggregated for {@code rdia}.
+	 *
+	 * @param rdia A resource demanding internal action to get the measurement results of.
+	 *            Must not be {@code null}.
+	 * @return All measurement results aggregated for {@code rdia}. Is never {@code null}.
+	 *         Contains never {@code null} elements. Is empty if {@code rdia} was not
+	 *         passed to this aggregator’s constructor.
+	 * @throws IllegalStateException If {@link #finish()} was not called yet.
+	 */
+	public Set<ResourceDemandMeasurementResult> getMeasurementResultsFor(final ResourceDemandingInternalAction rdia) {
+		Validate.notNull(rdia);
+		this.validateFinished();
+		final RdiaAggregator aggregator = this.rdiaAggregators.get(rdia);
+		return aggregator == null ? new HashSet<>() : new HashSet<>(aggregator.results);
+	}
+
+	/**
+	 * Gets all results that were aggregated for {@code branch}.
+	 *
+	 * @param branch A SEFF Branch to get the measurement results of. Must not be
+	 *            {@code null}.
+	 * @return All measurement results aggregated for {@code branch}. Is never
+	 *         {@code null}. Contains never {@code null} elements. Is empty if
+	 *         {@code branch} was not passed to this aggregator’s constructor.
+	 * @throws IllegalStateException If {@link #finish()} was not called yet.
+	 */
+	public Set<BranchDecisionMeasurementResult> getMeasurementResultsFor(final SeffBranch branch) {
+		Validate.notNull(branch);
+		this.validateFinished();
+		final SeffBranchAggregator aggregator = this.seffBranchAggregators.get(branch);
+		return aggregator == null ? new HashSet<>() : new HashSet<>(aggregator.results);
+	}
+
+	/**
+	 * Gets all results that were aggregated for {@code loop}.
+	 *
+	 * @param loop A SEFF Loop to get the measurement results of. Must not be {@code null}.
+	 * @return All measurement results aggregated for {@code loop}. Is never {@code null}.
+	 *         Contains never {@code null} elements. Is empty if {@code loop} was not
+	 *         passed to this aggregator’s constructor.
+	 * @throws IllegalStateException If {@link #finish()} was not called yet.
+	 */
+	public Set<LoopRepetitionCountMeasurementResult> getMeasurementResultsFor(final SeffLoop loop) {
+		Validate.notNull(loop);
+		this.validateFinished();
+		final SeffLoopAggregator aggregator = this.seffLoopAggregators.get(loop);
+		return aggregator == null ? new HashSet<>() : new HashSet<>(aggregator.results);
+	}
+
+	/**
+	 * Note: this method is out of our projects scope and not yet implemented. Gets all
+	 * results that were aggregated for {@code externalCallParameter}.
+	 *
+	 * @param externalCallParameter An external parameter to get the measurement results
+	 *            of. Must not be {@code null}.
+	 * @return All measurement results aggregated for {@code externalCallParameter}. Is
+	 *         never {@code null}. Contains never {@code null} elements.
+	 * @throws IllegalStateException If {@link #finish()} was not called yet.
+	 */
+	public Set<ParameterChangeMeasurementResult> getMeasurementResultsFor(
+		final ExternalCallParameter externalCallParameter) {
+		Validate.notNull(externalCallParameter);
+		this.validateFinished();
+		return new HashSet<>();
+	}
+
+	/**
+	 * Asserts that {@link #finish()} was called.
+	 *
+	 * @throws IllegalStateException If {@link #finish()} was not called yet.
+	 */
+	private void validateFinished() {
+		Validate.validState(this.finished, "Results can only be queried after the aggregation was finished.");
+	}
+
+	/**
+	 * Aggregates the results of a {@link ResourceDemandingInternalAction}. Only receives
+	 * events of the action’s code section.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class RdiaAggregator extends AbstractMeasurementEventVisitor {
+
+		/**
+		 * The action whose results are aggregated.
+		 */
+		private final ResourceDemandingInternalAction rdia;
+
+		/**
+		 * The results aggregated so far.
+		 */
+		private final Set<ResourceDemandMeasurementResult> results = new HashSet<>();
+
+		/**
+		 * Creates an aggregator for {@code rdia}.
+		 *
+		 * @param rdia The action whose results shall be aggregated.
+		 */
+		private RdiaAggregator(final ResourceDemandingInternalAction rdia) {
+			this.rdia = rdia;
+		}
+
+		@Override
+		public void visit(final ResourceDemandCapturedEvent resourceDemandCapturedEvent) {
+			if (resourceDemandCapturedEvent.getType() == this.rdia.getResourceType()) {
+				this.results.add(new ResourceDemandMeasurementResult(resourceDemandCapturedEvent.getValue()));
+			}
+		}
+	}
+
+	/**
+	 * Aggregates the results of a {@link SeffBranch}. Only receives events of the
+	 * branch’s code sections.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class SeffBranchAggregator extends AbstractMeasurementEventVisitor {
+
+		/**
+		 * The branch whose results are aggregated.
+		 */
+		private final SeffBranch branch;
+
+		/**
+		 * The results aggregated so far.
+		 */
+		private final Set<BranchDecisionMeasurementResult> results = new HashSet<>();
+
+		/**
+		 * Creates an aggregator for {@code branch}.
+		 *
+		 * @param branch The branch whose results shall be aggregated.
+		 */
+		private SeffBranchAggregator(final SeffBranch branch) {
+			this.branch = branch;
+		}
+
+		@Override
+		public void visit(final CodeSectionEnteredEvent codeSectionEnteredEvent) {
+			// A branch was executed exactly when it was entered, so we don’t care about
+			// CodeSectionLeftEvents.
+			final int branchIndex = this.branch.getBranches().indexOf(codeSectionEnteredEvent.getCodeSection());
+			this.results.add(new BranchDecisionMeasurementResult(branchIndex));
+		}
+	}
+
+	/**
+	 * Aggregates the results of a {@link SeffLoop}. Only receives events of the loop’s
+	 * body. Loop body executions belong to the same loop execution if the body was
+	 * entered right after it was left, without any other event in between.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private final class SeffLoopAggregator extends AbstractMeasurementEventVisitor {
+
+		/**
+		 * The results aggregated so far.
+		 */
+		private final Set<LoopRepetitionCountMeasurementResult> results = new HashSet<>();
+
+		/**
+		 * The loop executions that are not finished yet. Recursive calls lead to more
+		 * than one unfinished execution. The top execution is the innermost one. All
+		 * executions below the top are open.
+		 */
+		private final Deque<LoopExecutionCounter> currentLoopCounts = new ArrayDeque<>();
+
+		@Override
+		public void visit(final CodeSectionEnteredEvent codeSectionEnteredEvent) {
+			final long position = MeasurementResultAggregator.this.eventPosition;
+			if (this.currentLoopCounts.isEmpty() || this.currentLoopCounts.peek().isOpen) {
+				// There is no current execution of this loop or we have a recursive call.
+				this.currentLoopCounts.push(new LoopExecutionCounter());
+			} else if (this.currentLoopCounts.peek().lastLeftPosition + 1 != position) {
+				// The loop body executions are not continuous, so this is a new execution.
+				this.loopFinished();
+				this.currentLoopCounts.push(new LoopExecutionCounter());
+			}
+			this.currentLoopCounts.peek().numberOfExecutions++;
+			this.currentLoopCounts.peek().isOpen = true;
+		}
+
+		@Override
+		public void visit(final CodeSectionLeftEvent codeSectionLeftEvent) {
+			if (this.currentLoopCounts.isEmpty()) {
+				// A CodeSectionLeftEvent without a CodeSectionEnteredEvent. We ignore it.
+				return;
+			}
+			if (!this.currentLoopCounts.peek().isOpen) {
+				// The innermost execution is already finished, so the event closes the
+				// one below it.
+				this.loopFinished();
+				if (this.currentLoopCounts.isEmpty()) {
+					return;
+				}
+			}
+			this.currentLoopCounts.peek().isOpen = false;
+			this.currentLoopCounts.peek().lastLeftPosition = MeasurementResultAggregator.this.eventPosition;
+		}
+
+		/**
+		 * Closes all executions that are still unfinished because their
+		 * {@link CodeSectionLeftEvent} is missing.
+		 */
+		private void finish() {
+			while (!this.currentLoopCounts.isEmpty()) {
+				this.loopFinished();
+			}
+		}
+
+		/**
+		 * Removes the innermost unfinished execution and adds its result.
+		 */
+		private void loopFinished() {
+			this.results.add(new LoopRepetitionCountMeasurementResult(this.currentLoopCounts.pop().numberOfExecutions));
+		}
+	}
+
+	/**
+	 * The state of a loop execution that is not finished yet.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class LoopExecutionCounter {
+
+		/**
+		 * How many times the loop body was executed.
+		 */
+		private int numberOfExecutions;
+
+		/**
+		 * Whether the last execution of the loop body was entered but not left yet.
+		 */
+		private boolean isOpen;
+
+		/**
+		 * If {@link #isOpen} is {@code false}, the position of the event the loop body was
+		 * last left at. {@code -2} if the loop body was not left yet.
+		 */
+		private long lastLeftPosition = -2;
+	}
+}
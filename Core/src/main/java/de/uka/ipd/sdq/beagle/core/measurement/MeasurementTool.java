@@ -14,6 +14,10 @@ import java.util.List;
  * <p>A measurement tool does not need to analyse all things specified in the
  * {@link MeasurementOrder}.
  *
+ * <p>Measurements may produce a vast number of events. Tools should therefore override
+ * {@link #measure(MeasurementOrder, MeasurementEventSink)} to pass each event on as soon
+ * as it is read, instead of collecting all of them in a list first.
+ *
  * <p>Measurement tools need a public zero argument constructor for the instantiation,
  * because they are loaded through eclipse extension points.
  *
@@ -31,4 +35,23 @@ public interface MeasurementTool {
 	 *         occurred during the measurement.
 	 */
 	List<MeasurementEvent> measure(MeasurementOrder measurementOrder);
+
+	/**
+	 * Executes a measurement and passes all {@linkplain MeasurementEvent
+	 * MeasurementEvents} to {@code eventSink}, in the order they occurred during the
+	 * measurement. This method should return after the complete measurement finished and
+	 * all events were passed to {@code eventSink}.
+	 *
+	 * <p>The default implementation passes on the events returned by
+	 * {@link #measure(MeasurementOrder)}.
+	 *
+	 * @param measurementOrder Container for the information, what to measure and the
+	 *            launch Configurations.
+	 * @param eventSink The sink to pass all measurement events to.
+	 */
+	default void measure(final MeasurementOrder measurementOrder, final MeasurementEventSink eventSink) {
+		for (final MeasurementEvent measurementEvent : this.measure(measurementOrder)) {
+			eventSink.accept(measurementEvent);
+		}
+	}
 }
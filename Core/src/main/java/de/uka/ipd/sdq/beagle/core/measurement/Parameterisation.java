@@ -1,16 +1,132 @@
 package de.uka.ipd.sdq.beagle.core.measurement;
 
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableAssignment;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Describes the values of variables potentially influencing a measurement result. A
  * parameterisation may cover none to all variables present at a certain section in code.
- *
- * <p>Note: Designing this class is out of the project’s first iteration’s scope.
+ * Each covered variable is assigned a value, like an {@link EvaluableVariableAssignment}
+ * does. Parameterisations are immutable.
  *
  * @author Joshua Gleitze
  * @see ParameterisationDependentMeasurementResult
  */
-public class Parameterisation {
-	/*
-	 * Note: Designing this class is out of the project’s first iteration’s scope.
+public class Parameterisation implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -7164218338946716240L;
+
+	/**
+	 * The value of each covered variable.
+	 */
+	private final Map<EvaluableVariable, Double> values;
+
+	/**
+	 * Creates a parameterisation covering no variables.
+	 */
+	public Parameterisation() {
+		this.values = Collections.emptyMap();
+	}
+
+	/**
+	 * Creates a parameterisation covering the variables in {@code values}.
+	 *
+	 * @param values The value of each covered variable. Must not be {@code null} and
+	 *            must contain neither {@code null} keys nor {@code null} values. Will be
+	 *            copied.
 	 */
+	public Parameterisation(final Map<EvaluableVariable, Double> values) {
+		Validate.notNull(values);
+		Validate.noNullElements(values.keySet(), "The parameterisation must not contain null variables.");
+		Validate.noNullElements(values.values(), "The parameterisation must not contain null values.");
+		this.values = Collections.unmodifiableMap(new HashMap<>(values));
+	}
+
+	/**
+	 * Gets all variables covered by this parameterisation.
+	 *
+	 * @return The variables a value is assigned to. A read only set. Is never
+	 *         {@code null}.
+	 */
+	public Set<EvaluableVariable> getVariables() {
+		return this.values.keySet();
+	}
+
+	/**
+	 * Queries whether this parameterisation covers {@code variable}.
+	 *
+	 * @param variable A variable. Must not be {@code null}.
+	 * @return {@code true} if a value is assigned to {@code variable}.
+	 */
+	public boolean isValueAssignedFor(final EvaluableVariable variable) {
+		Validate.notNull(variable);
+		return this.values.containsKey(variable);
+	}
+
+	/**
+	 * Gets the value of {@code variable}.
+	 *
+	 * @param variable A variable covered by this parameterisation. Must not be
+	 *            {@code null}.
+	 * @return The value assigned to {@code variable}.
+	 * @throws IllegalArgumentException If this parameterisation does not cover
+	 *             {@code variable}.
+	 */
+	public double getValueFor(final EvaluableVariable variable) {
+		Validate.notNull(variable);
+		final Double value = this.values.get(variable);
+		Validate.isTrue(value != null, "The parameterisation does not cover %s.", variable);
+		return value;
+	}
+
+	/**
+	 * Creates an assignment of all covered variables to their value.
+	 *
+	 * @return A new assignment, assigning each variable covered by this parameterisation
+	 *         its value.
+	 */
+	public EvaluableVariableAssignment toAssignment() {
+		final EvaluableVariableAssignment assignment = new EvaluableVariableAssignment();
+		for (final Map.Entry<EvaluableVariable, Double> value : this.values.entrySet()) {
+			assignment.setValueFor(value.getKey(), value.getValue());
+		}
+		return assignment;
+	}
+
+	@Override
+	public boolean equals(final Object object) {
+		if (object == null) {
+			return false;
+		}
+		if (object == this) {
+			return true;
+		}
+		if (object.getClass() != this.getClass()) {
+			return false;
+		}
+		final Parameterisation other = (Parameterisation) object;
+		return this.values.equals(other.values);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.values.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return new ToStringBuilder(this).append("values", this.values).toString();
+	}
 }
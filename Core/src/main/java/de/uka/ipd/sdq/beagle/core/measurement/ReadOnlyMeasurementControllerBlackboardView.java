@@ -109,6 +109,68 @@ public final class ReadOnlyMeasurementControllerBlackboardView {
 		return this.blackboard.getExternalCallParametersToBeMeasured();
 	}
 
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewRdiasToBeMeasured()}.
+	 *
+	 * @return All {@linkplain ResourceDemandingInternalAction resource demanding internal
+	 *         actions} to be measured. A read only, live view on the blackboard content.
+	 *         Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#viewRdiasToBeMeasured()
+	 */
+	public Set<ResourceDemandingInternalAction> viewRdiasToBeMeasured() {
+		return this.blackboard.viewRdiasToBeMeasured();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewSeffBranchesToBeMeasured()}.
+	 *
+	 * @return All {@linkplain SeffBranch SEFF branches} to be measured. A read only, live
+	 *         view on the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#viewSeffBranchesToBeMeasured()
+	 */
+	public Set<SeffBranch> viewSeffBranchesToBeMeasured() {
+		return this.blackboard.viewSeffBranchesToBeMeasured();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewSeffLoopsToBeMeasured()}.
+	 *
+	 * @return All {@linkplain SeffLoop SEFF loops} to be measured. A read only, live view
+	 *         on the blackboard content. Is never {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#viewSeffLoopsToBeMeasured()
+	 */
+	public Set<SeffLoop> viewSeffLoopsToBeMeasured() {
+		return this.blackboard.viewSeffLoopsToBeMeasured();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#viewExternalCallParametersToBeMeasured()}
+	 * .
+	 *
+	 * @return All {@linkplain ExternalCallParameter external call parameters} which shall
+	 *         be measured. A read only, live view on the blackboard content. Is never
+	 *         {@code null}.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#viewExternalCallParametersToBeMeasured()
+	 */
+	public Set<ExternalCallParameter> viewExternalCallParametersToBeMeasured() {
+		return this.blackboard.viewExternalCallParametersToBeMeasured();
+	}
+
+	/**
+	 * Delegates to
+	 * {@link de.uka.ipd.sdq.beagle.core.Blackboard#hasElementsToBeMeasured()}.
+	 *
+	 * @return {@code true} if any SEFF element shall be measured.
+	 * @see de.uka.ipd.sdq.beagle.core.Blackboard#hasElementsToBeMeasured()
+	 */
+	public boolean hasElementsToBeMeasured() {
+		return this.blackboard.hasElementsToBeMeasured();
+	}
+
 	/**
 	 * Delegates to {@link de.uka.ipd.sdq.beagle.core.Blackboard#getFitnessFunction()} .
 	 *
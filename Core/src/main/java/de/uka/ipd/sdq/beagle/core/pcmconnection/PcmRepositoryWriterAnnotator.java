@@ -85,7 +85,7 @@ public class PcmRepositoryWriterAnnotator {
 
 		final Map<String, EvaluableExpression> seffLoopIdToEvaEx = new HashMap<String, EvaluableExpression>();
 
-		for (final SeffLoop seffLoop : this.blackboard.getAllSeffLoops()) {
+		for (final SeffLoop seffLoop : this.blackboard.viewAllSeffLoops()) {
 			final EvaluableExpression evaEx = this.blackboard.getFinalExpressionFor(seffLoop);
 			if (evaEx != null && this.pcmMappings.hasPcmIdOf(seffLoop)) {
 
@@ -106,7 +106,7 @@ public class PcmRepositoryWriterAnnotator {
 
 		final Map<String, EvaluableExpression> seffBranchIdToEvaEx = new HashMap<String, EvaluableExpression>();
 
-		for (final SeffBranch seffBranch : this.blackboard.getAllSeffBranches()) {
+		for (final SeffBranch seffBranch : this.blackboard.viewAllSeffBranches()) {
 			final EvaluableExpression evaEx = this.blackboard.getFinalExpressionFor(seffBranch);
 			if (evaEx != null && this.pcmMappings.hasPcmIdOf(seffBranch)) {
 
@@ -127,7 +127,7 @@ public class PcmRepositoryWriterAnnotator {
 
 		final Map<String, EvaluableExpression> rdiaIdToEvaEx = new HashMap<String, EvaluableExpression>();
 
-		for (final ResourceDemandingInternalAction rdia : this.blackboard.getAllRdias()) {
+		for (final ResourceDemandingInternalAction rdia : this.blackboard.viewAllRdias()) {
 			final EvaluableExpression evaEx = this.blackboard.getFinalExpressionFor(rdia);
 			if (evaEx != null && this.pcmMappings.hasPcmIdOf(rdia)) {
 
@@ -148,7 +148,7 @@ public class PcmRepositoryWriterAnnotator {
 
 		final Map<String, ResourceDemandType> rdiaIdToDemandType = new HashMap<String, ResourceDemandType>();
 
-		for (final ResourceDemandingInternalAction rdia : this.blackboard.getAllRdias()) {
+		for (final ResourceDemandingInternalAction rdia : this.blackboard.viewAllRdias()) {
 			final EvaluableExpression evaEx = this.blackboard.getFinalExpressionFor(rdia);
 			if (evaEx != null && this.pcmMappings.hasPcmIdOf(rdia)) {
 
@@ -170,7 +170,7 @@ public class PcmRepositoryWriterAnnotator {
 
 		final Map<String, EvaluableExpression> exParamIdToEvaEx = new HashMap<String, EvaluableExpression>();
 
-		for (final ExternalCallParameter exParam : this.blackboard.getAllExternalCallParameters()) {
+		for (final ExternalCallParameter exParam : this.blackboard.viewAllExternalCallParameters()) {
 			final EvaluableExpression evaEx = this.blackboard.getFinalExpressionFor(exParam);
 			if (evaEx != null && this.pcmMappings.hasPcmIdOf(exParam)) {
 
@@ -12,15 +12,22 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import de.uka.ipd.sdq.beagle.core.analysis.AllAnalysersSelectionStrategy;
+import de.uka.ipd.sdq.beagle.core.analysis.AnalyserSelectionStrategy;
 import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyser;
 import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.analysis.ProposedExpressionAnalyser;
 import de.uka.ipd.sdq.beagle.core.analysis.ProposedExpressionAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyMeasurementResultAnalyserBlackboardView;
 import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyProposedExpressionAnalyserBlackboardView;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunction;
+import de.uka.ipd.sdq.beagle.core.measurement.MeasurementEventSink;
 import de.uka.ipd.sdq.beagle.core.measurement.MeasurementTool;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder;
@@ -29,6 +36,7 @@ import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.ExtensionPointToolsFactory;
 
 import org.junit.Test;
+import org.mockito.AdditionalMatchers;
 import org.mockito.InOrder;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
@@ -36,9 +44,14 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Tests for {@link AnalysisController}.
@@ -254,7 +267,8 @@ public class AnalysisControllerTest {
 		analysisController.performAnalysis();
 		// Assert that the measurement tools were asked.
 		for (final MeasurementTool measurementTool : originalMeasurementTools) {
-			verify(measurementTool, atLeastOnce()).measure((MeasurementOrder) notNull());
+			verify(measurementTool, atLeastOnce()).measure((MeasurementOrder) notNull(),
+				notNull(MeasurementEventSink.class));
 		}
 		for (final MeasurementResultAnalyser measurementResultAnalyser : originalMeasurementResultAnalysers) {
 			verify(measurementResultAnalyser, atLeastOnce())
@@ -337,9 +351,9 @@ public class AnalysisControllerTest {
 		final AnalysisController analysisController3 = new AnalysisController(BLACKBOARD_FACTORY.getEmpty(),
 			allMeasurementTools, allMeasurementResultAnalysers, allProposedExpressionAnalysers);
 		analysisController3.performAnalysis();
-		verify(this.mockedMeasurementTool1, never()).measure(anyObject());
-		verify(this.mockedMeasurementTool2, never()).measure(anyObject());
-		verify(this.mockedMeasurementTool3, never()).measure(anyObject());
+		verify(this.mockedMeasurementTool1, never()).measure(anyObject(), anyObject());
+		verify(this.mockedMeasurementTool2, never()).measure(anyObject(), anyObject());
+		verify(this.mockedMeasurementTool3, never()).measure(anyObject(), anyObject());
 
 		// Verify that everybody can contribute, if he wants.
 		// Verify correct execution order
@@ -376,7 +390,8 @@ public class AnalysisControllerTest {
 		analysisController6.performAnalysis();
 		final InOrder inOrder = Mockito.inOrder(this.mockedMeasurementTool1, this.mockedMeasurementResultAnalyser1,
 			this.mockedProposedExpressionAnalyser1);
-		inOrder.verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull());
+		inOrder.verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull(),
+			notNull(MeasurementEventSink.class));
 		inOrder.verify(this.mockedMeasurementResultAnalyser1)
 			.contribute(eq(new MeasurementResultAnalyserBlackboardView(blackboard5)));
 		inOrder.verify(this.mockedProposedExpressionAnalyser1)
@@ -404,7 +419,8 @@ public class AnalysisControllerTest {
 		analysisController7.performAnalysis();
 		final InOrder inOrder1 = inOrder(this.mockedMeasurementTool1, this.mockedMeasurementResultAnalyser1,
 			this.mockedProposedExpressionAnalyser1);
-		inOrder1.verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull());
+		inOrder1.verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull(),
+			notNull(MeasurementEventSink.class));
 		inOrder1.verify(this.mockedMeasurementResultAnalyser1)
 			.contribute(eq(new MeasurementResultAnalyserBlackboardView(blackboard6)));
 		inOrder1.verify(this.mockedProposedExpressionAnalyser1)
@@ -418,7 +434,7 @@ public class AnalysisControllerTest {
 			allMeasurementResultAnalysers, allProposedExpressionAnalysers);
 		analysisController8.performAnalysis();
 		for (final MeasurementTool measurementTool : allMeasurementTools) {
-			verify(measurementTool, never()).measure(anyObject());
+			verify(measurementTool, never()).measure(anyObject(), anyObject());
 		}
 	}
 
@@ -533,9 +549,9 @@ public class AnalysisControllerTest {
 		final AnalysisController analysisController9 = new AnalysisController(blackboard8, allMeasurementTools,
 			allMeasurementResultAnalysers, allProposedExpressionAnalysers);
 		analysisController9.performAnalysis();
-		verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull());
-		verify(this.mockedMeasurementTool2).measure((MeasurementOrder) notNull());
-		verify(this.mockedMeasurementTool3).measure((MeasurementOrder) notNull());
+		verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull(), notNull(MeasurementEventSink.class));
+		verify(this.mockedMeasurementTool2).measure((MeasurementOrder) notNull(), notNull(MeasurementEventSink.class));
+		verify(this.mockedMeasurementTool3).measure((MeasurementOrder) notNull(), notNull(MeasurementEventSink.class));
 		final InOrder inOrder2 = inOrder(this.mockedMeasurementResultAnalyser1, this.mockedMeasurementResultAnalyser2,
 			this.mockedMeasurementResultAnalyser3, this.mockedProposedExpressionAnalyser1,
 			this.mockedProposedExpressionAnalyser2, this.mockedProposedExpressionAnalyser3);
@@ -671,7 +687,8 @@ public class AnalysisControllerTest {
 			this.mockedMeasurementResultAnalyser2, this.mockedMeasurementResultAnalyser3,
 			this.mockedProposedExpressionAnalyser1, this.mockedProposedExpressionAnalyser2,
 			this.mockedProposedExpressionAnalyser3);
-		inOrder3.verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull());
+		inOrder3.verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull(),
+			notNull(MeasurementEventSink.class));
 		inOrder3.verify(this.mockedMeasurementResultAnalyser2)
 			.contribute(eq(new MeasurementResultAnalyserBlackboardView(blackboard9)));
 		inOrder3.verify(this.mockedMeasurementResultAnalyser1)
@@ -682,7 +699,8 @@ public class AnalysisControllerTest {
 			.contribute(eq(new ProposedExpressionAnalyserBlackboardView(blackboard9)));
 		inOrder3.verify(this.mockedProposedExpressionAnalyser1)
 			.contribute(eq(new ProposedExpressionAnalyserBlackboardView(blackboard9)));
-		inOrder3.verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull());
+		inOrder3.verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull(),
+			notNull(MeasurementEventSink.class));
 		inOrder3.verify(this.mockedMeasurementResultAnalyser3)
 			.contribute(eq(new MeasurementResultAnalyserBlackboardView(blackboard9)));
 		inOrder3.verify(this.mockedProposedExpressionAnalyser2)
@@ -791,7 +809,7 @@ public class AnalysisControllerTest {
 		final AnalysisController analysisController10 = new AnalysisController(blackboard9, oneMeasurementTool,
 			allMeasurementResultAnalysers, allProposedExpressionAnalysers);
 		analysisController10.performAnalysis();
-		verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull());
+		verify(this.mockedMeasurementTool1).measure((MeasurementOrder) notNull(), notNull(MeasurementEventSink.class));
 		verify(this.mockedMeasurementResultAnalyser2)
 			.contribute(eq(new MeasurementResultAnalyserBlackboardView(blackboard9)));
 		verify(this.mockedMeasurementResultAnalyser1)
@@ -809,6 +827,207 @@ public class AnalysisControllerTest {
 
 	}
 
+	/**
+	 * Tests {@link AnalysisController#performAnalysis()}. Asserts that all analysers able
+	 * to contribute contribute concurrently and that the controller rejects a
+	 * {@code null} pool or selection strategy.
+	 *
+	 * @throws InterruptedException Should not happen.
+	 */
+	@Test
+	public void performAnalysisConcurrently() throws InterruptedException {
+		this.resetMocks();
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final Set<MeasurementTool> oneMeasurementTool = new HashSet<>();
+		oneMeasurementTool.add(this.mockedMeasurementTool1);
+		final Set<MeasurementResultAnalyser> twoMeasurementResultAnalysers = new HashSet<>();
+		twoMeasurementResultAnalysers.add(this.mockedMeasurementResultAnalyser1);
+		twoMeasurementResultAnalysers.add(this.mockedMeasurementResultAnalyser2);
+		final Set<ProposedExpressionAnalyser> twoProposedExpressionAnalysers = new HashSet<>();
+		twoProposedExpressionAnalysers.add(this.mockedProposedExpressionAnalyser1);
+		twoProposedExpressionAnalysers.add(this.mockedProposedExpressionAnalyser2);
+
+		assertThat("The pool must not be null", () -> new AnalysisController(blackboard, oneMeasurementTool,
+			twoMeasurementResultAnalysers, twoProposedExpressionAnalysers, null, new AllAnalysersSelectionStrategy()),
+			throwsException(NullPointerException.class));
+		assertThat("The selection strategy must not be null",
+			() -> new AnalysisController(blackboard, oneMeasurementTool, twoMeasurementResultAnalysers,
+				twoProposedExpressionAnalysers, new ForkJoinPool(2), null),
+			throwsException(NullPointerException.class));
+
+		final ReadOnlyMeasurementResultAnalyserBlackboardView readOnlyMraView =
+			new ReadOnlyMeasurementResultAnalyserBlackboardView(blackboard);
+		final ReadOnlyProposedExpressionAnalyserBlackboardView readOnlyPeaView =
+			new ReadOnlyProposedExpressionAnalyserBlackboardView(blackboard);
+		// Each analyser can only finish its contribution while the other one of its kind
+		// is contributing, too.
+		final CountDownLatch measurementResultAnalysersRunning = new CountDownLatch(2);
+		final CountDownLatch proposedExpressionAnalysersRunning = new CountDownLatch(2);
+		final List<Boolean> metOtherAnalyser = Collections.synchronizedList(new ArrayList<>());
+
+		for (final MeasurementResultAnalyser analyser : twoMeasurementResultAnalysers) {
+			when(analyser.canContribute(readOnlyMraView)).thenReturn(true);
+			doAnswer((invocation) -> {
+				when(analyser.canContribute(readOnlyMraView)).thenReturn(false);
+				measurementResultAnalysersRunning.countDown();
+				metOtherAnalyser.add(measurementResultAnalysersRunning.await(10, TimeUnit.SECONDS));
+				return null;
+			}).when(analyser).contribute(new MeasurementResultAnalyserBlackboardView(blackboard));
+		}
+		for (final ProposedExpressionAnalyser analyser : twoProposedExpressionAnalysers) {
+			when(analyser.canContribute(readOnlyPeaView)).thenReturn(true);
+			doAnswer((invocation) -> {
+				when(analyser.canContribute(readOnlyPeaView)).thenReturn(false);
+				proposedExpressionAnalysersRunning.countDown();
+				metOtherAnalyser.add(proposedExpressionAnalysersRunning.await(10, TimeUnit.SECONDS));
+				return null;
+			}).when(analyser).contribute(new ProposedExpressionAnalyserBlackboardView(blackboard));
+		}
+
+		new AnalysisController(blackboard, oneMeasurementTool, twoMeasurementResultAnalysers,
+			twoProposedExpressionAnalysers, new ForkJoinPool(2), new AllAnalysersSelectionStrategy()).performAnalysis();
+
+		for (final MeasurementResultAnalyser analyser : twoMeasurementResultAnalysers) {
+			verify(analyser).contribute(new MeasurementResultAnalyserBlackboardView(blackboard));
+		}
+		for (final ProposedExpressionAnalyser analyser : twoProposedExpressionAnalysers) {
+			verify(analyser).contribute(new ProposedExpressionAnalyserBlackboardView(blackboard));
+		}
+		assertThat("All analysers able to contribute must contribute concurrently", metOtherAnalyser,
+			is(Arrays.asList(true, true, true, true)));
+	}
+
+	/**
+	 * Tests {@link AnalysisController#performAnalysis()}. Asserts that only the analysers
+	 * selected by the selection strategy contribute and that the strategy is informed
+	 * about the improvement they achieved.
+	 */
+	@Test
+	public void performAnalysisWithSelectionStrategy() {
+		this.resetMocks();
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final Set<MeasurementTool> oneMeasurementTool = new HashSet<>();
+		oneMeasurementTool.add(this.mockedMeasurementTool1);
+		final Set<MeasurementResultAnalyser> allMeasurementResultAnalysers = new HashSet<>();
+		allMeasurementResultAnalysers.add(this.mockedMeasurementResultAnalyser1);
+		allMeasurementResultAnalysers.add(this.mockedMeasurementResultAnalyser2);
+		allMeasurementResultAnalysers.add(this.mockedMeasurementResultAnalyser3);
+		final ReadOnlyMeasurementResultAnalyserBlackboardView readOnlyView =
+			new ReadOnlyMeasurementResultAnalyserBlackboardView(blackboard);
+		for (final MeasurementResultAnalyser analyser : allMeasurementResultAnalysers) {
+			when(analyser.canContribute(readOnlyView)).thenReturn(true);
+			doAnswer((invocation) -> {
+				when(analyser.canContribute(readOnlyView)).thenReturn(false);
+				return null;
+			}).when(analyser).contribute(new MeasurementResultAnalyserBlackboardView(blackboard));
+		}
+
+		// always selects only the first analyser
+		final AnalyserSelectionStrategy mockedStrategy = mock(AnalyserSelectionStrategy.class);
+		when(mockedStrategy.select(anyObject()))
+			.then((invocation) -> invocation.getArgumentAt(0, List.class).subList(0, 1));
+
+		new AnalysisController(blackboard, oneMeasurementTool, allMeasurementResultAnalysers, new HashSet<>(),
+			new ForkJoinPool(2), mockedStrategy).performAnalysis();
+
+		for (final MeasurementResultAnalyser analyser : allMeasurementResultAnalysers) {
+			verify(analyser).contribute(new MeasurementResultAnalyserBlackboardView(blackboard));
+			verify(mockedStrategy).reportImprovement(eq(analyser),
+				AdditionalMatchers.and(AdditionalMatchers.geq(0d), AdditionalMatchers.leq(1d)));
+		}
+		verify(mockedStrategy, times(3)).select(anyObject());
+	}
+
+	/**
+	 * Tests {@link AnalysisController#setAnalysisState(AnalysisState)} while analysers
+	 * contribute. Asserts that aborting the analysis interrupts the threads of the
+	 * analysers that are running and that the analysis then terminates.
+	 *
+	 * @throws InterruptedException Should not happen.
+	 */
+	@Test
+	public void abortInterruptsContributingAnalysers() throws InterruptedException {
+		this.resetMocks();
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final Set<MeasurementTool> oneMeasurementTool = new HashSet<>();
+		oneMeasurementTool.add(this.mockedMeasurementTool1);
+		final Set<MeasurementResultAnalyser> twoMeasurementResultAnalysers = new HashSet<>(
+			Arrays.asList(this.mockedMeasurementResultAnalyser1, this.mockedMeasurementResultAnalyser2));
+		final ReadOnlyMeasurementResultAnalyserBlackboardView readOnlyView =
+			new ReadOnlyMeasurementResultAnalyserBlackboardView(blackboard);
+		final CountDownLatch analysersRunning = new CountDownLatch(2);
+		final CountDownLatch analysersInterrupted = new CountDownLatch(2);
+
+		for (final MeasurementResultAnalyser analyser : twoMeasurementResultAnalysers) {
+			when(analyser.canContribute(readOnlyView)).thenReturn(true);
+			doAnswer((invocation) -> {
+				when(analyser.canContribute(readOnlyView)).thenReturn(false);
+				analysersRunning.countDown();
+				try {
+					Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+				} catch (final InterruptedException interrupt) {
+					analysersInterrupted.countDown();
+				}
+				return null;
+			}).when(analyser).contribute(new MeasurementResultAnalyserBlackboardView(blackboard));
+		}
+
+		final AnalysisController analysisController = new AnalysisController(blackboard, oneMeasurementTool,
+			twoMeasurementResultAnalysers, new HashSet<>(), new ForkJoinPool(2), new AllAnalysersSelectionStrategy());
+		final Thread analysis = new Thread(analysisController::performAnalysis);
+		analysis.start();
+		assertThat("The analysers must start contributing", analysersRunning.await(10, TimeUnit.SECONDS), is(true));
+
+		analysisController.setAnalysisState(AnalysisState.ABORTING);
+		assertThat("All running analysers must have been interrupted",
+			analysersInterrupted.await(5, TimeUnit.SECONDS), is(true));
+		analysis.join(TimeUnit.SECONDS.toMillis(10));
+		assertThat(analysisController.getAnalysisState(), is(AnalysisState.TERMINATED));
+	}
+
+	/**
+	 * Tests {@link AnalysisController#performAnalysis()}. Asserts that each analyser
+	 * that contributed is only credited with the improvement its own proposals achieved,
+	 * even if other analysers contributed at the same time.
+	 */
+	@Test
+	public void performAnalysisReportsImprovementPerAnalyser() {
+		this.resetMocks();
+		final EvaluableExpression goodExpression = ConstantExpression.forValue(42);
+		final EvaluableExpressionFitnessFunction fitnessFunction = mock(EvaluableExpressionFitnessFunction.class,
+			(Answer<Double>) (invocation) -> goodExpression.equals(invocation.getArguments()[1]) ? 1d : 10d);
+		final Blackboard blackboard =
+			BLACKBOARD_FACTORY.setFitnessFunction(BLACKBOARD_FACTORY.getWithToBeMeasuredContent(), fitnessFunction);
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		final Set<MeasurementTool> oneMeasurementTool = new HashSet<>();
+		oneMeasurementTool.add(this.mockedMeasurementTool1);
+		final MeasurementResultAnalyser proposingAnalyser = this.mockedMeasurementResultAnalyser1;
+		final MeasurementResultAnalyser idleAnalyser = this.mockedMeasurementResultAnalyser2;
+		final ReadOnlyMeasurementResultAnalyserBlackboardView readOnlyView =
+			new ReadOnlyMeasurementResultAnalyserBlackboardView(blackboard);
+		for (final MeasurementResultAnalyser analyser : Arrays.asList(proposingAnalyser, idleAnalyser)) {
+			when(analyser.canContribute(readOnlyView)).thenReturn(true);
+			doAnswer((invocation) -> {
+				if (analyser == proposingAnalyser) {
+					invocation.getArgumentAt(0, MeasurementResultAnalyserBlackboardView.class)
+						.addProposedExpressionFor(rdia, goodExpression);
+				}
+				when(analyser.canContribute(readOnlyView)).thenReturn(false);
+				return null;
+			}).when(analyser).contribute(new MeasurementResultAnalyserBlackboardView(blackboard));
+		}
+		final AnalyserSelectionStrategy mockedStrategy = mock(AnalyserSelectionStrategy.class);
+		when(mockedStrategy.select(anyObject())).then((invocation) -> invocation.getArgumentAt(0, List.class));
+
+		new AnalysisController(blackboard, oneMeasurementTool,
+			new HashSet<>(Arrays.asList(proposingAnalyser, idleAnalyser)), new HashSet<>(), new ForkJoinPool(2),
+			mockedStrategy).performAnalysis();
+
+		verify(mockedStrategy).reportImprovement(eq(proposingAnalyser),
+			AdditionalMatchers.and(AdditionalMatchers.gt(0d), AdditionalMatchers.leq(1d)));
+		verify(mockedStrategy).reportImprovement(idleAnalyser, 0d);
+	}
+
 	/**
 	 * Resets the following mocks.
 	 *
@@ -1034,7 +1253,7 @@ public class AnalysisControllerTest {
 		this.resetMocks();
 		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
 
-		when(this.mockedMeasurementTool1.measure(anyObject())).then(sleepingMeasurementTool);
+		doAnswer(sleepingMeasurementTool).when(this.mockedMeasurementTool1).measure(anyObject(), anyObject());
 		when(this.mockedMeasurementResultAnalyser1
 			.canContribute(new ReadOnlyMeasurementResultAnalyserBlackboardView(blackboard))).thenReturn(false);
 		when(this.mockedProposedExpressionAnalyser1
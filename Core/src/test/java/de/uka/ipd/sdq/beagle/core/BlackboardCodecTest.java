@@ -0,0 +1,342 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.theInstance;
+import static org.junit.Assert.assertThat;
+
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.AdditionExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableAssignment;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpressionVisitor;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.MultiplicationExpression;
+import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunction;
+import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFitnessFunctionFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.ProjectInformationFactory;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests {@link BlackboardCodec}.
+ *
+ * @author Joshua Gleitze
+ */
+public class BlackboardCodecTest {
+
+	/**
+	 * A {@link BlackboardFactory}, which is able to generate {@link Blackboard}s.
+	 */
+	private static final BlackboardFactory BLACKBOARD_FACTORY = new BlackboardFactory();
+
+	/**
+	 * A factory for fitness functions to attach to decoded blackboards.
+	 */
+	private static final EvaluableExpressionFitnessFunctionFactory FITNESS_FUNCTION_FACTORY =
+		new EvaluableExpressionFitnessFunctionFactory();
+
+	/**
+	 * A factory for project information to attach to decoded blackboards.
+	 */
+	private static final ProjectInformationFactory PROJECT_INFORMATION_FACTORY = new ProjectInformationFactory();
+
+	/**
+	 * The codec under test.
+	 */
+	private final BlackboardCodec codec = new BlackboardCodec();
+
+	/**
+	 * Asserts that decoding an encoded blackboard restores all of its content.
+	 *
+	 * @throws IOException Should not happen.
+	 */
+	@Test
+	public void roundTrip() throws IOException {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getFull();
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(new Parameterisation(), 4.5));
+		final Map<EvaluableVariable, Double> values = new HashMap<>();
+		values.put(new EvaluableVariable("n"), 7d);
+		values.put(new EvaluableVariable("size"), -0.5);
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(new Parameterisation(values), 3));
+		final ExternalCallParameter parameter = blackboard.getAllExternalCallParameters().iterator().next();
+		blackboard.addMeasurementResultFor(parameter, new ParameterChangeMeasurementResult());
+		blackboard.writeFor(TestStorer.class, "private data");
+
+		final EvaluableExpressionFitnessFunction fitnessFunction = FITNESS_FUNCTION_FACTORY.getOne();
+		final ProjectInformation projectInformation = PROJECT_INFORMATION_FACTORY.getOne();
+		final Blackboard decoded = this.decode(this.encode(blackboard), fitnessFunction, projectInformation);
+
+		assertThat(decoded.getFitnessFunction(), is(theInstance(fitnessFunction)));
+		assertThat(decoded.getProjectInformation(), is(theInstance(projectInformation)));
+		assertThat(decoded.readFor(TestStorer.class), is("private data"));
+		assertThat(decoded.getAllRdias(), is(blackboard.getAllRdias()));
+		assertThat(decoded.getAllSeffBranches(), is(blackboard.getAllSeffBranches()));
+		assertThat(decoded.getAllSeffLoops(), is(blackboard.getAllSeffLoops()));
+		assertThat(decoded.getAllExternalCallParameters(), is(blackboard.getAllExternalCallParameters()));
+		assertThat(decoded.getRdiasToBeMeasured(), is(blackboard.getRdiasToBeMeasured()));
+		assertThat(decoded.getSeffBranchesToBeMeasured(), is(blackboard.getSeffBranchesToBeMeasured()));
+		assertThat(decoded.getSeffLoopsToBeMeasured(), is(blackboard.getSeffLoopsToBeMeasured()));
+		assertThat(decoded.getExternalCallParametersToBeMeasured(),
+			is(blackboard.getExternalCallParametersToBeMeasured()));
+
+		for (final ResourceDemandingInternalAction element : blackboard.getAllRdias()) {
+			assertThat(decoded.getMeasurementResultColumnsFor(element).getValues().toArray(),
+				is(blackboard.getMeasurementResultColumnsFor(element).getValues().toArray()));
+			this.assertSameParameterisations(decoded.getMeasurementResultColumnsFor(element),
+				blackboard.getMeasurementResultColumnsFor(element));
+		}
+		for (final SeffBranch element : blackboard.getAllSeffBranches()) {
+			assertThat(decoded.getMeasurementResultColumnsFor(element).getValues().toArray(),
+				is(blackboard.getMeasurementResultColumnsFor(element).getValues().toArray()));
+			this.assertSameParameterisations(decoded.getMeasurementResultColumnsFor(element),
+				blackboard.getMeasurementResultColumnsFor(element));
+		}
+		for (final SeffLoop element : blackboard.getAllSeffLoops()) {
+			assertThat(decoded.getMeasurementResultColumnsFor(element).getValues().toArray(),
+				is(blackboard.getMeasurementResultColumnsFor(element).getValues().toArray()));
+			this.assertSameParameterisations(decoded.getMeasurementResultColumnsFor(element),
+				blackboard.getMeasurementResultColumnsFor(element));
+		}
+		for (final ExternalCallParameter element : blackboard.getAllExternalCallParameters()) {
+			assertThat(decoded.getMeasurementResultColumnsFor(element).getValues().toArray(),
+				is(blackboard.getMeasurementResultColumnsFor(element).getValues().toArray()));
+			this.assertSameParameterisations(decoded.getMeasurementResultColumnsFor(element),
+				blackboard.getMeasurementResultColumnsFor(element));
+		}
+
+		for (final MeasurableSeffElement element : BLACKBOARD_FACTORY.getAllSeffElements(blackboard)) {
+			assertThat(decoded.getProposedExpressionFor(element), is(blackboard.getProposedExpressionFor(element)));
+			assertThat(decoded.getFinalExpressionFor(element), is(blackboard.getFinalExpressionFor(element)));
+			assertThat(decoded.getMeasurementResultsVersionFor(element),
+				is(blackboard.getMeasurementResultsVersionFor(element)));
+			assertThat(decoded.getProposedExpressionsVersionFor(element),
+				is(blackboard.getProposedExpressionsVersionFor(element)));
+		}
+		assertThat(decoded.getMeasurementResultsVersion(), is(blackboard.getMeasurementResultsVersion()));
+		assertThat(decoded.getProposedExpressionsVersion(), is(blackboard.getProposedExpressionsVersion()));
+
+		decoded.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(1));
+		assertThat("versions must keep increasing after decoding",
+			decoded.getElementsWithMeasurementResultsSince(blackboard.getMeasurementResultsVersion()),
+			contains(rdia));
+	}
+
+	/**
+	 * Asserts that the order of a branch’s code sections, which determines the meaning
+	 * of branch decisions, is kept.
+	 *
+	 * @throws IOException Should not happen.
+	 */
+	@Test
+	public void keepsBranchOrder() throws IOException {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getFull();
+		final Blackboard decoded = this.decode(this.encode(blackboard));
+
+		for (final SeffBranch branch : blackboard.getAllSeffBranches()) {
+			final SeffBranch decodedBranch =
+				decoded.getAllSeffBranches().stream().filter(branch::equals).findAny().get();
+			assertThat(decodedBranch.getBranches(), is(branch.getBranches()));
+		}
+	}
+
+	/**
+	 * Asserts that equal variables are decoded as the same instance and that expressions
+	 * of unknown types are kept.
+	 *
+	 * @throws IOException Should not happen.
+	 */
+	@Test
+	public void expressions() throws IOException {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithFewElements();
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		final EvaluableExpression shared = new MultiplicationExpression(new EvaluableVariable("a"),
+			new EvaluableVariable("b"));
+		final EvaluableExpression first = new AdditionExpression(shared, new EvaluableVariable("a"));
+		final EvaluableExpression second = new AdditionExpression(shared, new UnknownExpression());
+		blackboard.addProposedExpressionFor(rdia, first);
+		blackboard.addProposedExpressionFor(rdia, second);
+		blackboard.setFinalExpressionFor(rdia, first);
+
+		final Blackboard decoded = this.decode(this.encode(blackboard));
+		final ResourceDemandingInternalAction decodedRdia =
+			decoded.getAllRdias().stream().filter(rdia::equals).findAny().get();
+		assertThat(decoded.getProposedExpressionFor(decodedRdia), containsInAnyOrder(first, second));
+
+		final AdditionExpression decodedFirst = (AdditionExpression) decoded.getFinalExpressionFor(decodedRdia);
+		EvaluableVariable variableInSum = null;
+		EvaluableVariable variableInProduct = null;
+		for (final EvaluableExpression summand : decodedFirst.getSummands()) {
+			if (summand instanceof EvaluableVariable) {
+				variableInSum = (EvaluableVariable) summand;
+			} else {
+				for (final EvaluableExpression factor : ((MultiplicationExpression) summand).getFactors()) {
+					if (factor.equals(new EvaluableVariable("a"))) {
+						variableInProduct = (EvaluableVariable) factor;
+					}
+				}
+			}
+		}
+		assertThat("equal variables must be decoded as one instance", variableInSum,
+			is(theInstance(variableInProduct)));
+	}
+
+	/**
+	 * Asserts that the encoding is smaller than Java’s serialisation of the same
+	 * blackboard.
+	 *
+	 * @throws IOException Should not happen.
+	 */
+	@Test
+	public void isCompact() throws IOException {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getFull();
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		for (int i = 0; i < 10000; i++) {
+			blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(i));
+		}
+
+		final ByteArrayOutputStream serialised = new ByteArrayOutputStream();
+		try (ObjectOutputStream objectOutput = new ObjectOutputStream(serialised)) {
+			objectOutput.writeObject(blackboard);
+		}
+		assertThat(this.encode(blackboard).length, is(lessThan(serialised.size())));
+	}
+
+	/**
+	 * Asserts that invalid input and arguments are rejected.
+	 *
+	 * @throws IOException Should not happen.
+	 */
+	@Test
+	public void rejectsInvalidInput() throws IOException {
+		final byte[] encoded = this.encode(BLACKBOARD_FACTORY.getFull());
+
+		assertThat("input without the magic number must be rejected",
+			() -> this.decode(Arrays.copyOfRange(encoded, 1, encoded.length)), throwsException(IOException.class));
+		assertThat("truncated input must be rejected", () -> this.decode(Arrays.copyOf(encoded, encoded.length / 2)),
+			throwsException(IOException.class));
+		assertThat("blackboard must not be null", () -> this.codec.encode(null, new ByteArrayOutputStream()),
+			throwsException(NullPointerException.class));
+		assertThat("fitness function must not be null",
+			() -> this.codec.decode(new ByteArrayInputStream(encoded), null, PROJECT_INFORMATION_FACTORY.getOne()),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Asserts that {@code decoded} has a parameterisation exactly where {@code original}
+	 * has one, and that it assigns the same values to the same variables.
+	 *
+	 * @param decoded Decoded columns.
+	 * @param original The columns that were encoded.
+	 */
+	private void assertSameParameterisations(final MeasurementResultColumns decoded,
+		final MeasurementResultColumns original) {
+		assertThat(decoded.size(), is(original.size()));
+		for (int i = 0; i < original.size(); i++) {
+			final Parameterisation originalParameterisation = original.getParameterisationAt(i);
+			final Parameterisation decodedParameterisation = decoded.getParameterisationAt(i);
+			assertThat(decodedParameterisation == null, is(originalParameterisation == null));
+			if (originalParameterisation != null) {
+				assertThat(decodedParameterisation.getVariables(), is(originalParameterisation.getVariables()));
+				for (final EvaluableVariable variable : originalParameterisation.getVariables()) {
+					assertThat(decodedParameterisation.getValueFor(variable),
+						is(originalParameterisation.getValueFor(variable)));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Encodes {@code blackboard} with the {@link #codec}.
+	 *
+	 * @param blackboard The blackboard to encode.
+	 * @return The encoded blackboard.
+	 * @throws IOException Should not happen.
+	 */
+	private byte[] encode(final Blackboard blackboard) throws IOException {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		this.codec.encode(blackboard, output);
+		return output.toByteArray();
+	}
+
+	/**
+	 * Decodes {@code encoded} with the {@link #codec}.
+	 *
+	 * @param encoded An encoded blackboard.
+	 * @return The decoded blackboard.
+	 * @throws IOException If decoding fails.
+	 */
+	private Blackboard decode(final byte[] encoded) throws IOException {
+		return this.decode(encoded, FITNESS_FUNCTION_FACTORY.getOne(), PROJECT_INFORMATION_FACTORY.getOne());
+	}
+
+	/**
+	 * Decodes {@code encoded} with the {@link #codec}.
+	 *
+	 * @param encoded An encoded blackboard.
+	 * @param fitnessFunction The fitness function of the decoded blackboard.
+	 * @param projectInformation The project information of the decoded blackboard.
+	 * @return The decoded blackboard.
+	 * @throws IOException If decoding fails.
+	 */
+	private Blackboard decode(final byte[] encoded, final EvaluableExpressionFitnessFunction fitnessFunction,
+		final ProjectInformation projectInformation) throws IOException {
+		return this.codec.decode(new ByteArrayInputStream(encoded), fitnessFunction, projectInformation);
+	}
+
+	/**
+	 * Test {@link BlackboardStorer}.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class TestStorer implements BlackboardStorer<String> {
+	}
+
+	/**
+	 * An expression type the codec does not know.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class UnknownExpression implements EvaluableExpression {
+
+		/**
+		 * Serialisation version UID, see {@link java.io.Serializable}.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public void receive(final EvaluableExpressionVisitor visitor) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public double evaluate(final EvaluableVariableAssignment variableAssignments) {
+			return 1;
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			return object instanceof UnknownExpression;
+		}
+
+		@Override
+		public int hashCode() {
+			return UnknownExpression.class.hashCode();
+		}
+	}
+}
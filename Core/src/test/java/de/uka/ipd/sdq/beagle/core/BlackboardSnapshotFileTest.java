@@ -0,0 +1,176 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.theInstance;
+import static org.junit.Assert.assertThat;
+
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunction;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFitnessFunctionFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.ProjectInformationFactory;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+/**
+ * Tests {@link BlackboardSnapshotFile}.
+ *
+ * @author Joshua Gleitze
+ */
+public class BlackboardSnapshotFileTest {
+
+	/**
+	 * A {@link BlackboardFactory}, which is able to generate {@link Blackboard}s.
+	 */
+	private static final BlackboardFactory BLACKBOARD_FACTORY = new BlackboardFactory();
+
+	/**
+	 * A factory for fitness functions to attach to restored blackboards.
+	 */
+	private static final EvaluableExpressionFitnessFunctionFactory FITNESS_FUNCTION_FACTORY =
+		new EvaluableExpressionFitnessFunctionFactory();
+
+	/**
+	 * A factory for project information to attach to restored blackboards.
+	 */
+	private static final ProjectInformationFactory PROJECT_INFORMATION_FACTORY = new ProjectInformationFactory();
+
+	/**
+	 * Provides the folder the snapshots are written to.
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * The file the snapshots are written to. Does not exist before a test writes it.
+	 */
+	private File file;
+
+	/**
+	 * Determines {@link #file}.
+	 */
+	@Before
+	public void determineFile() {
+		this.file = new File(this.temporaryFolder.getRoot(), "folder/blackboard.snapshot");
+	}
+
+	/**
+	 * Test method for {@link BlackboardSnapshotFile#BlackboardSnapshotFile(File)}.
+	 */
+	@Test
+	public void constructor() {
+		assertThat("file must not be null", () -> new BlackboardSnapshotFile(null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Asserts that everything on the blackboard is restored, but the fitness function and
+	 * the project information are the ones passed to
+	 * {@link BlackboardSnapshotFile#read(EvaluableExpressionFitnessFunction, ProjectInformation)}
+	 * .
+	 */
+	@Test
+	public void writeAndRead() {
+		final BlackboardSnapshotFile snapshotFile = new BlackboardSnapshotFile(this.file);
+		assertThat(snapshotFile.exists(), is(false));
+
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getFull();
+		blackboard.writeFor(TestStorer.class, "private data");
+		snapshotFile.write(blackboard);
+		assertThat(snapshotFile.exists(), is(true));
+
+		final EvaluableExpressionFitnessFunction fitnessFunction = FITNESS_FUNCTION_FACTORY.getOne();
+		final ProjectInformation projectInformation = PROJECT_INFORMATION_FACTORY.getOne();
+		final Blackboard restored = new BlackboardSnapshotFile(this.file).read(fitnessFunction, projectInformation);
+
+		assertThat(restored.getFitnessFunction(), is(theInstance(fitnessFunction)));
+		assertThat(restored.getProjectInformation(), is(theInstance(projectInformation)));
+		assertThat(restored.readFor(TestStorer.class), is("private data"));
+		assertThat(restored.getAllRdias(), containsInAnyOrder(blackboard.getAllRdias().toArray()));
+		assertThat(restored.getSeffBranchesToBeMeasured(),
+			containsInAnyOrder(blackboard.getSeffBranchesToBeMeasured().toArray()));
+		for (final ResourceDemandingInternalAction rdia : blackboard.getAllRdias()) {
+			assertThat(restored.getMeasurementResultColumnsFor(rdia).size(),
+				is(blackboard.getMeasurementResultColumnsFor(rdia).size()));
+			assertThat(restored.getProposedExpressionFor(rdia),
+				containsInAnyOrder(blackboard.getProposedExpressionFor(rdia).toArray()));
+			assertThat(restored.getFinalExpressionFor(rdia), is(blackboard.getFinalExpressionFor(rdia)));
+		}
+	}
+
+	/**
+	 * Asserts that writing a snapshot replaces the previous one.
+	 */
+	@Test
+	public void writeReplaces() {
+		final BlackboardSnapshotFile snapshotFile = new BlackboardSnapshotFile(this.file);
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithFewElements();
+		blackboard.writeFor(TestStorer.class, "first");
+		snapshotFile.write(blackboard);
+		blackboard.writeFor(TestStorer.class, "second");
+		snapshotFile.write(blackboard);
+
+		final Blackboard restored =
+			snapshotFile.read(FITNESS_FUNCTION_FACTORY.getOne(), PROJECT_INFORMATION_FACTORY.getOne());
+		assertThat(restored.readFor(TestStorer.class), is("second"));
+		assertThat("no temporary files must be left", this.file.getParentFile().list().length, is(1));
+	}
+
+	/**
+	 * Asserts that constant expressions are still unique for their value after being
+	 * restored.
+	 */
+	@Test
+	public void constantExpressionsStayUnique() {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithFewElements();
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		final EvaluableExpression constant = ConstantExpression.forValue(42);
+		blackboard.setFinalExpressionFor(rdia, constant);
+
+		final BlackboardSnapshotFile snapshotFile = new BlackboardSnapshotFile(this.file);
+		snapshotFile.write(blackboard);
+		final Blackboard restored =
+			snapshotFile.read(FITNESS_FUNCTION_FACTORY.getOne(), PROJECT_INFORMATION_FACTORY.getOne());
+
+		final ResourceDemandingInternalAction restoredRdia = restored.getAllRdias()
+			.stream()
+			.filter(rdia::equals)
+			.findAny()
+			.get();
+		assertThat(restored.getFinalExpressionFor(restoredRdia), is(theInstance(constant)));
+	}
+
+	/**
+	 * Test method for
+	 * {@link BlackboardSnapshotFile#read(EvaluableExpressionFitnessFunction, ProjectInformation)}
+	 * if no snapshot was written.
+	 */
+	@Test
+	public void readMissing() {
+		final BlackboardSnapshotFile snapshotFile = new BlackboardSnapshotFile(this.file);
+		assertThat(snapshotFile.read(FITNESS_FUNCTION_FACTORY.getOne(), PROJECT_INFORMATION_FACTORY.getOne()),
+			is(nullValue()));
+		assertThat("fitness function must not be null",
+			() -> snapshotFile.read(null, PROJECT_INFORMATION_FACTORY.getOne()),
+			throwsException(NullPointerException.class));
+		assertThat("blackboard must not be null", () -> snapshotFile.write(null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test {@link BlackboardStorer}.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class TestStorer implements BlackboardStorer<String> {
+	}
+}
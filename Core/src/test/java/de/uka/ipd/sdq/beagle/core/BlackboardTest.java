@@ -4,6 +4,11 @@ import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsE
 import static de.uka.ipd.sdq.beagle.core.testutil.NullHandlingMatchers.notAcceptingNull;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasProperty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.theInstance;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
@@ -11,6 +16,7 @@ import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.hamcrest.core.IsNull.notNullValue;
 
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
 import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunction;
 import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
@@ -34,6 +40,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -719,16 +726,72 @@ public class BlackboardTest {
 		ResourceDemandingInternalAction rdia = rdias.next();
 		final ResourceDemandMeasurementResult result = MEAUSUREMENT_RESULT_FACTORY.getRdiaResults()[0];
 		testedBlackboard.addMeasurementResultFor(rdia, result);
-		assertThat(testedBlackboard.getMeasurementResultsFor(rdia), contains(result));
+		assertThat("Results are stored by value", testedBlackboard.getMeasurementResultsFor(rdia),
+			contains(hasProperty("value", is(result.getValue()))));
 		assertThat(testedBlackboard.getMeasurementResultsFor(rdias.next()), is(empty()));
 
 		testedBlackboard = BLACKBOARD_FACTORY.getFull();
 		rdia = testedBlackboard.getAllRdias().iterator().next();
 		final Set<ResourceDemandMeasurementResult> blackboardSet = testedBlackboard.getMeasurementResultsFor(rdia);
-		final Set<ResourceDemandMeasurementResult> results = new HashSet<>(blackboardSet);
+		final int resultCount = blackboardSet.size();
 		blackboardSet.remove(blackboardSet.iterator().next());
 		assertThat("The blackboard must return copies of its sets!", testedBlackboard.getMeasurementResultsFor(rdia),
-			is(equalTo(results)));
+			hasSize(resultCount));
+	}
+
+	/**
+	 * Test method for the {@code getMeasurementResultColumnsFor} methods of
+	 * {@link Blackboard}. Asserts that the columns contain the values of all added results
+	 * and are live views on the blackboard’s content.
+	 */
+	@Test
+	public void getMeasurementResultColumnsFor() {
+		final Blackboard testedBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+
+		final ResourceDemandingInternalAction rdia = testedBlackboard.getAllRdias().iterator().next();
+		final DoubleMeasurementResultColumns rdiaColumns = testedBlackboard.getMeasurementResultColumnsFor(rdia);
+		assertThat(rdiaColumns.isEmpty(), is(true));
+		for (final ResourceDemandMeasurementResult result : MEAUSUREMENT_RESULT_FACTORY.getRdiaResults()) {
+			testedBlackboard.addMeasurementResultFor(rdia, result);
+		}
+		assertThat("The columns must be live views", rdiaColumns,
+			is(theInstance(testedBlackboard.getMeasurementResultColumnsFor(rdia))));
+		assertThat(rdiaColumns.size(), is(MEAUSUREMENT_RESULT_FACTORY.getRdiaResults().length));
+		for (int i = 0; i < rdiaColumns.size(); i++) {
+			assertThat(rdiaColumns.getValueAt(i), is(MEAUSUREMENT_RESULT_FACTORY.getRdiaResults()[i].getValue()));
+		}
+
+		final SeffBranch branch = testedBlackboard.getAllSeffBranches().iterator().next();
+		for (final BranchDecisionMeasurementResult result : MEAUSUREMENT_RESULT_FACTORY.getBranchResults()) {
+			testedBlackboard.addMeasurementResultFor(branch, result);
+		}
+		final IntMeasurementResultColumns branchColumns = testedBlackboard.getMeasurementResultColumnsFor(branch);
+		assertThat(branchColumns.size(), is(MEAUSUREMENT_RESULT_FACTORY.getBranchResults().length));
+		for (int i = 0; i < branchColumns.size(); i++) {
+			assertThat(branchColumns.getValueAt(i),
+				is(MEAUSUREMENT_RESULT_FACTORY.getBranchResults()[i].getBranchIndex()));
+		}
+
+		final SeffLoop loop = testedBlackboard.getAllSeffLoops().iterator().next();
+		for (final LoopRepetitionCountMeasurementResult result : MEAUSUREMENT_RESULT_FACTORY.getLoopResults()) {
+			testedBlackboard.addMeasurementResultFor(loop, result);
+		}
+		final IntMeasurementResultColumns loopColumns = testedBlackboard.getMeasurementResultColumnsFor(loop);
+		assertThat(loopColumns.size(), is(MEAUSUREMENT_RESULT_FACTORY.getLoopResults().length));
+		for (int i = 0; i < loopColumns.size(); i++) {
+			assertThat(loopColumns.getValueAt(i), is(MEAUSUREMENT_RESULT_FACTORY.getLoopResults()[i].getCount()));
+		}
+
+		final ExternalCallParameter parameter = testedBlackboard.getAllExternalCallParameters().iterator().next();
+		testedBlackboard.addMeasurementResultFor(parameter, MEAUSUREMENT_RESULT_FACTORY.getParameterResults()[0]);
+		assertThat(testedBlackboard.getMeasurementResultColumnsFor(parameter).size(), is(1));
+
+		assertThat("Must not accept null",
+			() -> testedBlackboard.getMeasurementResultColumnsFor((ResourceDemandingInternalAction) null),
+			throwsException(NullPointerException.class));
+		assertThat("It must not be possible to ask for unknown elements on the Blackboard",
+			() -> BLACKBOARD_FACTORY.getEmpty().getMeasurementResultColumnsFor(RDIA_FACTORY.getOne()),
+			throwsException(IllegalArgumentException.class));
 	}
 
 	/**
@@ -777,17 +840,19 @@ public class BlackboardTest {
 		SeffBranch seffBranch = branches.next();
 		final BranchDecisionMeasurementResult result = MEAUSUREMENT_RESULT_FACTORY.getBranchResults()[0];
 		testedBlackboard.addMeasurementResultFor(seffBranch, result);
-		assertThat(testedBlackboard.getMeasurementResultsFor(seffBranch), contains(result));
+		assertThat("Results are stored by value", testedBlackboard.getMeasurementResultsFor(seffBranch),
+			contains(hasProperty("branchIndex", is(result.getBranchIndex()))));
 		assertThat(testedBlackboard.getMeasurementResultsFor(branches.next()), is(empty()));
 
 		testedBlackboard = BLACKBOARD_FACTORY.getFull();
 		seffBranch = testedBlackboard.getAllSeffBranches().iterator().next();
 		final Set<BranchDecisionMeasurementResult> blackboardSet =
 			testedBlackboard.getMeasurementResultsFor(seffBranch);
-		final Set<BranchDecisionMeasurementResult> results = new HashSet<>(blackboardSet);
+		final int resultCount = blackboardSet.size();
 		blackboardSet.remove(blackboardSet.iterator().next());
 		assertThat("The blackboard must return copies of its sets!",
-			testedBlackboard.getMeasurementResultsFor(seffBranch), is(equalTo(results)));
+			testedBlackboard.getMeasurementResultsFor(seffBranch),
+			hasSize(resultCount));
 	}
 
 	/**
@@ -836,17 +901,19 @@ public class BlackboardTest {
 		SeffLoop seffLoop = loops.next();
 		final LoopRepetitionCountMeasurementResult result = MEAUSUREMENT_RESULT_FACTORY.getLoopResults()[0];
 		testedBlackboard.addMeasurementResultFor(seffLoop, result);
-		assertThat(testedBlackboard.getMeasurementResultsFor(seffLoop), contains(result));
+		assertThat("Results are stored by value", testedBlackboard.getMeasurementResultsFor(seffLoop),
+			contains(hasProperty("count", is(result.getCount()))));
 		assertThat(testedBlackboard.getMeasurementResultsFor(loops.next()), is(empty()));
 
 		testedBlackboard = BLACKBOARD_FACTORY.getFull();
 		seffLoop = testedBlackboard.getAllSeffLoops().iterator().next();
 		final Set<LoopRepetitionCountMeasurementResult> blackboardSet =
 			testedBlackboard.getMeasurementResultsFor(seffLoop);
-		final Set<LoopRepetitionCountMeasurementResult> results = new HashSet<>(blackboardSet);
+		final int resultCount = blackboardSet.size();
 		blackboardSet.remove(blackboardSet.iterator().next());
 		assertThat("The blackboard must return copies of its sets!",
-			testedBlackboard.getMeasurementResultsFor(seffLoop), is(equalTo(results)));
+			testedBlackboard.getMeasurementResultsFor(seffLoop),
+			hasSize(resultCount));
 	}
 
 	/**
@@ -898,17 +965,19 @@ public class BlackboardTest {
 		ExternalCallParameter externalCallParameter = parameters.next();
 		final ParameterChangeMeasurementResult result = MEAUSUREMENT_RESULT_FACTORY.getParameterResults()[0];
 		testedBlackboard.addMeasurementResultFor(externalCallParameter, result);
-		assertThat(testedBlackboard.getMeasurementResultsFor(externalCallParameter), contains(result));
+		assertThat("Results are stored by value", testedBlackboard.getMeasurementResultsFor(externalCallParameter),
+			contains(hasProperty("count", is(result.getCount()))));
 		assertThat(testedBlackboard.getMeasurementResultsFor(parameters.next()), is(empty()));
 
 		testedBlackboard = BLACKBOARD_FACTORY.getFull();
 		externalCallParameter = testedBlackboard.getAllExternalCallParameters().iterator().next();
 		final Set<ParameterChangeMeasurementResult> blackboardSet =
 			testedBlackboard.getMeasurementResultsFor(externalCallParameter);
-		final Set<ParameterChangeMeasurementResult> results = new HashSet<>(blackboardSet);
+		final int resultCount = blackboardSet.size();
 		blackboardSet.remove(blackboardSet.iterator().next());
 		assertThat("The blackboard must return copies of its sets!",
-			testedBlackboard.getMeasurementResultsFor(externalCallParameter), is(equalTo(results)));
+			testedBlackboard.getMeasurementResultsFor(externalCallParameter),
+			hasSize(resultCount));
 	}
 
 	/**
@@ -1236,6 +1305,38 @@ public class BlackboardTest {
 		}, throwsException(IllegalArgumentException.class));
 	}
 
+	/**
+	 * Asserts that expressions can be proposed concurrently without losing any of them.
+	 *
+	 * @throws InterruptedException Should not happen.
+	 */
+	@Test
+	public void addProposedExpressionForConcurrently() throws InterruptedException {
+		final Blackboard testBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final ResourceDemandingInternalAction rdia = testBlackboard.getAllRdias().iterator().next();
+		final int threadCount = 4;
+		final int expressionsPerThread = 500;
+
+		final Thread[] threads = new Thread[threadCount];
+		for (int thread = 0; thread < threadCount; thread++) {
+			final int firstValue = thread * expressionsPerThread;
+			threads[thread] = new Thread(() -> {
+				for (int i = firstValue; i < firstValue + expressionsPerThread; i++) {
+					testBlackboard.addProposedExpressionFor(rdia, ConstantExpression.forValue(i));
+					testBlackboard.addToBeMeasuredRdias(rdia);
+				}
+			});
+			threads[thread].start();
+		}
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+
+		assertThat("No concurrently proposed expression may be lost", testBlackboard.getProposedExpressionFor(rdia),
+			hasSize(threadCount * expressionsPerThread));
+		assertThat(testBlackboard.getRdiasToBeMeasured(), hasItem(rdia));
+	}
+
 	/**
 	 * Test method for {@link Blackboard#getFinalExpressionFor(MeasurableSeffElement)}.
 	 * Asserts that:
@@ -1449,6 +1550,187 @@ public class BlackboardTest {
 		assertThat(rdias, is(empty()));
 	}
 
+	/**
+	 * Test method for the {@code view} methods of {@link Blackboard}. Asserts that the
+	 * views reflect later changes to the blackboard and cannot be modified.
+	 */
+	@Test
+	public void views() {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		assertThat(blackboard.viewAllRdias(), is(equalTo(blackboard.getAllRdias())));
+		assertThat(blackboard.viewAllSeffBranches(), is(equalTo(blackboard.getAllSeffBranches())));
+		assertThat(blackboard.viewAllSeffLoops(), is(equalTo(blackboard.getAllSeffLoops())));
+		assertThat(blackboard.viewAllExternalCallParameters(),
+			is(equalTo(blackboard.getAllExternalCallParameters())));
+		assertThat(blackboard.viewRdiasToBeMeasured(), is(equalTo(blackboard.getRdiasToBeMeasured())));
+		assertThat(blackboard.viewSeffBranchesToBeMeasured(), is(equalTo(blackboard.getSeffBranchesToBeMeasured())));
+		assertThat(blackboard.viewSeffLoopsToBeMeasured(), is(equalTo(blackboard.getSeffLoopsToBeMeasured())));
+		assertThat(blackboard.viewExternalCallParametersToBeMeasured(),
+			is(equalTo(blackboard.getExternalCallParametersToBeMeasured())));
+
+		final Set<ResourceDemandingInternalAction> rdiasToBeMeasured = blackboard.viewRdiasToBeMeasured();
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		blackboard.addToBeMeasuredRdias(rdia);
+		assertThat("views must reflect changes of the blackboard", rdiasToBeMeasured, hasItem(rdia));
+		assertThat(() -> rdiasToBeMeasured.remove(rdia), throwsException(UnsupportedOperationException.class));
+		assertThat(() -> blackboard.viewAllSeffLoops().clear(), throwsException(UnsupportedOperationException.class));
+
+		final Set<EvaluableExpression> proposed = blackboard.viewProposedExpressionsFor(rdia);
+		final EvaluableExpression expression = EVALUABLE_EXPRESSION_FACTORY.getOne();
+		blackboard.addProposedExpressionFor(rdia, expression);
+		assertThat("views must reflect changes of the blackboard", proposed, hasItem(expression));
+		assertThat(() -> proposed.add(expression), throwsException(UnsupportedOperationException.class));
+		assertThat(() -> blackboard.viewProposedExpressionsFor(null), throwsException(NullPointerException.class));
+		assertThat(() -> BLACKBOARD_FACTORY.getEmpty().viewProposedExpressionsFor(rdia),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link Blackboard#hasElementsToBeMeasured()}.
+	 */
+	@Test
+	public void hasElementsToBeMeasured() {
+		assertThat(BLACKBOARD_FACTORY.getEmpty().hasElementsToBeMeasured(), is(false));
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithFewElements();
+		assertThat(blackboard.hasElementsToBeMeasured(), is(false));
+		blackboard.addToBeMeasuredSeffLoops(blackboard.getAllSeffLoops());
+		assertThat(blackboard.hasElementsToBeMeasured(), is(true));
+	}
+
+	/**
+	 * Test method for the {@code addMeasurementResultsFor} methods and
+	 * {@link Blackboard#addProposedExpressionsFor(MeasurableSeffElement, Collection)}.
+	 * Asserts that adding many items at once stores as many items as adding them one by
+	 * one and that invalid input is rejected.
+	 */
+	@Test
+	public void bulkAdd() {
+		final Blackboard bulkBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final Blackboard singleBlackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final ResourceDemandingInternalAction rdia = bulkBlackboard.getAllRdias().iterator().next();
+		final SeffBranch branch = bulkBlackboard.getAllSeffBranches().iterator().next();
+		final SeffLoop loop = bulkBlackboard.getAllSeffLoops().iterator().next();
+		final ExternalCallParameter parameter = bulkBlackboard.getAllExternalCallParameters().iterator().next();
+
+		final List<ResourceDemandMeasurementResult> rdiaResults =
+			Arrays.asList(MEAUSUREMENT_RESULT_FACTORY.getRdiaResults());
+		final List<BranchDecisionMeasurementResult> branchResults =
+			Arrays.asList(MEAUSUREMENT_RESULT_FACTORY.getBranchResults());
+		final List<LoopRepetitionCountMeasurementResult> loopResults =
+			Arrays.asList(MEAUSUREMENT_RESULT_FACTORY.getLoopResults());
+		final List<ParameterChangeMeasurementResult> parameterResults =
+			Arrays.asList(MEAUSUREMENT_RESULT_FACTORY.getParameterResults());
+		final Set<EvaluableExpression> expressions = EVALUABLE_EXPRESSION_FACTORY.getAllAsSet();
+
+		bulkBlackboard.addMeasurementResultsFor(rdia, rdiaResults);
+		bulkBlackboard.addMeasurementResultsFor(branch, branchResults);
+		bulkBlackboard.addMeasurementResultsFor(loop, loopResults);
+		bulkBlackboard.addMeasurementResultsFor(parameter, parameterResults);
+		bulkBlackboard.addProposedExpressionsFor(loop, expressions);
+		rdiaResults.forEach((result) -> singleBlackboard.addMeasurementResultFor(rdia, result));
+		branchResults.forEach((result) -> singleBlackboard.addMeasurementResultFor(branch, result));
+		loopResults.forEach((result) -> singleBlackboard.addMeasurementResultFor(loop, result));
+		parameterResults.forEach((result) -> singleBlackboard.addMeasurementResultFor(parameter, result));
+		expressions.forEach((expression) -> singleBlackboard.addProposedExpressionFor(loop, expression));
+
+		assertThat(bulkBlackboard.getMeasurementResultsFor(rdia),
+			hasSize(singleBlackboard.getMeasurementResultsFor(rdia).size()));
+		assertThat(bulkBlackboard.getMeasurementResultsFor(branch),
+			hasSize(singleBlackboard.getMeasurementResultsFor(branch).size()));
+		assertThat(bulkBlackboard.getMeasurementResultsFor(loop),
+			hasSize(singleBlackboard.getMeasurementResultsFor(loop).size()));
+		assertThat(bulkBlackboard.getMeasurementResultsFor(parameter),
+			hasSize(singleBlackboard.getMeasurementResultsFor(parameter).size()));
+		assertThat(bulkBlackboard.getProposedExpressionFor(loop),
+			is(equalTo(singleBlackboard.getProposedExpressionFor(loop))));
+
+		assertThat(() -> bulkBlackboard.addMeasurementResultsFor(rdia, null),
+			throwsException(NullPointerException.class));
+		assertThat(() -> bulkBlackboard.addMeasurementResultsFor((SeffBranch) null, branchResults),
+			throwsException(NullPointerException.class));
+		assertThat(() -> bulkBlackboard.addMeasurementResultsFor(loop, Arrays.asList(loopResults.get(0), null)),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> BLACKBOARD_FACTORY.getEmpty().addMeasurementResultsFor(parameter, parameterResults),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> bulkBlackboard.addProposedExpressionsFor(null, expressions),
+			throwsException(NullPointerException.class));
+		assertThat(() -> BLACKBOARD_FACTORY.getEmpty().addProposedExpressionsFor(loop, expressions),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for the version and changelog methods of {@link Blackboard}. Asserts
+	 * that:
+	 *
+	 * <ul>
+	 *
+	 * <li> Versions are {@code 0} before anything changed and increase with every
+	 * change.
+	 *
+	 * <li> Exactly the elements that changed after a version are reported.
+	 *
+	 * <li> Proposing an expression that was already proposed is no change.
+	 *
+	 * <li> Invalid input is rejected.
+	 *
+	 * </ul>
+	 */
+	@Test
+	public void changelog() {
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		final SeffLoop loop = blackboard.getAllSeffLoops().iterator().next();
+		assertThat(blackboard.getMeasurementResultsVersion(), is(0L));
+		assertThat(blackboard.getProposedExpressionsVersion(), is(0L));
+		assertThat(blackboard.getMeasurementResultsVersionFor(rdia), is(0L));
+		assertThat(blackboard.getElementsWithMeasurementResultsSince(0), is(empty()));
+
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(2));
+		final long rdiaVersion = blackboard.getMeasurementResultsVersion();
+		assertThat(rdiaVersion, is(greaterThan(0L)));
+		assertThat(blackboard.getMeasurementResultsVersionFor(rdia), is(rdiaVersion));
+		assertThat(blackboard.getMeasurementResultsVersionFor(loop), is(0L));
+		assertThat(blackboard.getElementsWithMeasurementResultsSince(0), contains(rdia));
+
+		blackboard.addMeasurementResultsFor(loop, Arrays.asList(new LoopRepetitionCountMeasurementResult(3)));
+		assertThat(blackboard.getMeasurementResultsVersion(), is(greaterThan(rdiaVersion)));
+		assertThat(blackboard.getElementsWithMeasurementResultsSince(rdiaVersion), contains(loop));
+		assertThat(blackboard.getElementsWithMeasurementResultsSince(0), containsInAnyOrder(rdia, loop));
+		final long loopVersion = blackboard.getMeasurementResultsVersion();
+		blackboard.addMeasurementResultsFor(loop, Arrays.asList());
+		assertThat("adding no results is no change", blackboard.getMeasurementResultsVersion(), is(loopVersion));
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(4));
+		assertThat(blackboard.getElementsWithMeasurementResultsSince(loopVersion), contains(rdia));
+		assertThat(blackboard.getElementsWithProposedExpressionsSince(0), is(empty()));
+
+		final EvaluableExpression expression = EVALUABLE_EXPRESSION_FACTORY.getOne();
+		blackboard.addProposedExpressionFor(loop, expression);
+		final long proposalVersion = blackboard.getProposedExpressionsVersion();
+		assertThat("versions are shared by all kinds of changes", proposalVersion,
+			is(greaterThan(blackboard.getMeasurementResultsVersion())));
+		assertThat(blackboard.getProposedExpressionsVersionFor(loop), is(proposalVersion));
+		assertThat(blackboard.getElementsWithProposedExpressionsSince(0), contains(loop));
+		blackboard.addProposedExpressionFor(loop, expression);
+		blackboard.addProposedExpressionsFor(loop, Arrays.asList(expression));
+		assertThat("proposing an expression again is no change", blackboard.getProposedExpressionsVersion(),
+			is(proposalVersion));
+		blackboard.addProposedExpressionsFor(rdia, EVALUABLE_EXPRESSION_FACTORY.getAllAsSet());
+		assertThat(blackboard.getElementsWithProposedExpressionsSince(proposalVersion), contains(rdia));
+
+		assertThat(() -> blackboard.getElementsWithMeasurementResultsSince(-1),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> blackboard.getElementsWithProposedExpressionsSince(-1),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> blackboard.getMeasurementResultsVersionFor(null),
+			throwsException(NullPointerException.class));
+		assertThat(() -> blackboard.getProposedExpressionsVersionFor(null),
+			throwsException(NullPointerException.class));
+		assertThat(() -> BLACKBOARD_FACTORY.getEmpty().getMeasurementResultsVersionFor(rdia),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> BLACKBOARD_FACTORY.getEmpty().getProposedExpressionsVersionFor(rdia),
+			throwsException(IllegalArgumentException.class));
+	}
+
 	/**
 	 * Test {@link BlackboardStorer}. {@link Blackboard#clearToBeMeasuredRdias()}
 	 *
@@ -0,0 +1,118 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.mock;
+
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableColumns;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Tests {@link DoubleMeasurementResultColumns} and contains the test cases needed to
+ * check all methods.
+ *
+ * @author Joshua Gleitze
+ */
+public class DoubleMeasurementResultColumnsTest {
+
+	/**
+	 * Number of results to add to make the columns grow multiple times.
+	 */
+	private static final int MANY_RESULTS = 1000;
+
+	/**
+	 * Test method for {@link DoubleMeasurementResultColumns#size()},
+	 * {@link DoubleMeasurementResultColumns#isEmpty()},
+	 * {@link DoubleMeasurementResultColumns#getValueAt(int)} and
+	 * {@link DoubleMeasurementResultColumns#getValues()}.
+	 */
+	@Test
+	public void values() {
+		final DoubleMeasurementResultColumns columns = new DoubleMeasurementResultColumns();
+		assertThat(columns.isEmpty(), is(true));
+		assertThat(columns.size(), is(0));
+		assertThat("There must not be a value at index 0", () -> columns.getValueAt(0),
+			throwsException(IndexOutOfBoundsException.class));
+
+		for (int i = 0; i < MANY_RESULTS; i++) {
+			columns.add(null, i * .5);
+		}
+		assertThat(columns.isEmpty(), is(false));
+		assertThat(columns.size(), is(MANY_RESULTS));
+		for (int i = 0; i < MANY_RESULTS; i++) {
+			assertThat(columns.getValueAt(i), is(i * .5));
+		}
+		assertThat(columns.getValues().count(), is((long) MANY_RESULTS));
+		assertThat("There must not be a value after the last one", () -> columns.getValueAt(MANY_RESULTS),
+			throwsException(IndexOutOfBoundsException.class));
+		assertThat("There must not be a value at a negative index", () -> columns.getValueAt(-1),
+			throwsException(IndexOutOfBoundsException.class));
+	}
+
+	/**
+	 * Test method for {@link DoubleMeasurementResultColumns#getParameterisationAt(int)}.
+	 */
+	@Test
+	public void getParameterisationAt() {
+		final DoubleMeasurementResultColumns columns = new DoubleMeasurementResultColumns();
+		final Parameterisation parameterisation = mock(Parameterisation.class);
+		columns.add(null, 1);
+		columns.add(parameterisation, 2);
+		columns.add(null, 3);
+
+		assertThat(columns.getParameterisationAt(0), is(nullValue()));
+		assertThat(columns.getParameterisationAt(1), is(parameterisation));
+		assertThat(columns.getParameterisationAt(2), is(nullValue()));
+		assertThat(columns.getValues().boxed().collect(Collectors.toList()), contains(1d, 2d, 3d));
+		assertThat(() -> columns.getParameterisationAt(3), throwsException(IndexOutOfBoundsException.class));
+	}
+
+	/**
+	 * Test method for {@link MeasurementResultColumns#getVariableColumns(int, int)}.
+	 *
+	 * <p>Asserts that only variables covered by all parameterisations in the range get a
+	 * column, that rows correspond to the results in the range and that invalid ranges
+	 * are rejected.
+	 */
+	@Test
+	public void getVariableColumns() {
+		final DoubleMeasurementResultColumns columns = new DoubleMeasurementResultColumns();
+		final EvaluableVariable size = new EvaluableVariable("size");
+		final EvaluableVariable depth = new EvaluableVariable("depth");
+		final Map<EvaluableVariable, Double> values = new HashMap<>();
+		values.put(size, 10d);
+		columns.add(new Parameterisation(values), 1);
+		values.put(size, 20d);
+		values.put(depth, 3d);
+		columns.add(new Parameterisation(values), 2);
+		columns.add(null, 3);
+
+		final EvaluableVariableColumns bothRows = columns.getVariableColumns(0, 2);
+		assertThat(bothRows.getRowCount(), is(2));
+		assertThat(bothRows.getColumnFor(size), is(new double[] {
+			10, 20
+		}));
+		assertThat(bothRows.isColumnSetFor(depth), is(false));
+
+		final EvaluableVariableColumns secondRow = columns.getVariableColumns(1, 2);
+		assertThat(secondRow.getColumnFor(depth), is(new double[] {
+			3
+		}));
+		assertThat(columns.getVariableColumns(1, 3).isColumnSetFor(size), is(false));
+		assertThat(columns.getVariableColumns(3, 3).getRowCount(), is(0));
+
+		assertThat(() -> columns.getVariableColumns(-1, 2), throwsException(IllegalArgumentException.class));
+		assertThat(() -> columns.getVariableColumns(2, 1), throwsException(IllegalArgumentException.class));
+		assertThat(() -> columns.getVariableColumns(0, 4), throwsException(IllegalArgumentException.class));
+	}
+}
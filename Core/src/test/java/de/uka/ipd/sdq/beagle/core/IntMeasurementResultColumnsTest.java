@@ -0,0 +1,75 @@
+package de.uka.ipd.sdq.beagle.core;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.mockito.Mockito.mock;
+
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
+
+import org.junit.Test;
+
+import java.util.stream.Collectors;
+
+/**
+ * Tests {@link IntMeasurementResultColumns} and contains the test cases needed to
+ * check all methods.
+ *
+ * @author Joshua Gleitze
+ */
+public class IntMeasurementResultColumnsTest {
+
+	/**
+	 * Number of results to add to make the columns grow multiple times.
+	 */
+	private static final int MANY_RESULTS = 1000;
+
+	/**
+	 * Test method for {@link IntMeasurementResultColumns#size()},
+	 * {@link IntMeasurementResultColumns#isEmpty()},
+	 * {@link IntMeasurementResultColumns#getValueAt(int)} and
+	 * {@link IntMeasurementResultColumns#getValues()}.
+	 */
+	@Test
+	public void values() {
+		final IntMeasurementResultColumns columns = new IntMeasurementResultColumns();
+		assertThat(columns.isEmpty(), is(true));
+		assertThat(columns.size(), is(0));
+		assertThat("There must not be a value at index 0", () -> columns.getValueAt(0),
+			throwsException(IndexOutOfBoundsException.class));
+
+		for (int i = 0; i < MANY_RESULTS; i++) {
+			columns.add(null, i * 2);
+		}
+		assertThat(columns.isEmpty(), is(false));
+		assertThat(columns.size(), is(MANY_RESULTS));
+		for (int i = 0; i < MANY_RESULTS; i++) {
+			assertThat(columns.getValueAt(i), is(i * 2));
+		}
+		assertThat(columns.getValues().count(), is((long) MANY_RESULTS));
+		assertThat("There must not be a value after the last one", () -> columns.getValueAt(MANY_RESULTS),
+			throwsException(IndexOutOfBoundsException.class));
+		assertThat("There must not be a value at a negative index", () -> columns.getValueAt(-1),
+			throwsException(IndexOutOfBoundsException.class));
+	}
+
+	/**
+	 * Test method for {@link IntMeasurementResultColumns#getParameterisationAt(int)}.
+	 */
+	@Test
+	public void getParameterisationAt() {
+		final IntMeasurementResultColumns columns = new IntMeasurementResultColumns();
+		final Parameterisation parameterisation = mock(Parameterisation.class);
+		columns.add(null, 1);
+		columns.add(parameterisation, 2);
+		columns.add(null, 3);
+
+		assertThat(columns.getParameterisationAt(0), is(nullValue()));
+		assertThat(columns.getParameterisationAt(1), is(parameterisation));
+		assertThat(columns.getParameterisationAt(2), is(nullValue()));
+		assertThat(columns.getValues().boxed().collect(Collectors.toList()), contains(1, 2, 3));
+		assertThat(() -> columns.getParameterisationAt(3), throwsException(IndexOutOfBoundsException.class));
+	}
+}
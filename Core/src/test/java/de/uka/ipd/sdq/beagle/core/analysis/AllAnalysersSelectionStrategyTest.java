@@ -0,0 +1,45 @@
+package de.uka.ipd.sdq.beagle.core.analysis;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link AllAnalysersSelectionStrategy} and contains all test cases needed to check
+ * every method.
+ *
+ * @author Joshua Gleitze
+ */
+public class AllAnalysersSelectionStrategyTest {
+
+	/**
+	 * Test method for {@link AllAnalysersSelectionStrategy#select(List)}. Asserts that all
+	 * analysers are selected and that invalid input is rejected.
+	 */
+	@Test
+	public void select() {
+		final AllAnalysersSelectionStrategy strategy = new AllAnalysersSelectionStrategy();
+		final List<String> analysers = Arrays.asList("a", "b", "c");
+
+		assertThat(strategy.select(analysers), contains("a", "b", "c"));
+		strategy.reportImprovement("a", 1);
+		assertThat("Reported improvements must not change the selection", strategy.select(analysers),
+			contains("a", "b", "c"));
+
+		assertThat(() -> strategy.select(null), throwsException(NullPointerException.class));
+		assertThat(() -> strategy.select(Collections.emptyList()), throwsException(IllegalArgumentException.class));
+		assertThat(() -> strategy.select(Arrays.asList("a", null)), throwsException(IllegalArgumentException.class));
+		assertThat(() -> strategy.reportImprovement(null, 0), throwsException(NullPointerException.class));
+
+		final List<String> selection = strategy.select(analysers);
+		selection.clear();
+		assertThat("The selection must be a copy", analysers.size(), is(3));
+	}
+}
@@ -0,0 +1,99 @@
+package de.uka.ipd.sdq.beagle.core.analysis;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link BanditAnalyserSelectionStrategy} and contains all test cases needed to
+ * check every method.
+ *
+ * @author Joshua Gleitze
+ */
+public class BanditAnalyserSelectionStrategyTest {
+
+	/**
+	 * Test method for
+	 * {@link BanditAnalyserSelectionStrategy#BanditAnalyserSelectionStrategy(int)}.
+	 */
+	@Test
+	public void constructor() {
+		new BanditAnalyserSelectionStrategy(1);
+		new BanditAnalyserSelectionStrategy(20);
+		assertThat(() -> new BanditAnalyserSelectionStrategy(0), throwsException(IllegalArgumentException.class));
+		assertThat(() -> new BanditAnalyserSelectionStrategy(-3), throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link BanditAnalyserSelectionStrategy#select(List)}. Asserts that
+	 * untried analysers are tried first, that analysers achieving improvements are
+	 * preferred afterwards and that invalid input is rejected.
+	 */
+	@Test
+	public void select() {
+		final BanditAnalyserSelectionStrategy strategy = new BanditAnalyserSelectionStrategy(1);
+		final List<String> analysers = Arrays.asList("good", "bad", "useless");
+
+		assertThat("All analysers must be selected if there are few enough",
+			new BanditAnalyserSelectionStrategy(3).select(analysers), contains("good", "bad", "useless"));
+
+		// every analyser is tried once, in order
+		for (final String analyser : analysers) {
+			assertThat(strategy.select(analysers), contains(analyser));
+			strategy.reportImprovement(analyser, analyser.equals("good") ? 0.9 : 0);
+		}
+
+		int goodSelections = 0;
+		// CHECKSTYLE:IGNORE MagicNumber
+		final int rounds = 100;
+		for (int round = 0; round < rounds; round++) {
+			final List<String> selection = strategy.select(analysers);
+			assertThat(selection, hasSize(1));
+			if (selection.contains("good")) {
+				goodSelections++;
+				strategy.reportImprovement("good", 0.9);
+			} else {
+				strategy.reportImprovement(selection.get(0), 0);
+			}
+		}
+		assertThat("The improving analyser must be selected most of the time", goodSelections,
+			is(greaterThan(rounds / 2)));
+
+		assertThat(() -> strategy.select(null), throwsException(NullPointerException.class));
+		assertThat(() -> strategy.select(Collections.emptyList()), throwsException(IllegalArgumentException.class));
+		assertThat(() -> strategy.select(Arrays.asList("good", null)), throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for
+	 * {@link BanditAnalyserSelectionStrategy#reportImprovement(Object, double)}. Asserts
+	 * that analysers that were selected together are rewarded individually and that
+	 * invalid input is rejected.
+	 */
+	@Test
+	public void reportImprovement() {
+		final BanditAnalyserSelectionStrategy strategy = new BanditAnalyserSelectionStrategy(1);
+		final List<String> analysers = Arrays.asList("a", "b");
+		strategy.reportImprovement("a", 0);
+		strategy.reportImprovement("b", 1);
+		strategy.reportImprovement("a", 0);
+		strategy.reportImprovement("b", 0.8);
+		assertThat("The analyser whose own proposals improved the results must be preferred",
+			strategy.select(analysers), contains("b"));
+
+		assertThat(() -> strategy.reportImprovement(null, 0), throwsException(NullPointerException.class));
+		assertThat(() -> strategy.reportImprovement("a", -0.1), throwsException(IllegalArgumentException.class));
+		assertThat(() -> strategy.reportImprovement("a", 1.1), throwsException(IllegalArgumentException.class));
+		assertThat(() -> strategy.reportImprovement("a", Double.NaN),
+			throwsException(IllegalArgumentException.class));
+	}
+}
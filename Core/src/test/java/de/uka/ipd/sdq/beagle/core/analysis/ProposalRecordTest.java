@@ -0,0 +1,98 @@
+package de.uka.ipd.sdq.beagle.core.analysis;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffBranchFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.IntStream;
+
+/**
+ * Tests {@link ProposalRecord} and contains all test cases needed to check every method.
+ *
+ * @author Joshua Gleitze
+ */
+public class ProposalRecordTest {
+
+	/**
+	 * An {@link EvaluableExpression} factory to easily obtain new instances from.
+	 */
+	private static final EvaluableExpressionFactory EVALUABLE_EXPRESSION_FACTORY = new EvaluableExpressionFactory();
+
+	/**
+	 * A {@link de.uka.ipd.sdq.beagle.core.SeffBranch} factory to easily obtain new
+	 * instances from.
+	 */
+	private static final SeffBranchFactory SEFF_BRANCH_FACTORY = new SeffBranchFactory();
+
+	/**
+	 * A {@link de.uka.ipd.sdq.beagle.core.SeffLoop} factory to easily obtain new instances
+	 * from.
+	 */
+	private static final SeffLoopFactory SEFF_LOOP_FACTORY = new SeffLoopFactory();
+
+	/**
+	 * Test method for
+	 * {@link ProposalRecord#record(MeasurableSeffElement, EvaluableExpression)},
+	 * {@link ProposalRecord#recordAll(MeasurableSeffElement, java.util.Collection)} and
+	 * {@link ProposalRecord#getProposals()}.
+	 *
+	 * <p>Asserts that proposals are recorded for the element they were proposed for and
+	 * that invalid input is rejected.
+	 */
+	@Test
+	public void record() {
+		final ProposalRecord proposalRecord = new ProposalRecord();
+		final MeasurableSeffElement branch = SEFF_BRANCH_FACTORY.getOne();
+		final MeasurableSeffElement[] loops = SEFF_LOOP_FACTORY.getAll();
+		final MeasurableSeffElement loop = loops[0];
+		final EvaluableExpression[] expressions = EVALUABLE_EXPRESSION_FACTORY.getAll();
+
+		assertThat(proposalRecord.getProposals().isEmpty(), is(true));
+		proposalRecord.record(branch, expressions[0]);
+		proposalRecord.recordAll(branch, Arrays.asList(expressions[1], expressions[0]));
+		proposalRecord.recordAll(loop, Collections.singleton(expressions[2]));
+
+		assertThat(proposalRecord.getProposals().get(branch), containsInAnyOrder(expressions[0], expressions[1]));
+		assertThat(proposalRecord.getProposals().get(loop), containsInAnyOrder(expressions[2]));
+		assertThat(proposalRecord.getProposals().get(loops[1]), is(nullValue()));
+		assertThat(() -> proposalRecord.getProposals().clear(), throwsException(UnsupportedOperationException.class));
+
+		assertThat(() -> proposalRecord.record(null, expressions[0]), throwsException(NullPointerException.class));
+		assertThat(() -> proposalRecord.record(branch, null), throwsException(NullPointerException.class));
+		assertThat(() -> proposalRecord.recordAll(null, Collections.emptySet()),
+			throwsException(NullPointerException.class));
+		assertThat(() -> proposalRecord.recordAll(branch, null), throwsException(NullPointerException.class));
+		assertThat(() -> proposalRecord.recordAll(branch, Arrays.asList(expressions[0], null)),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for
+	 * {@link ProposalRecord#record(MeasurableSeffElement, EvaluableExpression)}.
+	 *
+	 * <p>Asserts that proposals recorded from multiple threads at once are not lost.
+	 */
+	@Test
+	public void recordConcurrently() {
+		final ProposalRecord proposalRecord = new ProposalRecord();
+		final MeasurableSeffElement branch = SEFF_BRANCH_FACTORY.getOne();
+		final EvaluableExpression[] expressions = EVALUABLE_EXPRESSION_FACTORY.getAll();
+
+		IntStream.range(0, expressions.length * 100)
+			.parallel()
+			.forEach((i) -> proposalRecord.record(branch, expressions[i % expressions.length]));
+		assertThat(proposalRecord.getProposals().get(branch), containsInAnyOrder(expressions));
+	}
+}
@@ -1,6 +1,8 @@
 package de.uka.ipd.sdq.beagle.core.analysis;
 
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
@@ -13,6 +15,7 @@ import static org.mockito.Mockito.mock;
 import de.uka.ipd.sdq.beagle.core.Blackboard;
 import de.uka.ipd.sdq.beagle.core.BlackboardStorer;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
 import de.uka.ipd.sdq.beagle.core.ProjectInformation;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
 import de.uka.ipd.sdq.beagle.core.SeffBranch;
@@ -25,6 +28,7 @@ import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.testutil.EqualsMatcher;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFitnessFunctionFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.ExternalCallParameterFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.ProjectInformationFactory;
@@ -35,6 +39,7 @@ import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -75,6 +80,11 @@ public class ProposedExpressionAnalyserBlackboardViewTest {
 	private static final EvaluableExpressionFitnessFunctionFactory FITNESS_FUNCTION_FACTORY =
 		new EvaluableExpressionFitnessFunctionFactory();
 
+	/**
+	 * An {@link EvaluableExpression} factory to easily obtain new instances from.
+	 */
+	private static final EvaluableExpressionFactory EVALUABLE_EXPRESSION_FACTORY = new EvaluableExpressionFactory();
+
 	/**
 	 * A {@link ProjectInformation} factory to easily obtain new instances from.
 	 */
@@ -269,6 +279,52 @@ public class ProposedExpressionAnalyserBlackboardViewTest {
 			is(theInstance(testInstance)));
 	}
 
+	/**
+	 * Test method for the {@code viewAll} methods of
+	 * {@link ProposedExpressionAnalyserBlackboardView}. Asserts that the tested view returns the
+	 * instances it obtained from the blackboard.
+	 */
+	@Test
+	public void viewAll() {
+		final Set<ResourceDemandingInternalAction> rdias = new HashSet<>();
+		final Set<SeffBranch> branches = new HashSet<>();
+		final Set<SeffLoop> loops = new HashSet<>();
+		final Set<ExternalCallParameter> parameters = new HashSet<>();
+		given(this.mockedBlackboard.viewAllRdias()).willReturn(rdias);
+		given(this.mockedBlackboard.viewAllSeffBranches()).willReturn(branches);
+		given(this.mockedBlackboard.viewAllSeffLoops()).willReturn(loops);
+		given(this.mockedBlackboard.viewAllExternalCallParameters()).willReturn(parameters);
+
+		assertThat(this.testedView.viewAllRdias(), is(theInstance(rdias)));
+		assertThat(this.testedView.viewAllSeffBranches(), is(theInstance(branches)));
+		assertThat(this.testedView.viewAllSeffLoops(), is(theInstance(loops)));
+		assertThat(this.testedView.viewAllExternalCallParameters(), is(theInstance(parameters)));
+	}
+
+	/**
+	 * Test method for the version and changelog methods of {@link ProposedExpressionAnalyserBlackboardView}.
+	 * Asserts that the tested view returns what it obtained from the blackboard.
+	 */
+	@Test
+	public void versions() {
+		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
+		final Set<MeasurableSeffElement> measured = new HashSet<>();
+		final Set<MeasurableSeffElement> proposed = new HashSet<>();
+		given(this.mockedBlackboard.getMeasurementResultsVersion()).willReturn(3L);
+		given(this.mockedBlackboard.getMeasurementResultsVersionFor(loop)).willReturn(2L);
+		given(this.mockedBlackboard.getElementsWithMeasurementResultsSince(1)).willReturn(measured);
+		given(this.mockedBlackboard.getProposedExpressionsVersion()).willReturn(5L);
+		given(this.mockedBlackboard.getProposedExpressionsVersionFor(loop)).willReturn(4L);
+		given(this.mockedBlackboard.getElementsWithProposedExpressionsSince(1)).willReturn(proposed);
+
+		assertThat(this.testedView.getMeasurementResultsVersion(), is(3L));
+		assertThat(this.testedView.getMeasurementResultsVersionFor(loop), is(2L));
+		assertThat(this.testedView.getElementsWithMeasurementResultsSince(1), is(theInstance(measured)));
+		assertThat(this.testedView.getProposedExpressionsVersion(), is(5L));
+		assertThat(this.testedView.getProposedExpressionsVersionFor(loop), is(4L));
+		assertThat(this.testedView.getElementsWithProposedExpressionsSince(1), is(theInstance(proposed)));
+	}
+
 	/**
 	 * Test method for
 	 * {@link ProposedExpressionAnalyserBlackboardView#addToBeMeasuredRdias(java.util.Collection)}
@@ -457,6 +513,76 @@ public class ProposedExpressionAnalyserBlackboardViewTest {
 
 	}
 
+	/**
+	 * Test method for
+	 * {@link ProposedExpressionAnalyserBlackboardView#viewProposedExpressionsFor(de.uka.ipd.sdq.beagle.core.MeasurableSeffElement)}
+	 * . Asserts that the tested view returns the instance it obtained from the blackboard.
+	 */
+	@Test
+	public void viewProposedExpressionsFor() {
+		final SeffBranch branch = SEFF_BRANCH_FACTORY.getOne();
+		final Set<EvaluableExpression> testInstance = new HashSet<>();
+		given(this.mockedBlackboard.viewProposedExpressionsFor(branch)).willReturn(testInstance);
+
+		assertThat(this.testedView.viewProposedExpressionsFor(branch), is(theInstance(testInstance)));
+	}
+
+	/**
+	 * Test method for
+	 * {@link ProposedExpressionAnalyserBlackboardView#addProposedExpressionFor(MeasurableSeffElement, EvaluableExpression)}
+	 * . Asserts that the call is delegated to the blackboard.
+	 */
+	@Test
+	public void addProposedExpressionFor() {
+		final MeasurableSeffElement seffElement = SEFF_BRANCH_FACTORY.getOne();
+		final EvaluableExpression expression = EVALUABLE_EXPRESSION_FACTORY.getOne();
+
+		this.testedView.addProposedExpressionFor(seffElement, expression);
+		then(this.mockedBlackboard).should().addProposedExpressionFor(same(seffElement), same(expression));
+	}
+
+	/**
+	 * Test method for
+	 * {@link ProposedExpressionAnalyserBlackboardView#addProposedExpressionsFor(MeasurableSeffElement, java.util.Collection)}
+	 * . Asserts that the call is delegated to the blackboard.
+	 */
+	@Test
+	public void addProposedExpressionsFor() {
+		final MeasurableSeffElement seffElement = SEFF_BRANCH_FACTORY.getOne();
+		final Set<EvaluableExpression> expressions = EVALUABLE_EXPRESSION_FACTORY.getAllAsSet();
+
+		this.testedView.addProposedExpressionsFor(seffElement, expressions);
+		then(this.mockedBlackboard).should().addProposedExpressionsFor(same(seffElement), same(expressions));
+	}
+
+	/**
+	 * Test method for
+	 * {@link ProposedExpressionAnalyserBlackboardView#ProposedExpressionAnalyserBlackboardView(Blackboard, ProposalRecord)}
+	 * . Asserts that expressions proposed through the view are delegated to the
+	 * blackboard and recorded, and that the view equals views that do not record.
+	 */
+	@Test
+	public void recordsProposals() {
+		final ProposalRecord proposalRecord = new ProposalRecord();
+		final ProposedExpressionAnalyserBlackboardView recordingView =
+			new ProposedExpressionAnalyserBlackboardView(this.mockedBlackboard, proposalRecord);
+		final SeffBranch branch = SEFF_BRANCH_FACTORY.getOne();
+		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
+		final EvaluableExpression[] expressions = EVALUABLE_EXPRESSION_FACTORY.getAll();
+
+		recordingView.addProposedExpressionFor(branch, expressions[0]);
+		recordingView.addProposedExpressionsFor(loop, Arrays.asList(expressions[1], expressions[2]));
+		then(this.mockedBlackboard).should().addProposedExpressionFor(same(branch), same(expressions[0]));
+		assertThat(proposalRecord.getProposals().get(branch), containsInAnyOrder(expressions[0]));
+		assertThat(proposalRecord.getProposals().get(loop), containsInAnyOrder(expressions[1], expressions[2]));
+		assertThat(recordingView, is(equalTo(this.testedView)));
+
+		assertThat(() -> new ProposedExpressionAnalyserBlackboardView(this.mockedBlackboard, null),
+			throwsException(NullPointerException.class));
+		assertThat(() -> new ProposedExpressionAnalyserBlackboardView(null, proposalRecord),
+			throwsException(NullPointerException.class));
+	}
+
 	/**
 	 * Test method for
 	 * {@link ProposedExpressionAnalyserBlackboardView#getFitnessFunction()} . Asserts
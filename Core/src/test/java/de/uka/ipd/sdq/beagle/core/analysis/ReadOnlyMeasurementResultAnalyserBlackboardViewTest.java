@@ -11,6 +11,7 @@ import static org.mockito.Mockito.mock;
 import de.uka.ipd.sdq.beagle.core.Blackboard;
 import de.uka.ipd.sdq.beagle.core.BlackboardStorer;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
 import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
@@ -261,6 +262,52 @@ public class ReadOnlyMeasurementResultAnalyserBlackboardViewTest {
 			is(theInstance(testInstance)));
 	}
 
+	/**
+	 * Test method for the {@code viewAll} methods of
+	 * {@link ReadOnlyMeasurementResultAnalyserBlackboardView}. Asserts that the tested view returns the
+	 * instances it obtained from the blackboard.
+	 */
+	@Test
+	public void viewAll() {
+		final Set<ResourceDemandingInternalAction> rdias = new HashSet<>();
+		final Set<SeffBranch> branches = new HashSet<>();
+		final Set<SeffLoop> loops = new HashSet<>();
+		final Set<ExternalCallParameter> parameters = new HashSet<>();
+		given(this.mockedBlackboard.viewAllRdias()).willReturn(rdias);
+		given(this.mockedBlackboard.viewAllSeffBranches()).willReturn(branches);
+		given(this.mockedBlackboard.viewAllSeffLoops()).willReturn(loops);
+		given(this.mockedBlackboard.viewAllExternalCallParameters()).willReturn(parameters);
+
+		assertThat(this.testedView.viewAllRdias(), is(theInstance(rdias)));
+		assertThat(this.testedView.viewAllSeffBranches(), is(theInstance(branches)));
+		assertThat(this.testedView.viewAllSeffLoops(), is(theInstance(loops)));
+		assertThat(this.testedView.viewAllExternalCallParameters(), is(theInstance(parameters)));
+	}
+
+	/**
+	 * Test method for the version and changelog methods of {@link ReadOnlyMeasurementResultAnalyserBlackboardView}.
+	 * Asserts that the tested view returns what it obtained from the blackboard.
+	 */
+	@Test
+	public void versions() {
+		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
+		final Set<MeasurableSeffElement> measured = new HashSet<>();
+		final Set<MeasurableSeffElement> proposed = new HashSet<>();
+		given(this.mockedBlackboard.getMeasurementResultsVersion()).willReturn(3L);
+		given(this.mockedBlackboard.getMeasurementResultsVersionFor(loop)).willReturn(2L);
+		given(this.mockedBlackboard.getElementsWithMeasurementResultsSince(1)).willReturn(measured);
+		given(this.mockedBlackboard.getProposedExpressionsVersion()).willReturn(5L);
+		given(this.mockedBlackboard.getProposedExpressionsVersionFor(loop)).willReturn(4L);
+		given(this.mockedBlackboard.getElementsWithProposedExpressionsSince(1)).willReturn(proposed);
+
+		assertThat(this.testedView.getMeasurementResultsVersion(), is(3L));
+		assertThat(this.testedView.getMeasurementResultsVersionFor(loop), is(2L));
+		assertThat(this.testedView.getElementsWithMeasurementResultsSince(1), is(theInstance(measured)));
+		assertThat(this.testedView.getProposedExpressionsVersion(), is(5L));
+		assertThat(this.testedView.getProposedExpressionsVersionFor(loop), is(4L));
+		assertThat(this.testedView.getElementsWithProposedExpressionsSince(1), is(theInstance(proposed)));
+	}
+
 	/**
 	 * Test method for
 	 * {@link ReadOnlyMeasurementResultAnalyserBlackboardView#getMeasurementResultsFor(ResourceDemandingInternalAction)}
@@ -0,0 +1,171 @@
+package de.uka.ipd.sdq.beagle.core.evaluableexpressions;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.theInstance;
+
+import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for {@link CanonicalExpressionFactory}.
+ *
+ * @author Joshua Gleitze
+ */
+public class CanonicalExpressionFactoryTest {
+
+	/**
+	 * A factory for evaluable expressions to intern.
+	 */
+	private static final EvaluableExpressionFactory EVALUABLE_EXPRESSION_FACTORY = new EvaluableExpressionFactory();
+
+	/**
+	 * Test method for {@link CanonicalExpressionFactory#intern(EvaluableExpression)}.
+	 * Asserts that equal expressions are interned to the same instance, which is equal
+	 * to them.
+	 *
+	 * @throws Exception Should not happen.
+	 */
+	@Test
+	public void intern() throws Exception {
+		for (final EvaluableExpression expression : EVALUABLE_EXPRESSION_FACTORY.getAll()) {
+			final EvaluableExpression canonical = CanonicalExpressionFactory.intern(expression);
+			assertThat(canonical, is(expression));
+			assertThat(CanonicalExpressionFactory.intern(canonical), is(theInstance(canonical)));
+			assertThat("equal expressions must be interned to the same instance",
+				CanonicalExpressionFactory.intern(this.copy(expression)), is(theInstance(canonical)));
+		}
+
+		assertThat(() -> CanonicalExpressionFactory.intern(null), throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link CanonicalExpressionFactory#intern(EvaluableExpression)}.
+	 * Asserts that inner expressions of interned expressions are shared.
+	 */
+	@Test
+	public void sharesInnerExpressions() {
+		final EvaluableExpression first = CanonicalExpressionFactory.intern(new AdditionExpression(
+			new SineExpression(new EvaluableVariable("shared")), ConstantExpression.forValue(1)));
+		final EvaluableExpression second = CanonicalExpressionFactory.intern(new DivisionExpression(
+			new SineExpression(new EvaluableVariable("shared")), new EvaluableVariable("other")));
+
+		final SineExpression sineInFirst = (SineExpression) ((AdditionExpression) first).getSummands()
+			.stream()
+			.filter((summand) -> summand instanceof SineExpression)
+			.findAny()
+			.get();
+		final SineExpression sineInSecond = (SineExpression) ((DivisionExpression) second).getDividend();
+		assertThat(sineInFirst, is(theInstance(sineInSecond)));
+		assertThat(sineInFirst.getArgument(), is(theInstance(CanonicalExpressionFactory.variable("shared"))));
+	}
+
+	/**
+	 * Test method for the creation methods of {@link CanonicalExpressionFactory}.
+	 * Asserts that they create canonical instances of the expected expressions.
+	 */
+	@Test
+	public void createExpressions() {
+		final EvaluableVariable variable = new EvaluableVariable("x");
+		final ConstantExpression constant = ConstantExpression.forValue(2);
+
+		assertThat(CanonicalExpressionFactory.addition(variable, constant),
+			is(theInstance(CanonicalExpressionFactory.intern(new AdditionExpression(constant, variable)))));
+		assertThat(CanonicalExpressionFactory.multiplication(variable, constant),
+			is(theInstance(CanonicalExpressionFactory.intern(new MultiplicationExpression(variable, constant)))));
+		assertThat(CanonicalExpressionFactory.subtraction(variable, constant),
+			is(theInstance(CanonicalExpressionFactory.intern(new SubtractionExpression(variable, constant)))));
+		assertThat(CanonicalExpressionFactory.division(variable, constant),
+			is(theInstance(CanonicalExpressionFactory.intern(new DivisionExpression(variable, constant)))));
+		assertThat(CanonicalExpressionFactory.exponentation(variable, constant),
+			is(theInstance(CanonicalExpressionFactory.intern(new ExponentationExpression(variable, constant)))));
+		assertThat(CanonicalExpressionFactory.exponentialFunction(variable),
+			is(theInstance(CanonicalExpressionFactory.intern(new ExponentialFunctionExpression(variable)))));
+		assertThat(CanonicalExpressionFactory.logarithm(constant, variable),
+			is(theInstance(CanonicalExpressionFactory.intern(new LogarithmExpression(constant, variable)))));
+		assertThat(CanonicalExpressionFactory.naturalLogarithm(variable),
+			is(theInstance(CanonicalExpressionFactory.intern(new NaturalLogarithmExpression(variable)))));
+		assertThat(CanonicalExpressionFactory.sine(variable),
+			is(theInstance(CanonicalExpressionFactory.intern(new SineExpression(variable)))));
+		assertThat(CanonicalExpressionFactory.comparison(variable, constant),
+			is(theInstance(CanonicalExpressionFactory.intern(new ComparisonExpression(variable, constant)))));
+		assertThat(CanonicalExpressionFactory.ifThenElse(variable, constant, variable),
+			is(theInstance(CanonicalExpressionFactory.intern(new IfThenElseExpression(variable, constant, variable)))));
+		assertThat(CanonicalExpressionFactory.variable("x"),
+			is(theInstance(CanonicalExpressionFactory.intern(new EvaluableVariable("x")))));
+		assertThat(CanonicalExpressionFactory.constant(2), is(theInstance(constant)));
+
+		assertThat(() -> CanonicalExpressionFactory.addition(variable),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> CanonicalExpressionFactory.sine(null), throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Asserts that interning the same expressions concurrently yields one canonical
+	 * instance per expression.
+	 *
+	 * @throws Exception Should not happen.
+	 */
+	@Test
+	public void concurrentIntern() throws Exception {
+		final int threads = 8;
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<List<EvaluableExpression>>> results = new ArrayList<>();
+			for (int thread = 0; thread < threads; thread++) {
+				final Callable<List<EvaluableExpression>> internAll = () -> {
+					final List<EvaluableExpression> interned = new ArrayList<>();
+					for (int i = 0; i < 1000; i++) {
+						interned.add(CanonicalExpressionFactory.addition(new EvaluableVariable("concurrent"),
+							ConstantExpression.forValue(i)));
+					}
+					return interned;
+				};
+				results.add(executor.submit(internAll));
+			}
+
+			final List<EvaluableExpression> expected = results.get(0).get();
+			for (final Future<List<EvaluableExpression>> result : results) {
+				final List<EvaluableExpression> actual = result.get();
+				for (int i = 0; i < expected.size(); i++) {
+					assertThat(actual.get(i), is(theInstance(expected.get(i))));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Creates an equal, but distinct copy of {@code expression}.
+	 *
+	 * @param expression An expression.
+	 * @return A deep copy of {@code expression}.
+	 * @throws IOException Should not happen.
+	 * @throws ClassNotFoundException Should not happen.
+	 */
+	private EvaluableExpression copy(final EvaluableExpression expression)
+		throws IOException, ClassNotFoundException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+			output.writeObject(expression);
+		}
+		try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (EvaluableExpression) input.readObject();
+		}
+	}
+}
@@ -0,0 +1,134 @@
+package de.uka.ipd.sdq.beagle.core.evaluableexpressions;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static de.uka.ipd.sdq.beagle.core.testutil.ToStringMatcher.hasOverriddenToString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.theInstance;
+
+import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Tests for {@link EvaluableVariableColumns} and
+ * {@link EvaluableExpression#evaluateAll(EvaluableVariableColumns)}.
+ *
+ * @author Joshua Gleitze
+ */
+public class EvaluableVariableColumnsTest {
+
+	/**
+	 * A factory for evaluable expressions to evaluate.
+	 */
+	private static final EvaluableExpressionFactory EVALUABLE_EXPRESSION_FACTORY = new EvaluableExpressionFactory();
+
+	/**
+	 * The names of all variables used in the expressions of
+	 * {@link #EVALUABLE_EXPRESSION_FACTORY}.
+	 */
+	private static final String[] VARIABLE_NAMES = {"a", "b", "c", "d", "n"};
+
+	/**
+	 * Test method for {@link EvaluableVariableColumns#EvaluableVariableColumns(int)}.
+	 * Asserts that tables can be created for non-negative row counts only.
+	 */
+	@Test
+	public void constructor() {
+		assertThat(new EvaluableVariableColumns(0).getRowCount(), is(0));
+		assertThat(new EvaluableVariableColumns(17).getRowCount(), is(17));
+		assertThat(() -> new EvaluableVariableColumns(-1), throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for
+	 * {@link EvaluableVariableColumns#setColumnFor(EvaluableVariable, double[])} and
+	 * {@link EvaluableVariableColumns#getColumnFor(EvaluableVariable)}. Asserts that set
+	 * columns are returned and that invalid columns are rejected.
+	 */
+	@Test
+	public void setAndGetColumnFor() {
+		final EvaluableVariableColumns testColumns = new EvaluableVariableColumns(3);
+		final EvaluableVariable testVariable = new EvaluableVariable("foo");
+		final double[] values = {1, 2, 3};
+
+		assertThat(testColumns.isColumnSetFor(testVariable), is(false));
+		assertThat("undefined variables do not have a column.", () -> testColumns.getColumnFor(testVariable),
+			throwsException(IllegalArgumentException.class));
+		testColumns.setColumnFor(testVariable, values);
+		assertThat(testColumns.isColumnSetFor(testVariable), is(true));
+		assertThat(testColumns.getColumnFor(new EvaluableVariable("foo")), is(theInstance(values)));
+
+		assertThat("setting for null must not be possible!", () -> testColumns.setColumnFor(null, values),
+			throwsException(NullPointerException.class));
+		assertThat(() -> testColumns.setColumnFor(testVariable, null), throwsException(NullPointerException.class));
+		assertThat("columns must match the row count", () -> testColumns.setColumnFor(testVariable, new double[2]),
+			throwsException(IllegalArgumentException.class));
+		assertThat(() -> testColumns.isColumnSetFor(null), throwsException(NullPointerException.class));
+		assertThat(() -> testColumns.getColumnFor(null), throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link EvaluableVariableColumns#getRow(int)}. Asserts that rows
+	 * contain the values of all columns.
+	 */
+	@Test
+	public void getRow() {
+		final EvaluableVariableColumns testColumns = new EvaluableVariableColumns(2);
+		testColumns.setColumnFor(new EvaluableVariable("foo"), new double[] {1, 2});
+		testColumns.setColumnFor(new EvaluableVariable("bar"), new double[] {-1, -2});
+
+		final EvaluableVariableAssignment expected = new EvaluableVariableAssignment();
+		expected.setValueFor(new EvaluableVariable("foo"), 2);
+		expected.setValueFor(new EvaluableVariable("bar"), -2);
+		assertThat(testColumns.getRow(1), is(expected));
+		assertThat(() -> testColumns.getRow(2), throwsException(IllegalArgumentException.class));
+		assertThat(() -> testColumns.getRow(-1), throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link EvaluableExpression#evaluateAll(EvaluableVariableColumns)}.
+	 * Asserts that evaluating all rows at once yields the same values as evaluating
+	 * each row on its own.
+	 */
+	@Test
+	public void evaluateAll() {
+		final Random random = new Random(42);
+		final int rowCount = 100;
+		final EvaluableVariableColumns testColumns = new EvaluableVariableColumns(rowCount);
+		for (final String variableName : VARIABLE_NAMES) {
+			final double[] values = new double[rowCount];
+			for (int row = 0; row < rowCount; row++) {
+				values[row] = random.nextInt(5) == 0 ? 0 : random.nextDouble() * 20 - 5;
+			}
+			testColumns.setColumnFor(new EvaluableVariable(variableName), values);
+		}
+
+		for (final EvaluableExpression expression : EVALUABLE_EXPRESSION_FACTORY.getAll()) {
+			final double[] values = expression.evaluateAll(testColumns);
+			assertThat(values.length, is(rowCount));
+			for (int row = 0; row < rowCount; row++) {
+				assertThat(String.format("%s in row %d", expression, row), values[row],
+					is(expression.evaluate(testColumns.getRow(row))));
+			}
+			assertThat("results must be new arrays", values,
+				is(not(theInstance(expression.evaluateAll(testColumns)))));
+			assertThat(() -> expression.evaluateAll(null), throwsException(NullPointerException.class));
+		}
+
+		final EvaluableExpression missingVariable = new EvaluableVariable("missing");
+		assertThat(() -> missingVariable.evaluateAll(testColumns), throwsException(UndefinedExpressionException.class));
+		assertThat(missingVariable.evaluateAll(new EvaluableVariableColumns(0)).length, is(0));
+	}
+
+	/**
+	 * Test method for {@link EvaluableVariableColumns#toString()}.
+	 */
+	@Test
+	public void toStringT() {
+		assertThat(new EvaluableVariableColumns(2), hasOverriddenToString());
+	}
+}
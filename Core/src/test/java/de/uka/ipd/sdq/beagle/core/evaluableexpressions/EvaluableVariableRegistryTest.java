@@ -0,0 +1,90 @@
+package de.uka.ipd.sdq.beagle.core.evaluableexpressions;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for {@link EvaluableVariableRegistry}.
+ *
+ * @author Joshua Gleitze
+ */
+public class EvaluableVariableRegistryTest {
+
+	/**
+	 * Test method for {@link EvaluableVariableRegistry#getSlot(EvaluableVariable)} and
+	 * {@link EvaluableVariableRegistry#getVariable(int)}. Asserts that equal variables
+	 * share a slot, different ones do not, and that slots are dense.
+	 */
+	@Test
+	public void getSlot() {
+		final int firstSlot = EvaluableVariableRegistry.getSlot(new EvaluableVariable("registryTestFirst"));
+		final int secondSlot = EvaluableVariableRegistry.getSlot(new EvaluableVariable("registryTestSecond"));
+
+		assertThat(EvaluableVariableRegistry.getSlot(new EvaluableVariable("registryTestFirst")), is(firstSlot));
+		assertThat(secondSlot, is(not(firstSlot)));
+		assertThat(firstSlot, is(greaterThanOrEqualTo(0)));
+		assertThat(secondSlot, is(lessThan(EvaluableVariableRegistry.size())));
+		assertThat(EvaluableVariableRegistry.getVariable(firstSlot), is(new EvaluableVariable("registryTestFirst")));
+		assertThat(EvaluableVariableRegistry.getVariable(secondSlot), is(new EvaluableVariable("registryTestSecond")));
+
+		assertThat(() -> EvaluableVariableRegistry.getSlot(null), throwsException(NullPointerException.class));
+		assertThat(() -> EvaluableVariableRegistry.getVariable(-1), throwsException(IllegalArgumentException.class));
+		assertThat(() -> EvaluableVariableRegistry.getVariable(EvaluableVariableRegistry.size()),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Asserts that registering variables concurrently assigns each variable exactly one
+	 * slot and keeps the slots dense.
+	 *
+	 * @throws Exception Should not happen.
+	 */
+	@Test
+	public void concurrentRegistration() throws Exception {
+		final int threads = 8;
+		final int variables = 200;
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			final List<Future<int[]>> results = new ArrayList<>();
+			for (int thread = 0; thread < threads; thread++) {
+				final Callable<int[]> registerAll = () -> {
+					final int[] slots = new int[variables];
+					for (int i = 0; i < variables; i++) {
+						slots[i] = EvaluableVariableRegistry.getSlot(new EvaluableVariable("concurrent" + i));
+					}
+					return slots;
+				};
+				results.add(executor.submit(registerAll));
+			}
+
+			final int[] expected = results.get(0).get();
+			for (final Future<int[]> result : results) {
+				assertThat(result.get(), is(expected));
+			}
+			final Set<Integer> distinctSlots = new HashSet<>();
+			for (int i = 0; i < variables; i++) {
+				distinctSlots.add(expected[i]);
+				assertThat(EvaluableVariableRegistry.getVariable(expected[i]),
+					is(new EvaluableVariable("concurrent" + i)));
+			}
+			assertThat(distinctSlots.size(), is(variables));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -1,21 +1,38 @@
 package de.uka.ipd.sdq.beagle.core.evaluableexpressions.util;
 
 import static de.uka.ipd.sdq.beagle.core.testutil.EvaluableExpressionLengthMatcher.isNoLongerThan;
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
 import static de.uka.ipd.sdq.beagle.core.testutil.ExpressionEqualityMatcher.producingTheSameValuesAs;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.theInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
 
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.AdditionExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ComparisonExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.DivisionExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableAssignment;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ExponentationExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ExponentialFunctionExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.IfThenElseExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.LogarithmExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.MultiplicationExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.NaturalLogarithmExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.SineExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.SubtractionExpression;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
 
 import org.apache.commons.collections4.MultiSet;
 import org.apache.commons.collections4.multiset.HashMultiSet;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 /**
  * Tests {@link EvaluableExpressionSimplifier} and contains the test cases needed to check
  * all methods.
@@ -97,4 +114,216 @@ public class EvaluableExpressionSimplifierTest {
 		assertThat(simplified, is(producingTheSameValuesAs(expression)));
 	}
 
+	/**
+	 * The names of all variables used in the expressions of
+	 * {@link EvaluableExpressionFactory}.
+	 */
+	private static final String[] VARIABLE_NAMES = {"a", "b", "c", "d", "n"};
+
+	/**
+	 * Test method for {@link EvaluableExpressionSimplifier#simplify(EvaluableExpression)}
+	 * . Asserts that all expressions of {@link EvaluableExpressionFactory} are simplified
+	 * to expressions that are no longer and produce the same values.
+	 *
+	 * <p>The values are compared for moderate variable values only. Simplifying may
+	 * change the order in which factors are multiplied, which changes the rounding of
+	 * products that are too small to be represented as normalised doubles.
+	 */
+	@Test
+	public void simplifyAll() {
+		final EvaluableExpressionSimplifier simplifier = new EvaluableExpressionSimplifier();
+		final Random random = new Random(12345678);
+		final List<EvaluableVariableAssignment> assignments = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			final EvaluableVariableAssignment assignment = new EvaluableVariableAssignment();
+			for (final String variableName : VARIABLE_NAMES) {
+				assignment.setValueFor(new EvaluableVariable(variableName), random.nextDouble() * 20 - 10);
+			}
+			assignments.add(assignment);
+		}
+
+		for (final EvaluableExpression expression : new EvaluableExpressionFactory().getAll()) {
+			final EvaluableExpression simplified = simplifier.simplify(expression);
+			assertThat(simplified, isNoLongerThan(expression));
+			for (final EvaluableVariableAssignment assignment : assignments) {
+				final double expected = expression.evaluate(assignment);
+				final double actual = simplified.evaluate(assignment);
+				if (Double.isNaN(expected) || Double.isInfinite(expected)) {
+					assertThat(String.format("%s for %s", simplified, assignment), actual, is(expected));
+				} else {
+					assertThat(String.format("%s for %s", simplified, assignment), actual,
+						is(closeTo(expected, Math.abs(expected) * 1E-9)));
+				}
+			}
+		}
+
+		assertThat(() -> simplifier.simplify(null), throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link EvaluableExpressionSimplifier#simplify(EvaluableExpression)}
+	 * . Asserts that operations on constants are replaced by their value.
+	 */
+	@Test
+	public void foldConstants() {
+		final EvaluableExpressionSimplifier simplifier = new EvaluableExpressionSimplifier();
+		final ConstantExpression two = ConstantExpression.forValue(2);
+		final ConstantExpression three = ConstantExpression.forValue(3);
+
+		assertThat(simplifier.simplify(new MultiplicationExpression(two, three)), is(ConstantExpression.forValue(6)));
+		assertThat(simplifier.simplify(new DivisionExpression(three, two)), is(ConstantExpression.forValue(1.5)));
+		assertThat(simplifier.simplify(new SubtractionExpression(two, three)), is(ConstantExpression.forValue(-1)));
+		assertThat(simplifier.simplify(new ExponentationExpression(two, three)), is(ConstantExpression.forValue(8)));
+		assertThat(simplifier.simplify(new LogarithmExpression(two, ConstantExpression.forValue(8))),
+			is(ConstantExpression.forValue(Math.log(8) / Math.log(2))));
+		assertThat(simplifier.simplify(new NaturalLogarithmExpression(two)),
+			is(ConstantExpression.forValue(Math.log(2))));
+		assertThat(simplifier.simplify(new ExponentialFunctionExpression(two)),
+			is(ConstantExpression.forValue(Math.pow(Math.E, 2))));
+		assertThat(simplifier.simplify(new SineExpression(two)), is(ConstantExpression.forValue(Math.sin(2))));
+		assertThat(simplifier.simplify(new ComparisonExpression(two, three)), is(ConstantExpression.forValue(1)));
+		assertThat(simplifier.simplify(new SineExpression(new AdditionExpression(two, three))),
+			is(ConstantExpression.forValue(Math.sin(5))));
+
+		final EvaluableExpression nanProduct =
+			new MultiplicationExpression(ConstantExpression.forValue(Double.NaN), new EvaluableVariable("a"));
+		assertThat(simplifier.simplify(nanProduct), is(ConstantExpression.forValue(Double.NaN)));
+	}
+
+	/**
+	 * Test method for {@link EvaluableExpressionSimplifier#simplify(EvaluableExpression)}
+	 * . Asserts that identity operations are removed, but only if that does not change
+	 * the value for infinite or undefined values.
+	 */
+	@Test
+	public void eliminateIdentities() {
+		final EvaluableExpressionSimplifier simplifier = new EvaluableExpressionSimplifier();
+		final EvaluableVariable variable = new EvaluableVariable("a");
+		final ConstantExpression zero = ConstantExpression.forValue(0);
+		final ConstantExpression one = ConstantExpression.forValue(1);
+
+		assertThat(simplifier.simplify(new AdditionExpression(variable, zero)), is(variable));
+		assertThat(simplifier.simplify(new AdditionExpression(variable, one, ConstantExpression.forValue(-1))),
+			is(variable));
+		assertThat(simplifier.simplify(new SubtractionExpression(variable, zero)), is(variable));
+		assertThat(simplifier.simplify(new MultiplicationExpression(variable, one)), is(variable));
+		assertThat(simplifier.simplify(new DivisionExpression(variable, one)), is(variable));
+		assertThat(simplifier.simplify(new ExponentationExpression(variable, one)), is(variable));
+		assertThat(simplifier.simplify(new ExponentationExpression(variable, zero)), is(one));
+		assertThat(simplifier.simplify(new ComparisonExpression(variable, variable)), is(zero));
+		assertThat(simplifier.simplify(new ExponentationExpression(ConstantExpression.forValue(Math.E), variable)),
+			is(new ExponentialFunctionExpression(variable)));
+
+		// 0 · a is NaN for infinite a
+		final EvaluableExpression zeroProduct = new MultiplicationExpression(zero, variable);
+		assertThat(simplifier.simplify(zeroProduct), is(zeroProduct));
+	}
+
+	/**
+	 * Test method for {@link EvaluableExpressionSimplifier#simplify(EvaluableExpression)}
+	 * . Asserts that integer powers of the same base are merged, but only if their
+	 * exponents have the same sign.
+	 */
+	@Test
+	public void mergePowers() {
+		final EvaluableExpressionSimplifier simplifier = new EvaluableExpressionSimplifier();
+		final EvaluableVariable variable = new EvaluableVariable("a");
+		final EvaluableExpression square = new ExponentationExpression(variable, ConstantExpression.forValue(2));
+		final EvaluableExpression cube = new ExponentationExpression(variable, ConstantExpression.forValue(3));
+		final EvaluableExpression inverse = new ExponentationExpression(variable, ConstantExpression.forValue(-1));
+
+		EvaluableExpression expression =
+			new MultiplicationExpression(square, new MultiplicationExpression(cube, variable));
+		assertThat(simplifier.simplify(expression),
+			is(new ExponentationExpression(variable, ConstantExpression.forValue(6))));
+		assertThat(simplifier.simplify(expression), is(producingTheSameValuesAs(expression)));
+
+		expression = new MultiplicationExpression(inverse, inverse, new EvaluableVariable("b"));
+		assertThat(simplifier.simplify(expression), is(new MultiplicationExpression(
+			new ExponentationExpression(variable, ConstantExpression.forValue(-2)), new EvaluableVariable("b"))));
+
+		expression = new MultiplicationExpression(inverse, variable);
+		assertThat(simplifier.simplify(expression), is(expression));
+		expression = new MultiplicationExpression(variable, variable);
+		assertThat(simplifier.simplify(expression), is(expression));
+	}
+
+	/**
+	 * Test method for {@link EvaluableExpressionSimplifier#simplify(EvaluableExpression)}
+	 * . Asserts that branches of {@link IfThenElseExpression IfThenElseExpressions} that
+	 * can never be taken are removed.
+	 */
+	@Test
+	public void removeDeadBranches() {
+		final EvaluableExpressionSimplifier simplifier = new EvaluableExpressionSimplifier();
+		final EvaluableExpression first = new EvaluableVariable("a");
+		final EvaluableExpression second = new EvaluableVariable("b");
+		final EvaluableExpression third = new EvaluableVariable("c");
+		final EvaluableExpression condition = new ComparisonExpression(first, second);
+
+		assertThat(simplifier.simplify(new IfThenElseExpression(ConstantExpression.forValue(1), first, second)),
+			is(first));
+		assertThat(simplifier.simplify(new IfThenElseExpression(ConstantExpression.forValue(0), first, second)),
+			is(second));
+		assertThat(
+			simplifier.simplify(new IfThenElseExpression(ConstantExpression.forValue(Double.NaN), first, second)),
+			is(ConstantExpression.forValue(Double.NaN)));
+		assertThat(simplifier.simplify(new IfThenElseExpression(condition, third, third)), is(third));
+		// a variable condition might be NaN
+		final EvaluableExpression variableCondition = new IfThenElseExpression(first, third, third);
+		assertThat(simplifier.simplify(variableCondition), is(variableCondition));
+
+		EvaluableExpression expression =
+			new IfThenElseExpression(condition, new IfThenElseExpression(condition, first, second), third);
+		assertThat(simplifier.simplify(expression), is(new IfThenElseExpression(condition, first, third)));
+		assertThat(simplifier.simplify(expression), is(producingTheSameValuesAs(expression)));
+		expression = new IfThenElseExpression(condition, third, new IfThenElseExpression(condition, first, second));
+		assertThat(simplifier.simplify(expression), is(new IfThenElseExpression(condition, third, second)));
+		assertThat(simplifier.simplify(expression), is(producingTheSameValuesAs(expression)));
+	}
+
+	/**
+	 * Test method for {@link EvaluableExpressionSimplifier#simplify(EvaluableExpression)}
+	 * . Asserts that equal inner expressions of the result are shared.
+	 */
+	@Test
+	public void shareEqualSubexpressions() {
+		final EvaluableExpressionSimplifier simplifier = new EvaluableExpressionSimplifier();
+		final EvaluableExpression expression = new AdditionExpression(
+			new SineExpression(new DivisionExpression(new EvaluableVariable("a"), new EvaluableVariable("b"))),
+			new NaturalLogarithmExpression(
+				new DivisionExpression(new EvaluableVariable("a"), new EvaluableVariable("b"))));
+		final AdditionExpression simplified = (AdditionExpression) simplifier.simplify(expression);
+
+		EvaluableExpression sineArgument = null;
+		EvaluableExpression logarithmArgument = null;
+		for (final EvaluableExpression summand : simplified.getSummands()) {
+			if (summand instanceof SineExpression) {
+				sineArgument = ((SineExpression) summand).getArgument();
+			} else {
+				logarithmArgument = ((NaturalLogarithmExpression) summand).getAntilogarithm();
+			}
+		}
+		assertThat(sineArgument, is(theInstance(logarithmArgument)));
+	}
+
+	/**
+	 * Test method for
+	 * {@link EvaluableExpressionSimplifier#EvaluableExpressionSimplifier(java.util.function.ToDoubleFunction)}
+	 * .
+	 *
+	 * <p>Asserts that a simplified expression is only returned if the given cost model
+	 * does not rate it more complex than the original one.
+	 */
+	@Test
+	public void respectComputationalComplexity() {
+		final EvaluableExpression expression =
+			new AdditionExpression(ConstantExpression.forValue(3), ConstantExpression.forValue(4));
+		assertThat(new EvaluableExpressionSimplifier((candidate) -> 1).simplify(expression),
+			is(ConstantExpression.forValue(7)));
+		assertThat(new EvaluableExpressionSimplifier(
+			(candidate) -> candidate instanceof ConstantExpression ? 2 : 1).simplify(expression),
+			is(theInstance(expression)));
+		assertThat(() -> new EvaluableExpressionSimplifier(null), throwsException(NullPointerException.class));
+	}
 }
@@ -1,11 +1,14 @@
 package de.uka.ipd.sdq.beagle.core.facade;
 
 import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 
+import de.uka.ipd.sdq.beagle.core.analysis.AllAnalysersSelectionStrategy;
+import de.uka.ipd.sdq.beagle.core.analysis.AnalyserSelectionStrategy;
 import de.uka.ipd.sdq.beagle.core.testutil.ThrowingMethod;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.TestFileFactory;
 import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
@@ -149,6 +152,27 @@ public class BeagleConfigurationTest {
 
 	}
 
+	/**
+	 * Test method for
+	 * {@link BeagleConfiguration#setAnalyserSelectionStrategy(AnalyserSelectionStrategy)}
+	 * and {@link BeagleConfiguration#getAnalyserSelectionStrategy()}.
+	 */
+	@Test
+	public void analyserSelectionStrategyTest() {
+		final AnalyserSelectionStrategy testStrategy = mock(AnalyserSelectionStrategy.class);
+		final File[] files = TEST_FILE_FACTORY.getAll();
+		final File file = files[0];
+		final BeagleConfiguration beagleConfig =
+			new BeagleConfiguration(this.elements, file, file, mock(IJavaProject.class));
+		assertThat(beagleConfig.getAnalyserSelectionStrategy(), is(instanceOf(AllAnalysersSelectionStrategy.class)));
+		beagleConfig.setAnalyserSelectionStrategy(testStrategy);
+		assertThat(beagleConfig.getAnalyserSelectionStrategy(), is(testStrategy));
+		assertThat(() -> beagleConfig.setAnalyserSelectionStrategy(null), throwsException(NullPointerException.class));
+		beagleConfig.finalise();
+		assertThat(() -> beagleConfig.setAnalyserSelectionStrategy(testStrategy),
+			throwsException(IllegalStateException.class));
+	}
+
 	/**
 	 * Test method for {@link BeagleConfiguration#getRepositoryFile()} and
 	 * {@link BeagleConfiguration#setRepositoryFile(File)}.
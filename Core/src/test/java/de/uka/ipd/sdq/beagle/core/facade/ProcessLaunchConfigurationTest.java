@@ -0,0 +1,192 @@
+package de.uka.ipd.sdq.beagle.core.facade;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import de.uka.ipd.sdq.beagle.core.testutil.ThrowingMethod;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tests {@link ProcessLaunchConfiguration}. Launches {@link RecordingMain} in a new Java
+ * virtual machine.
+ *
+ * @author Joshua Gleitze
+ */
+public class ProcessLaunchConfigurationTest {
+
+	/**
+	 * Name of the system property {@link RecordingMain} records.
+	 */
+	private static final String RECORDED_PROPERTY = "beagle.test.recorded";
+
+	/**
+	 * Provides files for the launched processes to write to.
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * The file {@link RecordingMain} writes its recordings to.
+	 */
+	private File recordingFile;
+
+	/**
+	 * Creates {@link #recordingFile}.
+	 *
+	 * @throws IOException If creating the file fails.
+	 */
+	@Before
+	public void createRecordingFile() throws IOException {
+		this.recordingFile = this.temporaryFolder.newFile();
+	}
+
+	/**
+	 * Test method for
+	 * {@link ProcessLaunchConfiguration#ProcessLaunchConfiguration(String, String, List, List)}
+	 * .
+	 */
+	@Test
+	public void constructor() {
+		final List<String> noArguments = Collections.emptyList();
+		ThrowingMethod method = () -> new ProcessLaunchConfiguration(null, "", noArguments, noArguments);
+		assertThat("main class must not be null", method, throwsException(NullPointerException.class));
+		method = () -> new ProcessLaunchConfiguration("a.Main", null, noArguments, noArguments);
+		assertThat("class path must not be null", method, throwsException(NullPointerException.class));
+		method = () -> new ProcessLaunchConfiguration("a.Main", "", null, noArguments);
+		assertThat("jvm arguments must not be null", method, throwsException(NullPointerException.class));
+		method = () -> new ProcessLaunchConfiguration("a.Main", "", noArguments, null);
+		assertThat("program arguments must not be null", method, throwsException(NullPointerException.class));
+		method = () -> new ProcessLaunchConfiguration("a.Main", "", Arrays.asList("-ea", null), noArguments);
+		assertThat("jvm arguments must not contain null", method,
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link ProcessLaunchConfiguration#execute()}. Asserts that the
+	 * software is launched with the configured and the appended arguments.
+	 *
+	 * @throws InterruptedException Should not happen.
+	 * @throws IOException If reading the recording fails.
+	 */
+	@Test
+	public void execute() throws InterruptedException, IOException {
+		final ProcessLaunchConfiguration launchConfiguration = this.createLaunchConfiguration();
+
+		launchConfiguration.prependClasspath("first-entry")
+			.appendJvmArgument(String.format("-D%s=\"with space\"", RECORDED_PROPERTY));
+		launchConfiguration.execute();
+
+		final List<String> recording = this.readRecording();
+		assertThat(recording.get(0), is("with space"));
+		assertThat(recording.get(1), startsWith("first-entry" + File.pathSeparator));
+		assertThat(recording.get(2), is("program argument"));
+	}
+
+	/**
+	 * Asserts that appended arguments and class path entries only apply to the next call
+	 * to {@link ProcessLaunchConfiguration#execute()}.
+	 *
+	 * @throws InterruptedException Should not happen.
+	 * @throws IOException If reading the recording fails.
+	 */
+	@Test
+	public void settingsAreResetAfterExecution() throws InterruptedException, IOException {
+		final ProcessLaunchConfiguration launchConfiguration = this.createLaunchConfiguration();
+
+		launchConfiguration.prependClasspath("first-entry")
+			.appendJvmArgument(String.format("-D%s=value", RECORDED_PROPERTY));
+		launchConfiguration.execute();
+		launchConfiguration.execute();
+
+		final List<String> recording = this.readRecording();
+		assertThat(recording.get(0), is("null"));
+		assertThat(recording.get(1), not(startsWith("first-entry")));
+	}
+
+	/**
+	 * Test method for {@link ProcessLaunchConfiguration#redirectOutputTo(File)}.
+	 *
+	 * @throws InterruptedException Should not happen.
+	 * @throws IOException If reading the output fails.
+	 */
+	@Test
+	public void redirectOutputTo() throws InterruptedException, IOException {
+		final File outputFile = this.temporaryFolder.newFile();
+		final ProcessLaunchConfiguration launchConfiguration =
+			this.createLaunchConfiguration().redirectOutputTo(outputFile);
+
+		launchConfiguration.execute();
+		launchConfiguration.execute();
+
+		assertThat(Files.readAllLines(outputFile.toPath(), StandardCharsets.UTF_8),
+			contains(RecordingMain.OUTPUT, RecordingMain.OUTPUT));
+	}
+
+	/**
+	 * Creates a launch configuration that launches {@link RecordingMain}.
+	 *
+	 * @return A new launch configuration.
+	 */
+	private ProcessLaunchConfiguration createLaunchConfiguration() {
+		return new ProcessLaunchConfiguration(RecordingMain.class.getName(), System.getProperty("java.class.path"),
+			Collections.emptyList(), Arrays.asList(this.recordingFile.getAbsolutePath(), "program argument"));
+	}
+
+	/**
+	 * Reads what {@link RecordingMain} recorded.
+	 *
+	 * @return The lines of {@link #recordingFile}.
+	 * @throws IOException If reading the file fails.
+	 */
+	private List<String> readRecording() throws IOException {
+		return Files.readAllLines(this.recordingFile.toPath(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Launched by the tests. Writes the value of {@link #RECORDED_PROPERTY}, its class
+	 * path and its second argument to the file denoted by its first argument.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	public static final class RecordingMain {
+
+		/**
+		 * What is written to the standard output.
+		 */
+		private static final String OUTPUT = "Recording Main";
+
+		/**
+		 * This class is only used through {@link #main(String[])}.
+		 */
+		private RecordingMain() {
+		}
+
+		/**
+		 * Records the launch.
+		 *
+		 * @param args The recording file and the argument to record.
+		 * @throws IOException If writing the recording fails.
+		 */
+		public static void main(final String[] args) throws IOException {
+			System.out.println(OUTPUT);
+			Files.write(new File(args[0]).toPath(), Arrays.asList(String.valueOf(System.getProperty(RECORDED_PROPERTY)),
+				System.getProperty("java.class.path"), args[1]), StandardCharsets.UTF_8);
+		}
+	}
+}
@@ -4,20 +4,31 @@ import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsE
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 
+import de.uka.ipd.sdq.beagle.core.Blackboard;
+import de.uka.ipd.sdq.beagle.core.DoubleMeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.IntMeasurementResultColumns;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
 import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.AdditionExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableColumns;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.MultiplicationExpression;
 import de.uka.ipd.sdq.beagle.core.measurement.BranchDecisionMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.measurement.ParameterChangeMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
 import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.testutil.ThrowingMethod;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.ExternalCallParameterFactory;
@@ -26,7 +37,10 @@ import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffBranchFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -100,8 +114,10 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new ResourceDemandMeasurementResult(2.0));
 		final EvaluableExpression expression2 = mock(EvaluableExpression.class);
 		given(blackboardView.getMeasurementResultsFor(rdia)).willReturn(results);
-		given(expression.evaluate(any())).willReturn(2.0);
-		given(expression2.evaluate(any())).willReturn(10.32);
+		DoubleMeasurementResultColumns columns = columnsOf(rdia, results);
+		given(blackboardView.getMeasurementResultColumnsFor(rdia)).willReturn(columns);
+		givenValue(expression, 2.0);
+		givenValue(expression2, 10.32);
 		assertThat(function.gradeFor(rdia, expression, blackboardView),
 			is(lessThan(function.gradeFor(rdia, expression2, blackboardView))));
 
@@ -109,6 +125,8 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new ResourceDemandMeasurementResult(2.0));
 		results.add(new ResourceDemandMeasurementResult(20.32));
 		given(blackboardView.getMeasurementResultsFor(rdia)).willReturn(results);
+		columns = columnsOf(rdia, results);
+		given(blackboardView.getMeasurementResultColumnsFor(rdia)).willReturn(columns);
 		assertThat(function.gradeFor(rdia, expression2, blackboardView),
 			is(lessThan(function.gradeFor(rdia, expression, blackboardView))));
 
@@ -120,8 +138,10 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 
 		results = new HashSet<>();
 		given(blackboardView.getMeasurementResultsFor(rdia)).willReturn(results);
-		given(expression.evaluate(any())).willReturn(2.0);
-		given(expression2.evaluate(any())).willReturn(10.32);
+		columns = columnsOf(rdia, results);
+		given(blackboardView.getMeasurementResultColumnsFor(rdia)).willReturn(columns);
+		givenValue(expression, 2.0);
+		givenValue(expression2, 10.32);
 		assertThat(function.gradeFor(rdia, expression, blackboardView), is(Double.POSITIVE_INFINITY));
 	}
 
@@ -162,8 +182,10 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new BranchDecisionMeasurementResult(2));
 		final EvaluableExpression expression2 = mock(EvaluableExpression.class);
 		given(blackboardView.getMeasurementResultsFor(branch)).willReturn(results);
-		given(expression.evaluate(any())).willReturn(2.0);
-		given(expression2.evaluate(any())).willReturn(10.32);
+		IntMeasurementResultColumns columns = columnsOf(branch, results);
+		given(blackboardView.getMeasurementResultColumnsFor(branch)).willReturn(columns);
+		givenValue(expression, 2.0);
+		givenValue(expression2, 10.32);
 		assertThat(function.gradeFor(branch, expression, blackboardView),
 			is(lessThan(function.gradeFor(branch, expression2, blackboardView))));
 
@@ -171,6 +193,8 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new BranchDecisionMeasurementResult(2));
 		results.add(new BranchDecisionMeasurementResult(20));
 		given(blackboardView.getMeasurementResultsFor(branch)).willReturn(results);
+		columns = columnsOf(branch, results);
+		given(blackboardView.getMeasurementResultColumnsFor(branch)).willReturn(columns);
 		assertThat(function.gradeFor(branch, expression2, blackboardView),
 			is(lessThan(function.gradeFor(branch, expression, blackboardView))));
 
@@ -182,8 +206,10 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 
 		results = new HashSet<>();
 		given(blackboardView.getMeasurementResultsFor(branch)).willReturn(results);
-		given(expression.evaluate(any())).willReturn(2.0);
-		given(expression2.evaluate(any())).willReturn(10.32);
+		columns = columnsOf(branch, results);
+		given(blackboardView.getMeasurementResultColumnsFor(branch)).willReturn(columns);
+		givenValue(expression, 2.0);
+		givenValue(expression2, 10.32);
 		assertThat(function.gradeFor(branch, expression, blackboardView), is(Double.POSITIVE_INFINITY));
 	}
 
@@ -224,8 +250,10 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new LoopRepetitionCountMeasurementResult(2));
 		final EvaluableExpression expression2 = mock(EvaluableExpression.class);
 		given(blackboardView.getMeasurementResultsFor(loop)).willReturn(results);
-		given(expression.evaluate(any())).willReturn(2.0);
-		given(expression2.evaluate(any())).willReturn(10.32);
+		IntMeasurementResultColumns columns = columnsOf(loop, results);
+		given(blackboardView.getMeasurementResultColumnsFor(loop)).willReturn(columns);
+		givenValue(expression, 2.0);
+		givenValue(expression2, 10.32);
 		assertThat(function.gradeFor(loop, expression, blackboardView),
 			is(lessThan(function.gradeFor(loop, expression2, blackboardView))));
 
@@ -233,6 +261,8 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(new LoopRepetitionCountMeasurementResult(2));
 		results.add(new LoopRepetitionCountMeasurementResult(21));
 		given(blackboardView.getMeasurementResultsFor(loop)).willReturn(results);
+		columns = columnsOf(loop, results);
+		given(blackboardView.getMeasurementResultColumnsFor(loop)).willReturn(columns);
 		assertThat(function.gradeFor(loop, expression2, blackboardView),
 			is(lessThan(function.gradeFor(loop, expression, blackboardView))));
 
@@ -244,8 +274,10 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 
 		results = new HashSet<>();
 		given(blackboardView.getMeasurementResultsFor(loop)).willReturn(results);
-		given(expression.evaluate(any())).willReturn(2.0);
-		given(expression2.evaluate(any())).willReturn(10.32);
+		columns = columnsOf(loop, results);
+		given(blackboardView.getMeasurementResultColumnsFor(loop)).willReturn(columns);
+		givenValue(expression, 2.0);
+		givenValue(expression2, 10.32);
 		assertThat(function.gradeFor(loop, expression, blackboardView), is(Double.POSITIVE_INFINITY));
 	}
 
@@ -289,8 +321,10 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		results.add(parameterChangeResult);
 		final EvaluableExpression expression2 = mock(EvaluableExpression.class);
 		given(blackboardView.getMeasurementResultsFor(parameter)).willReturn(results);
-		given(expression.evaluate(any())).willReturn(2.0);
-		given(expression2.evaluate(any())).willReturn(10.32);
+		IntMeasurementResultColumns columns = columnsOf(parameter, results);
+		given(blackboardView.getMeasurementResultColumnsFor(parameter)).willReturn(columns);
+		givenValue(expression, 2.0);
+		givenValue(expression2, 10.32);
 		assertThat(function.gradeFor(parameter, expression, blackboardView),
 			is(lessThan(function.gradeFor(parameter, expression2, blackboardView))));
 
@@ -302,6 +336,8 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 		given(parameterChangeResult2.getCount()).willReturn(22);
 		results.add(parameterChangeResult2);
 		given(blackboardView.getMeasurementResultsFor(parameter)).willReturn(results);
+		columns = columnsOf(parameter, results);
+		given(blackboardView.getMeasurementResultColumnsFor(parameter)).willReturn(columns);
 		assertThat(function.gradeFor(parameter, expression2, blackboardView),
 			is(lessThan(function.gradeFor(parameter, expression, blackboardView))));
 
@@ -313,8 +349,223 @@ public class AbstractionAndPrecisionFitnessFunctionTest {
 
 		results = new HashSet<>();
 		given(blackboardView.getMeasurementResultsFor(parameter)).willReturn(results);
-		given(expression.evaluate(any())).willReturn(2.0);
-		given(expression2.evaluate(any())).willReturn(10.32);
+		columns = columnsOf(parameter, results);
+		given(blackboardView.getMeasurementResultColumnsFor(parameter)).willReturn(columns);
+		givenValue(expression, 2.0);
+		givenValue(expression2, 10.32);
 		assertThat(function.gradeFor(parameter, expression, blackboardView), is(Double.POSITIVE_INFINITY));
 	}
+
+	/**
+	 * Asserts that grading an expression again after measurement results were added
+	 * yields the same value as grading it for all results at once.
+	 */
+	@Test
+	public void gradesNewMeasurementResultsIncrementally() {
+		final AbstractionAndPrecisionFitnessFunction function = new AbstractionAndPrecisionFitnessFunction();
+		final ResourceDemandingInternalAction rdia = RESOURCE_DEMANDING_INTERNAL_ACTION_FACTORY.getOne();
+		final Blackboard blackboard = new Blackboard(Collections.singleton(rdia), new HashSet<>(), new HashSet<>(),
+			new HashSet<>(), function, null);
+		final DoubleMeasurementResultColumns columns = blackboard.getMeasurementResultColumnsFor(rdia);
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboardView =
+			mock(EvaluableExpressionFitnessFunctionBlackboardView.class);
+		given(blackboardView.getMeasurementResultColumnsFor(rdia)).willReturn(columns);
+		final EvaluableExpression expression = ConstantExpression.forValue(3.2);
+
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(2.0));
+		final double firstGrade = function.gradeFor(rdia, expression, blackboardView);
+		assertThat("Grading must be repeatable", function.gradeFor(rdia, expression, blackboardView),
+			is(firstGrade));
+
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(20.32));
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(4.0));
+		final double secondGrade = function.gradeFor(rdia, expression, blackboardView);
+		assertThat("New measurement results must be considered", secondGrade, is(not(firstGrade)));
+		assertThat("Incremental grading must yield the same value as grading all results at once", secondGrade,
+			is(new AbstractionAndPrecisionFitnessFunction().gradeFor(rdia, expression, blackboardView)));
+	}
+
+	/**
+	 * Asserts that only competitive expressions are graded incrementally. Expressions
+	 * whose deviation alone makes them less fit than the fittest expression are evaluated
+	 * for all measurement results again when graded again, but are still graded
+	 * correctly.
+	 */
+	@Test
+	public void gradesOnlyCompetitiveExpressionsIncrementally() {
+		final AbstractionAndPrecisionFitnessFunction function = new AbstractionAndPrecisionFitnessFunction();
+		final ResourceDemandingInternalAction rdia = RESOURCE_DEMANDING_INTERNAL_ACTION_FACTORY.getOne();
+		final Blackboard blackboard = new Blackboard(Collections.singleton(rdia), new HashSet<>(), new HashSet<>(),
+			new HashSet<>(), function, null);
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboardView =
+			mock(EvaluableExpressionFitnessFunctionBlackboardView.class);
+		given(blackboardView.getMeasurementResultColumnsFor(rdia))
+			.willReturn(blackboard.getMeasurementResultColumnsFor(rdia));
+		final EvaluableExpression competitive = mock(EvaluableExpression.class);
+		final EvaluableExpression uncompetitive = mock(EvaluableExpression.class);
+		givenValue(competitive, 3);
+		givenValue(uncompetitive, 1000);
+
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(3));
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(3));
+		function.gradeFor(rdia, competitive, blackboardView);
+		function.gradeFor(rdia, uncompetitive, blackboardView);
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(4));
+		function.gradeFor(rdia, competitive, blackboardView);
+		final double uncompetitiveGrade = function.gradeFor(rdia, uncompetitive, blackboardView);
+
+		final ArgumentCaptor<EvaluableVariableColumns> competitiveColumns =
+			ArgumentCaptor.forClass(EvaluableVariableColumns.class);
+		then(competitive).should(times(2)).evaluateAll(competitiveColumns.capture());
+		assertThat(competitiveColumns.getAllValues().get(1).getRowCount(), is(1));
+		final ArgumentCaptor<EvaluableVariableColumns> uncompetitiveColumns =
+			ArgumentCaptor.forClass(EvaluableVariableColumns.class);
+		then(uncompetitive).should(times(2)).evaluateAll(uncompetitiveColumns.capture());
+		assertThat(uncompetitiveColumns.getAllValues().get(1).getRowCount(), is(3));
+		assertThat(uncompetitiveGrade,
+			is(new AbstractionAndPrecisionFitnessFunction().gradeFor(rdia, uncompetitive, blackboardView)));
+	}
+
+	/**
+	 * Asserts that expressions are evaluated with the variables of the measurement
+	 * results’ parameterisations.
+	 */
+	@Test
+	public void gradesWithParameterisations() {
+		final AbstractionAndPrecisionFitnessFunction function = new AbstractionAndPrecisionFitnessFunction();
+		final ResourceDemandingInternalAction rdia = RESOURCE_DEMANDING_INTERNAL_ACTION_FACTORY.getOne();
+		final EvaluableVariable size = new EvaluableVariable("size");
+		final Set<ResourceDemandMeasurementResult> results = new HashSet<>();
+		for (int value = 1; value <= 5; value++) {
+			results.add(new ResourceDemandMeasurementResult(
+				new Parameterisation(Collections.singletonMap(size, (double) value)), 2 * value));
+		}
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboardView =
+			mock(EvaluableExpressionFitnessFunctionBlackboardView.class);
+		given(blackboardView.getMeasurementResultColumnsFor(rdia)).willReturn(columnsOf(rdia, results));
+
+		final EvaluableExpression exact = new MultiplicationExpression(ConstantExpression.forValue(2), size);
+		final EvaluableExpression mean = new MultiplicationExpression(ConstantExpression.forValue(2),
+			ConstantExpression.forValue(3));
+		assertThat(function.gradeFor(rdia, exact, blackboardView),
+			is(lessThan(function.gradeFor(rdia, mean, blackboardView))));
+	}
+
+	/**
+	 * Asserts that expressions using variables that are not covered by the
+	 * parameterisation of every measurement result are graded as infinitely bad instead
+	 * of failing. This must hold, too, if the uncovered results are added after the
+	 * expression was graded the first time.
+	 */
+	@Test
+	public void gradesUndefinedExpressionsAsInfinite() {
+		final AbstractionAndPrecisionFitnessFunction function = new AbstractionAndPrecisionFitnessFunction();
+		final ResourceDemandingInternalAction rdia = RESOURCE_DEMANDING_INTERNAL_ACTION_FACTORY.getOne();
+		final EvaluableVariable size = new EvaluableVariable("size");
+		final EvaluableExpression doubleSize = new MultiplicationExpression(ConstantExpression.forValue(2), size);
+		final Blackboard blackboard = new Blackboard(Collections.singleton(rdia), new HashSet<>(), new HashSet<>(),
+			new HashSet<>(), new AbstractionAndPrecisionFitnessFunction(), null);
+		final EvaluableExpressionFitnessFunctionBlackboardView blackboardView =
+			mock(EvaluableExpressionFitnessFunctionBlackboardView.class);
+		given(blackboardView.getMeasurementResultColumnsFor(rdia))
+			.willReturn(blackboard.getMeasurementResultColumnsFor(rdia));
+
+		blackboard.addMeasurementResultFor(rdia,
+			new ResourceDemandMeasurementResult(new Parameterisation(Collections.singletonMap(size, 2d)), 4));
+		assertThat(function.gradeFor(rdia, doubleSize, blackboardView), is(lessThan(Double.POSITIVE_INFINITY)));
+
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(4));
+		assertThat(function.gradeFor(rdia, doubleSize, blackboardView), is(Double.POSITIVE_INFINITY));
+		assertThat(function.gradeFor(rdia, doubleSize, blackboardView), is(Double.POSITIVE_INFINITY));
+
+		final DoubleMeasurementResultColumns mixedColumns = columnsOf(rdia,
+			new HashSet<>(Arrays.asList(
+				new ResourceDemandMeasurementResult(new Parameterisation(Collections.singletonMap(size, 2d)), 4),
+				new ResourceDemandMeasurementResult(4))));
+		given(blackboardView.getMeasurementResultColumnsFor(rdia)).willReturn(mixedColumns);
+		assertThat(function.gradeFor(rdia, doubleSize, blackboardView), is(Double.POSITIVE_INFINITY));
+		assertThat(function.gradeFor(rdia, ConstantExpression.forValue(4), blackboardView),
+			is(lessThan(Double.POSITIVE_INFINITY)));
+	}
+
+	/**
+	 * Creates the measurement result columns a blackboard would provide for {@code rdia}
+	 * if {@code results} were added to it.
+	 *
+	 * @param rdia The measured resource demanding internal action.
+	 * @param results The results measured for {@code rdia}.
+	 * @return The columns containing {@code results}.
+	 */
+	private static DoubleMeasurementResultColumns columnsOf(final ResourceDemandingInternalAction rdia,
+		final Set<ResourceDemandMeasurementResult> results) {
+		final Blackboard blackboard = new Blackboard(Collections.singleton(rdia), new HashSet<>(), new HashSet<>(),
+			new HashSet<>(), new AbstractionAndPrecisionFitnessFunction(), null);
+		results.forEach((result) -> blackboard.addMeasurementResultFor(rdia, result));
+		return blackboard.getMeasurementResultColumnsFor(rdia);
+	}
+
+	/**
+	 * Creates the measurement result columns a blackboard would provide for
+	 * {@code branch} if {@code results} were added to it.
+	 *
+	 * @param branch The measured SEFF branch.
+	 * @param results The results measured for {@code branch}.
+	 * @return The columns containing {@code results}.
+	 */
+	private static IntMeasurementResultColumns columnsOf(final SeffBranch branch,
+		final Set<BranchDecisionMeasurementResult> results) {
+		final Blackboard blackboard = new Blackboard(new HashSet<>(), Collections.singleton(branch), new HashSet<>(),
+			new HashSet<>(), new AbstractionAndPrecisionFitnessFunction(), null);
+		results.forEach((result) -> blackboard.addMeasurementResultFor(branch, result));
+		return blackboard.getMeasurementResultColumnsFor(branch);
+	}
+
+	/**
+	 * Creates the measurement result columns a blackboard would provide for {@code loop}
+	 * if {@code results} were added to it.
+	 *
+	 * @param loop The measured SEFF loop.
+	 * @param results The results measured for {@code loop}.
+	 * @return The columns containing {@code results}.
+	 */
+	private static IntMeasurementResultColumns columnsOf(final SeffLoop loop,
+		final Set<LoopRepetitionCountMeasurementResult> results) {
+		final Blackboard blackboard = new Blackboard(new HashSet<>(), new HashSet<>(), Collections.singleton(loop),
+			new HashSet<>(), new AbstractionAndPrecisionFitnessFunction(), null);
+		results.forEach((result) -> blackboard.addMeasurementResultFor(loop, result));
+		return blackboard.getMeasurementResultColumnsFor(loop);
+	}
+
+	/**
+	 * Creates the measurement result columns a blackboard would provide for
+	 * {@code parameter} if {@code results} were added to it.
+	 *
+	 * @param parameter The measured external call parameter.
+	 * @param results The results measured for {@code parameter}.
+	 * @return The columns containing {@code results}.
+	 */
+	private static IntMeasurementResultColumns columnsOf(final ExternalCallParameter parameter,
+		final Set<ParameterChangeMeasurementResult> results) {
+		final Blackboard blackboard = new Blackboard(new HashSet<>(), new HashSet<>(), new HashSet<>(),
+			Collections.singleton(parameter), new AbstractionAndPrecisionFitnessFunction(), null);
+		results.forEach((result) -> blackboard.addMeasurementResultFor(parameter, result));
+		return blackboard.getMeasurementResultColumnsFor(parameter);
+	}
+
+	/**
+	 * Lets the mocked {@code expression} evaluate to {@code value} for any variable
+	 * assignment.
+	 *
+	 * @param expression A mocked expression.
+	 * @param value The value {@code expression} shall evaluate to.
+	 */
+	private static void givenValue(final EvaluableExpression expression, final double value) {
+		given(expression.evaluate(any())).willReturn(value);
+		willAnswer((invocation) -> {
+			final EvaluableVariableColumns variableColumns = (EvaluableVariableColumns) invocation.getArguments()[0];
+			final double[] values = new double[variableColumns.getRowCount()];
+			Arrays.fill(values, value);
+			return values;
+		}).given(expression).evaluateAll(any());
+	}
 }
@@ -2,6 +2,7 @@ package de.uka.ipd.sdq.beagle.core.judge;
 
 import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.lessThan;
 import static org.junit.Assert.assertThat;
 
@@ -22,6 +23,12 @@ import de.uka.ipd.sdq.beagle.core.evaluableexpressions.SubtractionExpression;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 /**
  * Tests {@link EvaluableExpressionComplexityAnalyser} and contains the test cases needed
  * to check all methods.
@@ -161,4 +168,108 @@ public class EvaluableExpressionComplexityAnalyserTest {
 		assertThat(() -> newAnalyser.getComputationalComplexitySum(), throwsException(IllegalStateException.class));
 	}
 
+	/**
+	 * Asserts that the complexity of expressions is the same, no matter whether their
+	 * inner expressions were analysed before or not.
+	 */
+	@Test
+	public void memoisedComplexity() {
+		final EvaluableExpressionComplexityAnalyser analyser = new EvaluableExpressionComplexityAnalyser();
+
+		final EvaluableExpression sine =
+			new SineExpression(new SineExpression(new SineExpression(new EvaluableVariable("memoisedFirst"))));
+		analyser.determineComplexity(sine);
+		// CHECKSTYLE:OFF
+		assertThat(analyser.getComputationalComplexitySum(), is(closeTo(3 * 205.03680743897714d + 1d, 1E-9)));
+		assertThat(analyser.getHumanComprehensibilityComplexitySum(),
+			is(closeTo(3 * 15d + 4d + .5d * Math.pow(3, 1.3d) + 2.7d * Math.pow(3, 1.4d), 1E-9)));
+		// CHECKSTYLE:ON
+
+		// the same tree, but containing a subtree analysed before
+		final EvaluableExpression analysedInner =
+			new SineExpression(new SineExpression(new EvaluableVariable("memoisedSecond")));
+		final EvaluableExpression withAnalysedInner = new DivisionExpression(new SineExpression(analysedInner),
+			new AdditionExpression(analysedInner, ConstantExpression.forValue(2)));
+		// the same tree, but containing no subtree analysed before
+		final EvaluableExpression freshInner =
+			new SineExpression(new SineExpression(new EvaluableVariable("memoisedThird")));
+		final EvaluableExpression withFreshInner = new DivisionExpression(new SineExpression(freshInner),
+			new AdditionExpression(freshInner, ConstantExpression.forValue(2)));
+
+		analyser.determineComplexity(analysedInner);
+		analyser.determineComplexity(withAnalysedInner);
+		final double computational = analyser.getComputationalComplexitySum();
+		final double human = analyser.getHumanComprehensibilityComplexitySum();
+		final EvaluableExpressionComplexityAnalyser newAnalyser = new EvaluableExpressionComplexityAnalyser();
+		newAnalyser.determineComplexity(withFreshInner);
+		assertThat(newAnalyser.getComputationalComplexitySum(), is(computational));
+		assertThat(newAnalyser.getHumanComprehensibilityComplexitySum(), is(human));
+
+		newAnalyser.determineComplexity(freshInner);
+		analyser.determineComplexity(analysedInner);
+		assertThat(newAnalyser.getComputationalComplexitySum(), is(analyser.getComputationalComplexitySum()));
+		assertThat(newAnalyser.getHumanComprehensibilityComplexitySum(),
+			is(analyser.getHumanComprehensibilityComplexitySum()));
+	}
+
+	/**
+	 * Asserts that analysers running concurrently determine the same complexities as an
+	 * analyser running alone, even if they analyse expressions sharing inner expressions
+	 * that were not analysed before.
+	 *
+	 * @throws Exception If analysing in another thread fails.
+	 */
+	@Test
+	public void concurrentComplexity() throws Exception {
+		final int expressionCount = 64;
+		final EvaluableExpressionComplexityAnalyser analyser = new EvaluableExpressionComplexityAnalyser();
+		final double[] computational = new double[expressionCount];
+		final double[] human = new double[expressionCount];
+		for (int i = 0; i < expressionCount; i++) {
+			analyser.determineComplexity(concurrentComplexityExpression("alone", i));
+			computational[i] = analyser.getComputationalComplexitySum();
+			human[i] = analyser.getHumanComprehensibilityComplexitySum();
+		}
+
+		final ExecutorService threads = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<?>> analyses = new ArrayList<>();
+			for (int thread = 0; thread < 4; thread++) {
+				analyses.add(threads.submit(() -> {
+					final EvaluableExpressionComplexityAnalyser concurrentAnalyser =
+						new EvaluableExpressionComplexityAnalyser();
+					for (int i = 0; i < expressionCount; i++) {
+						concurrentAnalyser.determineComplexity(concurrentComplexityExpression("concurrent", i));
+						assertThat(concurrentAnalyser.getComputationalComplexitySum(), is(computational[i]));
+						assertThat(concurrentAnalyser.getHumanComprehensibilityComplexitySum(), is(human[i]));
+					}
+				}));
+			}
+			for (final Future<?> analysis : analyses) {
+				analysis.get();
+			}
+		} finally {
+			threads.shutdownNow();
+		}
+	}
+
+	/**
+	 * Creates an expression for {@link #concurrentComplexity()}. Expressions with
+	 * consecutive indices share inner expressions.
+	 *
+	 * @param variablePrefix Prefix for the names of the variables in the expression.
+	 * @param index The expression’s index.
+	 * @return A new expression.
+	 */
+	private static EvaluableExpression concurrentComplexityExpression(final String variablePrefix,
+		final int index) {
+		final EvaluableExpression shared =
+			new SineExpression(new EvaluableVariable(variablePrefix + "Concurrent" + index / 2));
+		EvaluableExpression expression = shared;
+		for (int depth = 0; depth < index % 5; depth++) {
+			expression = new AdditionExpression(expression, new MultiplicationExpression(shared,
+				new EvaluableVariable(variablePrefix + "Concurrent" + index)));
+		}
+		return expression;
+	}
 }
@@ -10,6 +10,7 @@ import static org.mockito.BDDMockito.then;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 
 import de.uka.ipd.sdq.beagle.core.Blackboard;
 import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
@@ -20,17 +21,26 @@ import de.uka.ipd.sdq.beagle.core.SeffBranch;
 import de.uka.ipd.sdq.beagle.core.SeffLoop;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
 import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.util.EvaluableExpressionSimplifier;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.EvaluableExpressionFactory;
 import de.uka.ipd.sdq.beagle.core.testutil.factories.ProjectInformationFactory;
 import de.uka.ipd.sdq.beagle.core.timeout.Timeout;
 
+import org.apache.commons.lang3.SerializationUtils;
 import org.hamcrest.Matcher;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.stubbing.Answer;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Tests for {@link FinalJudge}.
@@ -120,6 +130,33 @@ public class FinalJudgeTest {
 		new FinalJudge().judge(this.testBlackboard);
 	}
 
+	/**
+	 * Test method for {@link FinalJudge#resume(Blackboard)}. Asserts that resuming keeps
+	 * the data of the previous judge and initialises the judge if there is none.
+	 */
+	@Test
+	public void resume() {
+		given(this.mockFitnessFunction.gradeFor(any(SeffBranch.class), any(), any())).willReturn(10d);
+		given(this.mockFitnessFunction.gradeFor(any(SeffLoop.class), any(), any())).willReturn(10d);
+		given(this.mockFitnessFunction.gradeFor(any(ExternalCallParameter.class), any(), any())).willReturn(10d);
+		given(this.mockFitnessFunction.gradeFor(any(ResourceDemandingInternalAction.class), any(), any()))
+			.willReturn(10d);
+
+		new FinalJudge().resume(this.testBlackboard);
+		then(this.mockTimeout).should().init();
+		for (final MeasurableSeffElement seffElement : this.allSeffElements) {
+			this.testBlackboard.addProposedExpressionFor(seffElement, ConstantExpression.forValue(1));
+		}
+		new FinalJudge().judge(this.testBlackboard);
+
+		final FinalJudge resumedJudge = new FinalJudge();
+		resumedJudge.resume(this.testBlackboard);
+		then(this.mockTimeout).should(times(2)).init();
+		assertThat("Resuming must keep the judged generations", resumedJudge.getOverallFitness(), is(10d));
+
+		assertThat(() -> new FinalJudge().resume(null), throwsException(NullPointerException.class));
+	}
+
 	/**
 	 * Asserts that the judge throws a {@linkplain NullPointerException} if the passed
 	 * blackboard is {@code null}.
@@ -278,7 +315,8 @@ public class FinalJudgeTest {
 	}
 
 	/**
-	 * Asserts that the fittest expression proposed is selected by the final judge.
+	 * Asserts that the fittest expression proposed is selected by the final judge and
+	 * that it is simplified before it is added to the blackboard.
 	 */
 	@Test
 	public void selectsFittestExpression() {
@@ -287,12 +325,13 @@ public class FinalJudgeTest {
 		final ResourceDemandingInternalAction[] seffElements =
 			this.testBlackboard.getAllRdias().toArray(new ResourceDemandingInternalAction[0]);
 		final EvaluableExpression[] testExpressions = EVALUABLE_EXPRESSION_FACTORY.getAll();
+		final EvaluableExpressionSimplifier simplifier = new EvaluableExpressionSimplifier();
 
 		this.testBlackboard.addProposedExpressionFor(seffElements[0], testExpressions[0]);
 		given(this.mockFitnessFunction.gradeFor(eq(seffElements[0]), eq(testExpressions[0]), any())).willReturn(12d);
 		this.testedJudge.judge(this.testBlackboard);
 		assertThat("The final judge should select the fittest expression",
-			this.testBlackboard.getFinalExpressionFor(seffElements[0]), is(testExpressions[0]));
+			this.testBlackboard.getFinalExpressionFor(seffElements[0]), is(simplifier.simplify(testExpressions[0])));
 		assertThat("The final judge should not ‘cross-select’ expressions",
 			this.testBlackboard.getFinalExpressionFor(seffElements[1]), is(nullValue()));
 
@@ -300,9 +339,9 @@ public class FinalJudgeTest {
 		given(this.mockFitnessFunction.gradeFor(eq(seffElements[1]), eq(testExpressions[1]), any())).willReturn(24d);
 		this.testedJudge.judge(this.testBlackboard);
 		assertThat("The final judge should select the fittest expression",
-			this.testBlackboard.getFinalExpressionFor(seffElements[0]), is(testExpressions[0]));
+			this.testBlackboard.getFinalExpressionFor(seffElements[0]), is(simplifier.simplify(testExpressions[0])));
 		assertThat("The final judge should select the fittest expression",
-			this.testBlackboard.getFinalExpressionFor(seffElements[1]), is(testExpressions[1]));
+			this.testBlackboard.getFinalExpressionFor(seffElements[1]), is(simplifier.simplify(testExpressions[1])));
 
 		this.testBlackboard.addProposedExpressionFor(seffElements[0], testExpressions[2]);
 		this.testBlackboard.addProposedExpressionFor(seffElements[0], testExpressions[3]);
@@ -312,8 +351,183 @@ public class FinalJudgeTest {
 		given(this.mockFitnessFunction.gradeFor(eq(seffElements[0]), eq(testExpressions[4]), any())).willReturn(12d);
 		this.testedJudge.judge(this.testBlackboard);
 		assertThat("The final judge should select the fittest expression",
-			this.testBlackboard.getFinalExpressionFor(seffElements[0]), is(testExpressions[3]));
+			this.testBlackboard.getFinalExpressionFor(seffElements[0]), is(simplifier.simplify(testExpressions[3])));
 		assertThat("The final judge should select the fittest expression",
-			this.testBlackboard.getFinalExpressionFor(seffElements[1]), is(testExpressions[1]));
+			this.testBlackboard.getFinalExpressionFor(seffElements[1]), is(simplifier.simplify(testExpressions[1])));
+	}
+
+	/**
+	 * Asserts that the final judge only grades expressions that were not graded before
+	 * or whose element got new measurement results since they were graded.
+	 */
+	@Test
+	public void gradesOnlyChangedExpressions() {
+		this.testedJudge.init(this.testBlackboard);
+
+		final ResourceDemandingInternalAction seffElement = this.testBlackboard.getAllRdias().iterator().next();
+		final EvaluableExpression[] testExpressions = EVALUABLE_EXPRESSION_FACTORY.getAll();
+		given(this.mockFitnessFunction.gradeFor(any(ResourceDemandingInternalAction.class), any(), any()))
+			.willReturn(12d);
+
+		this.testBlackboard.addProposedExpressionFor(seffElement, testExpressions[0]);
+		this.testedJudge.judge(this.testBlackboard);
+		this.testedJudge.judge(this.testBlackboard);
+		new FinalJudge().judge(this.testBlackboard);
+		then(this.mockFitnessFunction).should(times(1)).gradeFor(eq(seffElement), eq(testExpressions[0]), any());
+
+		this.testBlackboard.addProposedExpressionFor(seffElement, testExpressions[1]);
+		this.testedJudge.judge(this.testBlackboard);
+		then(this.mockFitnessFunction).should(times(1)).gradeFor(eq(seffElement), eq(testExpressions[0]), any());
+		then(this.mockFitnessFunction).should(times(1)).gradeFor(eq(seffElement), eq(testExpressions[1]), any());
+
+		this.testBlackboard.addMeasurementResultFor(seffElement, new ResourceDemandMeasurementResult(2d));
+		this.testedJudge.judge(this.testBlackboard);
+		then(this.mockFitnessFunction).should(times(2)).gradeFor(eq(seffElement), eq(testExpressions[0]), any());
+		then(this.mockFitnessFunction).should(times(2)).gradeFor(eq(seffElement), eq(testExpressions[1]), any());
+	}
+
+	/**
+	 * Asserts that which expressions were graded is not written to snapshots of the
+	 * judge’s data, so a judge working on restored data grades all expressions again and
+	 * selects the same expression as before.
+	 */
+	@Test
+	public void doesNotStoreGradingsInSnapshots() {
+		this.testedJudge.init(this.testBlackboard);
+
+		final ResourceDemandingInternalAction seffElement = this.testBlackboard.getAllRdias().iterator().next();
+		final EvaluableExpression[] testExpressions = EVALUABLE_EXPRESSION_FACTORY.getAll();
+		given(this.mockFitnessFunction.gradeFor(any(ResourceDemandingInternalAction.class), any(), any()))
+			.willReturn(12d);
+		given(this.mockFitnessFunction.gradeFor(eq(seffElement), eq(testExpressions[1]), any())).willReturn(6d);
+		this.testBlackboard.addProposedExpressionFor(seffElement, testExpressions[0]);
+		this.testBlackboard.addProposedExpressionFor(seffElement, testExpressions[1]);
+		this.testedJudge.judge(this.testBlackboard);
+		final EvaluableExpression selected = this.testBlackboard.getFinalExpressionFor(seffElement);
+
+		this.testBlackboard.writeFor(FinalJudge.class,
+			SerializationUtils.clone(this.testBlackboard.readFor(FinalJudge.class)));
+		final FinalJudge resumedJudge = new FinalJudge();
+		resumedJudge.resume(this.testBlackboard);
+		resumedJudge.judge(this.testBlackboard);
+		then(this.mockFitnessFunction).should(times(2)).gradeFor(eq(seffElement), eq(testExpressions[0]), any());
+		then(this.mockFitnessFunction).should(times(2)).gradeFor(eq(seffElement), eq(testExpressions[1]), any());
+		assertThat(this.testBlackboard.getFinalExpressionFor(seffElement), is(selected));
+	}
+
+	/**
+	 * Asserts that a judge grading in parallel makes the same decisions and selects the
+	 * same expressions as a judge grading sequentially.
+	 */
+	@Test
+	public void judgesInParallelLikeSequentially() {
+		assertThat(() -> new FinalJudge(null), throwsException(NullPointerException.class));
+
+		this.testBlackboard =
+			BLACKBOARD_FACTORY.setFitnessFunction(BLACKBOARD_FACTORY.getFull(), this.mockFitnessFunction);
+		this.allSeffElements = BLACKBOARD_FACTORY.getAllSeffElements(this.testBlackboard);
+		// many expressions share a fitness value, so the judges must resolve ties alike.
+		final Answer<Double> answerWithTies =
+			(info) -> 1d + Math.abs(info.getArgumentAt(1, EvaluableExpression.class).hashCode() % 5);
+		given(this.mockFitnessFunction.gradeFor(any(SeffBranch.class), any(), any())).will(answerWithTies);
+		given(this.mockFitnessFunction.gradeFor(any(SeffLoop.class), any(), any())).will(answerWithTies);
+		given(this.mockFitnessFunction.gradeFor(any(ExternalCallParameter.class), any(), any()))
+			.will(answerWithTies);
+		given(this.mockFitnessFunction.gradeFor(any(ResourceDemandingInternalAction.class), any(), any()))
+			.will(answerWithTies);
+		for (final MeasurableSeffElement seffElement : this.allSeffElements) {
+			for (final EvaluableExpression expression : EVALUABLE_EXPRESSION_FACTORY.getAll()) {
+				this.testBlackboard.addProposedExpressionFor(seffElement, expression);
+			}
+		}
+
+		final FinalJudge sequentialJudge = new FinalJudge();
+		sequentialJudge.init(this.testBlackboard);
+		final boolean sequentialDecision = sequentialJudge.judge(this.testBlackboard);
+		final Map<MeasurableSeffElement, EvaluableExpression> sequentialSelection = new HashMap<>();
+		for (final MeasurableSeffElement seffElement : this.allSeffElements) {
+			sequentialSelection.put(seffElement, this.testBlackboard.getFinalExpressionFor(seffElement));
+		}
+
+		final FinalJudge parallelJudge = new FinalJudge(new ForkJoinPool(4));
+		parallelJudge.init(this.testBlackboard);
+		assertThat("The parallel judge must decide like the sequential judge",
+			parallelJudge.judge(this.testBlackboard), is(sequentialDecision));
+		for (final MeasurableSeffElement seffElement : this.allSeffElements) {
+			assertThat("The parallel judge must select the same expressions as the sequential judge",
+				this.testBlackboard.getFinalExpressionFor(seffElement), is(sequentialSelection.get(seffElement)));
+		}
+	}
+
+	/**
+	 * Asserts that the judge reports the average fitness of the fittest expressions as
+	 * overall fitness.
+	 */
+	@Test
+	public void getOverallFitness() {
+		assertThat(() -> this.testedJudge.getOverallFitness(), throwsException(IllegalStateException.class));
+		this.testedJudge.init(this.testBlackboard);
+		assertThat("There is no fitness before the first judgement", this.testedJudge.getOverallFitness(),
+			is(Double.POSITIVE_INFINITY));
+
+		given(this.mockFitnessFunction.gradeFor(any(SeffBranch.class), any(), any())).willReturn(2d);
+		given(this.mockFitnessFunction.gradeFor(any(SeffLoop.class), any(), any())).willReturn(2d);
+		given(this.mockFitnessFunction.gradeFor(any(ExternalCallParameter.class), any(), any())).willReturn(2d);
+		given(this.mockFitnessFunction.gradeFor(any(ResourceDemandingInternalAction.class), any(), any()))
+			.willReturn(2d);
+		for (final MeasurableSeffElement seffElement : this.allSeffElements) {
+			this.testBlackboard.addProposedExpressionFor(seffElement, EVALUABLE_EXPRESSION_FACTORY.getOne());
+		}
+		this.testedJudge.judge(this.testBlackboard);
+		assertThat(this.testedJudge.getOverallFitness(), is(2d));
+	}
+
+	/**
+	 * Test method for {@link FinalJudge#getOverallFitnessWith(Map)}.
+	 *
+	 * <p>Asserts that only the given proposals of the last generation are taken into
+	 * account, compared to the fittest expressions of the generation before.
+	 */
+	@Test
+	public void getOverallFitnessWith() {
+		assertThat(() -> this.testedJudge.getOverallFitnessWith(Collections.emptyMap()),
+			throwsException(IllegalStateException.class));
+		this.testedJudge.init(this.testBlackboard);
+		assertThat("There is no fitness before the first judgement",
+			this.testedJudge.getOverallFitnessWith(Collections.emptyMap()), is(Double.POSITIVE_INFINITY));
+		assertThat(() -> this.testedJudge.getOverallFitnessWith(null), throwsException(NullPointerException.class));
+
+		final SeffBranch branch = this.testBlackboard.getAllSeffBranches().iterator().next();
+		final EvaluableExpression goodExpression = ConstantExpression.forValue(1);
+		final EvaluableExpression badExpression = ConstantExpression.forValue(2);
+		given(this.mockFitnessFunction.gradeFor(any(SeffBranch.class), any(), any())).willReturn(6d);
+		given(this.mockFitnessFunction.gradeFor(any(SeffLoop.class), any(), any())).willReturn(6d);
+		given(this.mockFitnessFunction.gradeFor(any(ExternalCallParameter.class), any(), any())).willReturn(6d);
+		given(this.mockFitnessFunction.gradeFor(any(ResourceDemandingInternalAction.class), any(), any()))
+			.willReturn(6d);
+		given(this.mockFitnessFunction.gradeFor(eq(branch), eq(goodExpression), any())).willReturn(2d);
+		this.testedJudge.judge(this.testBlackboard);
+
+		for (final MeasurableSeffElement seffElement : this.allSeffElements) {
+			this.testBlackboard.addProposedExpressionFor(seffElement, badExpression);
+		}
+		this.testBlackboard.addProposedExpressionFor(branch, goodExpression);
+		this.testedJudge.judge(this.testBlackboard);
+		final int elementCount = this.allSeffElements.size();
+		final double maximumFitness = FinalJudge.MAX_CONSIDERED_FITNESS_VALUE;
+
+		assertThat("Without proposals, the fitness of the generation before must be returned",
+			this.testedJudge.getOverallFitnessWith(Collections.emptyMap()), is(maximumFitness));
+		assertThat("Only the given proposals must be credited",
+			this.testedJudge
+				.getOverallFitnessWith(Collections.singletonMap(branch, Collections.singleton(goodExpression))),
+			is((2d + (elementCount - 1) * maximumFitness) / elementCount));
+		final Map<MeasurableSeffElement, Set<EvaluableExpression>> allProposals = new HashMap<>();
+		for (final MeasurableSeffElement seffElement : this.allSeffElements) {
+			allProposals.put(seffElement, Collections.singleton(badExpression));
+		}
+		assertThat(this.testedJudge.getOverallFitnessWith(allProposals), is(6d));
+		allProposals.put(branch, new HashSet<>(Arrays.asList(badExpression, goodExpression)));
+		assertThat(this.testedJudge.getOverallFitnessWith(allProposals), is(this.testedJudge.getOverallFitness()));
 	}
 }
@@ -30,7 +30,9 @@ import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -265,6 +267,33 @@ public class MeasurementControllerBlackboardViewTest {
 			is(theInstance(testInstance)));
 	}
 
+	/**
+	 * Test method for the {@code view…ToBeMeasured} methods and
+	 * {@link MeasurementControllerBlackboardView#hasElementsToBeMeasured()}. Asserts
+	 * that the tested view returns what it obtained from the blackboard.
+	 */
+	@Test
+	public void viewToBeMeasured() {
+		final Set<ResourceDemandingInternalAction> rdias = new HashSet<>();
+		final Set<SeffBranch> branches = new HashSet<>();
+		final Set<SeffLoop> loops = new HashSet<>();
+		final Set<ExternalCallParameter> parameters = new HashSet<>();
+		given(this.mockedBlackboard.viewRdiasToBeMeasured()).willReturn(rdias);
+		given(this.mockedBlackboard.viewSeffBranchesToBeMeasured()).willReturn(branches);
+		given(this.mockedBlackboard.viewSeffLoopsToBeMeasured()).willReturn(loops);
+		given(this.mockedBlackboard.viewExternalCallParametersToBeMeasured()).willReturn(parameters);
+
+		assertThat(this.testedView.viewRdiasToBeMeasured(), is(theInstance(rdias)));
+		assertThat(this.testedView.viewSeffBranchesToBeMeasured(), is(theInstance(branches)));
+		assertThat(this.testedView.viewSeffLoopsToBeMeasured(), is(theInstance(loops)));
+		assertThat(this.testedView.viewExternalCallParametersToBeMeasured(), is(theInstance(parameters)));
+
+		given(this.mockedBlackboard.hasElementsToBeMeasured()).willReturn(true);
+		assertThat(this.testedView.hasElementsToBeMeasured(), is(true));
+		given(this.mockedBlackboard.hasElementsToBeMeasured()).willReturn(false);
+		assertThat(this.testedView.hasElementsToBeMeasured(), is(false));
+	}
+
 	/**
 	 * // @formatter:off
 	 * Test method for
@@ -357,6 +386,38 @@ public class MeasurementControllerBlackboardViewTest {
 		then(this.mockedBlackboard).should().addMeasurementResultFor(same(exParam), same(results));
 	}
 
+	/**
+	 * Test method for the {@code addMeasurementResultsFor} methods of
+	 * {@link MeasurementControllerBlackboardView}. Asserts that the calls are delegated
+	 * to the blackboard.
+	 */
+	@Test
+	public void addMeasurementResultsFor() {
+		final ResourceDemandingInternalAction rdia = RDIA_FACTORY.getOne();
+		final List<ResourceDemandMeasurementResult> rdiaResults =
+			Arrays.asList(new ResourceDemandMeasurementResult(2.5));
+		this.testedView.addMeasurementResultsFor(rdia, rdiaResults);
+		then(this.mockedBlackboard).should().addMeasurementResultsFor(same(rdia), same(rdiaResults));
+
+		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
+		final List<LoopRepetitionCountMeasurementResult> loopResults =
+			Arrays.asList(new LoopRepetitionCountMeasurementResult(3));
+		this.testedView.addMeasurementResultsFor(loop, loopResults);
+		then(this.mockedBlackboard).should().addMeasurementResultsFor(same(loop), same(loopResults));
+
+		final SeffBranch branch = SEFF_BRANCH_FACTORY.getOne();
+		final List<BranchDecisionMeasurementResult> branchResults =
+			Arrays.asList(new BranchDecisionMeasurementResult(0));
+		this.testedView.addMeasurementResultsFor(branch, branchResults);
+		then(this.mockedBlackboard).should().addMeasurementResultsFor(same(branch), same(branchResults));
+
+		final ExternalCallParameter parameter = EXTERNAL_CALL_PARAMETER_FACTORY.getOne();
+		final List<ParameterChangeMeasurementResult> parameterResults =
+			Arrays.asList(new ParameterChangeMeasurementResult());
+		this.testedView.addMeasurementResultsFor(parameter, parameterResults);
+		then(this.mockedBlackboard).should().addMeasurementResultsFor(same(parameter), same(parameterResults));
+	}
+
 	/**
 	 * Test method for {@link MeasurementControllerBlackboardView#getGetFitnessFunction()}
 	 * . Asserts that:
@@ -4,10 +4,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Matchers.notNull;
 import static org.mockito.Matchers.refEq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 import de.uka.ipd.sdq.beagle.core.AnalysisControllerTest;
 import de.uka.ipd.sdq.beagle.core.Blackboard;
@@ -96,11 +97,12 @@ public class MeasurementControllerTest {
 		final Set<SeffLoop> seffLoopSet = SEFF_LOOP_FACTORY.getAllAsSet();
 		final Set<ExternalCallParameter> externalCallParameterSet = EXTERNAL_CALL_PARAMETER_FACTORY.getAllAsSet();
 		final List<SeffLoop> loops = new ArrayList<>(seffLoopSet);
-		when(tool.measure(anyObject())).thenAnswer(new Answer<Object>() {
+		doAnswer(new Answer<Object>() {
 
 			@Override
 			public Object answer(final InvocationOnMock invocation) throws Throwable {
 
+				final MeasurementEventSink eventSink = invocation.getArgumentAt(1, MeasurementEventSink.class);
 				final List<MeasurementEvent> measurementEvents = new ArrayList<>();
 				measurementEvents.add(new CodeSectionEnteredEvent(loops.get(0).getLoopBody()));
 				measurementEvents.add(new CodeSectionEnteredEvent(loops.get(1).getLoopBody()));
@@ -110,9 +112,10 @@ public class MeasurementControllerTest {
 				measurementEvents.add(new CodeSectionEnteredEvent(loops.get(1).getLoopBody()));
 				measurementEvents.add(new CodeSectionLeftEvent(loops.get(1).getLoopBody()));
 				measurementEvents.add(new CodeSectionLeftEvent(loops.get(0).getLoopBody()));
-				return measurementEvents;
+				measurementEvents.forEach(eventSink::accept);
+				return null;
 			}
-		});
+		}).when(tool).measure(anyObject(), anyObject());
 
 		final Blackboard blackboard = new Blackboard(rdiaSet, seffBranchSet, seffLoopSet, externalCallParameterSet,
 			FITNESS_FUNCTION_FACTORY.getOne(), mock(ProjectInformation.class));
@@ -139,7 +142,8 @@ public class MeasurementControllerTest {
 		measurementController.measure(new MeasurementControllerBlackboardView(blackboard));
 		final MeasurementOrder expectedMeasurementOrder = new MeasurementOrder(parameterValueSections,
 			resourceDemandSections, executionSections, mock(ProjectInformation.class), new ParameterCharacteriser());
-		verify(tool).measure(refEq(expectedMeasurementOrder, "projectInformation", "parameterCharacteriser"));
+		verify(tool).measure(refEq(expectedMeasurementOrder, "projectInformation", "parameterCharacteriser"),
+			notNull(MeasurementEventSink.class));
 
 		// Check blackboard
 		final Set<LoopRepetitionCountMeasurementResult> results = blackboard.getMeasurementResultsFor(loops.get(0));
@@ -0,0 +1,370 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static de.uka.ipd.sdq.beagle.core.testutil.NullHandlingMatchers.notAcceptingNull;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.spy;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandType;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
+import de.uka.ipd.sdq.beagle.core.SeffBranch;
+import de.uka.ipd.sdq.beagle.core.SeffLoop;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionEnteredEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.CodeSectionLeftEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.CodeSectionFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.ExternalCallParameterFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.MeasurementEventFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.ResourceDemandingInternalActionFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffBranchFactory;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.SeffLoopFactory;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tests {@link MeasurementResultAggregator} and contains all test cases needed to check
+ * every method.
+ *
+ * @author Joshua Gleitze
+ */
+public class MeasurementResultAggregatorTest {
+
+	/**
+	 * A {@link MeasurementEventFactory}, which is able to generate
+	 * {@link MeasurementEvent}s.
+	 */
+	private static final MeasurementEventFactory MEASUREMENT_EVENT_FACTORY = new MeasurementEventFactory();
+
+	/**
+	 * A {@link SeffLoop} factory to easily obtain new instances from.
+	 */
+	private static final SeffLoopFactory SEFF_LOOP_FACTORY = new SeffLoopFactory();
+
+	/**
+	 * A {@link SeffBranch} factory to easily obtain new instances from.
+	 */
+	private static final SeffBranchFactory SEFF_BRANCH_FACTORY = new SeffBranchFactory();
+
+	/**
+	 * A {@link CodeSection} factory to easily obtain new instances from.
+	 */
+	private static final CodeSectionFactory CODE_SECTION_FACTORY = new CodeSectionFactory();
+
+	/**
+	 * A {@link ResourceDemandingInternalAction} factory to easily obtain new instances
+	 * from.
+	 */
+	private static final ResourceDemandingInternalActionFactory RDIA_FACTORY =
+		new ResourceDemandingInternalActionFactory();
+
+	/**
+	 * A {@link ExternalCallParameter} factory to easily obtain new instances from.
+	 */
+	private static final ExternalCallParameterFactory EXTERNAL_CALL_PARAMETER_FACTORY =
+		new ExternalCallParameterFactory();
+
+	/**
+	 * Test method for
+	 * {@link MeasurementResultAggregator#MeasurementResultAggregator(java.util.Collection, java.util.Collection, java.util.Collection, java.util.Collection)}
+	 * .
+	 */
+	@Test
+	public void constructor() {
+		final Set<SeffBranch> branches = SEFF_BRANCH_FACTORY.getAllAsSet();
+		final Set<SeffLoop> loops = SEFF_LOOP_FACTORY.getAllAsSet();
+		final Set<ResourceDemandingInternalAction> rdias = RDIA_FACTORY.getAllAsSet();
+		final Set<ExternalCallParameter> parameters = EXTERNAL_CALL_PARAMETER_FACTORY.getAllAsSet();
+		new MeasurementResultAggregator(branches, loops, rdias, parameters);
+
+		assertThat((withNull) -> new MeasurementResultAggregator(withNull, loops, rdias, parameters),
+			is(notAcceptingNull(branches)));
+		assertThat((withNull) -> new MeasurementResultAggregator(branches, withNull, rdias, parameters),
+			is(notAcceptingNull(loops)));
+		assertThat((withNull) -> new MeasurementResultAggregator(branches, loops, withNull, parameters),
+			is(notAcceptingNull(rdias)));
+		assertThat((withNull) -> new MeasurementResultAggregator(branches, loops, rdias, withNull),
+			is(notAcceptingNull(parameters)));
+	}
+
+	/**
+	 * Test method for {@link MeasurementResultAggregator#accept(MeasurementEvent)} and
+	 * {@link MeasurementResultAggregator#finish()}.
+	 */
+	@Test
+	public void acceptAndFinish() {
+		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
+		final MeasurementResultAggregator aggregator = this.createFor(loop);
+
+		assertThat("Results must not be available before the aggregation was finished.",
+			() -> aggregator.getMeasurementResultsFor(loop), throwsException(IllegalStateException.class));
+		assertThat("Events must not be null.", () -> aggregator.accept(null),
+			throwsException(NullPointerException.class));
+
+		aggregator.accept(MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent());
+		aggregator.accept(new CodeSectionEnteredEvent(loop.getLoopBody()));
+		aggregator.finish();
+		assertThat("finish must complete unfinished loop executions.",
+			this.countsOf(aggregator.getMeasurementResultsFor(loop)), containsInAnyOrder(1));
+
+		aggregator.finish();
+		assertThat("Calling finish twice must not have an effect.",
+			this.countsOf(aggregator.getMeasurementResultsFor(loop)), containsInAnyOrder(1));
+		assertThat("Events must not be accepted after the aggregation was finished.",
+			() -> aggregator.accept(new CodeSectionEnteredEvent(loop.getLoopBody())),
+			throwsException(IllegalStateException.class));
+	}
+
+	/**
+	 * Test method for
+	 * {@link MeasurementResultAggregator#getMeasurementResultsFor(ResourceDemandingInternalAction)}
+	 * .
+	 */
+	@Test
+	public void getMeasurementResultsForResourceDemandingInternalAction() {
+		final ResourceDemandingInternalAction[] rdias = RDIA_FACTORY.getAll();
+		final MeasurementResultAggregator aggregator = new MeasurementResultAggregator(Collections.emptySet(),
+			Collections.emptySet(), Arrays.asList(rdias[0], rdias[1]), Collections.emptySet());
+
+		aggregator.accept(new ResourceDemandCapturedEvent(rdias[0].getAction(), rdias[0].getResourceType(), 0.3));
+		aggregator.accept(new ResourceDemandCapturedEvent(rdias[1].getAction(), rdias[1].getResourceType(), 3.4));
+		aggregator.accept(MEASUREMENT_EVENT_FACTORY.getOneCodeSectionEnteredEvent());
+		aggregator.accept(new ResourceDemandCapturedEvent(rdias[0].getAction(), rdias[0].getResourceType(), 4.5));
+		aggregator.accept(new ResourceDemandCapturedEvent(rdias[2].getAction(), rdias[2].getResourceType(), 6.9));
+		aggregator.accept(new ResourceDemandCapturedEvent(rdias[0].getAction(),
+			new ResourceDemandType("NotTheSame", true), 3.3));
+		aggregator.finish();
+
+		assertThat(
+			aggregator.getMeasurementResultsFor(rdias[0]).stream().map(ResourceDemandMeasurementResult::getValue)
+				.collect(Collectors.toList()),
+			containsInAnyOrder(0.3, 4.5));
+		assertThat(
+			aggregator.getMeasurementResultsFor(rdias[1]).stream().map(ResourceDemandMeasurementResult::getValue)
+				.collect(Collectors.toList()),
+			containsInAnyOrder(3.4));
+		assertThat("Results must only be aggregated for the actions passed to the constructor.",
+			aggregator.getMeasurementResultsFor(rdias[2]), is(empty()));
+		assertThat(() -> aggregator.getMeasurementResultsFor((ResourceDemandingInternalAction) null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for
+	 * {@link MeasurementResultAggregator#getMeasurementResultsFor(SeffBranch)} .
+	 */
+	@Test
+	public void getMeasurementResultsForSeffBranch() {
+		final CodeSection[] sections = CODE_SECTION_FACTORY.getAll();
+		final SeffBranch[] branches = {
+			new SeffBranch(new HashSet<>(Arrays.asList(sections[0], sections[1], sections[2]))),
+			new SeffBranch(new HashSet<>(Arrays.asList(sections[3], sections[4])))
+		};
+		final MeasurementResultAggregator aggregator = new MeasurementResultAggregator(Arrays.asList(branches),
+			Collections.emptySet(), Collections.emptySet(), Collections.emptySet());
+
+		aggregator.accept(MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent());
+		aggregator.accept(new CodeSectionEnteredEvent(branches[0].getBranches().get(0)));
+		aggregator.accept(new CodeSectionLeftEvent(branches[0].getBranches().get(0)));
+		aggregator.accept(new CodeSectionEnteredEvent(branches[1].getBranches().get(1)));
+		aggregator.accept(new CodeSectionEnteredEvent(branches[0].getBranches().get(1)));
+		aggregator.accept(new CodeSectionEnteredEvent(branches[0].getBranches().get(0)));
+		aggregator.finish();
+
+		assertThat(this.indicesOf(aggregator.getMeasurementResultsFor(branches[0])), containsInAnyOrder(0, 1, 0));
+		assertThat(this.indicesOf(aggregator.getMeasurementResultsFor(branches[1])), containsInAnyOrder(1));
+		assertThat(() -> aggregator.getMeasurementResultsFor((SeffBranch) null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link MeasurementResultAggregator#getMeasurementResultsFor(SeffLoop)}
+	 * . Asserts that every iteration sequence of a loop body is counted, that nested
+	 * entries of the same body start new sequences and that unrelated events end a
+	 * sequence.
+	 */
+	@Test
+	public void getMeasurementResultsForSeffLoop() {
+		final SeffLoop[] loops = SEFF_LOOP_FACTORY.getAll();
+		final CodeSection body0 = loops[0].getLoopBody();
+		final CodeSection body1 = loops[1].getLoopBody();
+		final MeasurementEvent other = MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent();
+
+		this.assertRepetitionCounts(loops, Arrays.asList(1), Collections.emptyList(),
+			new CodeSectionEnteredEvent(body0));
+		this.assertRepetitionCounts(loops, Arrays.asList(1), Collections.emptyList(),
+			new CodeSectionEnteredEvent(body0), new CodeSectionLeftEvent(body0), new CodeSectionLeftEvent(body0));
+		this.assertRepetitionCounts(loops, Arrays.asList(1, 1, 1), Collections.emptyList(),
+			new CodeSectionEnteredEvent(body0), new CodeSectionEnteredEvent(body0), new CodeSectionEnteredEvent(body0),
+			new CodeSectionLeftEvent(body0), new CodeSectionLeftEvent(body0), new CodeSectionLeftEvent(body0));
+		this.assertRepetitionCounts(loops, Arrays.asList(2), Collections.emptyList(),
+			new CodeSectionLeftEvent(body0), new CodeSectionEnteredEvent(body0), other, new CodeSectionLeftEvent(body0),
+			new CodeSectionEnteredEvent(body0), new CodeSectionLeftEvent(body0));
+		this.assertRepetitionCounts(loops, Arrays.asList(1, 1), Collections.emptyList(),
+			new CodeSectionEnteredEvent(body0), new CodeSectionLeftEvent(body0), other,
+			new CodeSectionEnteredEvent(body0), new CodeSectionLeftEvent(body0));
+		this.assertRepetitionCounts(loops, Arrays.asList(1), Arrays.asList(1, 1), new CodeSectionEnteredEvent(body0),
+			new CodeSectionEnteredEvent(body1), new CodeSectionLeftEvent(body1), other,
+			new CodeSectionEnteredEvent(body1), new CodeSectionLeftEvent(body1), new CodeSectionLeftEvent(body0));
+		this.assertRepetitionCounts(loops, Arrays.asList(1), Arrays.asList(1), new CodeSectionEnteredEvent(body0),
+			new CodeSectionEnteredEvent(body1), new CodeSectionLeftEvent(body0), new CodeSectionLeftEvent(body1));
+		this.assertRepetitionCounts(loops, Arrays.asList(1, 3), Arrays.asList(1), new CodeSectionEnteredEvent(body0),
+			new CodeSectionLeftEvent(body0), new CodeSectionEnteredEvent(body0), new CodeSectionLeftEvent(body0),
+			new CodeSectionEnteredEvent(body0), new CodeSectionLeftEvent(body0), new CodeSectionEnteredEvent(body1),
+			new CodeSectionLeftEvent(body1), new CodeSectionEnteredEvent(body0), new CodeSectionLeftEvent(body0));
+
+		final MeasurementResultAggregator aggregator = this.createFor(loops[0]);
+		aggregator.finish();
+		assertThat(() -> aggregator.getMeasurementResultsFor((SeffLoop) null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link MeasurementResultAggregator#accept(MeasurementEvent)}.
+	 *
+	 * <p>Asserts that loop results are found in a single pass over the events in the
+	 * order they occurred: Each event is looked at exactly once, right when it is
+	 * received, and is not needed afterwards. A long stream of events that are never
+	 * stored is thus aggregated without looking back.
+	 */
+	@Test
+	public void aggregatesLoopsInOneOrderedPass() {
+		final SeffLoop loop = SEFF_LOOP_FACTORY.getOne();
+		final MeasurementEvent other = MEASUREMENT_EVENT_FACTORY.getOneResourceDemandCapturedEvent();
+		final List<MeasurementEvent> loopEvents = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			loopEvents.add(spy(new CodeSectionEnteredEvent(loop.getLoopBody())));
+			loopEvents.add(spy(new CodeSectionLeftEvent(loop.getLoopBody())));
+		}
+
+		final MeasurementResultAggregator aggregator = this.createFor(loop);
+		for (int i = 0; i < loopEvents.size(); i++) {
+			if (i == 6) {
+				aggregator.accept(other);
+			}
+			aggregator.accept(loopEvents.get(i));
+		}
+		aggregator.finish();
+		final InOrder inOrder = inOrder(loopEvents.toArray());
+		for (final MeasurementEvent event : loopEvents) {
+			inOrder.verify(event).receive(any());
+		}
+		assertThat(this.countsOf(aggregator.getMeasurementResultsFor(loop)), containsInAnyOrder(3, 1));
+
+		final int executions = 100000;
+		final MeasurementResultAggregator streamAggregator = this.createFor(loop);
+		for (int execution = 0; execution < executions; execution++) {
+			for (int repetition = 0; repetition <= execution % 5; repetition++) {
+				streamAggregator.accept(new CodeSectionEnteredEvent(loop.getLoopBody()));
+				streamAggregator.accept(new CodeSectionLeftEvent(loop.getLoopBody()));
+			}
+			streamAggregator.accept(other);
+		}
+		streamAggregator.finish();
+		final List<Integer> counts = this.countsOf(streamAggregator.getMeasurementResultsFor(loop));
+		assertThat(counts.size(), is(executions));
+		assertThat(new HashSet<>(counts), containsInAnyOrder(1, 2, 3, 4, 5));
+	}
+
+	/**
+	 * Test method for
+	 * {@link MeasurementResultAggregator#getMeasurementResultsFor(ExternalCallParameter)}
+	 * .
+	 */
+	@Test
+	public void getMeasurementResultsForExternalCallParameter() {
+		final Set<ExternalCallParameter> parameters = EXTERNAL_CALL_PARAMETER_FACTORY.getAllAsSet();
+		final MeasurementResultAggregator aggregator = new MeasurementResultAggregator(Collections.emptySet(),
+			Collections.emptySet(), Collections.emptySet(), parameters);
+		for (final MeasurementEvent event : MEASUREMENT_EVENT_FACTORY.getAll()) {
+			aggregator.accept(event);
+		}
+		aggregator.finish();
+
+		for (final ExternalCallParameter parameter : parameters) {
+			assertThat("There should be no measurement results for ExternalCallParameters.",
+				aggregator.getMeasurementResultsFor(parameter), is(empty()));
+		}
+		assertThat(() -> aggregator.getMeasurementResultsFor((ExternalCallParameter) null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Asserts that a {@link MeasurementResultAggregator} receiving {@code events} finds
+	 * the expected loop repetition counts for {@code loops}. Only the first two loops may
+	 * have results.
+	 *
+	 * @param loops The loops to check the results of.
+	 * @param firstLoopCounts The repetition counts expected for {@code loops[0]}, in
+	 *            ascending order.
+	 * @param secondLoopCounts The repetition counts expected for {@code loops[1]}, in
+	 *            ascending order.
+	 * @param events The events that occurred.
+	 */
+	private void assertRepetitionCounts(final SeffLoop[] loops, final List<Integer> firstLoopCounts,
+		final List<Integer> secondLoopCounts, final MeasurementEvent... events) {
+		final MeasurementResultAggregator aggregator = new MeasurementResultAggregator(Collections.emptySet(),
+			Arrays.asList(loops), Collections.emptySet(), Collections.emptySet());
+		for (final MeasurementEvent event : events) {
+			aggregator.accept(event);
+		}
+		aggregator.finish();
+
+		for (int i = 0; i < loops.length; i++) {
+			final List<Integer> expectedCounts =
+				i == 0 ? firstLoopCounts : i == 1 ? secondLoopCounts : Collections.emptyList();
+			final List<Integer> actualCounts = this.countsOf(aggregator.getMeasurementResultsFor(loops[i]));
+			Collections.sort(actualCounts);
+			assertThat(String.format("Loop repetition counts for %s after %s", loops[i], Arrays.toString(events)),
+				actualCounts, is(expectedCounts));
+		}
+	}
+
+	/**
+	 * Creates an aggregator that aggregates results for {@code loop} only.
+	 *
+	 * @param loop A seff loop.
+	 * @return An aggregator for {@code loop}.
+	 */
+	private MeasurementResultAggregator createFor(final SeffLoop loop) {
+		return new MeasurementResultAggregator(Collections.emptySet(), new HashSet<>(Arrays.asList(loop)),
+			Collections.emptySet(), Collections.emptySet());
+	}
+
+	/**
+	 * Extracts the repetition counts of loop results.
+	 *
+	 * @param results Loop repetition count results.
+	 * @return The counts of {@code results}.
+	 */
+	private List<Integer> countsOf(final Set<LoopRepetitionCountMeasurementResult> results) {
+		return results.stream().map(LoopRepetitionCountMeasurementResult::getCount)
+			.collect(Collectors.toCollection(ArrayList::new));
+	}
+
+	/**
+	 * Extracts the branch indices of branch decision results.
+	 *
+	 * @param results Branch decision results.
+	 * @return The branch indices of {@code results}.
+	 */
+	private List<Integer> indicesOf(final Set<BranchDecisionMeasurementResult> results) {
+		return results.stream().map(BranchDecisionMeasurementResult::getBranchIndex).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,94 @@
+package de.uka.ipd.sdq.beagle.core.measurement;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableAssignment;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tests {@link Parameterisation}.
+ *
+ * @author Joshua Gleitze
+ */
+public class ParameterisationTest {
+
+	/**
+	 * Test method for {@link Parameterisation#Parameterisation()} and
+	 * {@link Parameterisation#Parameterisation(Map)}.
+	 *
+	 * <p>Asserts that {@code null} is rejected and that the values are copied.
+	 */
+	@Test
+	public void constructor() {
+		assertThat(new Parameterisation().getVariables(), is(empty()));
+		assertThat(() -> new Parameterisation(null), throwsException(NullPointerException.class));
+
+		final Map<EvaluableVariable, Double> values = new HashMap<>();
+		values.put(null, 1d);
+		assertThat(() -> new Parameterisation(values), throwsException(IllegalArgumentException.class));
+		values.clear();
+		values.put(new EvaluableVariable("a"), null);
+		assertThat(() -> new Parameterisation(values), throwsException(IllegalArgumentException.class));
+
+		values.clear();
+		final EvaluableVariable variable = new EvaluableVariable("a");
+		values.put(variable, 1d);
+		final Parameterisation parameterisation = new Parameterisation(values);
+		values.put(variable, 2d);
+		values.put(new EvaluableVariable("b"), 3d);
+		assertThat(parameterisation.getValueFor(variable), is(1d));
+		assertThat(parameterisation.getVariables(), containsInAnyOrder(variable));
+	}
+
+	/**
+	 * Test method for {@link Parameterisation#getValueFor(EvaluableVariable)},
+	 * {@link Parameterisation#isValueAssignedFor(EvaluableVariable)} and
+	 * {@link Parameterisation#toAssignment()}.
+	 */
+	@Test
+	public void values() {
+		final EvaluableVariable size = new EvaluableVariable("size");
+		final EvaluableVariable depth = new EvaluableVariable("depth");
+		final Map<EvaluableVariable, Double> values = new HashMap<>();
+		values.put(size, 42d);
+		final Parameterisation parameterisation = new Parameterisation(values);
+
+		assertThat(parameterisation.isValueAssignedFor(size), is(true));
+		assertThat(parameterisation.isValueAssignedFor(depth), is(false));
+		assertThat(parameterisation.getValueFor(size), is(42d));
+		assertThat(() -> parameterisation.getValueFor(depth), throwsException(IllegalArgumentException.class));
+		assertThat(() -> parameterisation.getValueFor(null), throwsException(NullPointerException.class));
+		assertThat(() -> parameterisation.isValueAssignedFor(null), throwsException(NullPointerException.class));
+
+		final EvaluableVariableAssignment assignment = parameterisation.toAssignment();
+		assertThat(assignment.getValueFor(size), is(42d));
+		assertThat(assignment.isValueAssignedFor(depth), is(false));
+	}
+
+	/**
+	 * Test method for {@link Parameterisation#equals(Object)} and
+	 * {@link Parameterisation#hashCode()}.
+	 */
+	@Test
+	public void equalsAndHashCode() {
+		final Map<EvaluableVariable, Double> values = new HashMap<>();
+		values.put(new EvaluableVariable("size"), 42d);
+		final Parameterisation parameterisation = new Parameterisation(values);
+		final Parameterisation equalParameterisation = new Parameterisation(values);
+
+		assertThat(parameterisation, is(equalParameterisation));
+		assertThat(parameterisation.hashCode(), is(equalParameterisation.hashCode()));
+		assertThat(parameterisation, is(not(new Parameterisation())));
+		assertThat(parameterisation.equals(null), is(false));
+	}
+}
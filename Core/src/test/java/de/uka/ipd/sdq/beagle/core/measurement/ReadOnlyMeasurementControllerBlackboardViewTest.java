@@ -230,6 +230,33 @@ public class ReadOnlyMeasurementControllerBlackboardViewTest {
 			is(theInstance(testInstance)));
 	}
 
+	/**
+	 * Test method for the {@code view…ToBeMeasured} methods and
+	 * {@link ReadOnlyMeasurementControllerBlackboardView#hasElementsToBeMeasured()}. Asserts
+	 * that the tested view returns what it obtained from the blackboard.
+	 */
+	@Test
+	public void viewToBeMeasured() {
+		final Set<ResourceDemandingInternalAction> rdias = new HashSet<>();
+		final Set<SeffBranch> branches = new HashSet<>();
+		final Set<SeffLoop> loops = new HashSet<>();
+		final Set<ExternalCallParameter> parameters = new HashSet<>();
+		given(this.mockedBlackboard.viewRdiasToBeMeasured()).willReturn(rdias);
+		given(this.mockedBlackboard.viewSeffBranchesToBeMeasured()).willReturn(branches);
+		given(this.mockedBlackboard.viewSeffLoopsToBeMeasured()).willReturn(loops);
+		given(this.mockedBlackboard.viewExternalCallParametersToBeMeasured()).willReturn(parameters);
+
+		assertThat(this.testedView.viewRdiasToBeMeasured(), is(theInstance(rdias)));
+		assertThat(this.testedView.viewSeffBranchesToBeMeasured(), is(theInstance(branches)));
+		assertThat(this.testedView.viewSeffLoopsToBeMeasured(), is(theInstance(loops)));
+		assertThat(this.testedView.viewExternalCallParametersToBeMeasured(), is(theInstance(parameters)));
+
+		given(this.mockedBlackboard.hasElementsToBeMeasured()).willReturn(true);
+		assertThat(this.testedView.hasElementsToBeMeasured(), is(true));
+		given(this.mockedBlackboard.hasElementsToBeMeasured()).willReturn(false);
+		assertThat(this.testedView.hasElementsToBeMeasured(), is(false));
+	}
+
 	/**
 	 * Test method for
 	 * {@link ReadOnlyMeasurementControllerBlackboardView#getGetFitnessFunction()} .
@@ -0,0 +1,245 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.Validate;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Remembers the byte code that was compiled from instrumented source files, so that a
+ * source file that is instrumented the same way again does not need to be instrumented
+ * and compiled again.
+ *
+ * <p>The cache is content addressed: Byte code is stored under a key that is computed from
+ * everything the instrumentation and compilation result depends on, namely the source
+ * file’s content, the instrumentation points in it, the charset and the class path. The
+ * source file’s location does not influence the key. Two keys are only equal if the
+ * instrumented and compiled results are equal.
+ *
+ * <p>The cache is only an optimisation. If it cannot read or write its files, it behaves
+ * as if it did not contain the requested entry. The cached byte code is stored in a
+ * temporary folder that is deleted when the JVM exits.
+ *
+ * @author Joshua Gleitze
+ */
+class InstrumentationCache {
+
+	/**
+	 * The algorithm used to compute the keys.
+	 */
+	private static final String KEY_ALGORITHM = "SHA-256";
+
+	/**
+	 * The file name extension of Java class files.
+	 */
+	private static final String CLASS_FILE_EXTENSION = ".class";
+
+	/**
+	 * The keys of all entries this cache contains.
+	 */
+	private final Set<String> entries = new HashSet<>();
+
+	/**
+	 * The folder containing one folder for each entry. {@code null} until the first entry
+	 * is stored.
+	 */
+	private Path cacheFolder;
+
+	/**
+	 * Computes the key under which the instrumentation result of {@code sourceFile} is
+	 * cached.
+	 *
+	 * @param sourceFile The source file that is to be instrumented. Must not be
+	 *            {@code null}.
+	 * @param instrumentationPoints Descriptions of everything that is instrumented in
+	 *            {@code sourceFile}. Two descriptions must only be equal if the
+	 *            instrumented code is equal. Their order is irrelevant. Must not be
+	 *            {@code null}.
+	 * @param charset The charset the source file is read with. Must not be {@code null}.
+	 * @param classPath The class path the instrumented file is compiled with. Must not be
+	 *            {@code null}.
+	 * @return The key for the instrumentation result. {@code null} if no key could be
+	 *         computed because the source file could not be read.
+	 */
+	String computeKey(final Path sourceFile, final Collection<String> instrumentationPoints, final Charset charset,
+		final String classPath) {
+		Validate.notNull(sourceFile);
+		Validate.noNullElements(instrumentationPoints);
+		Validate.notNull(charset);
+		Validate.notNull(classPath);
+
+		final MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(KEY_ALGORITHM);
+			digest.update(Files.readAllBytes(sourceFile));
+		} catch (final NoSuchAlgorithmException | IOException readError) {
+			return null;
+		}
+
+		// Sorting makes the key independent of the order the points were provided in.
+		for (final String instrumentationPoint : new TreeSet<>(instrumentationPoints)) {
+			updateWithSeparated(digest, instrumentationPoint);
+		}
+		updateWithSeparated(digest, charset.name());
+		updateWithSeparated(digest, classPath);
+
+		final StringBuilder key = new StringBuilder();
+		for (final byte keyByte : digest.digest()) {
+			key.append(String.format("%02x", keyByte));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Copies the byte code stored under {@code key} into {@code byteCodeFolder}.
+	 *
+	 * @param key A key obtained from {@link #computeKey}. Must not be {@code null}.
+	 * @param byteCodeFolder The folder to copy the cached class files to. Must not be
+	 *            {@code null}.
+	 * @return {@code true} if the cache contained an entry for {@code key} and it was
+	 *         copied to {@code byteCodeFolder}.
+	 */
+	boolean restore(final String key, final Path byteCodeFolder) {
+		Validate.notNull(key);
+		Validate.notNull(byteCodeFolder);
+
+		if (!this.entries.contains(key)) {
+			return false;
+		}
+		try {
+			FileUtils.copyDirectory(this.cacheFolder.resolve(key).toFile(), byteCodeFolder.toFile());
+			return true;
+		} catch (final IOException ioError) {
+			this.entries.remove(key);
+			return false;
+		}
+	}
+
+	/**
+	 * Stores the byte code that was compiled from instrumented source files. The class
+	 * files of a Java type {@code a.b.C} are expected at {@code a/b/C.class} and
+	 * {@code a/b/C$*.class}, relative to {@code compiledFolder}. A type is not cached if
+	 * its class file is missing, or if its package folder contains class files that cannot
+	 * be attributed to any type. The latter occurs if a source file defines more than one
+	 * top level type.
+	 *
+	 * @param typesByKey The fully qualified name of each type that was compiled, under
+	 *            the key of the source file that defines it. Must not be {@code null}.
+	 * @param compiledFolder A folder containing exactly the class files compiled from the
+	 *            source files described by {@code typesByKey}. Must not be {@code null}.
+	 */
+	void store(final Map<String, String> typesByKey, final Path compiledFolder) {
+		Validate.notNull(typesByKey);
+		Validate.notNull(compiledFolder);
+
+		final Set<Path> unattributedClassFiles;
+		try (final Stream<Path> compiledFiles = Files.walk(compiledFolder)) {
+			unattributedClassFiles = compiledFiles.filter((file) -> file.toString().endsWith(CLASS_FILE_EXTENSION))
+				.map(compiledFolder::relativize)
+				.collect(Collectors.toSet());
+		} catch (final IOException ioError) {
+			return;
+		}
+
+		final Map<String, List<Path>> classFilesByKey = new HashMap<>();
+		for (final Map.Entry<String, String> type : typesByKey.entrySet()) {
+			final List<Path> classFiles = classFilesOf(type.getValue(), unattributedClassFiles);
+			unattributedClassFiles.removeAll(classFiles);
+			classFilesByKey.put(type.getKey(), classFiles);
+		}
+
+		final Set<Path> ambiguousPackages = new HashSet<>();
+		for (final Path unattributedClassFile : unattributedClassFiles) {
+			ambiguousPackages.add(unattributedClassFile.getParent());
+		}
+
+		for (final Map.Entry<String, List<Path>> entry : classFilesByKey.entrySet()) {
+			final List<Path> classFiles = entry.getValue();
+			if (!classFiles.isEmpty() && !ambiguousPackages.contains(classFiles.get(0).getParent())) {
+				this.storeEntry(entry.getKey(), classFiles, compiledFolder);
+			}
+		}
+	}
+
+	/**
+	 * Copies {@code classFiles} into a new cache entry for {@code key}.
+	 *
+	 * @param key The entry’s key.
+	 * @param classFiles The class files to store, relative to {@code compiledFolder}.
+	 * @param compiledFolder The folder containing the class files.
+	 */
+	private void storeEntry(final String key, final List<Path> classFiles, final Path compiledFolder) {
+		try {
+			if (this.cacheFolder == null) {
+				this.cacheFolder = Files.createTempDirectory("beagle-kieker-instrumentation-cache");
+				FileUtils.forceDeleteOnExit(this.cacheFolder.toFile());
+			}
+			final Path entryFolder = this.cacheFolder.resolve(key);
+			for (final Path classFile : classFiles) {
+				FileUtils.copyFile(compiledFolder.resolve(classFile).toFile(), entryFolder.resolve(classFile).toFile());
+			}
+			this.entries.add(key);
+		} catch (final IOException ioError) {
+			// The entry might be incomplete and must thus not be used.
+			this.entries.remove(key);
+		}
+	}
+
+	/**
+	 * Finds the class files that belong to the type {@code fullyQualifiedName}.
+	 *
+	 * @param fullyQualifiedName The fully qualified name of a top level Java type.
+	 * @param classFiles Relative paths of class files.
+	 * @return The class files from {@code classFiles} that contain the type or one of its
+	 *         nested types. The type’s own class file comes first. Empty if
+	 *         {@code classFiles} does not contain the type’s own class file.
+	 */
+	private static List<Path> classFilesOf(final String fullyQualifiedName, final Set<Path> classFiles) {
+		final String typePath = fullyQualifiedName.replace('.', '/');
+		final String nestedTypePrefix = typePath + "$";
+		final List<Path> result = new ArrayList<>();
+		boolean foundOwnClassFile = false;
+		for (final Path classFile : classFiles) {
+			final String classFilePath = classFile.toString().replace('\\', '/');
+			if (classFilePath.equals(typePath + CLASS_FILE_EXTENSION)) {
+				result.add(0, classFile);
+				foundOwnClassFile = true;
+			} else if (classFilePath.startsWith(nestedTypePrefix)) {
+				result.add(classFile);
+			}
+		}
+		if (!foundOwnClassFile) {
+			result.clear();
+		}
+		return result;
+	}
+
+	/**
+	 * Feeds {@code value} into {@code digest}, followed by a separator that cannot occur
+	 * in {@code value}. This keeps different sequences of values from producing the same
+	 * digest input.
+	 *
+	 * @param digest The digest to update.
+	 * @param value The value to feed into the digest.
+	 */
+	private static void updateWithSeparated(final MessageDigest digest, final String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+}
@@ -4,6 +4,7 @@ import de.uka.ipd.sdq.beagle.core.CodeSection;
 import de.uka.ipd.sdq.beagle.core.ResourceDemandType;
 import de.uka.ipd.sdq.beagle.core.failurehandling.FailureHandler;
 import de.uka.ipd.sdq.beagle.core.failurehandling.FailureReport;
+import de.uka.ipd.sdq.beagle.core.measurement.MeasurementEventSink;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
 
@@ -15,18 +16,25 @@ import kieker.analysis.plugin.filter.AbstractFilterPlugin;
 import kieker.analysis.plugin.reader.filesystem.FSReader;
 import kieker.common.configuration.Configuration;
 import kieker.common.record.controlflow.OperationExecutionRecord;
+import org.apache.commons.lang3.Validate;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Processes the results generated by Kieker and transforms them into corresponding
  * {@linkplain MeasurementEvent measurement events}. To do so, it needs one or multible
  * {@link CodeSectionIdentifier CodeSectionIdentifiers}. No events will be created for
- * code sections that cannot be identified.
+ * code sections that cannot be identified. Kieker’s results are read no matter whether
+ * they were written in Kieker’s ASCII or binary format (see
+ * {@link KiekerWriterConfiguration}).
+ *
+ * <p>The results of multiple executions of the measured software are merged: Every Kieker
+ * log folder found in the output folder, or in any of its sub folders, is processed. The
+ * events of one log folder are passed on together and in the order they occurred in.
  *
  * @author Joshua Gleitze
  */
@@ -37,6 +45,11 @@ public class KiekerMeasurementResultProcessor {
 	 */
 	private static final FailureHandler FAILURE_HANDLER = FailureHandler.getHandler("Kieker Result Processor");
 
+	/**
+	 * Name of the file Kieker writes into every log folder.
+	 */
+	private static final String KIEKER_MAPPING_FILE_NAME = "kieker.map";
+
 	/**
 	 * The folder Kieker wrote its results to.
 	 */
@@ -73,21 +86,56 @@ public class KiekerMeasurementResultProcessor {
 	 * Processes Kieker’s results and generates the matching measurement events.
 	 *
 	 * @return The measurement events representing Kieker’s results.
+	 * @see #process(MeasurementEventSink)
 	 */
 	public List<MeasurementEvent> process() {
-		final List<MeasurementEvent> resultEvents = new LinkedList<>();
+		final List<MeasurementEvent> resultEvents = new ArrayList<>();
+		this.process(resultEvents::add);
+		return resultEvents;
+	}
+
+	/**
+	 * Processes Kieker’s results and passes the matching measurement events to
+	 * {@code eventSink} while reading them. No more than one event is held in memory at
+	 * once.
+	 *
+	 * @param eventSink The sink to pass the measurement events representing Kieker’s
+	 *            results to. Must not be {@code null}.
+	 */
+	public void process(final MeasurementEventSink eventSink) {
+		Validate.notNull(eventSink);
 
 		// in the moment, we’re only looking at resource demand results. If we can’t
 		// identify those, we’ve got nothing to do.
 		if (this.resourceDemandIdentifier == null) {
-			return new ArrayList<>();
+			return;
 		}
 
-		for (final File resultFolder : this.kiekerOutputFolder.toFile().listFiles()) {
-			resultEvents.addAll(this.processResultFolder(resultFolder.toPath()));
+		this.processResultsIn(this.kiekerOutputFolder.toFile(), eventSink);
+	}
+
+	/**
+	 * Processes all Kieker log folders within {@code folder}, including {@code folder}
+	 * itself.
+	 *
+	 * @param folder The folder to search for Kieker log folders.
+	 * @param eventSink The sink to pass the measurement events representing Kieker’s
+	 *            results to.
+	 */
+	private void processResultsIn(final File folder, final MeasurementEventSink eventSink) {
+		if (new File(folder, KIEKER_MAPPING_FILE_NAME).isFile()) {
+			this.processResultFolder(folder.toPath(), eventSink);
+			return;
 		}
 
-		return resultEvents;
+		final File[] subFolders = folder.listFiles(File::isDirectory);
+		if (subFolders == null) {
+			return;
+		}
+		Arrays.sort(subFolders);
+		for (final File subFolder : subFolders) {
+			this.processResultsIn(subFolder, eventSink);
+		}
 	}
 
 	/**
@@ -95,10 +143,10 @@ public class KiekerMeasurementResultProcessor {
 	 *
 	 * @param resultFolder The specific result folder Kieker produced that shall be
 	 *            examined.
-	 * @return The measurement events representing Kieker’s results for the specific
-	 *         {@code resultFolder}.
+	 * @param eventSink The sink to pass the measurement events representing Kieker’s
+	 *            results for the specific {@code resultFolder} to.
 	 */
-	private List<MeasurementEvent> processResultFolder(final Path resultFolder) {
+	private void processResultFolder(final Path resultFolder, final MeasurementEventSink eventSink) {
 		final AnalysisController kiekerAnalysisController = new AnalysisController();
 
 		final Configuration readerConfiguration = new Configuration();
@@ -106,20 +154,18 @@ public class KiekerMeasurementResultProcessor {
 		final FSReader reader = new FSReader(readerConfiguration, kiekerAnalysisController);
 
 		final KiekerProbeToMeasurementResultFilter resultFilter =
-			new KiekerProbeToMeasurementResultFilter(new Configuration(), kiekerAnalysisController);
+			new KiekerProbeToMeasurementResultFilter(new Configuration(), kiekerAnalysisController, eventSink);
 		try {
 			kiekerAnalysisController.connect(reader, FSReader.OUTPUT_PORT_NAME_RECORDS, resultFilter,
 				KiekerProbeToMeasurementResultFilter.INPUT_PORT_NAME);
 			kiekerAnalysisController.run();
 		} catch (final AnalysisConfigurationException analysisError) {
-			final FailureReport<List<MeasurementEvent>> failure =
-				new FailureReport<List<MeasurementEvent>>().cause(analysisError)
-					.continueWith(() -> new ArrayList<>())
-					.retryWith(() -> this.processResultFolder(resultFolder));
-			return FAILURE_HANDLER.handle(failure);
+			// The configuration is checked before any record is read, so no events were
+			// passed to the sink yet. Continuing means skipping this folder.
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(analysisError).recoverable()
+				.retryWith(() -> this.processResultFolder(resultFolder, eventSink));
+			FAILURE_HANDLER.handle(failure);
 		}
-
-		return resultFilter.eventList;
 	}
 
 	/**
@@ -135,20 +181,23 @@ public class KiekerMeasurementResultProcessor {
 		private static final String INPUT_PORT_NAME = "Probe Receiver Input Port";
 
 		/**
-		 * The events that were read from the results.
+		 * The sink to pass the events that were read from the results to.
 		 */
-		private final List<MeasurementEvent> eventList = new LinkedList<>();
+		private final MeasurementEventSink eventSink;
 
 		/**
-		 * Creates this filter. Does nothing.
+		 * Creates this filter.
 		 *
 		 * @param configuration A configuration that will not be used.
 		 * @param projectContext A projectContext that will not be used.
+		 * @param eventSink The sink to pass the events that were read from the results
+		 *            to.
 		 */
 		private KiekerProbeToMeasurementResultFilter(final Configuration configuration,
-			final IProjectContext projectContext) {
+			final IProjectContext projectContext, final MeasurementEventSink eventSink) {
 			super(configuration, projectContext);
 			// this class cannot be configured
+			this.eventSink = eventSink;
 		}
 
 		@Override
@@ -171,7 +220,7 @@ public class KiekerMeasurementResultProcessor {
 				final long duration = record.getTout() - record.getTin();
 				final MeasurementEvent event =
 					new ResourceDemandCapturedEvent(recordedSection, ResourceDemandType.RESOURCE_TYPE_CPU_NS, duration);
-				this.eventList.add(event);
+				this.eventSink.accept(event);
 			}
 		}
 	}
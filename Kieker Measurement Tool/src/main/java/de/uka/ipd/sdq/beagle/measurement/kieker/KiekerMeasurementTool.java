@@ -2,14 +2,29 @@ package de.uka.ipd.sdq.beagle.measurement.kieker;
 
 import de.uka.ipd.sdq.beagle.core.CodeSection;
 import de.uka.ipd.sdq.beagle.core.LaunchConfiguration;
+import de.uka.ipd.sdq.beagle.core.ProjectInformation;
+import de.uka.ipd.sdq.beagle.core.measurement.MeasurementEventSink;
 import de.uka.ipd.sdq.beagle.core.measurement.MeasurementTool;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
 import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementOrder;
 import de.uka.ipd.sdq.beagle.measurement.kieker.instrumentation.EclipseAstInstrumentor;
 
-import java.util.Iterator;
+import org.apache.commons.lang3.Validate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * A measurement tool instrumenting the project’s source code to be measured by <a
@@ -24,12 +39,6 @@ public class KiekerMeasurementTool implements MeasurementTool {
 	 */
 	private static final String KIEKER_CONFIGURATION_FILE_ARG = "kieker.monitoring.configuration";
 
-	/**
-	 * The JVM property key to set Kieker’s output folder.
-	 */
-	private static final String KIEKER_OUTPUT_FOLDER_ARG =
-		"kieker.monitoring.writer.filesystem.SyncFsWriter.customStoragePath";
-
 	/**
 	 * Manages all files needed for the measurement.
 	 */
@@ -40,6 +49,12 @@ public class KiekerMeasurementTool implements MeasurementTool {
 	 */
 	private final CodeSectionIdentifier resourceDemandIdentifer = new CodeSectionIdentifier();
 
+	/**
+	 * Byte code of instrumented source files, kept across measurement orders. Relies on
+	 * {@link #resourceDemandIdentifer} assigning the same identifiers for all orders.
+	 */
+	private final InstrumentationCache instrumentationCache = new InstrumentationCache();
+
 	/**
 	 * Contains the order that is to be measured.
 	 */
@@ -52,18 +67,83 @@ public class KiekerMeasurementTool implements MeasurementTool {
 	private boolean instrumented;
 
 	/**
-	 * The set of launch configurations not yet executed.
+	 * The set of launch configurations not yet executed. Modified by multiple threads at
+	 * once.
 	 */
 	private Set<LaunchConfiguration> unlaunchedConfigurations;
 
+	/**
+	 * How many launch configurations may be executed at once.
+	 */
+	private int launchWorkers = 1;
+
+	/**
+	 * The number of launches that were started since the measurement files were
+	 * allocated. Used to give each launch its own results folder.
+	 */
+	private int launchCounter;
+
+	/**
+	 * Configures the writer Kieker uses in the measured software.
+	 */
+	private final KiekerWriterConfiguration writerConfiguration;
+
+	/**
+	 * Creates a Kieker measurement tool that makes Kieker write its records
+	 * {@linkplain KiekerWriterConfiguration#asynchronousBinary() asynchronously in binary
+	 * format}.
+	 */
+	public KiekerMeasurementTool() {
+		this(KiekerWriterConfiguration.asynchronousBinary());
+	}
+
+	/**
+	 * Creates a Kieker measurement tool that makes Kieker use the writer configured by
+	 * {@code writerConfiguration}.
+	 *
+	 * @param writerConfiguration Configures the writer Kieker uses to store its records
+	 *            in the measured software. Must not be {@code null}.
+	 */
+	public KiekerMeasurementTool(final KiekerWriterConfiguration writerConfiguration) {
+		Validate.notNull(writerConfiguration);
+		this.writerConfiguration = writerConfiguration;
+	}
+
+	/**
+	 * Sets how many launch configurations may be executed at once. Executing multiple
+	 * launches at once shortens the time a measurement takes on machines with multiple
+	 * cores. However, launches running at the same time compete for the machine’s
+	 * resources, which may distort the measured resource demands. The worker count should
+	 * thus not exceed the number of otherwise idle cores. Defaults to {@code 1}, meaning
+	 * that launches are executed one after another.
+	 *
+	 * @param workerCount The maximum number of launch configurations to execute at once.
+	 *            Must be positive.
+	 * @return {@code this}.
+	 */
+	public KiekerMeasurementTool useLaunchWorkers(final int workerCount) {
+		Validate.isTrue(workerCount > 0, "The worker count must be positive, but was %d", workerCount);
+		this.launchWorkers = workerCount;
+		return this;
+	}
+
 	@Override
 	public List<MeasurementEvent> measure(final MeasurementOrder newMeasurementOrder) {
+		final List<MeasurementEvent> resultEvents = new ArrayList<>();
+		this.measure(newMeasurementOrder, resultEvents::add);
+		return resultEvents;
+	}
+
+	@Override
+	public void measure(final MeasurementOrder newMeasurementOrder, final MeasurementEventSink eventSink) {
 		if (!this.instrumented || !newMeasurementOrder.equals(this.measurementOrder)) {
 			// we have not yet instrumented this order
 			this.measurementOrder = newMeasurementOrder;
 			this.instrumented = false;
-			this.unlaunchedConfigurations = newMeasurementOrder.getProjectInformation().getLaunchConfigurations();
+			this.unlaunchedConfigurations = Collections.newSetFromMap(new ConcurrentHashMap<>());
+			this.unlaunchedConfigurations.addAll(newMeasurementOrder.getProjectInformation().getLaunchConfigurations());
 			this.fileManager.allocate();
+			this.launchCounter = 0;
 
 			this.instrument();
 
@@ -76,58 +156,232 @@ public class KiekerMeasurementTool implements MeasurementTool {
 			// If interrupted, we safe what we have and return.
 		}
 
-		final List<MeasurementEvent> resultEvents =
-			new KiekerMeasurementResultProcessor(this.fileManager.getKiekerResultsFolder())
-				.useResourceDemandIdentifier(this.resourceDemandIdentifer).process();
+		// Kieker’s results are passed on while they are read, so they never have to be in
+		// memory all at once.
+		new KiekerMeasurementResultProcessor(this.fileManager.getKiekerResultsFolder())
+			.useResourceDemandIdentifier(this.resourceDemandIdentifer).process(eventSink);
 		this.fileManager.moveKiekerResultsToDone();
-
-		return resultEvents;
 	}
 
 	/**
 	 * Instruments the source code, preparing everything to execute the measured software.
+	 * Source files that were already instrumented the same way for an earlier order are
+	 * not instrumented and compiled again. Their byte code is taken from
+	 * {@link #instrumentationCache} instead. Source files sharing a code section with a
+	 * file that needs to be instrumented are instrumented again, too (see
+	 * {@link #getSectionsToInstrument(Set, Set)}).
 	 *
-	 * @see #measure(MeasurementOrder)
+	 * @see #measure(MeasurementOrder, MeasurementEventSink)
 	 */
 	private void instrument() {
+		final ProjectInformation project = this.measurementOrder.getProjectInformation();
 		final Set<CodeSection> resourceDemandSections = this.measurementOrder.getResourceDemandSections();
 
-		new EclipseAstInstrumentor(this.fileManager::getInstrumentationFileFor)
-			.useCharset(this.measurementOrder.getProjectInformation().getCharset())
-			.useStrategy(new ResourceDemandInstrumentationStrategy(this.resourceDemandIdentifer),
-				resourceDemandSections)
-			.instrument();
-
 		this.fileManager.copyRemoteMeasurementByteCodeToInstrumentedByteCode();
 
-		new EclipseCompiler(this.fileManager.getInstrumentedSourceCodeFolder())
-			.useClassPath(this.measurementOrder.getProjectInformation().getBuildPath())
+		final Map<Path, String> cacheKeys = new HashMap<>();
+		final Set<Path> changedFiles = new HashSet<>();
+		for (final Map.Entry<Path, Set<String>> fileInstrumentation : this
+			.getResourceDemandInstrumentationPoints(resourceDemandSections).entrySet()) {
+			final Path sourceFile = fileInstrumentation.getKey();
+			final String cacheKey = this.instrumentationCache.computeKey(sourceFile, fileInstrumentation.getValue(),
+				project.getCharset(), project.getBuildPath());
+			if (cacheKey == null
+				|| !this.instrumentationCache.restore(cacheKey, this.fileManager.getCompiledByteCodeFolder())) {
+				changedFiles.add(sourceFile);
+			}
+			cacheKeys.put(sourceFile, cacheKey);
+		}
+
+		if (changedFiles.isEmpty()) {
+			return;
+		}
+
+		final Set<CodeSection> sectionsToInstrument = getSectionsToInstrument(resourceDemandSections, changedFiles);
+
+		final EclipseAstInstrumentor instrumentor =
+			new EclipseAstInstrumentor(this.fileManager::getInstrumentationFileFor).useCharset(project.getCharset())
+				.useStrategy(new ResourceDemandInstrumentationStrategy(this.resourceDemandIdentifer),
+					sectionsToInstrument);
+		instrumentor.instrument();
+
+		// Only the changed files are compiled. The byte code of all other files is already
+		// in the compiled byte code folder, which is thus on the class path.
+		new EclipseCompiler(this.fileManager.getInstrumentedSourceCodeFolder()).useClassPath(project.getBuildPath())
 			.useClassPath(this.fileManager.getCompiledByteCodeFolder().toString())
-			.useCharset(this.measurementOrder.getProjectInformation().getCharset())
-			.intoFolder(this.fileManager.getCompiledByteCodeFolder())
+			.useCharset(project.getCharset())
+			.intoFolder(this.fileManager.getNewlyCompiledByteCodeFolder())
 			.compile();
+
+		final Map<String, String> compiledTypes = new HashMap<>();
+		for (final Map.Entry<Path, String> instrumentedType : instrumentor.getInstrumentedTypes().entrySet()) {
+			final String cacheKey = cacheKeys.get(instrumentedType.getKey());
+			if (cacheKey != null) {
+				compiledTypes.put(cacheKey, instrumentedType.getValue());
+			}
+		}
+		this.instrumentationCache.store(compiledTypes, this.fileManager.getNewlyCompiledByteCodeFolder());
+		this.fileManager.mergeNewlyCompiledByteCode();
 	}
 
 	/**
-	 * Runs the measured software, thus producing Kieker measurement results.
+	 * Determines the code sections that need to be instrumented if the byte code of
+	 * {@code changedFiles} is not cached. Every file that is compiled again must be
+	 * instrumented for all of its code sections, as its compiled byte code replaces the
+	 * complete cached one. A code section spanning two files thus makes the other file
+	 * be instrumented and compiled again, too, which may again affect other files.
+	 *
+	 * @param sections All code sections to be measured.
+	 * @param changedFiles The source files whose instrumented byte code is not cached.
+	 * @return All code sections in {@code sections} that start or end in a file that
+	 *         needs to be compiled again.
+	 */
+	static Set<CodeSection> getSectionsToInstrument(final Set<CodeSection> sections, final Set<Path> changedFiles) {
+		final Set<Path> recompiledFiles = new HashSet<>(changedFiles);
+		final Set<CodeSection> sectionsToInstrument = new HashSet<>();
+		boolean foundRecompiledFile = true;
+		while (foundRecompiledFile) {
+			foundRecompiledFile = false;
+			for (final CodeSection section : sections) {
+				final Path startFile = section.getStartFile().toPath();
+				final Path endFile = section.getEndFile().toPath();
+				if (!sectionsToInstrument.contains(section)
+					&& (recompiledFiles.contains(startFile) || recompiledFiles.contains(endFile))) {
+					sectionsToInstrument.add(section);
+					foundRecompiledFile |= recompiledFiles.add(startFile);
+					foundRecompiledFile |= recompiledFiles.add(endFile);
+				}
+			}
+		}
+		return sectionsToInstrument;
+	}
+
+	/**
+	 * Describes where and how each source file is instrumented to measure
+	 * {@code resourceDemandSections}. Two descriptions are equal if and only if the same
+	 * instrumentation statements are inserted at the same position.
+	 *
+	 * @param resourceDemandSections The resource demanding code sections to be measured.
+	 * @return Descriptions of all instrumentation points, per source file.
+	 */
+	private Map<Path, Set<String>> getResourceDemandInstrumentationPoints(
+		final Set<CodeSection> resourceDemandSections) {
+		final Map<Path, Set<String>> instrumentationPoints = new HashMap<>();
+		for (final CodeSection section : resourceDemandSections) {
+			final int sectionId = this.resourceDemandIdentifer.getIdOf(section);
+			instrumentationPoints.computeIfAbsent(section.getStartFile().toPath(), (file) -> new HashSet<>())
+				.add(String.format("resource demand start %d at %d", sectionId, section.getStartSectionIndex()));
+			instrumentationPoints.computeIfAbsent(section.getEndFile().toPath(), (file) -> new HashSet<>())
+				.add(String.format("resource demand end %d at %d", sectionId, section.getEndSectionIndex()));
+		}
+		return instrumentationPoints;
+	}
+
+	/**
+	 * Runs the measured software, thus producing Kieker measurement results. Up to
+	 * {@link #launchWorkers} launch configurations are executed at once. Each launch
+	 * writes its results to its own folder within the Kieker results folder.
 	 *
 	 * @throws InterruptedException If the current thread is interrupted while executing
-	 *             the measured software.
+	 *             the measured software. Launches that are still running will be
+	 *             interrupted, too.
 	 */
 	private void executeMeasurements() throws InterruptedException {
-		for (final Iterator<LaunchConfiguration> configurations =
-			this.unlaunchedConfigurations.iterator(); configurations.hasNext();) {
-			configurations.next()
-				.prependClasspath(this.fileManager.getKiekerJar().toString())
-				.prependClasspath(this.fileManager.getCompiledByteCodeFolder().toString())
-				.appendJvmArgument(jvmArg(KIEKER_CONFIGURATION_FILE_ARG, this.fileManager.getKiekerConfigurationFile()))
-				.appendJvmArgument(jvmArg(KIEKER_OUTPUT_FOLDER_ARG, this.fileManager.getKiekerResultsFolder()))
-				.execute();
-			configurations.remove();
+		final List<Callable<Void>> launches = new ArrayList<>();
+		for (final LaunchConfiguration launchConfiguration : new ArrayList<>(this.unlaunchedConfigurations)) {
+			final Path launchResultsFolder =
+				getLaunchResultsFolder(this.fileManager.getKiekerResultsFolder(), this.launchCounter++);
+			launches.add(() -> {
+				this.executeMeasurement(launchConfiguration, launchResultsFolder);
+				return null;
+			});
 		}
+		executeInParallel(launches, this.launchWorkers);
 		assert this.unlaunchedConfigurations.size() == 0;
 	}
 
+	/**
+	 * Gets the folder a launch writes its Kieker results to.
+	 *
+	 * @param kiekerResultsFolder The folder containing the results of all launches.
+	 * @param launchNumber The number of the launch, counted since the Kieker results
+	 *            folder was allocated.
+	 * @return The launch’s own folder within {@code kiekerResultsFolder}.
+	 */
+	static Path getLaunchResultsFolder(final Path kiekerResultsFolder, final int launchNumber) {
+		return kiekerResultsFolder.resolve(String.format("launch-%d", launchNumber));
+	}
+
+	/**
+	 * Executes {@code launches}, running up to {@code workerCount} of them at once. Returns
+	 * once all launches are done. If a launch fails, all launches that are still running
+	 * are interrupted and the launch’s exception is rethrown as it is.
+	 *
+	 * @param launches The launches to execute. They must only throw unchecked exceptions
+	 *            and {@link InterruptedException InterruptedExceptions}.
+	 * @param workerCount The maximum number of launches to execute at once. Must be
+	 *            positive.
+	 * @throws InterruptedException If the current thread or a launch is interrupted.
+	 *             Launches that are still running will be interrupted, too.
+	 */
+	static void executeInParallel(final List<? extends Callable<?>> launches, final int workerCount)
+		throws InterruptedException {
+		Validate.isTrue(workerCount > 0, "The worker count must be positive, but was %d", workerCount);
+		if (launches.isEmpty()) {
+			return;
+		}
+
+		final ExecutorService launchExecutor = Executors.newFixedThreadPool(Math.min(workerCount, launches.size()));
+		final List<Future<?>> runningLaunches = new ArrayList<>();
+		for (final Callable<?> launch : launches) {
+			runningLaunches.add(launchExecutor.submit(launch));
+		}
+		launchExecutor.shutdown();
+
+		try {
+			for (final Future<?> launch : runningLaunches) {
+				launch.get();
+			}
+		} catch (final ExecutionException launchError) {
+			launchExecutor.shutdownNow();
+			final Throwable cause = launchError.getCause();
+			if (cause instanceof InterruptedException) {
+				throw (InterruptedException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalArgumentException("A launch threw a checked exception.", cause);
+		} catch (final InterruptedException interrupt) {
+			launchExecutor.shutdownNow();
+			throw interrupt;
+		}
+	}
+
+	/**
+	 * Runs the measured software using one launch configuration.
+	 *
+	 * @param launchConfiguration The configuration to launch the measured software with.
+	 * @param launchResultsFolder The folder Kieker shall write the results of this launch
+	 *            to.
+	 * @throws InterruptedException If the current thread is interrupted while executing
+	 *             the measured software.
+	 */
+	private void executeMeasurement(final LaunchConfiguration launchConfiguration, final Path launchResultsFolder)
+		throws InterruptedException {
+		launchConfiguration.prependClasspath(this.fileManager.getKiekerJar().toString())
+			.prependClasspath(this.fileManager.getCompiledByteCodeFolder().toString())
+			.appendJvmArgument(jvmArg(KIEKER_CONFIGURATION_FILE_ARG, this.fileManager.getKiekerConfigurationFile()));
+		for (final String writerArgument : this.writerConfiguration.getJvmArguments(launchResultsFolder)) {
+			launchConfiguration.appendJvmArgument(writerArgument);
+		}
+		launchConfiguration.execute();
+		this.unlaunchedConfigurations.remove(launchConfiguration);
+	}
+
 	/**
 	 * Creates a custom ({@code -D}) JVM property string.
 	 *
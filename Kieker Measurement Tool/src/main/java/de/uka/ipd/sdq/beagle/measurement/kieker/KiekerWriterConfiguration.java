@@ -0,0 +1,194 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import org.apache.commons.lang3.Validate;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configures the writer Kieker uses to store its records while the measured software is
+ * running. The writer is chosen through JVM properties passed to the measured software.
+ * Both supported writers produce results {@link KiekerMeasurementResultProcessor} can
+ * read.
+ *
+ * <p>The {@linkplain #asynchronousBinary() asynchronous binary writer} only enqueues
+ * records in the measured software’s threads. Writing them happens in a separate thread.
+ * It thus influences the measured resource demands far less than the
+ * {@linkplain #synchronousAscii() synchronous ASCII writer}, which formats and writes
+ * every record right when it is created.
+ *
+ * @author Joshua Gleitze
+ */
+public final class KiekerWriterConfiguration {
+
+	/**
+	 * Prefix of all properties configuring Kieker’s monitoring.
+	 */
+	private static final String MONITORING_PROPERTY_PREFIX = "kieker.monitoring.";
+
+	/**
+	 * Class name of Kieker’s synchronous ASCII file system writer.
+	 */
+	private static final String SYNC_ASCII_WRITER = "kieker.monitoring.writer.filesystem.SyncFsWriter";
+
+	/**
+	 * Class name of Kieker’s asynchronous binary file system writer.
+	 */
+	private static final String ASYNC_BINARY_WRITER = "kieker.monitoring.writer.filesystem.AsyncBinaryFsWriter";
+
+	/**
+	 * Kieker’s value for the queue full behaviour that makes the monitored thread wait
+	 * until the queue has space again. No record gets lost this way. Kieker’s default,
+	 * {@code 0}, terminates monitoring once the queue is full.
+	 */
+	private static final int QUEUE_FULL_BEHAVIOUR_BLOCK = 1;
+
+	/**
+	 * The default number of records the asynchronous writer’s queue can hold.
+	 */
+	private static final int DEFAULT_QUEUE_SIZE = 100000;
+
+	/**
+	 * The default size of the asynchronous writer’s output buffer, in bytes.
+	 */
+	private static final int DEFAULT_BUFFER_SIZE = 65536;
+
+	/**
+	 * The class name of the configured Kieker writer.
+	 */
+	private final String writerClass;
+
+	/**
+	 * The number of records the writer’s queue can hold. Only used by asynchronous
+	 * writers.
+	 */
+	private int queueSize = DEFAULT_QUEUE_SIZE;
+
+	/**
+	 * The size of the writer’s output buffer, in bytes. Only used by asynchronous
+	 * writers.
+	 */
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+	/**
+	 * Whether the writer flushes its output after each record.
+	 */
+	private boolean flushEachRecord;
+
+	/**
+	 * Creates a configuration for the writer implemented by {@code writerClass}.
+	 *
+	 * @param writerClass The class name of a Kieker writer.
+	 */
+	private KiekerWriterConfiguration(final String writerClass) {
+		this.writerClass = writerClass;
+	}
+
+	/**
+	 * Creates a configuration for Kieker’s asynchronous binary file system writer. The
+	 * measured software only puts records into a queue of bounded size. A separate
+	 * thread writes them in Kieker’s binary format. If the queue is full, the measured
+	 * software waits until there is space again, so no records are lost.
+	 *
+	 * @return A new configuration for the asynchronous binary writer.
+	 */
+	public static KiekerWriterConfiguration asynchronousBinary() {
+		return new KiekerWriterConfiguration(ASYNC_BINARY_WRITER);
+	}
+
+	/**
+	 * Creates a configuration for Kieker’s synchronous ASCII file system writer. Every
+	 * record is written in the thread that created it, right when it is created. Queue
+	 * and buffer sizes have no effect for this writer.
+	 *
+	 * @return A new configuration for the synchronous ASCII writer.
+	 */
+	public static KiekerWriterConfiguration synchronousAscii() {
+		return new KiekerWriterConfiguration(SYNC_ASCII_WRITER);
+	}
+
+	/**
+	 * Sets the number of records the writer’s queue can hold. Defaults to
+	 * {@value #DEFAULT_QUEUE_SIZE}.
+	 *
+	 * @param recordQueueSize The number of records the queue can hold. Must be positive.
+	 * @return {@code this}.
+	 */
+	public KiekerWriterConfiguration useQueueSize(final int recordQueueSize) {
+		Validate.isTrue(recordQueueSize > 0, "The queue size must be positive, but was %d", recordQueueSize);
+		this.queueSize = recordQueueSize;
+		return this;
+	}
+
+	/**
+	 * Sets the size of the buffer the writer collects its output in before writing it to
+	 * disk. Defaults to {@value #DEFAULT_BUFFER_SIZE} bytes.
+	 *
+	 * @param outputBufferSize The buffer size in bytes. Must be positive.
+	 * @return {@code this}.
+	 */
+	public KiekerWriterConfiguration useBufferSize(final int outputBufferSize) {
+		Validate.isTrue(outputBufferSize > 0, "The buffer size must be positive, but was %d", outputBufferSize);
+		this.bufferSize = outputBufferSize;
+		return this;
+	}
+
+	/**
+	 * Sets whether the writer flushes its output to disk after each record. Flushing
+	 * after each record loses fewer records if the measured software crashes, but costs
+	 * considerably more time. Defaults to {@code false}.
+	 *
+	 * @param flush Whether to flush after each record.
+	 * @return {@code this}.
+	 */
+	public KiekerWriterConfiguration flushEachRecord(final boolean flush) {
+		this.flushEachRecord = flush;
+		return this;
+	}
+
+	/**
+	 * Creates the JVM arguments that make Kieker use the configured writer in the
+	 * measured software.
+	 *
+	 * @param resultsFolder The folder the writer shall write its results to. Must not be
+	 *            {@code null}.
+	 * @return The JVM arguments to pass to the measured software.
+	 */
+	public List<String> getJvmArguments(final Path resultsFolder) {
+		Validate.notNull(resultsFolder);
+
+		final List<String> jvmArguments = new ArrayList<>();
+		jvmArguments.add(jvmArg(MONITORING_PROPERTY_PREFIX + "writer", this.writerClass));
+		jvmArguments.add(this.writerJvmArg("customStoragePath", resultsFolder));
+		jvmArguments.add(this.writerJvmArg("flush", this.flushEachRecord));
+		if (ASYNC_BINARY_WRITER.equals(this.writerClass)) {
+			jvmArguments.add(this.writerJvmArg("QueueSize", this.queueSize));
+			jvmArguments.add(this.writerJvmArg("QueueFullBehavior", QUEUE_FULL_BEHAVIOUR_BLOCK));
+			jvmArguments.add(this.writerJvmArg("bufferSize", this.bufferSize));
+		}
+		return jvmArguments;
+	}
+
+	/**
+	 * Creates a JVM argument setting a property of the configured writer.
+	 *
+	 * @param propertyName The name of the property, without the writer’s class name.
+	 * @param propertyValue The property’s value.
+	 * @return The property string.
+	 */
+	private String writerJvmArg(final String propertyName, final Object propertyValue) {
+		return jvmArg(this.writerClass + "." + propertyName, propertyValue);
+	}
+
+	/**
+	 * Creates a custom ({@code -D}) JVM property string.
+	 *
+	 * @param propertyName The property’s key.
+	 * @param propertyValue The property’s value.
+	 * @return The property string.
+	 */
+	private static String jvmArg(final String propertyName, final Object propertyValue) {
+		return String.format("-D%s=\"%s\"", propertyName, propertyValue);
+	}
+}
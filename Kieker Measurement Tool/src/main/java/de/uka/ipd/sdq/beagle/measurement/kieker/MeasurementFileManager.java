@@ -42,6 +42,12 @@ class MeasurementFileManager {
 	 */
 	private static final String COMPILED_BYTE_CODE_PARTITION_NAME = "bin";
 
+	/**
+	 * Name of the partition containing the results of the latest compilation, before they
+	 * are merged into the compilation results.
+	 */
+	private static final String NEW_BYTE_CODE_PARTITION_NAME = "bin-new";
+
 	/**
 	 * Name of the partition containing Kieker’s results before they have been processed.
 	 */
@@ -110,6 +116,7 @@ class MeasurementFileManager {
 			FileUtils.forceDeleteOnExit(this.rootFolder.toFile());
 			Files.createDirectory(this.getInstrumentedSourceCodeFolder());
 			Files.createDirectory(this.getCompiledByteCodeFolder());
+			Files.createDirectory(this.getNewlyCompiledByteCodeFolder());
 			Files.createDirectory(this.getKiekerResultsFolder());
 			Files.createDirectory(this.getKiekerProcessedResultsFolder());
 			this.kiekerJar = this.loadFromClasspath(KIEKER_JAR_PATH, "Kieker jar");
@@ -193,6 +200,20 @@ class MeasurementFileManager {
 		return this.rootFolder.resolve(COMPILED_BYTE_CODE_PARTITION_NAME).toAbsolutePath();
 	}
 
+	/**
+	 * Queries the path to the folder to compile source code into before it is merged into
+	 * the {@linkplain #getCompiledByteCodeFolder() compiled byte code}. Allows to tell
+	 * which class files were created by one compilation.
+	 *
+	 * @return The folder for newly compiled source code. Will never be {@code null}.
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	Path getNewlyCompiledByteCodeFolder() {
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		return this.rootFolder.resolve(NEW_BYTE_CODE_PARTITION_NAME).toAbsolutePath();
+	}
+
 	/**
 	 * Queries the path to the folder to put Kieker’s results in.
 	 *
@@ -272,6 +293,28 @@ class MeasurementFileManager {
 		}
 	}
 
+	/**
+	 * Moves the {@linkplain #getNewlyCompiledByteCodeFolder() newly compiled byte code}
+	 * into the {@linkplain #getCompiledByteCodeFolder() compiled byte code folder}. Files
+	 * that exist in both folders are overwritten.
+	 *
+	 * @throw IllegalStateException If this manager was not yet set up through
+	 *        {@link #allocate()}.
+	 */
+	void mergeNewlyCompiledByteCode() {
+		Validate.validState(this.wasSetUp, "The file manager was not yet set up!");
+		try {
+			FileUtils.copyDirectory(this.getNewlyCompiledByteCodeFolder().toFile(),
+				this.getCompiledByteCodeFolder().toFile());
+			FileUtils.cleanDirectory(this.getNewlyCompiledByteCodeFolder().toFile());
+		} catch (final IOException ioError) {
+			final FailureReport<Void> failure = new FailureReport<Void>().cause(ioError)
+				.message("Merging the compiled byte code failed.")
+				.retryWith(this::mergeNewlyCompiledByteCode);
+			FAILURE_HANDLER.handle(failure);
+		}
+	}
+
 	/**
 	 * Moves the results in the {@linkplain Kieker results folder} to the done partition.
 	 * This marks them as being processed and prevents them from being processed again.
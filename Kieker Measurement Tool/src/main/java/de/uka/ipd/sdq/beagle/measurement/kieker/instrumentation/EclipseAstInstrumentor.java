@@ -23,6 +23,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -107,6 +108,12 @@ public class EclipseAstInstrumentor {
 	 */
 	private final InstrumentationResultFileProvider fileProvider;
 
+	/**
+	 * The fully qualified name of the Java type written for each source file that was
+	 * instrumented. Written by multiple threads at once.
+	 */
+	private final Map<Path, String> instrumentedTypes = new ConcurrentHashMap<>();
+
 	/**
 	 * The charset to use.
 	 */
@@ -188,6 +195,17 @@ public class EclipseAstInstrumentor {
 		this.instrumentFiles(this.toInstrument.keySet());
 	}
 
+	/**
+	 * Queries which source files were instrumented by {@link #instrument()}. Source files
+	 * that could not be instrumented, or did not need to be modified, are not contained.
+	 *
+	 * @return For each source file whose instrumentation result was written, the fully
+	 *         qualified name of the Java type it defines. Will never be {@code null}.
+	 */
+	public Map<Path, String> getInstrumentedTypes() {
+		return Collections.unmodifiableMap(this.instrumentedTypes);
+	}
+
 	/**
 	 * Performs the instrumentation. Creates a task executing
 	 * {@link #instrumentFile(File, Map)} for each file that is to be instrumented.
@@ -386,6 +404,7 @@ public class EclipseAstInstrumentor {
 			final String fullyQualifedTypeName = astIO.getFullyQualifiedName();
 			final Path writeBackFile = this.fileProvider.getFileFor(fullyQualifedTypeName);
 			astIO.writeToFile(writeBackFile);
+			this.instrumentedTypes.put(sourceCodeFile, fullyQualifedTypeName);
 		}
 
 		return null;
@@ -4,9 +4,24 @@ import kieker.common.record.controlflow.OperationExecutionRecord;
 import kieker.monitoring.core.controller.IMonitoringController;
 import kieker.monitoring.core.controller.MonitoringController;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * The central measurement instance instrumented statements report to.
  *
+ * <p>Every thread of the measured software reports to its own probe buffer, so resource
+ * demanding code sections may be measured in multiple threads at once. Within one thread,
+ * resource demanding code sections may be nested: {@link #stopResourceDemand()} always
+ * stops the code section that was started last. The buffers store measurements in
+ * primitive arrays. They are only turned into Kieker records once a buffer is full or the
+ * measured software shuts down. Reporting a measurement thus usually does not allocate
+ * any objects. The buffers of terminated threads are flushed and dropped whenever a new
+ * thread starts reporting, so only the buffers of live threads are kept.
+ *
  * @author Joshua Gleitze
  *
  */
@@ -23,14 +38,39 @@ public final class MeasurementCentral {
 	private static final IMonitoringController MONITORING_CONTROLLER = MonitoringController.getInstance();
 
 	/**
-	 * The start time of the last reported resource demanding code section.
+	 * How many finished measurements a probe buffer holds before they are handed to
+	 * Kieker.
+	 */
+	private static final int BUFFER_CAPACITY = 1024;
+
+	/**
+	 * How many nested resource demanding code sections a probe buffer can hold before it
+	 * needs to grow.
 	 */
-	private static long rdiaStart;
+	private static final int INITIAL_NESTING_CAPACITY = 8;
 
 	/**
-	 * The id of the last reported resource demanding code section.
+	 * The probe buffers of all threads that reported to this central and were not found
+	 * to be terminated yet. Needed to hand all remaining measurements to Kieker when the
+	 * measured software shuts down.
 	 */
-	private static int rdiaId = -1;
+	private static final Set<ProbeBuffer> ALL_BUFFERS = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	/**
+	 * The probe buffer of each thread.
+	 */
+	private static final ThreadLocal<ProbeBuffer> THREAD_BUFFER = ThreadLocal.withInitial(() -> {
+		flushTerminatedBuffers();
+		final ProbeBuffer buffer = new ProbeBuffer(Thread.currentThread());
+		ALL_BUFFERS.add(buffer);
+		return buffer;
+	});
+
+	static {
+		// Kieker’s own shutdown hook is disabled in our Kieker configuration. Otherwise,
+		// it might terminate the monitoring before all buffers were flushed.
+		Runtime.getRuntime().addShutdownHook(new Thread(MeasurementCentral::shutdown, "Beagle Measurement Central"));
+	}
 
 	/**
 	 * This is a singleton that must be obtained through {@link #INSTANCE}.
@@ -45,21 +85,167 @@ public final class MeasurementCentral {
 	 * @param demandId Identifier of the entered resource demanding code section.
 	 */
 	public static void startResourceDemand(final int demandId) {
-		assert rdiaId == -1;
-		rdiaId = demandId;
-		rdiaStart = MONITORING_CONTROLLER.getTimeSource().getTime();
+		final ProbeBuffer buffer = THREAD_BUFFER.get();
+		// Reading the time last keeps our own overhead out of the measurement.
+		buffer.start(demandId, MONITORING_CONTROLLER.getTimeSource().getTime());
 	}
 
 	/**
-	 * Reports that the last started resource demanding code section has just been left.
+	 * Reports that the resource demanding code section started last by the current
+	 * thread has just been left.
 	 */
 	public static void stopResourceDemand() {
+		// Reading the time first keeps our own overhead out of the measurement.
 		final long stopTime = MONITORING_CONTROLLER.getTimeSource().getTime();
-		final OperationExecutionRecord record = new OperationExecutionRecord(
-			OperationExecutionRecord.NO_OPERATION_SIGNATURE, OperationExecutionRecord.NO_SESSION_ID, rdiaId, rdiaStart,
-			stopTime, OperationExecutionRecord.NO_HOSTNAME, OperationExecutionRecord.NO_EOI_ESS,
-			OperationExecutionRecord.NO_EOI_ESS);
-		MONITORING_CONTROLLER.newMonitoringRecord(record);
-		rdiaId = -1;
+		THREAD_BUFFER.get().stop(stopTime);
+	}
+
+	/**
+	 * Hands the finished measurements of all terminated threads to Kieker and drops their
+	 * probe buffers. Terminated threads cannot report again, so this is their buffers’
+	 * final flush.
+	 */
+	private static void flushTerminatedBuffers() {
+		for (final Iterator<ProbeBuffer> buffers = ALL_BUFFERS.iterator(); buffers.hasNext();) {
+			final ProbeBuffer buffer = buffers.next();
+			if (!buffer.owner.isAlive()) {
+				buffer.flush();
+				buffers.remove();
+			}
+		}
+	}
+
+	/**
+	 * Gets the number of probe buffers that are kept to be flushed when the measured
+	 * software shuts down.
+	 *
+	 * @return The number of registered probe buffers.
+	 */
+	static int getRegisteredBufferCount() {
+		return ALL_BUFFERS.size();
+	}
+
+	/**
+	 * Hands all finished measurements of all threads to Kieker and terminates the
+	 * monitoring. Called when the measured software shuts down.
+	 */
+	private static void shutdown() {
+		for (final ProbeBuffer buffer : ALL_BUFFERS) {
+			buffer.flush();
+		}
+		MONITORING_CONTROLLER.terminateMonitoring();
+	}
+
+	/**
+	 * The measurement state of one thread. Holds the resource demanding code sections that
+	 * were started but not stopped yet, and the finished measurements that were not yet
+	 * handed to Kieker.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class ProbeBuffer {
+
+		/**
+		 * The thread reporting to this buffer.
+		 */
+		private final Thread owner;
+
+		/**
+		 * The identifiers of the started code sections, innermost last.
+		 */
+		private int[] openIds = new int[INITIAL_NESTING_CAPACITY];
+
+		/**
+		 * The start times of the started code sections, innermost last.
+		 */
+		private long[] openStarts = new long[INITIAL_NESTING_CAPACITY];
+
+		/**
+		 * The number of code sections that were started but not stopped yet.
+		 */
+		private int openCount;
+
+		/**
+		 * The identifiers of the finished measurements.
+		 */
+		private final int[] finishedIds = new int[BUFFER_CAPACITY];
+
+		/**
+		 * The start times of the finished measurements.
+		 */
+		private final long[] finishedStarts = new long[BUFFER_CAPACITY];
+
+		/**
+		 * The stop times of the finished measurements.
+		 */
+		private final long[] finishedStops = new long[BUFFER_CAPACITY];
+
+		/**
+		 * The number of finished measurements not yet handed to Kieker.
+		 */
+		private int finishedCount;
+
+		/**
+		 * Creates the buffer of {@code owner}.
+		 *
+		 * @param owner The thread that will report to this buffer.
+		 */
+		private ProbeBuffer(final Thread owner) {
+			this.owner = owner;
+		}
+
+		/**
+		 * Records that a code section was started.
+		 *
+		 * @param demandId The code section’s identifier.
+		 * @param startTime The time the code section was started at.
+		 */
+		private void start(final int demandId, final long startTime) {
+			if (this.openCount == this.openIds.length) {
+				this.openIds = Arrays.copyOf(this.openIds, this.openCount * 2);
+				this.openStarts = Arrays.copyOf(this.openStarts, this.openCount * 2);
+			}
+			this.openIds[this.openCount] = demandId;
+			this.openStarts[this.openCount] = startTime;
+			this.openCount++;
+		}
+
+		/**
+		 * Records that the code section started last was stopped.
+		 *
+		 * @param stopTime The time the code section was stopped at.
+		 */
+		private void stop(final long stopTime) {
+			if (this.openCount == 0) {
+				// A stop without a start. There is nothing we could report.
+				return;
+			}
+			this.openCount--;
+			// Synchronised because the shutdown hook may flush this buffer while its
+			// thread is still running. The lock is uncontended otherwise.
+			synchronized (this) {
+				this.finishedIds[this.finishedCount] = this.openIds[this.openCount];
+				this.finishedStarts[this.finishedCount] = this.openStarts[this.openCount];
+				this.finishedStops[this.finishedCount] = stopTime;
+				this.finishedCount++;
+				if (this.finishedCount == BUFFER_CAPACITY) {
+					this.flush();
+				}
+			}
+		}
+
+		/**
+		 * Hands all finished measurements to Kieker.
+		 */
+		private synchronized void flush() {
+			for (int i = 0; i < this.finishedCount; i++) {
+				MONITORING_CONTROLLER.newMonitoringRecord(new OperationExecutionRecord(
+					OperationExecutionRecord.NO_OPERATION_SIGNATURE, OperationExecutionRecord.NO_SESSION_ID,
+					this.finishedIds[i], this.finishedStarts[i], this.finishedStops[i],
+					OperationExecutionRecord.NO_HOSTNAME, OperationExecutionRecord.NO_EOI_ESS,
+					OperationExecutionRecord.NO_EOI_ESS));
+			}
+			this.finishedCount = 0;
+		}
 	}
 }
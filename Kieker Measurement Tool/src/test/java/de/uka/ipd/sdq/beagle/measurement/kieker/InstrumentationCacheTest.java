@@ -0,0 +1,202 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tests {@link InstrumentationCache}.
+ *
+ * @author Joshua Gleitze
+ */
+public class InstrumentationCacheTest {
+
+	/**
+	 * A class path to compute keys with.
+	 */
+	private static final String CLASS_PATH = "lib/a.jar:lib/b.jar";
+
+	/**
+	 * Provides the source files and byte code folders.
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * Test method for
+	 * {@link InstrumentationCache#computeKey(Path, java.util.Collection, java.nio.charset.Charset, String)}
+	 * .
+	 *
+	 * <p>Asserts that keys only depend on the source file’s content, the instrumentation
+	 * points, the charset and the class path, and that no key is computed for files that
+	 * cannot be read.
+	 *
+	 * @throws IOException If the source files cannot be written.
+	 */
+	@Test
+	public void computeKey() throws IOException {
+		final InstrumentationCache cache = new InstrumentationCache();
+		final Path source = this.writeSource("a/Source.java", "class Source {}");
+		final Path copy = this.writeSource("b/Source.java", "class Source {}");
+		final Path other = this.writeSource("c/Source.java", "class Source { int i; }");
+		final List<String> points = Arrays.asList("resource demand start 1 at 3", "resource demand end 1 at 9");
+		final List<String> reversedPoints = Arrays.asList(points.get(1), points.get(0));
+
+		final String key = cache.computeKey(source, points, StandardCharsets.UTF_8, CLASS_PATH);
+		assertThat(key, is(notNullValue()));
+		assertThat("The key must not depend on the file’s location",
+			cache.computeKey(copy, points, StandardCharsets.UTF_8, CLASS_PATH), is(key));
+		assertThat("The key must not depend on the order of the instrumentation points",
+			cache.computeKey(source, reversedPoints, StandardCharsets.UTF_8, CLASS_PATH), is(key));
+
+		assertThat(cache.computeKey(other, points, StandardCharsets.UTF_8, CLASS_PATH), is(not(key)));
+		assertThat(cache.computeKey(source, points.subList(0, 1), StandardCharsets.UTF_8, CLASS_PATH),
+			is(not(key)));
+		assertThat(cache.computeKey(source, points, StandardCharsets.ISO_8859_1, CLASS_PATH), is(not(key)));
+		assertThat(cache.computeKey(source, points, StandardCharsets.UTF_8, "lib/a.jar"), is(not(key)));
+		assertThat("Instrumentation points must be separated",
+			cache.computeKey(source, Arrays.asList("ab", "c"), StandardCharsets.UTF_8, CLASS_PATH),
+			is(not(cache.computeKey(source, Arrays.asList("a", "bc"), StandardCharsets.UTF_8, CLASS_PATH))));
+
+		assertThat(cache.computeKey(source.resolveSibling("Missing.java"), points, StandardCharsets.UTF_8,
+			CLASS_PATH), is(nullValue()));
+		assertThat(() -> cache.computeKey(null, points, StandardCharsets.UTF_8, CLASS_PATH),
+			throwsException(NullPointerException.class));
+		assertThat(() -> cache.computeKey(source, null, StandardCharsets.UTF_8, CLASS_PATH),
+			throwsException(NullPointerException.class));
+		assertThat(() -> cache.computeKey(source, points, null, CLASS_PATH),
+			throwsException(NullPointerException.class));
+		assertThat(() -> cache.computeKey(source, points, StandardCharsets.UTF_8, null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link InstrumentationCache#store(Map, Path)} and
+	 * {@link InstrumentationCache#restore(String, Path)}.
+	 *
+	 * <p>Asserts that the class files of a type and its nested types are restored, that
+	 * types whose class file is missing are not stored and that unknown keys are not
+	 * restored.
+	 *
+	 * @throws IOException If the class files cannot be written or read.
+	 */
+	@Test
+	public void storeAndRestore() throws IOException {
+		final InstrumentationCache cache = new InstrumentationCache();
+		final Path compiled = this.temporaryFolder.newFolder("compiled").toPath();
+		this.writeClassFile(compiled, "a/b/Outer.class", "outer");
+		this.writeClassFile(compiled, "a/b/Outer$Inner.class", "inner");
+		this.writeClassFile(compiled, "a/c/Other.class", "other");
+
+		final Map<String, String> typesByKey = new HashMap<>();
+		typesByKey.put("outerKey", "a.b.Outer");
+		typesByKey.put("otherKey", "a.c.Other");
+		typesByKey.put("missingKey", "a.c.Missing");
+		cache.store(typesByKey, compiled);
+
+		final Path restored = this.temporaryFolder.newFolder("restored").toPath();
+		assertThat(cache.restore("outerKey", restored), is(true));
+		assertThat(this.readClassFile(restored, "a/b/Outer.class"), is("outer"));
+		assertThat(this.readClassFile(restored, "a/b/Outer$Inner.class"), is("inner"));
+		assertThat("Only the entry’s class files are restored", Files.exists(restored.resolve("a/c/Other.class")),
+			is(false));
+
+		assertThat(cache.restore("otherKey", restored), is(true));
+		assertThat(this.readClassFile(restored, "a/c/Other.class"), is("other"));
+		assertThat(cache.restore("missingKey", restored), is(false));
+		assertThat(cache.restore("unknownKey", restored), is(false));
+
+		assertThat(() -> cache.restore(null, restored), throwsException(NullPointerException.class));
+		assertThat(() -> cache.restore("outerKey", null), throwsException(NullPointerException.class));
+		assertThat(() -> cache.store(null, compiled), throwsException(NullPointerException.class));
+		assertThat(() -> cache.store(typesByKey, null), throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link InstrumentationCache#store(Map, Path)}.
+	 *
+	 * <p>Asserts that no type of a package containing class files that cannot be
+	 * attributed to a type is stored, as they might belong to any of the package’s source
+	 * files.
+	 *
+	 * @throws IOException If the class files cannot be written.
+	 */
+	@Test
+	public void storeSkipsAmbiguousPackages() throws IOException {
+		final InstrumentationCache cache = new InstrumentationCache();
+		final Path compiled = this.temporaryFolder.newFolder("compiled").toPath();
+		this.writeClassFile(compiled, "a/b/Outer.class", "outer");
+		this.writeClassFile(compiled, "a/b/Secondary.class", "secondary");
+		this.writeClassFile(compiled, "a/c/Other.class", "other");
+
+		final Map<String, String> typesByKey = new HashMap<>();
+		typesByKey.put("outerKey", "a.b.Outer");
+		typesByKey.put("otherKey", "a.c.Other");
+		cache.store(typesByKey, compiled);
+
+		final Path restored = this.temporaryFolder.newFolder("restored").toPath();
+		assertThat(cache.restore("outerKey", restored), is(false));
+		assertThat(cache.restore("otherKey", restored), is(true));
+
+		cache.store(Collections.emptyMap(), compiled.resolve("missing"));
+		assertThat("A missing folder must be ignored", cache.restore("otherKey", restored), is(true));
+	}
+
+	/**
+	 * Writes a source file into the temporary folder.
+	 *
+	 * @param relativePath The path of the file within the temporary folder.
+	 * @param content The file’s content.
+	 * @return The written file.
+	 * @throws IOException If the file cannot be written.
+	 */
+	private Path writeSource(final String relativePath, final String content) throws IOException {
+		final Path file = this.temporaryFolder.getRoot().toPath().resolve(relativePath);
+		Files.createDirectories(file.getParent());
+		return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Writes a fake class file.
+	 *
+	 * @param folder The byte code folder.
+	 * @param relativePath The path of the class file within {@code folder}.
+	 * @param content The file’s content.
+	 * @throws IOException If the file cannot be written.
+	 */
+	private void writeClassFile(final Path folder, final String relativePath, final String content)
+		throws IOException {
+		final Path file = folder.resolve(relativePath);
+		Files.createDirectories(file.getParent());
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads a fake class file.
+	 *
+	 * @param folder The byte code folder.
+	 * @param relativePath The path of the class file within {@code folder}.
+	 * @return The file’s content.
+	 * @throws IOException If the file cannot be read.
+	 */
+	private String readClassFile(final Path folder, final String relativePath) throws IOException {
+		return new String(Files.readAllBytes(folder.resolve(relativePath)), StandardCharsets.UTF_8);
+	}
+}
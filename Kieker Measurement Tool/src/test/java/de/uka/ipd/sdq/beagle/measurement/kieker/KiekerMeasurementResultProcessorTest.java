@@ -0,0 +1,177 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+import de.uka.ipd.sdq.beagle.core.measurement.order.MeasurementEvent;
+import de.uka.ipd.sdq.beagle.core.measurement.order.ResourceDemandCapturedEvent;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.CodeSectionFactory;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.monitoring.core.configuration.ConfigurationFactory;
+import kieker.monitoring.core.controller.IMonitoringController;
+import kieker.monitoring.core.controller.MonitoringController;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Tests {@link KiekerMeasurementResultProcessor}. The Kieker logs are written by Kieker
+ * itself.
+ *
+ * @author Joshua Gleitze
+ */
+public class KiekerMeasurementResultProcessorTest {
+
+	/**
+	 * A {@link CodeSectionFactory}, which is able to generate {@link CodeSection}s.
+	 */
+	private static final CodeSectionFactory CODE_SECTION_FACTORY = new CodeSectionFactory();
+
+	/**
+	 * Class name of Kieker’s synchronous ASCII file system writer.
+	 */
+	private static final String SYNC_ASCII_WRITER = "kieker.monitoring.writer.filesystem.SyncFsWriter";
+
+	/**
+	 * Provides the Kieker results folders.
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * Test method for
+	 * {@link KiekerMeasurementResultProcessor#process(de.uka.ipd.sdq.beagle.core.measurement.MeasurementEventSink)}
+	 * .
+	 *
+	 * <p>Asserts that the logs of all launches are found in the launches’ folders, that
+	 * the events of one log are passed on in order and that records of unknown code
+	 * sections are ignored.
+	 *
+	 * @throws IOException If the results folder cannot be created.
+	 */
+	@Test
+	public void processesAllLaunches() throws IOException {
+		final CodeSection[] sections = CODE_SECTION_FACTORY.getAll();
+		final CodeSectionIdentifier identifier = new CodeSectionIdentifier();
+		final int firstId = identifier.getIdOf(sections[0]);
+		final int secondId = identifier.getIdOf(sections[1]);
+		final int thirdId = identifier.getIdOf(sections[2]);
+		final Path resultsFolder = this.temporaryFolder.newFolder("kieker-results").toPath();
+
+		this.writeLog(KiekerMeasurementTool.getLaunchResultsFolder(resultsFolder, 0), SYNC_ASCII_WRITER,
+			new long[][] {
+				{
+					firstId, 10, 15
+				}, {
+					secondId, 20, 40
+				}, {
+					firstId, 50, 57
+				}, {
+					Integer.MAX_VALUE, 60, 70
+				}
+			});
+		this.writeLog(KiekerMeasurementTool.getLaunchResultsFolder(resultsFolder, 1), SYNC_ASCII_WRITER,
+			new long[][] {
+				{
+					thirdId, 100, 103
+				}
+			});
+
+		final List<MeasurementEvent> events =
+			new KiekerMeasurementResultProcessor(resultsFolder).useResourceDemandIdentifier(identifier).process();
+		final List<String> eventDescriptions = events.stream()
+			.map((event) -> this.describe((ResourceDemandCapturedEvent) event, sections))
+			.collect(Collectors.toList());
+
+		assertThat(eventDescriptions, containsInAnyOrder("0: 5.0", "1: 20.0", "0: 7.0", "2: 3.0"));
+		assertThat("The events of one log must be passed on in order",
+			eventDescriptions.stream()
+				.filter((description) -> !description.startsWith("2"))
+				.collect(Collectors.toList()),
+			contains("0: 5.0", "1: 20.0", "0: 7.0"));
+	}
+
+	/**
+	 * Test method for
+	 * {@link KiekerMeasurementResultProcessor#process(de.uka.ipd.sdq.beagle.core.measurement.MeasurementEventSink)}
+	 * .
+	 *
+	 * <p>Asserts that nothing is reported without results or without identifier.
+	 *
+	 * @throws IOException If the results folder cannot be created.
+	 */
+	@Test
+	public void processesNothingWithoutInput() throws IOException {
+		final CodeSection section = CODE_SECTION_FACTORY.getOne();
+		final CodeSectionIdentifier identifier = new CodeSectionIdentifier();
+		final Path resultsFolder = this.temporaryFolder.newFolder("kieker-results").toPath();
+		assertThat(new KiekerMeasurementResultProcessor(resultsFolder).useResourceDemandIdentifier(identifier)
+			.process(), is(empty()));
+
+		this.writeLog(KiekerMeasurementTool.getLaunchResultsFolder(resultsFolder, 0), SYNC_ASCII_WRITER,
+			new long[][] {
+				{
+					identifier.getIdOf(section), 10, 15
+				}
+			});
+		assertThat(new KiekerMeasurementResultProcessor(resultsFolder).process(), is(empty()));
+		assertThat(() -> new KiekerMeasurementResultProcessor(resultsFolder).process(null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Makes Kieker write a log containing execution records. Kieker creates its log
+	 * folder within {@code launchFolder}, just like in a launch of the measured software.
+	 *
+	 * @param launchFolder The folder Kieker shall create its log folder in.
+	 * @param writerClass The Kieker writer to use.
+	 * @param records The records to write, each as code section identifier, start time
+	 *            and stop time.
+	 */
+	private void writeLog(final Path launchFolder, final String writerClass, final long[][] records) {
+		final Configuration configuration = ConfigurationFactory.createDefaultConfiguration();
+		configuration.setProperty(ConfigurationFactory.METADATA, "true");
+		configuration.setProperty(ConfigurationFactory.USE_SHUTDOWN_HOOK, "false");
+		configuration.setProperty(ConfigurationFactory.PERIODIC_SENSORS_EXECUTOR_POOL_SIZE, "0");
+		configuration.setProperty(ConfigurationFactory.WRITER_CLASSNAME, writerClass);
+		configuration.setProperty(writerClass + ".customStoragePath", launchFolder.toString());
+		launchFolder.toFile().mkdirs();
+
+		final IMonitoringController controller = MonitoringController.createInstance(configuration);
+		for (final long[] record : records) {
+			controller.newMonitoringRecord(new OperationExecutionRecord(
+				OperationExecutionRecord.NO_OPERATION_SIGNATURE, OperationExecutionRecord.NO_SESSION_ID, record[0],
+				record[1], record[2], OperationExecutionRecord.NO_HOSTNAME, OperationExecutionRecord.NO_EOI_ESS,
+				OperationExecutionRecord.NO_EOI_ESS));
+		}
+		controller.terminateMonitoring();
+	}
+
+	/**
+	 * Describes a resource demand event by the index of its code section and its value.
+	 *
+	 * @param event The event to describe.
+	 * @param sections The code sections measured.
+	 * @return A description of {@code event}.
+	 */
+	private String describe(final ResourceDemandCapturedEvent event, final CodeSection[] sections) {
+		for (int i = 0; i < sections.length; i++) {
+			if (sections[i].equals(event.getCodeSection())) {
+				return i + ": " + event.getValue();
+			}
+		}
+		return "unknown: " + event.getValue();
+	}
+}
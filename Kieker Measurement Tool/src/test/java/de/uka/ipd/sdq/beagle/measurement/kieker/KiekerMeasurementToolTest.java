@@ -0,0 +1,204 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertThat;
+
+import de.uka.ipd.sdq.beagle.core.CodeSection;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests {@link KiekerMeasurementTool}.
+ *
+ * @author Joshua Gleitze
+ */
+public class KiekerMeasurementToolTest {
+
+	/**
+	 * Provides the source files of the code sections.
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	/**
+	 * Test method for {@link KiekerMeasurementTool#getSectionsToInstrument(Set, Set)}.
+	 *
+	 * <p>Asserts that a file sharing a code section with a changed file is instrumented
+	 * for all of its code sections, as its cached byte code is replaced completely. This
+	 * must also hold for files that are only reached through several shared sections.
+	 *
+	 * @throws IOException If the source files cannot be written.
+	 */
+	@Test
+	public void getSectionsToInstrument() throws IOException {
+		final File fileA = this.writeSource("A.java");
+		final File fileB = this.writeSource("B.java");
+		final File fileC = this.writeSource("C.java");
+		final File fileD = this.writeSource("D.java");
+		final CodeSection inA = new CodeSection(fileA, 1, fileA, 5);
+		final CodeSection fromAToB = new CodeSection(fileA, 10, fileB, 2);
+		final CodeSection inB = new CodeSection(fileB, 20, fileB, 25);
+		final CodeSection fromBToC = new CodeSection(fileB, 30, fileC, 3);
+		final CodeSection inC = new CodeSection(fileC, 10, fileC, 12);
+		final CodeSection inD = new CodeSection(fileD, 1, fileD, 5);
+		final Set<CodeSection> sections = new HashSet<>(Arrays.asList(inA, fromAToB, inB, fromBToC, inC, inD));
+
+		assertThat("A changed section spanning two files must make both files be instrumented completely",
+			KiekerMeasurementTool.getSectionsToInstrument(sections, Collections.singleton(fileA.toPath())),
+			containsInAnyOrder(inA, fromAToB, inB, fromBToC, inC));
+		assertThat(KiekerMeasurementTool.getSectionsToInstrument(sections, Collections.singleton(fileC.toPath())),
+			containsInAnyOrder(inA, fromAToB, inB, fromBToC, inC));
+		assertThat(KiekerMeasurementTool.getSectionsToInstrument(sections, Collections.singleton(fileD.toPath())),
+			containsInAnyOrder(inD));
+		assertThat(KiekerMeasurementTool.getSectionsToInstrument(sections, Collections.emptySet()), is(empty()));
+	}
+
+	/**
+	 * Test method for {@link KiekerMeasurementTool#getLaunchResultsFolder(Path, int)}.
+	 *
+	 * <p>Asserts that every launch gets its own folder within the results folder.
+	 */
+	@Test
+	public void getLaunchResultsFolder() {
+		final Path resultsFolder = Paths.get("kieker-results");
+		assertThat(KiekerMeasurementTool.getLaunchResultsFolder(resultsFolder, 0),
+			is(resultsFolder.resolve("launch-0")));
+		assertThat(KiekerMeasurementTool.getLaunchResultsFolder(resultsFolder, 12),
+			is(resultsFolder.resolve("launch-12")));
+	}
+
+	/**
+	 * Test method for {@link KiekerMeasurementTool#executeInParallel(List, int)}.
+	 *
+	 * <p>Asserts that all launches are executed, that up to the worker count of launches
+	 * run at once and that a single worker executes them one after another.
+	 *
+	 * @throws InterruptedException Should not happen.
+	 */
+	@Test
+	public void executeInParallel() throws InterruptedException {
+		final CountDownLatch allStarted = new CountDownLatch(3);
+		final List<Callable<Void>> waitingLaunches = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			waitingLaunches.add(() -> {
+				allStarted.countDown();
+				if (!allStarted.await(10, TimeUnit.SECONDS)) {
+					throw new IllegalStateException("The launches were not executed at once.");
+				}
+				return null;
+			});
+		}
+		KiekerMeasurementTool.executeInParallel(waitingLaunches, 3);
+		assertThat(allStarted.getCount(), is(0L));
+
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger executed = new AtomicInteger();
+		final List<Callable<Void>> countingLaunches = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			countingLaunches.add(() -> {
+				if (running.incrementAndGet() > 1) {
+					throw new IllegalStateException("The launches were executed at once.");
+				}
+				Thread.sleep(5);
+				running.decrementAndGet();
+				executed.incrementAndGet();
+				return null;
+			});
+		}
+		KiekerMeasurementTool.executeInParallel(countingLaunches, 1);
+		assertThat(executed.get(), is(5));
+
+		KiekerMeasurementTool.executeInParallel(Collections.emptyList(), 2);
+		assertThat(() -> KiekerMeasurementTool.executeInParallel(countingLaunches, 0),
+			throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Test method for {@link KiekerMeasurementTool#executeInParallel(List, int)}.
+	 *
+	 * <p>Asserts that the exception of a failing launch is rethrown as it is, and that
+	 * launches that are still running are interrupted then.
+	 *
+	 * @throws InterruptedException Should not happen.
+	 */
+	@Test
+	public void executeInParallelFailing() throws InterruptedException {
+		final RuntimeException launchError = new IllegalStateException("launch failed");
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		final List<Callable<Void>> launches = new ArrayList<>();
+		launches.add(() -> {
+			Thread.sleep(20);
+			throw launchError;
+		});
+		launches.add(() -> {
+			try {
+				Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+			} catch (final InterruptedException interrupt) {
+				interrupted.countDown();
+			}
+			return null;
+		});
+
+		RuntimeException thrownException = null;
+		try {
+			KiekerMeasurementTool.executeInParallel(launches, 2);
+		} catch (final IllegalStateException caught) {
+			thrownException = caught;
+		}
+		assertThat(thrownException, is(sameInstance(launchError)));
+		assertThat("The running launch must have been interrupted", interrupted.await(5, TimeUnit.SECONDS),
+			is(true));
+
+		final Error launchFailure = new AssertionError("launch failed");
+		Error thrownError = null;
+		try {
+			KiekerMeasurementTool.executeInParallel(Collections.singletonList(() -> {
+				throw launchFailure;
+			}), 1);
+		} catch (final AssertionError caught) {
+			thrownError = caught;
+		}
+		assertThat(thrownError, is(sameInstance(launchFailure)));
+
+		assertThat(() -> KiekerMeasurementTool.executeInParallel(Collections.singletonList(() -> {
+			throw new InterruptedException();
+		}), 1), throwsException(InterruptedException.class));
+	}
+
+	/**
+	 * Writes a source file into the temporary folder.
+	 *
+	 * @param fileName The name of the file.
+	 * @return The written file.
+	 * @throws IOException If the file cannot be written.
+	 */
+	private File writeSource(final String fileName) throws IOException {
+		final Path file = this.temporaryFolder.getRoot().toPath().resolve(fileName);
+		final char[] content = new char[64];
+		Arrays.fill(content, ' ');
+		return Files.write(file, new String(content).getBytes(StandardCharsets.UTF_8)).toFile();
+	}
+}
@@ -0,0 +1,122 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Tests {@link KiekerWriterConfiguration}.
+ *
+ * @author Joshua Gleitze
+ */
+public class KiekerWriterConfigurationTest {
+
+	/**
+	 * Class name of Kieker’s asynchronous binary file system writer.
+	 */
+	private static final String ASYNC_BINARY_WRITER = "kieker.monitoring.writer.filesystem.AsyncBinaryFsWriter";
+
+	/**
+	 * Class name of Kieker’s synchronous ASCII file system writer.
+	 */
+	private static final String SYNC_ASCII_WRITER = "kieker.monitoring.writer.filesystem.SyncFsWriter";
+
+	/**
+	 * A results folder to pass to the configurations.
+	 */
+	private static final Path RESULTS_FOLDER = Paths.get("results", "launch-0");
+
+	/**
+	 * Test method for {@link KiekerWriterConfiguration#asynchronousBinary()} and
+	 * {@link KiekerWriterConfiguration#getJvmArguments(Path)}.
+	 *
+	 * <p>Asserts that the asynchronous binary writer is selected, writes to the results
+	 * folder, blocks if its queue is full and uses the default sizes.
+	 */
+	@Test
+	public void asynchronousBinary() {
+		final List<String> jvmArguments =
+			KiekerWriterConfiguration.asynchronousBinary().getJvmArguments(RESULTS_FOLDER);
+
+		assertThat(jvmArguments,
+			hasItems(String.format("-Dkieker.monitoring.writer=\"%s\"", ASYNC_BINARY_WRITER),
+				writerArg(ASYNC_BINARY_WRITER, "customStoragePath", RESULTS_FOLDER),
+				writerArg(ASYNC_BINARY_WRITER, "flush", false), writerArg(ASYNC_BINARY_WRITER, "QueueSize", 100000),
+				writerArg(ASYNC_BINARY_WRITER, "QueueFullBehavior", 1),
+				writerArg(ASYNC_BINARY_WRITER, "bufferSize", 65536)));
+		assertThat(() -> KiekerWriterConfiguration.asynchronousBinary().getJvmArguments(null),
+			throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link KiekerWriterConfiguration#synchronousAscii()} and
+	 * {@link KiekerWriterConfiguration#getJvmArguments(Path)}.
+	 *
+	 * <p>Asserts that the synchronous ASCII writer is selected and that no settings only
+	 * asynchronous writers understand are passed to it.
+	 */
+	@Test
+	public void synchronousAscii() {
+		final List<String> jvmArguments = KiekerWriterConfiguration.synchronousAscii().useQueueSize(10)
+			.useBufferSize(20)
+			.getJvmArguments(RESULTS_FOLDER);
+
+		assertThat(jvmArguments,
+			hasItems(String.format("-Dkieker.monitoring.writer=\"%s\"", SYNC_ASCII_WRITER),
+				writerArg(SYNC_ASCII_WRITER, "customStoragePath", RESULTS_FOLDER),
+				writerArg(SYNC_ASCII_WRITER, "flush", false)));
+		assertThat(jvmArguments.size(), is(3));
+		for (final String jvmArgument : jvmArguments) {
+			assertThat(jvmArgument, startsWith("-D"));
+		}
+	}
+
+	/**
+	 * Test method for {@link KiekerWriterConfiguration#useQueueSize(int)},
+	 * {@link KiekerWriterConfiguration#useBufferSize(int)} and
+	 * {@link KiekerWriterConfiguration#flushEachRecord(boolean)}.
+	 *
+	 * <p>Asserts that the settings are passed to the writer and that invalid sizes are
+	 * rejected.
+	 */
+	@Test
+	public void settings() {
+		final KiekerWriterConfiguration configuration = KiekerWriterConfiguration.asynchronousBinary();
+		assertThat(configuration.useQueueSize(42), is(configuration));
+		assertThat(configuration.useBufferSize(1024), is(configuration));
+		assertThat(configuration.flushEachRecord(true), is(configuration));
+
+		final List<String> jvmArguments = configuration.getJvmArguments(RESULTS_FOLDER);
+		assertThat(jvmArguments, hasItems(writerArg(ASYNC_BINARY_WRITER, "QueueSize", 42),
+			writerArg(ASYNC_BINARY_WRITER, "bufferSize", 1024), writerArg(ASYNC_BINARY_WRITER, "flush", true)));
+		assertThat(jvmArguments, not(hasItem(writerArg(ASYNC_BINARY_WRITER, "QueueSize", 100000))));
+
+		assertThat(() -> configuration.useQueueSize(0), throwsException(IllegalArgumentException.class));
+		assertThat(() -> configuration.useQueueSize(-1), throwsException(IllegalArgumentException.class));
+		assertThat(() -> configuration.useBufferSize(0), throwsException(IllegalArgumentException.class));
+		assertThat(() -> configuration.useBufferSize(-1), throwsException(IllegalArgumentException.class));
+	}
+
+	/**
+	 * Creates the JVM argument expected for a property of a writer.
+	 *
+	 * @param writerClass The class name of the writer.
+	 * @param propertyName The name of the property, without the writer’s class name.
+	 * @param propertyValue The property’s value.
+	 * @return The expected JVM argument.
+	 */
+	private static String writerArg(final String writerClass, final String propertyName,
+		final Object propertyValue) {
+		return String.format("-D%s.%s=\"%s\"", writerClass, propertyName, propertyValue);
+	}
+}
@@ -0,0 +1,145 @@
+package de.uka.ipd.sdq.beagle.measurement.kieker.remote;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import kieker.common.configuration.Configuration;
+import kieker.common.record.IMonitoringRecord;
+import kieker.common.record.controlflow.OperationExecutionRecord;
+import kieker.monitoring.writer.AbstractMonitoringWriter;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Tests {@link MeasurementCentral}. Kieker is configured to hand all records to a
+ * {@link RecordingWriter}.
+ *
+ * @author Joshua Gleitze
+ */
+public class MeasurementCentralTest {
+
+	/**
+	 * Makes Kieker use the {@link RecordingWriter}. Must happen before
+	 * {@link MeasurementCentral} is initialised, as it obtains Kieker’s monitoring
+	 * controller then.
+	 */
+	@BeforeClass
+	public static void configureKieker() {
+		System.setProperty("kieker.monitoring.writer", RecordingWriter.class.getName());
+		System.setProperty("kieker.monitoring.periodicSensorsExecutorPoolSize", "0");
+	}
+
+	/**
+	 * Test method for {@link MeasurementCentral#startResourceDemand(int)} and
+	 * {@link MeasurementCentral#stopResourceDemand()}.
+	 *
+	 * <p>Asserts that the measurements of a thread are handed to Kieker once the thread
+	 * terminated, that nested code sections are reported innermost first and that the
+	 * buffers of terminated threads are not kept.
+	 *
+	 * @throws InterruptedException If interrupted while waiting for the reporting
+	 *             threads.
+	 */
+	@Test
+	public void flushesBuffersOfTerminatedThreads() throws InterruptedException {
+		runInNewThread(() -> {
+			MeasurementCentral.startResourceDemand(1001);
+			MeasurementCentral.startResourceDemand(1002);
+			MeasurementCentral.stopResourceDemand();
+			MeasurementCentral.stopResourceDemand();
+			// A stop without a start must be ignored.
+			MeasurementCentral.stopResourceDemand();
+		});
+		assertThat("The measurements are buffered while no new thread reports", this.recordedIds(1001, 1002),
+			is(0));
+
+		final int registeredBuffers = MeasurementCentral.getRegisteredBufferCount();
+		for (int i = 0; i < 20; i++) {
+			final int demandId = 2000 + i;
+			runInNewThread(() -> {
+				MeasurementCentral.startResourceDemand(demandId);
+				MeasurementCentral.stopResourceDemand();
+			});
+		}
+
+		final List<Long> recordedIds = RecordingWriter.RECORDS.stream()
+			.map(OperationExecutionRecord::getTraceId)
+			.filter((traceId) -> traceId == 1001 || traceId == 1002)
+			.collect(Collectors.toList());
+		assertThat("The measurements of the terminated thread must have been handed to Kieker", recordedIds.size(),
+			is(2));
+		assertThat("The inner code section is stopped first", recordedIds.get(0), is(1002L));
+		assertThat("The buffers of terminated threads must be dropped", MeasurementCentral.getRegisteredBufferCount(),
+			is(lessThanOrEqualTo(registeredBuffers)));
+		assertThat(this.recordedIds(2000, 2018), is(19));
+	}
+
+	/**
+	 * Counts the records Kieker received for code sections with identifiers from
+	 * {@code from} to {@code to}.
+	 *
+	 * @param from The smallest identifier to count.
+	 * @param to The biggest identifier to count.
+	 * @return The number of records received for these identifiers.
+	 */
+	private int recordedIds(final long from, final long to) {
+		return (int) RecordingWriter.RECORDS.stream()
+			.filter((record) -> record.getTraceId() >= from && record.getTraceId() <= to)
+			.count();
+	}
+
+	/**
+	 * Runs {@code task} in a new thread and waits until that thread terminated.
+	 *
+	 * @param task The task to run.
+	 * @throws InterruptedException If interrupted while waiting for the thread.
+	 */
+	private static void runInNewThread(final Runnable task) throws InterruptedException {
+		final Thread thread = new Thread(task);
+		thread.start();
+		thread.join();
+	}
+
+	/**
+	 * A Kieker writer keeping all records it receives in memory.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	public static final class RecordingWriter extends AbstractMonitoringWriter {
+
+		/**
+		 * All execution records received by any instance.
+		 */
+		private static final List<OperationExecutionRecord> RECORDS = new CopyOnWriteArrayList<>();
+
+		/**
+		 * Creates a writer. Called by Kieker.
+		 *
+		 * @param configuration Kieker’s configuration for this writer.
+		 */
+		public RecordingWriter(final Configuration configuration) {
+			super(configuration);
+		}
+
+		@Override
+		public boolean newMonitoringRecord(final IMonitoringRecord record) {
+			if (record instanceof OperationExecutionRecord) {
+				RECORDS.add((OperationExecutionRecord) record);
+			}
+			return true;
+		}
+
+		@Override
+		public void terminate() {
+		}
+
+		@Override
+		protected void init() {
+		}
+	}
+}
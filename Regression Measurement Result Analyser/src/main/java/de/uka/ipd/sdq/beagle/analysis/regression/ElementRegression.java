@@ -0,0 +1,218 @@
+package de.uka.ipd.sdq.beagle.analysis.regression;
+
+import static de.uka.ipd.sdq.beagle.core.evaluableexpressions.CanonicalExpressionFactory.addition;
+import static de.uka.ipd.sdq.beagle.core.evaluableexpressions.CanonicalExpressionFactory.multiplication;
+
+import de.uka.ipd.sdq.beagle.core.MeasurementResultColumns;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * The regressions over the measurement results of one
+ * {@linkplain de.uka.ipd.sdq.beagle.core.MeasurableSeffElement SEFF element}. For every
+ * variable found in the results’ parameterisations, each {@link RegressionModel} is
+ * fitted to the measured values. For parameterisations covering several variables, a
+ * linear function of all of them is fitted, too. Only functions of variables that are
+ * covered by the parameterisation of every result are proposed, as no other function can
+ * be evaluated for all results.
+ *
+ * <p>Remembers how many results it already consumed from the element’s
+ * {@linkplain MeasurementResultColumns result columns}, which only ever grow. Updating
+ * thus only visits the results that were added since the last update.
+ *
+ * @author Joshua Gleitze
+ */
+final class ElementRegression implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 8232171785939394011L;
+
+	/**
+	 * Orders variables by their name.
+	 */
+	private static final Comparator<EvaluableVariable> BY_NAME = Comparator.comparing(EvaluableVariable::getName);
+
+	/**
+	 * The fit of each model, by variable.
+	 */
+	private final Map<EvaluableVariable, EnumMap<RegressionModel, LeastSquares>> fits = new HashMap<>();
+
+	/**
+	 * The fits of linear functions of several variables, by their variables, ordered by
+	 * name.
+	 */
+	private final Map<List<EvaluableVariable>, LeastSquares> multipleLinearFits = new HashMap<>();
+
+	/**
+	 * The number of consumed results whose parameterisation covers the variable, by
+	 * variable.
+	 */
+	private final Map<EvaluableVariable, Integer> coveringResults = new HashMap<>();
+
+	/**
+	 * The number of results already consumed from the element’s columns.
+	 */
+	private int analysedResults;
+
+	/**
+	 * Adds all results in {@code columns} that were not consumed yet and fits the
+	 * models that got new observations.
+	 *
+	 * @param columns The columns of the element these regressions are about. Must not be
+	 *            {@code null}.
+	 * @param measuredValues Provides the measured value of each result in
+	 *            {@code columns}, by the result’s index. Must not be {@code null}.
+	 * @return The expressions fitted by all models that got new observations and only use
+	 *         variables covered by every result in {@code columns}. Is never
+	 *         {@code null}.
+	 */
+	Set<EvaluableExpression> update(final MeasurementResultColumns columns,
+		final IntToDoubleFunction measuredValues) {
+		final Set<EvaluableVariable> updatedVariables = new HashSet<>();
+		final Set<List<EvaluableVariable>> updatedVariableLists = new HashSet<>();
+		final int size = columns.size();
+
+		for (int index = this.analysedResults; index < size; index++) {
+			final Parameterisation parameterisation = columns.getParameterisationAt(index);
+			if (parameterisation == null || parameterisation.getVariables().isEmpty()) {
+				continue;
+			}
+			final double measuredValue = measuredValues.applyAsDouble(index);
+			for (final EvaluableVariable variable : parameterisation.getVariables()) {
+				final double variableValue = parameterisation.getValueFor(variable);
+				final EnumMap<RegressionModel, LeastSquares> variableFits =
+					this.fits.computeIfAbsent(variable, (newVariable) -> this.createFits());
+				for (final Map.Entry<RegressionModel, LeastSquares> fit : variableFits.entrySet()) {
+					fit.getKey().addTo(fit.getValue(), variableValue, measuredValue);
+				}
+				this.coveringResults.merge(variable, 1, Integer::sum);
+				updatedVariables.add(variable);
+			}
+			if (parameterisation.getVariables().size() > 1) {
+				updatedVariableLists.add(this.addToMultipleLinearFit(parameterisation, measuredValue));
+			}
+		}
+		this.analysedResults = size;
+
+		final Set<EvaluableExpression> expressions = new HashSet<>();
+		updatedVariables.removeIf((variable) -> !this.isCoveredByAllResults(variable));
+		updatedVariableLists.removeIf((variables) -> !variables.stream().allMatch(this::isCoveredByAllResults));
+		for (final EvaluableVariable variable : updatedVariables) {
+			for (final Map.Entry<RegressionModel, LeastSquares> fit : this.fits.get(variable).entrySet()) {
+				final double[] coefficients = fit.getValue().solve();
+				if (coefficients != null) {
+					this.addIfPresent(expressions, fit.getKey().toExpression(coefficients, variable));
+				}
+			}
+		}
+		for (final List<EvaluableVariable> variables : updatedVariableLists) {
+			final double[] coefficients = this.multipleLinearFits.get(variables).solve();
+			if (coefficients != null) {
+				expressions.add(this.toMultipleLinearExpression(coefficients, variables));
+			}
+		}
+		return expressions;
+	}
+
+	/**
+	 * Gets the number of results consumed.
+	 *
+	 * @return The number of results these regressions are about.
+	 */
+	int getAnalysedResults() {
+		return this.analysedResults;
+	}
+
+	/**
+	 * Queries whether the parameterisation of every consumed result covers
+	 * {@code variable}.
+	 *
+	 * @param variable A variable.
+	 * @return {@code true} if functions of {@code variable} can be evaluated for all
+	 *         consumed results.
+	 */
+	private boolean isCoveredByAllResults(final EvaluableVariable variable) {
+		return this.coveringResults.getOrDefault(variable, 0) == this.analysedResults;
+	}
+
+	/**
+	 * Creates an empty fit for every model.
+	 *
+	 * @return The fit of each model.
+	 */
+	private EnumMap<RegressionModel, LeastSquares> createFits() {
+		final EnumMap<RegressionModel, LeastSquares> modelFits = new EnumMap<>(RegressionModel.class);
+		for (final RegressionModel model : RegressionModel.values()) {
+			modelFits.put(model, model.createFit());
+		}
+		return modelFits;
+	}
+
+	/**
+	 * Adds an observation to the linear fit over all variables of
+	 * {@code parameterisation}.
+	 *
+	 * @param parameterisation The parameterisation of a result. Must cover at least two
+	 *            variables.
+	 * @param measuredValue The value measured for the result.
+	 * @return The variables of the fit, ordered by name.
+	 */
+	private List<EvaluableVariable> addToMultipleLinearFit(final Parameterisation parameterisation,
+		final double measuredValue) {
+		final List<EvaluableVariable> variables = new ArrayList<>(parameterisation.getVariables());
+		variables.sort(BY_NAME);
+		final double[] terms = new double[variables.size() + 1];
+		terms[0] = 1;
+		for (int i = 0; i < variables.size(); i++) {
+			terms[i + 1] = parameterisation.getValueFor(variables.get(i));
+		}
+		this.multipleLinearFits.computeIfAbsent(variables, (newVariables) -> new LeastSquares(terms.length))
+			.add(terms, measuredValue, 1);
+		return variables;
+	}
+
+	/**
+	 * Builds the linear function of {@code variables} described by
+	 * {@code coefficients}.
+	 *
+	 * @param coefficients The intercept, followed by the coefficient of each variable.
+	 * @param variables The variables of the function.
+	 * @return An expression evaluating the function.
+	 */
+	private EvaluableExpression toMultipleLinearExpression(final double[] coefficients,
+		final List<EvaluableVariable> variables) {
+		final EvaluableExpression[] summands = new EvaluableExpression[variables.size() + 1];
+		summands[0] = ConstantExpression.forValue(coefficients[0]);
+		for (int i = 0; i < variables.size(); i++) {
+			summands[i + 1] = multiplication(ConstantExpression.forValue(coefficients[i + 1]), variables.get(i));
+		}
+		return addition(summands);
+	}
+
+	/**
+	 * Adds {@code expression} to {@code expressions} unless it is {@code null}.
+	 *
+	 * @param expressions The expressions to add to.
+	 * @param expression An expression. May be {@code null}.
+	 */
+	private void addIfPresent(final Set<EvaluableExpression> expressions, final EvaluableExpression expression) {
+		if (expression != null) {
+			expressions.add(expression);
+		}
+	}
+}
@@ -0,0 +1,169 @@
+package de.uka.ipd.sdq.beagle.analysis.regression;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Serializable;
+
+/**
+ * Fits a linear combination of terms to observed targets by weighted least squares.
+ * Instead of the observations, only the normal equations are stored: the weighted sums of
+ * the terms’ pairwise products and of the products of terms and targets. Adding an
+ * observation thus takes constant time and memory, and the fit can be updated whenever
+ * new observations arrive without visiting the old ones again.
+ *
+ * @author Joshua Gleitze
+ */
+final class LeastSquares implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = 3094563082398823740L;
+
+	/**
+	 * Pivots whose magnitude is at most this fraction of the normal matrix’ largest
+	 * entry are treated as zero, so nearly collinear terms are detected.
+	 */
+	private static final double SINGULARITY_THRESHOLD = 1E-12;
+
+	/**
+	 * The number of terms.
+	 */
+	private final int termCount;
+
+	/**
+	 * The weighted sums of the products of each two terms, row by row.
+	 */
+	private final double[] termProducts;
+
+	/**
+	 * The weighted sums of the products of each term and the target.
+	 */
+	private final double[] targetProducts;
+
+	/**
+	 * The number of observations added.
+	 */
+	private long count;
+
+	/**
+	 * Creates a fit over {@code termCount} terms.
+	 *
+	 * @param termCount The number of terms every observation has. Must be positive.
+	 */
+	LeastSquares(final int termCount) {
+		Validate.isTrue(termCount > 0, "There must be at least one term, but got %d.", termCount);
+		this.termCount = termCount;
+		this.termProducts = new double[termCount * termCount];
+		this.targetProducts = new double[termCount];
+	}
+
+	/**
+	 * Adds an observation.
+	 *
+	 * @param terms The value of each term. Must contain exactly as many values as this
+	 *            fit has terms.
+	 * @param target The observed value the terms’ linear combination should yield.
+	 * @param weight How much the observation’s squared error counts. Must be positive.
+	 */
+	void add(final double[] terms, final double target, final double weight) {
+		Validate.isTrue(terms.length == this.termCount, "Expected %d terms, but got %d.", this.termCount,
+			terms.length);
+		Validate.isTrue(weight > 0, "Weights must be positive, but got %f.", weight);
+		for (int row = 0; row < this.termCount; row++) {
+			final double weightedTerm = weight * terms[row];
+			for (int column = 0; column < this.termCount; column++) {
+				this.termProducts[row * this.termCount + column] += weightedTerm * terms[column];
+			}
+			this.targetProducts[row] += weightedTerm * target;
+		}
+		this.count++;
+	}
+
+	/**
+	 * Gets the number of observations added.
+	 *
+	 * @return The number of observations.
+	 */
+	long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Calculates the coefficients minimising the weighted sum of squared errors over all
+	 * observations, by solving the normal equations through Gaussian elimination.
+	 *
+	 * @return The coefficient of each term. {@code null} if the coefficients are not
+	 *         determined by the observations, because there are fewer observations than
+	 *         terms or the terms are collinear.
+	 */
+	double[] solve() {
+		if (this.count < this.termCount) {
+			return null;
+		}
+		final int size = this.termCount;
+		final double[] matrix = this.termProducts.clone();
+		final double[] solution = this.targetProducts.clone();
+
+		double scale = 0;
+		for (final double entry : matrix) {
+			scale = Math.max(scale, Math.abs(entry));
+		}
+
+		for (int pivotRow = 0; pivotRow < size; pivotRow++) {
+			int largestRow = pivotRow;
+			for (int row = pivotRow + 1; row < size; row++) {
+				if (Math.abs(matrix[row * size + pivotRow]) > Math.abs(matrix[largestRow * size + pivotRow])) {
+					largestRow = row;
+				}
+			}
+			if (Math.abs(matrix[largestRow * size + pivotRow]) <= SINGULARITY_THRESHOLD * scale) {
+				return null;
+			}
+			this.swapRows(matrix, solution, pivotRow, largestRow);
+
+			final double pivot = matrix[pivotRow * size + pivotRow];
+			for (int row = pivotRow + 1; row < size; row++) {
+				final double factor = matrix[row * size + pivotRow] / pivot;
+				for (int column = pivotRow; column < size; column++) {
+					matrix[row * size + column] -= factor * matrix[pivotRow * size + column];
+				}
+				solution[row] -= factor * solution[pivotRow];
+			}
+		}
+
+		for (int row = size - 1; row >= 0; row--) {
+			double value = solution[row];
+			for (int column = row + 1; column < size; column++) {
+				value -= matrix[row * size + column] * solution[column];
+			}
+			solution[row] = value / matrix[row * size + row];
+			if (!Double.isFinite(solution[row])) {
+				return null;
+			}
+		}
+		return solution;
+	}
+
+	/**
+	 * Swaps two rows of the normal equations.
+	 *
+	 * @param matrix The normal matrix.
+	 * @param solution The right hand side.
+	 * @param first The index of one row to swap.
+	 * @param second The index of the other row to swap.
+	 */
+	private void swapRows(final double[] matrix, final double[] solution, final int first, final int second) {
+		if (first == second) {
+			return;
+		}
+		for (int column = 0; column < this.termCount; column++) {
+			final double entry = matrix[first * this.termCount + column];
+			matrix[first * this.termCount + column] = matrix[second * this.termCount + column];
+			matrix[second * this.termCount + column] = entry;
+		}
+		final double value = solution[first];
+		solution[first] = solution[second];
+		solution[second] = value;
+	}
+}
@@ -0,0 +1,237 @@
+package de.uka.ipd.sdq.beagle.analysis.regression;
+
+import de.uka.ipd.sdq.beagle.core.BlackboardStorer;
+import de.uka.ipd.sdq.beagle.core.DoubleMeasurementResultColumns;
+import de.uka.ipd.sdq.beagle.core.ExternalCallParameter;
+import de.uka.ipd.sdq.beagle.core.IntMeasurementResultColumns;
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
+import de.uka.ipd.sdq.beagle.core.MeasurementResultColumns;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
+import de.uka.ipd.sdq.beagle.core.SeffBranch;
+import de.uka.ipd.sdq.beagle.core.SeffLoop;
+import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyser;
+import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyserBlackboardView;
+import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyMeasurementResultAnalyserBlackboardView;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * A {@link MeasurementResultAnalyser} fitting functions of the variables in the
+ * measurement results’
+ * {@linkplain de.uka.ipd.sdq.beagle.core.measurement.Parameterisation parameterisations}
+ * to the measured values through least squares regression. For every variable, a linear,
+ * a quadratic, a logarithmic and an exponential function is fitted. If results are
+ * parameterised by several variables, a linear function of all of them is fitted, too.
+ * The fitted functions are proposed as {@linkplain EvaluableExpression
+ * EvaluableExpressions}, so good parametric expressions are found directly instead of
+ * being searched for.
+ *
+ * <p>Only the normal equations of each regression are stored on the blackboard, together
+ * with the {@linkplain de.uka.ipd.sdq.beagle.core.Blackboard#getMeasurementResultsVersion()
+ * version of the measurement results} analysed last. A contribution thus only visits the
+ * measurement results that were added since the last one. The SEFF elements are fitted
+ * concurrently.
+ *
+ * @author Joshua Gleitze
+ */
+public class RegressionMeasurementResultAnalyser
+	implements MeasurementResultAnalyser, BlackboardStorer<RegressionState> {
+
+	/**
+	 * The pool to fit the regressions of different SEFF elements in.
+	 */
+	private final ForkJoinPool fittingPool;
+
+	/**
+	 * Creates an analyser fitting in the {@linkplain ForkJoinPool#commonPool() common
+	 * pool}.
+	 */
+	public RegressionMeasurementResultAnalyser() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates an analyser fitting in {@code fittingPool}.
+	 *
+	 * @param fittingPool The pool to fit the regressions of different SEFF elements in.
+	 *            Must not be {@code null}.
+	 */
+	public RegressionMeasurementResultAnalyser(final ForkJoinPool fittingPool) {
+		Validate.notNull(fittingPool);
+		this.fittingPool = fittingPool;
+	}
+
+	@Override
+	public boolean canContribute(final ReadOnlyMeasurementResultAnalyserBlackboardView blackboard) {
+		final RegressionState state = blackboard.readFor(RegressionMeasurementResultAnalyser.class);
+		final long analysedVersion = state == null ? 0 : state.getAnalysedVersion();
+		return blackboard.getMeasurementResultsVersion() > analysedVersion;
+	}
+
+	@Override
+	public void contribute(final MeasurementResultAnalyserBlackboardView blackboard) {
+		RegressionState state = blackboard.readFor(RegressionMeasurementResultAnalyser.class);
+		if (state == null) {
+			state = new RegressionState();
+		}
+		final long currentVersion = blackboard.getMeasurementResultsVersion();
+
+		final List<Fitting> fittings = new ArrayList<>();
+		for (final MeasurableSeffElement measurableSeffElement : blackboard
+			.getElementsWithMeasurementResultsSince(state.getAnalysedVersion())) {
+			final ElementRegression regression = state.getRegressionFor(measurableSeffElement);
+			if (measurableSeffElement.getClass() == ResourceDemandingInternalAction.class) {
+				final DoubleMeasurementResultColumns columns =
+					blackboard.getMeasurementResultColumnsFor((ResourceDemandingInternalAction) measurableSeffElement);
+				fittings.add(new Fitting(measurableSeffElement, regression, columns, columns::getValueAt));
+			} else if (measurableSeffElement.getClass() == SeffBranch.class) {
+				final IntMeasurementResultColumns columns =
+					blackboard.getMeasurementResultColumnsFor((SeffBranch) measurableSeffElement);
+				fittings.add(new Fitting(measurableSeffElement, regression, columns, columns::getValueAt));
+			} else if (measurableSeffElement.getClass() == SeffLoop.class) {
+				final IntMeasurementResultColumns columns =
+					blackboard.getMeasurementResultColumnsFor((SeffLoop) measurableSeffElement);
+				fittings.add(new Fitting(measurableSeffElement, regression, columns, columns::getValueAt));
+			} else if (measurableSeffElement.getClass() == ExternalCallParameter.class) {
+				final IntMeasurementResultColumns columns =
+					blackboard.getMeasurementResultColumnsFor((ExternalCallParameter) measurableSeffElement);
+				fittings.add(new Fitting(measurableSeffElement, regression, columns, columns::getValueAt));
+			}
+		}
+
+		this.fittingPool.invoke(new FittingTask(fittings, 0, fittings.size()));
+
+		for (final Fitting fitting : fittings) {
+			blackboard.addProposedExpressionsFor(fitting.element, fitting.expressions);
+		}
+		state.setAnalysedVersion(currentVersion);
+		blackboard.writeFor(RegressionMeasurementResultAnalyser.class, state);
+	}
+
+	/**
+	 * Updates the regressions of one SEFF element with its new measurement results.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class Fitting {
+
+		/**
+		 * The element whose regressions are updated.
+		 */
+		private final MeasurableSeffElement element;
+
+		/**
+		 * The regressions of {@link #element}.
+		 */
+		private final ElementRegression regression;
+
+		/**
+		 * The measurement results of {@link #element}.
+		 */
+		private final MeasurementResultColumns columns;
+
+		/**
+		 * Provides the measured value of each result in {@link #columns}.
+		 */
+		private final IntToDoubleFunction measuredValues;
+
+		/**
+		 * The expressions fitted. {@code null} until {@link #fit()} was called.
+		 */
+		private Set<EvaluableExpression> expressions;
+
+		/**
+		 * Creates a fitting.
+		 *
+		 * @param element The element whose regressions are updated.
+		 * @param regression The regressions of {@code element}.
+		 * @param columns The measurement results of {@code element}.
+		 * @param measuredValues Provides the measured value of each result in
+		 *            {@code columns}.
+		 */
+		private Fitting(final MeasurableSeffElement element, final ElementRegression regression,
+			final MeasurementResultColumns columns, final IntToDoubleFunction measuredValues) {
+			this.element = element;
+			this.regression = regression;
+			this.columns = columns;
+			this.measuredValues = measuredValues;
+		}
+
+		/**
+		 * Updates the regressions and stores the fitted expressions.
+		 */
+		private void fit() {
+			this.expressions = this.regression.update(this.columns, this.measuredValues);
+		}
+	}
+
+	/**
+	 * Performs a range of fittings in a {@link ForkJoinPool}. Ranges are split until they
+	 * contain at most {@link #SEQUENTIAL_FITTINGS} fittings.
+	 *
+	 * @author Joshua Gleitze
+	 */
+	private static final class FittingTask extends RecursiveAction {
+
+		/**
+		 * serialVersionUID to make sure serialisation works fine.
+		 */
+		private static final long serialVersionUID = -2158311760287431870L;
+
+		/**
+		 * The number of fittings that will be performed sequentially without splitting
+		 * the task.
+		 */
+		private static final int SEQUENTIAL_FITTINGS = 4;
+
+		/**
+		 * All fittings of the current contribution.
+		 */
+		private final transient List<Fitting> fittings;
+
+		/**
+		 * Index of the first fitting to perform.
+		 */
+		private final int from;
+
+		/**
+		 * Index after the last fitting to perform.
+		 */
+		private final int to;
+
+		/**
+		 * Creates a task performing the fittings from index {@code from} (inclusive) to
+		 * {@code to} (exclusive).
+		 *
+		 * @param fittings All fittings of the current contribution.
+		 * @param from Index of the first fitting to perform.
+		 * @param to Index after the last fitting to perform.
+		 */
+		private FittingTask(final List<Fitting> fittings, final int from, final int to) {
+			this.fittings = fittings;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from <= SEQUENTIAL_FITTINGS) {
+				for (int i = this.from; i < this.to; i++) {
+					this.fittings.get(i).fit();
+				}
+			} else {
+				final int middle = (this.from + this.to) >>> 1;
+				invokeAll(new FittingTask(this.fittings, this.from, middle),
+					new FittingTask(this.fittings, middle, this.to));
+			}
+		}
+	}
+}
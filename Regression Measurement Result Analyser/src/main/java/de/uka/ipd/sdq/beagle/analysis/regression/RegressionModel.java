@@ -0,0 +1,168 @@
+package de.uka.ipd.sdq.beagle.analysis.regression;
+
+import static de.uka.ipd.sdq.beagle.core.evaluableexpressions.CanonicalExpressionFactory.addition;
+import static de.uka.ipd.sdq.beagle.core.evaluableexpressions.CanonicalExpressionFactory.exponentation;
+import static de.uka.ipd.sdq.beagle.core.evaluableexpressions.CanonicalExpressionFactory.exponentialFunction;
+import static de.uka.ipd.sdq.beagle.core.evaluableexpressions.CanonicalExpressionFactory.multiplication;
+import static de.uka.ipd.sdq.beagle.core.evaluableexpressions.CanonicalExpressionFactory.naturalLogarithm;
+
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.ConstantExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+
+/**
+ * A family of functions of one variable that can be fitted to measurement results by
+ * {@linkplain LeastSquares least squares}. Each model maps an observation to terms, a
+ * target and a weight, and builds an {@link EvaluableExpression} from the fitted
+ * coefficients.
+ *
+ * @author Joshua Gleitze
+ */
+enum RegressionModel {
+
+	/**
+	 * {@code a + b·x}.
+	 */
+	LINEAR(2) {
+
+		@Override
+		boolean addTo(final LeastSquares fit, final double variableValue, final double measuredValue) {
+			fit.add(new double[] {
+				1, variableValue
+			}, measuredValue, 1);
+			return true;
+		}
+
+		@Override
+		EvaluableExpression toExpression(final double[] coefficients, final EvaluableVariable variable) {
+			return addition(constant(coefficients[0]), multiplication(constant(coefficients[1]), variable));
+		}
+	},
+
+	/**
+	 * {@code a + b·x + c·x²}.
+	 */
+	QUADRATIC(3) {
+
+		@Override
+		boolean addTo(final LeastSquares fit, final double variableValue, final double measuredValue) {
+			fit.add(new double[] {
+				1, variableValue, variableValue * variableValue
+			}, measuredValue, 1);
+			return true;
+		}
+
+		@Override
+		EvaluableExpression toExpression(final double[] coefficients, final EvaluableVariable variable) {
+			return addition(constant(coefficients[0]), multiplication(constant(coefficients[1]), variable),
+				multiplication(constant(coefficients[2]), exponentation(variable, constant(2))));
+		}
+	},
+
+	/**
+	 * {@code a + b·ln(x)}. Only observations with a positive variable value are used.
+	 */
+	LOGARITHMIC(2) {
+
+		@Override
+		boolean addTo(final LeastSquares fit, final double variableValue, final double measuredValue) {
+			if (variableValue <= 0) {
+				return false;
+			}
+			fit.add(new double[] {
+				1, Math.log(variableValue)
+			}, measuredValue, 1);
+			return true;
+		}
+
+		@Override
+		EvaluableExpression toExpression(final double[] coefficients, final EvaluableVariable variable) {
+			return addition(constant(coefficients[0]),
+				multiplication(constant(coefficients[1]), naturalLogarithm(variable)));
+		}
+	},
+
+	/**
+	 * {@code a·e^(b·x)}. Fitted as {@code ln(y) = ln(a) + b·x}, weighting each
+	 * observation by {@code y²}. The weights compensate for taking the logarithm, so the
+	 * fit approximates the nonlinear least squares fit of the original function. Only
+	 * observations with a positive measured value are used.
+	 */
+	EXPONENTIAL(2) {
+
+		@Override
+		boolean addTo(final LeastSquares fit, final double variableValue, final double measuredValue) {
+			if (measuredValue <= 0) {
+				return false;
+			}
+			fit.add(new double[] {
+				1, variableValue
+			}, Math.log(measuredValue), measuredValue * measuredValue);
+			return true;
+		}
+
+		@Override
+		EvaluableExpression toExpression(final double[] coefficients, final EvaluableVariable variable) {
+			final double factor = Math.exp(coefficients[0]);
+			if (!Double.isFinite(factor)) {
+				return null;
+			}
+			return multiplication(constant(factor),
+				exponentialFunction(multiplication(constant(coefficients[1]), variable)));
+		}
+	};
+
+	/**
+	 * The number of coefficients of the model.
+	 */
+	private final int termCount;
+
+	/**
+	 * Creates a model.
+	 *
+	 * @param termCount The number of coefficients of the model.
+	 */
+	RegressionModel(final int termCount) {
+		this.termCount = termCount;
+	}
+
+	/**
+	 * Creates an empty fit for this model.
+	 *
+	 * @return A fit having as many terms as this model has coefficients.
+	 */
+	LeastSquares createFit() {
+		return new LeastSquares(this.termCount);
+	}
+
+	/**
+	 * Adds an observation to {@code fit}, if this model can use it.
+	 *
+	 * @param fit A fit created by {@link #createFit()} of this model.
+	 * @param variableValue The value of the variable.
+	 * @param measuredValue The value measured for {@code variableValue}.
+	 * @return Whether the observation was added.
+	 */
+	abstract boolean addTo(LeastSquares fit, double variableValue, double measuredValue);
+
+	/**
+	 * Builds the function described by {@code coefficients}.
+	 *
+	 * @param coefficients The coefficients {@linkplain LeastSquares#solve() fitted} for
+	 *            this model.
+	 * @param variable The variable of the function.
+	 * @return An expression evaluating the fitted function for {@code variable}.
+	 *         {@code null} if the function’s coefficients cannot be represented.
+	 */
+	abstract EvaluableExpression toExpression(double[] coefficients, EvaluableVariable variable);
+
+	/**
+	 * Creates the canonical constant for {@code value}.
+	 *
+	 * @param value A coefficient.
+	 * @return A constant expression for {@code value}.
+	 */
+	private static EvaluableExpression constant(final double value) {
+		return ConstantExpression.forValue(value);
+	}
+}
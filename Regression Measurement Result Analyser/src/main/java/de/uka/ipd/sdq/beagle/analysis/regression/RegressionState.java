@@ -0,0 +1,59 @@
+package de.uka.ipd.sdq.beagle.analysis.regression;
+
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What {@link RegressionMeasurementResultAnalyser} stores on the blackboard: the version
+ * of the measurement results it analysed last and its regressions for each element.
+ *
+ * @author Joshua Gleitze
+ */
+final class RegressionState implements Serializable {
+
+	/**
+	 * Serialisation version UID, see {@link java.io.Serializable}.
+	 */
+	private static final long serialVersionUID = -3418095633962925807L;
+
+	/**
+	 * The regressions of each analysed element.
+	 */
+	private final Map<MeasurableSeffElement, ElementRegression> regressions = new HashMap<>();
+
+	/**
+	 * The version of the measurement results analysed last.
+	 */
+	private long analysedVersion;
+
+	/**
+	 * Gets the version of the measurement results analysed last.
+	 *
+	 * @return The analysed version. {@code 0} if nothing was analysed yet.
+	 */
+	long getAnalysedVersion() {
+		return this.analysedVersion;
+	}
+
+	/**
+	 * Sets the version of the measurement results analysed last.
+	 *
+	 * @param analysedVersion The analysed version.
+	 */
+	void setAnalysedVersion(final long analysedVersion) {
+		this.analysedVersion = analysedVersion;
+	}
+
+	/**
+	 * Gets the regressions of {@code element}, creating them if it was not analysed yet.
+	 *
+	 * @param element A SEFF element. Must not be {@code null}.
+	 * @return The regressions of {@code element}. Is never {@code null}.
+	 */
+	ElementRegression getRegressionFor(final MeasurableSeffElement element) {
+		return this.regressions.computeIfAbsent(element, (newElement) -> new ElementRegression());
+	}
+}
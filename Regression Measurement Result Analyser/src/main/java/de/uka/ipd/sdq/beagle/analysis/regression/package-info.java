@@ -0,0 +1,5 @@
+/**
+ * This plugin contains a Measurement Result Analyser that fits expressions over the
+ * parameterisations of measurement results through regression.
+ */
+package de.uka.ipd.sdq.beagle.analysis.regression;
@@ -0,0 +1,93 @@
+package de.uka.ipd.sdq.beagle.analysis.regression;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.closeTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link LeastSquares}.
+ *
+ * @author Joshua Gleitze
+ */
+public class LeastSquaresTest {
+
+	/**
+	 * Test method for {@link LeastSquares#LeastSquares(int)} and
+	 * {@link LeastSquares#add(double[], double, double)}.
+	 *
+	 * <p>Asserts that invalid term counts and weights are rejected.
+	 */
+	@Test
+	public void validation() {
+		assertThat(() -> new LeastSquares(0), throwsException(IllegalArgumentException.class));
+		final LeastSquares fit = new LeastSquares(2);
+		assertThat(() -> fit.add(new double[] {
+			1
+		}, 1, 1), throwsException(IllegalArgumentException.class));
+		assertThat(() -> fit.add(new double[] {
+			1, 2
+		}, 1, 0), throwsException(IllegalArgumentException.class));
+		assertThat(() -> fit.add(null, 1, 1), throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for {@link LeastSquares#solve()}.
+	 *
+	 * <p>Asserts that exact relations are recovered, that noisy observations yield the
+	 * least squares solution, that weights are respected and that underdetermined fits
+	 * have no solution.
+	 */
+	@Test
+	public void solve() {
+		final LeastSquares fit = new LeastSquares(3);
+		assertThat(fit.solve(), is(nullValue()));
+		for (int x = -3; x <= 3; x++) {
+			for (int z = 0; z < 3; z++) {
+				fit.add(new double[] {
+					1, x, z
+				}, 4 - 2 * x + 0.5 * z, 1);
+			}
+		}
+		assertThat(fit.getCount(), is(21L));
+		final double[] coefficients = fit.solve();
+		assertThat(coefficients[0], is(closeTo(4, 1E-9)));
+		assertThat(coefficients[1], is(closeTo(-2, 1E-9)));
+		assertThat(coefficients[2], is(closeTo(0.5, 1E-9)));
+
+		final LeastSquares noisy = new LeastSquares(2);
+		noisy.add(new double[] {
+			1, 0
+		}, 1, 1);
+		noisy.add(new double[] {
+			1, 1
+		}, 2, 1);
+		noisy.add(new double[] {
+			1, 2
+		}, 2, 1);
+		final double[] line = noisy.solve();
+		assertThat(line[0], is(closeTo(7d / 6, 1E-9)));
+		assertThat(line[1], is(closeTo(0.5, 1E-9)));
+
+		final LeastSquares weighted = new LeastSquares(1);
+		weighted.add(new double[] {
+			1
+		}, 0, 1);
+		weighted.add(new double[] {
+			1
+		}, 4, 3);
+		assertThat(weighted.solve()[0], is(closeTo(3, 1E-9)));
+
+		final LeastSquares collinear = new LeastSquares(2);
+		collinear.add(new double[] {
+			1, 5
+		}, 1, 1);
+		collinear.add(new double[] {
+			1, 5
+		}, 2, 1);
+		assertThat(collinear.solve(), is(nullValue()));
+	}
+}
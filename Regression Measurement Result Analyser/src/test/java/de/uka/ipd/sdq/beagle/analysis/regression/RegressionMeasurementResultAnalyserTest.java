@@ -0,0 +1,233 @@
+package de.uka.ipd.sdq.beagle.analysis.regression;
+
+import static de.uka.ipd.sdq.beagle.core.testutil.ExceptionThrownMatcher.throwsException;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import de.uka.ipd.sdq.beagle.core.Blackboard;
+import de.uka.ipd.sdq.beagle.core.MeasurableSeffElement;
+import de.uka.ipd.sdq.beagle.core.ResourceDemandingInternalAction;
+import de.uka.ipd.sdq.beagle.core.SeffLoop;
+import de.uka.ipd.sdq.beagle.core.analysis.MeasurementResultAnalyserBlackboardView;
+import de.uka.ipd.sdq.beagle.core.analysis.ReadOnlyMeasurementResultAnalyserBlackboardView;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableAssignment;
+import de.uka.ipd.sdq.beagle.core.judge.AbstractionAndPrecisionFitnessFunction;
+import de.uka.ipd.sdq.beagle.core.judge.EvaluableExpressionFitnessFunctionBlackboardView;
+import de.uka.ipd.sdq.beagle.core.measurement.LoopRepetitionCountMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.measurement.Parameterisation;
+import de.uka.ipd.sdq.beagle.core.measurement.ResourceDemandMeasurementResult;
+import de.uka.ipd.sdq.beagle.core.testutil.factories.BlackboardFactory;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Tests {@link RegressionMeasurementResultAnalyser}.
+ *
+ * @author Joshua Gleitze
+ */
+public class RegressionMeasurementResultAnalyserTest {
+
+	/**
+	 * {@link BlackboardFactory} to easily create {@link Blackboard}s.
+	 */
+	private static final BlackboardFactory BLACKBOARD_FACTORY = new BlackboardFactory();
+
+	/**
+	 * The size of the analysed input.
+	 */
+	private static final EvaluableVariable SIZE = new EvaluableVariable("size");
+
+	/**
+	 * The depth of the analysed input.
+	 */
+	private static final EvaluableVariable DEPTH = new EvaluableVariable("depth");
+
+	/**
+	 * Test method for
+	 * {@link RegressionMeasurementResultAnalyser#RegressionMeasurementResultAnalyser(ForkJoinPool)}
+	 * .
+	 */
+	@Test
+	public void constructor() {
+		new RegressionMeasurementResultAnalyser();
+		new RegressionMeasurementResultAnalyser(new ForkJoinPool(2));
+		assertThat(() -> new RegressionMeasurementResultAnalyser(null), throwsException(NullPointerException.class));
+	}
+
+	/**
+	 * Test method for
+	 * {@link RegressionMeasurementResultAnalyser#canContribute(ReadOnlyMeasurementResultAnalyserBlackboardView)}
+	 * .
+	 *
+	 * <p>Asserts that the analyser can contribute exactly if measurement results were
+	 * added since it contributed last.
+	 */
+	@Test
+	public void canContribute() {
+		final RegressionMeasurementResultAnalyser analyser = new RegressionMeasurementResultAnalyser();
+		assertThat(() -> analyser.canContribute(null), throwsException(NullPointerException.class));
+
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final ReadOnlyMeasurementResultAnalyserBlackboardView view =
+			new ReadOnlyMeasurementResultAnalyserBlackboardView(blackboard);
+		assertThat("There are no measurement results to analyse", analyser.canContribute(view), is(false));
+
+		final SeffLoop loop = blackboard.getAllSeffLoops().iterator().next();
+		blackboard.addMeasurementResultFor(loop, new LoopRepetitionCountMeasurementResult(this.sized(3), 4));
+		assertThat(analyser.canContribute(view), is(true));
+
+		analyser.contribute(new MeasurementResultAnalyserBlackboardView(blackboard));
+		assertThat("All measurement results were analysed", analyser.canContribute(view), is(false));
+	}
+
+	/**
+	 * Test method for
+	 * {@link RegressionMeasurementResultAnalyser#contribute(MeasurementResultAnalyserBlackboardView)}
+	 * .
+	 *
+	 * <p>Asserts that functions of single variables and linear functions of several
+	 * variables are found, that results without parameterisation lead to no proposals and
+	 * that every measurement result is only analysed once.
+	 */
+	@Test
+	public void contribute() {
+		final RegressionMeasurementResultAnalyser analyser =
+			new RegressionMeasurementResultAnalyser(new ForkJoinPool(2));
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final MeasurementResultAnalyserBlackboardView view = new MeasurementResultAnalyserBlackboardView(blackboard);
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		final ResourceDemandingInternalAction unparameterisedRdia = blackboard.getAllRdias().stream()
+			.filter((candidate) -> !candidate.equals(rdia)).findAny().get();
+		final SeffLoop loop = blackboard.getAllSeffLoops().iterator().next();
+
+		for (int size = 1; size <= 6; size++) {
+			blackboard.addMeasurementResultFor(rdia,
+				new ResourceDemandMeasurementResult(this.sized(size), 5 + 3 * size * size));
+			blackboard.addMeasurementResultFor(unparameterisedRdia, new ResourceDemandMeasurementResult(size));
+			for (int depth = 0; depth < 3; depth++) {
+				final Map<EvaluableVariable, Double> values = new HashMap<>();
+				values.put(SIZE, (double) size);
+				values.put(DEPTH, (double) depth);
+				blackboard.addMeasurementResultFor(loop,
+					new LoopRepetitionCountMeasurementResult(new Parameterisation(values), 1 + size + 4 * depth));
+			}
+		}
+		analyser.contribute(view);
+
+		assertThat("The quadratic dependency must be found",
+			this.containsFunction(blackboard, rdia, (assignment) -> 5 + 3 * Math.pow(assignment.getValueFor(SIZE), 2)),
+			is(true));
+		assertThat("The linear dependency on both variables must be found",
+			this.containsFunction(blackboard, loop,
+				(assignment) -> 1 + assignment.getValueFor(SIZE) + 4 * assignment.getValueFor(DEPTH)),
+			is(true));
+		assertThat(blackboard.getProposedExpressionFor(unparameterisedRdia), is(empty()));
+
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(this.sized(7), 5 + 3 * 49));
+		analyser.contribute(view);
+		final RegressionState state = blackboard.readFor(RegressionMeasurementResultAnalyser.class);
+		assertThat(state.getRegressionFor(rdia).getAnalysedResults(), is(7));
+		assertThat(state.getRegressionFor(loop).getAnalysedResults(), is(18));
+	}
+
+	/**
+	 * Test method for
+	 * {@link RegressionMeasurementResultAnalyser#contribute(MeasurementResultAnalyserBlackboardView)}
+	 * .
+	 *
+	 * <p>Asserts that only functions of variables covered by the parameterisation of
+	 * every measurement result are proposed, so that all proposals can be graded.
+	 */
+	@Test
+	public void contributeWithMixedCoverage() {
+		final RegressionMeasurementResultAnalyser analyser = new RegressionMeasurementResultAnalyser();
+		final Blackboard blackboard = BLACKBOARD_FACTORY.getWithToBeMeasuredContent();
+		final MeasurementResultAnalyserBlackboardView view = new MeasurementResultAnalyserBlackboardView(blackboard);
+		final ResourceDemandingInternalAction rdia = blackboard.getAllRdias().iterator().next();
+		final SeffLoop loop = blackboard.getAllSeffLoops().iterator().next();
+
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(this.sized(2), 4));
+		blackboard.addMeasurementResultFor(rdia, new ResourceDemandMeasurementResult(4));
+		for (int size = 1; size <= 6; size++) {
+			final Map<EvaluableVariable, Double> values = new HashMap<>();
+			values.put(SIZE, (double) size);
+			values.put(DEPTH, (double) size % 3);
+			blackboard.addMeasurementResultFor(loop,
+				new LoopRepetitionCountMeasurementResult(new Parameterisation(values), 2 * size));
+			blackboard.addMeasurementResultFor(loop, new LoopRepetitionCountMeasurementResult(this.sized(size),
+				2 * size));
+		}
+		analyser.contribute(view);
+
+		assertThat("No variable is covered by all results", blackboard.getProposedExpressionFor(rdia), is(empty()));
+		assertThat("The dependency on the covered variable must be found",
+			this.containsFunction(blackboard, loop, (assignment) -> 2 * assignment.getValueFor(SIZE)), is(true));
+
+		final AbstractionAndPrecisionFitnessFunction fitnessFunction = new AbstractionAndPrecisionFitnessFunction();
+		final EvaluableExpressionFitnessFunctionBlackboardView fitnessView =
+			mock(EvaluableExpressionFitnessFunctionBlackboardView.class);
+		given(fitnessView.getMeasurementResultColumnsFor(loop))
+			.willReturn(blackboard.getMeasurementResultColumnsFor(loop));
+		for (final EvaluableExpression proposal : blackboard.getProposedExpressionFor(loop)) {
+			assertThat("Every proposal must be evaluable for all results",
+				fitnessFunction.gradeFor(loop, proposal, fitnessView), is(lessThan(Double.POSITIVE_INFINITY)));
+		}
+	}
+
+	/**
+	 * Creates a parameterisation of only the {@link #SIZE}.
+	 *
+	 * @param size The value of {@link #SIZE}.
+	 * @return A parameterisation assigning {@code size} to {@link #SIZE}.
+	 */
+	private Parameterisation sized(final double size) {
+		return new Parameterisation(Collections.singletonMap(SIZE, size));
+	}
+
+	/**
+	 * Checks whether an expression proposed for {@code element} evaluates like
+	 * {@code function}.
+	 *
+	 * @param blackboard The blackboard holding the proposals.
+	 * @param element The element to check the proposals of.
+	 * @param function The expected function.
+	 * @return Whether a proposed expression evaluates like {@code function} for some
+	 *         sample assignments.
+	 */
+	private boolean containsFunction(final Blackboard blackboard, final MeasurableSeffElement element,
+		final ToDoubleFunction<EvaluableVariableAssignment> function) {
+		for (final EvaluableExpression expression : blackboard.getProposedExpressionFor(element)) {
+			boolean matches = true;
+			for (final double[] sample : new double[][] {
+				{
+					2.5, 1
+				}, {
+					8, 0
+				}, {
+					4, 2
+				}
+			}) {
+				final EvaluableVariableAssignment assignment = new EvaluableVariableAssignment();
+				assignment.setValueFor(SIZE, sample[0]);
+				assignment.setValueFor(DEPTH, sample[1]);
+				matches &= Math.abs(expression.evaluate(assignment) - function.applyAsDouble(assignment)) < 1E-6;
+			}
+			if (matches) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,77 @@
+package de.uka.ipd.sdq.beagle.analysis.regression;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.closeTo;
+import static org.junit.Assert.assertThat;
+
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableExpression;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariable;
+import de.uka.ipd.sdq.beagle.core.evaluableexpressions.EvaluableVariableAssignment;
+
+import org.junit.Test;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Tests {@link RegressionModel}.
+ *
+ * @author Joshua Gleitze
+ */
+public class RegressionModelTest {
+
+	/**
+	 * The variable the tested functions depend on.
+	 */
+	private static final EvaluableVariable X = new EvaluableVariable("x");
+
+	/**
+	 * Asserts that every model recovers a function of its family from exact
+	 * observations.
+	 */
+	@Test
+	public void recoversFunctions() {
+		this.assertRecovers(RegressionModel.LINEAR, (x) -> 3 + 2 * x);
+		this.assertRecovers(RegressionModel.QUADRATIC, (x) -> 1 - x + 0.25 * x * x);
+		this.assertRecovers(RegressionModel.LOGARITHMIC, (x) -> 7 + 3 * Math.log(x));
+		this.assertRecovers(RegressionModel.EXPONENTIAL, (x) -> 2 * Math.exp(0.3 * x));
+	}
+
+	/**
+	 * Asserts that observations outside of a model’s domain are not added.
+	 */
+	@Test
+	public void domains() {
+		final LeastSquares logarithmicFit = RegressionModel.LOGARITHMIC.createFit();
+		assertThat(RegressionModel.LOGARITHMIC.addTo(logarithmicFit, 0, 1), is(false));
+		assertThat(RegressionModel.LOGARITHMIC.addTo(logarithmicFit, -1, 1), is(false));
+		assertThat(logarithmicFit.getCount(), is(0L));
+
+		final LeastSquares exponentialFit = RegressionModel.EXPONENTIAL.createFit();
+		assertThat(RegressionModel.EXPONENTIAL.addTo(exponentialFit, 1, 0), is(false));
+		assertThat(RegressionModel.EXPONENTIAL.addTo(exponentialFit, 1, 2), is(true));
+		assertThat(exponentialFit.getCount(), is(1L));
+	}
+
+	/**
+	 * Fits {@code model} to observations of {@code function} and asserts that the
+	 * resulting expression evaluates like {@code function}.
+	 *
+	 * @param model The model to test.
+	 * @param function A function of {@code model}’s family.
+	 */
+	private void assertRecovers(final RegressionModel model, final DoubleUnaryOperator function) {
+		final LeastSquares fit = model.createFit();
+		for (int x = 1; x <= 10; x++) {
+			model.addTo(fit, x, function.applyAsDouble(x));
+		}
+		final EvaluableExpression expression = model.toExpression(fit.solve(), X);
+		for (final double x : new double[] {
+			1.5, 4, 12
+		}) {
+			final EvaluableVariableAssignment assignment = new EvaluableVariableAssignment();
+			assignment.setValueFor(X, x);
+			assertThat(model + " at " + x, expression.evaluate(assignment),
+				is(closeTo(function.applyAsDouble(x), 1E-6)));
+		}
+	}
+}